@@ -0,0 +1,94 @@
+package com.tickets.ravetix.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Base de los buses de invalidación: acumula los mensajes publicados, elimina duplicados y los envía
+ * en un único lote por intervalo. La entrega filtra los lotes del propio nodo.
+ */
+@Slf4j
+public abstract class AbstractBatchingInvalidationBus implements InvalidationBus {
+
+    private final String nodeId;
+    private final Set<InvalidationMessage> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<InvalidationListener>> listeners = new ConcurrentHashMap<>();
+
+    protected AbstractBatchingInvalidationBus(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        pending.add(message);
+    }
+
+    @Override
+    public void subscribe(String region, InvalidationListener listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Envía en un lote todas las invalidaciones pendientes.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.batch-interval-ms:50}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<InvalidationMessage> batch = new ArrayList<>();
+        Iterator<InvalidationMessage> it = pending.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+        }
+        try {
+            send(new InvalidationBatch(nodeId, batch));
+        } catch (Exception e) {
+            log.warn("Could not send {} cache invalidations, remote nodes will rely on TTL: {}",
+                    batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Transmite un lote a los demás nodos.
+     */
+    protected abstract void send(InvalidationBatch batch) throws Exception;
+
+    /**
+     * Entrega a los receptores locales un lote recibido de otro nodo.
+     */
+    protected void deliver(InvalidationBatch batch) {
+        if (nodeId.equals(batch.origin())) {
+            return;
+        }
+        for (InvalidationMessage message : batch.messages()) {
+            for (InvalidationListener listener : listeners.getOrDefault(message.region(), List.of())) {
+                try {
+                    listener.onInvalidation(message);
+                } catch (Exception e) {
+                    log.warn("Cache invalidation listener failed for {}: {}", message, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Vacía todas las regiones locales porque pudieron perderse invalidaciones.
+     */
+    protected void resetAll() {
+        listeners.values().forEach(regionListeners -> regionListeners.forEach(InvalidationListener::onReset));
+    }
+}
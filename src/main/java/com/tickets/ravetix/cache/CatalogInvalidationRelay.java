@@ -0,0 +1,43 @@
+package com.tickets.ravetix.cache;
+
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Propaga las invalidaciones del catálogo de eventos entre nodos: reenvía al bus los cambios
+ * confirmados en este nodo y aplica a la caché local los recibidos de los demás.
+ */
+@Component
+public class CatalogInvalidationRelay implements InvalidationListener {
+
+    public static final String REGION = "events";
+
+    private final InvalidationBus invalidationBus;
+    private final EventCatalogCache eventCatalogCache;
+
+    public CatalogInvalidationRelay(InvalidationBus invalidationBus, EventCatalogCache eventCatalogCache) {
+        this.invalidationBus = invalidationBus;
+        this.eventCatalogCache = eventCatalogCache;
+        invalidationBus.subscribe(REGION, this);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidationBus.publish(new InvalidationMessage(REGION, event.eventoId().toString(), event.tipo().name()));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationMessage message) {
+        eventCatalogCache.evict(new CatalogChangedEvent(
+                UUID.fromString(message.key()), CatalogChangeType.valueOf(message.type())));
+    }
+
+    @Override
+    public void onReset() {
+        eventCatalogCache.clear();
+    }
+}
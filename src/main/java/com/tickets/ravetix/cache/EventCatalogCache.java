@@ -0,0 +1,203 @@
+package com.tickets.ravetix.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caché en memoria de los listados del catálogo de eventos, acotada por tamaño y TTL.
+ * <p>
+ * Guarda páginas de listados por consulta. Los DTOs tienen setters y listas modificables, así que
+ * la caché guarda una copia propia de cada página y cada lectura devuelve otra copia: quien la
+ * reciba puede modificarla sin alterar lo que ven las demás peticiones. Copiar un evento son unos
+ * pocos objetos (el evento, sus zonas y sus listas), sin serializar nada.
+ * </p>
+ * <p>
+ * Los eventos sueltos no pasan por aquí: {@code GET /api/events/{id}} sirve el JSON ya
+ * serializado de {@link RenderedEventCache}, y la búsqueda de texto responde desde el índice en
+ * memoria de {@link com.tickets.ravetix.search.EventSearchIndex}.
+ * </p>
+ * <p>
+ * La invalidación se hace tras el commit de cada cambio; el TTL acota lo que pueda sobrevivir
+ * a una carga concurrente con el commit:
+ * <ul>
+ *     <li>Cambios de zonas o tickets expulsan solo los listados que contienen el evento.</li>
+ *     <li>Altas, modificaciones, cambios de estado y bajas expulsan todos los listados, porque
+ *     pueden alterar qué eventos aparecen en cada consulta.</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventCatalogCache {
+
+    private final Cache<ListingKey, CachedPage> listings;
+    private final Map<UUID, Set<ListingKey>> listingsByEvent = new ConcurrentHashMap<>();
+
+    public EventCatalogCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.events.listings.max-size:2000}") long maxListings,
+            @Value("${app.cache.events.listings.ttl:60s}") Duration listingTtl) {
+        this.listings = Caffeine.newBuilder()
+                .maximumSize(maxListings)
+                .expireAfterWrite(listingTtl)
+                .recordStats()
+                // También con las invalidaciones explícitas: una página expulsada por el cambio de
+                // un evento debe desaparecer de los índices de los demás eventos que contiene
+                .removalListener((ListingKey key, CachedPage page, RemovalCause cause) -> unlink(key, page))
+                .executor(Runnable::run)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "events.listings");
+    }
+
+    /**
+     * Devuelve una copia de la página cacheada de un listado o la carga con el loader indicado.
+     *
+     * @param key    Clave del listado (consulta, parámetros y paginación).
+     * @param loader Carga la página si no está en caché.
+     * @return Página de eventos.
+     */
+    public Page<EventResponseDTO> getListing(ListingKey key, Supplier<Page<EventResponseDTO>> loader) {
+        CachedPage cached = listings.get(key, k -> {
+            Page<EventResponseDTO> page = loader.get();
+            List<UUID> eventIds = new ArrayList<>();
+            for (EventResponseDTO dto : page.getContent()) {
+                if (dto.getId() != null) {
+                    UUID id = UUID.fromString(dto.getId());
+                    eventIds.add(id);
+                    listingsByEvent.computeIfAbsent(id, e -> ConcurrentHashMap.newKeySet()).add(k);
+                }
+            }
+            // map conserva el tipo de página (y con él la estrategia de cuenta de una CountedPage)
+            return new CachedPage(page.map(EventCatalogCache::copy), List.copyOf(eventIds));
+        });
+        return cached.page().map(EventCatalogCache::copy);
+    }
+
+    /**
+     * Invalida las entradas afectadas por un cambio del catálogo una vez confirmada la transacción.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        evict(event);
+    }
+
+    /**
+     * Invalida las entradas afectadas por un cambio del catálogo.
+     */
+    public void evict(CatalogChangedEvent event) {
+        log.debug("Invalidating cached listings of event {} after {}", event.eventoId(), event.tipo());
+        if (event.tipo().affectsListings()) {
+            listings.invalidateAll();
+            listingsByEvent.clear();
+        } else {
+            Set<ListingKey> keys = listingsByEvent.remove(event.eventoId());
+            if (keys != null) {
+                listings.invalidateAll(keys);
+            }
+        }
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void clear() {
+        listings.invalidateAll();
+        listingsByEvent.clear();
+    }
+
+    int listingLinkCount() {
+        return listingsByEvent.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void unlink(ListingKey key, CachedPage page) {
+        if (key == null || page == null || listings.asMap().containsKey(key)) {
+            return;
+        }
+        for (UUID eventId : page.eventIds()) {
+            listingsByEvent.computeIfPresent(eventId, (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Copia un evento con sus zonas y las listas de cada zona. El resto de campos son inmutables.
+     */
+    private static EventResponseDTO copy(EventResponseDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        return dto.toBuilder()
+                .zonas(dto.getZonas() != null
+                        ? dto.getZonas().stream().map(EventCatalogCache::copy).collect(Collectors.toCollection(ArrayList::new))
+                        : null)
+                .build();
+    }
+
+    private static ZoneResponseDTO copy(ZoneResponseDTO zone) {
+        if (zone == null) {
+            return null;
+        }
+        ZoneResponseDTO copy = ZoneResponseDTO.builder()
+                .nombre(zone.getNombre())
+                .capacidad(zone.getCapacidad())
+                .precioBase(zone.getPrecioBase())
+                .tipo(zone.getTipo())
+                .beneficios(zone.getBeneficios() != null ? new ArrayList<>(zone.getBeneficios()) : null)
+                .tickets(zone.getTickets() != null
+                        ? zone.getTickets().stream()
+                                .map(ticket -> ticket != null ? ticket.toBuilder().build() : null)
+                                .collect(Collectors.toCollection(ArrayList::new))
+                        : null)
+                .build();
+        copy.setId(zone.getId());
+        copy.setFechaCreacion(zone.getFechaCreacion());
+        copy.setFechaActualizacion(zone.getFechaActualizacion());
+        copy.setVersion(zone.getVersion());
+        return copy;
+    }
+
+    /**
+     * Página cacheada, con la copia de cada evento y sus IDs para mantener el índice inverso.
+     */
+    private record CachedPage(Page<EventResponseDTO> page, List<UUID> eventIds) {
+    }
+
+    /**
+     * Clave de un listado cacheado.
+     *
+     * @param query    Nombre de la consulta.
+     * @param params   Parámetros de la consulta.
+     * @param pageable Paginación y orden.
+     */
+    public record ListingKey(String query, List<Object> params, Pageable pageable) {
+
+        public static ListingKey of(String query, Pageable pageable, Object... params) {
+            return new ListingKey(query, Arrays.asList(params), pageable);
+        }
+    }
+}
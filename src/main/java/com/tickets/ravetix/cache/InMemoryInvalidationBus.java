@@ -0,0 +1,31 @@
+package com.tickets.ravetix.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus de invalidación dentro de la JVM. Los nodos que comparten un {@link Hub} se comportan como
+ * nodos de un clúster; con un único nodo (despliegue sin Postgres o tests) no se envía nada a nadie.
+ */
+public class InMemoryInvalidationBus extends AbstractBatchingInvalidationBus {
+
+    private final Hub hub;
+
+    public InMemoryInvalidationBus(Hub hub, String nodeId) {
+        super(nodeId);
+        this.hub = hub;
+        hub.nodes.add(this);
+    }
+
+    @Override
+    protected void send(InvalidationBatch batch) {
+        hub.nodes.forEach(node -> node.deliver(batch));
+    }
+
+    /**
+     * Canal compartido por los nodos en memoria.
+     */
+    public static class Hub {
+        private final List<InMemoryInvalidationBus> nodes = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,12 @@
+package com.tickets.ravetix.cache;
+
+import java.util.List;
+
+/**
+ * Lote de invalidaciones publicado por un nodo.
+ *
+ * @param origin   ID del nodo que publicó el lote.
+ * @param messages Invalidaciones del lote, ya sin duplicados.
+ */
+public record InvalidationBatch(String origin, List<InvalidationMessage> messages) {
+}
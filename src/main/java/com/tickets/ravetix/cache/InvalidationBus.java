@@ -0,0 +1,22 @@
+package com.tickets.ravetix.cache;
+
+/**
+ * Bus de invalidación de cachés entre nodos.
+ * <p>
+ * Los mensajes publicados se agrupan y se entregan a los demás nodos, nunca al nodo que los publicó:
+ * cada nodo invalida su propia caché localmente antes de publicar. Si un nodo pierde mensajes,
+ * el TTL de cada caché acota cuánto tiempo puede servir datos obsoletos.
+ * </p>
+ */
+public interface InvalidationBus {
+
+    /**
+     * Encola una invalidación para los demás nodos.
+     */
+    void publish(InvalidationMessage message);
+
+    /**
+     * Registra el receptor de las invalidaciones remotas de una región.
+     */
+    void subscribe(String region, InvalidationListener listener);
+}
@@ -0,0 +1,54 @@
+package com.tickets.ravetix.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializa lotes de invalidación a JSON, partiéndolos para respetar el límite de tamaño
+ * del payload de {@code NOTIFY} de Postgres (8000 bytes).
+ */
+class InvalidationCodec {
+
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final ObjectMapper objectMapper;
+    private final int maxPayloadBytes;
+
+    InvalidationCodec(ObjectMapper objectMapper) {
+        this(objectMapper, MAX_PAYLOAD_BYTES);
+    }
+
+    InvalidationCodec(ObjectMapper objectMapper, int maxPayloadBytes) {
+        this.objectMapper = objectMapper;
+        this.maxPayloadBytes = maxPayloadBytes;
+    }
+
+    List<String> encode(InvalidationBatch batch) throws JsonProcessingException {
+        List<String> payloads = new ArrayList<>();
+        encodeInto(batch, payloads);
+        return payloads;
+    }
+
+    InvalidationBatch decode(String payload) throws JsonProcessingException {
+        return objectMapper.readValue(payload, InvalidationBatch.class);
+    }
+
+    private void encodeInto(InvalidationBatch batch, List<String> payloads) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(batch);
+        if (json.getBytes(StandardCharsets.UTF_8).length <= maxPayloadBytes) {
+            payloads.add(json);
+            return;
+        }
+        List<InvalidationMessage> messages = batch.messages();
+        if (messages.size() == 1) {
+            throw new IllegalArgumentException("Invalidation message exceeds NOTIFY payload limit: " + messages.get(0));
+        }
+        int half = messages.size() / 2;
+        encodeInto(new InvalidationBatch(batch.origin(), messages.subList(0, half)), payloads);
+        encodeInto(new InvalidationBatch(batch.origin(), messages.subList(half, messages.size())), payloads);
+    }
+}
@@ -0,0 +1,18 @@
+package com.tickets.ravetix.cache;
+
+/**
+ * Receptor de invalidaciones remotas de una región de caché.
+ */
+public interface InvalidationListener {
+
+    /**
+     * Invalida la entrada indicada por otro nodo.
+     */
+    void onInvalidation(InvalidationMessage message);
+
+    /**
+     * Se invoca cuando pudieron perderse notificaciones (por ejemplo tras reconectar el canal);
+     * la región debe vaciarse por completo.
+     */
+    void onReset();
+}
@@ -0,0 +1,11 @@
+package com.tickets.ravetix.cache;
+
+/**
+ * Mensaje de invalidación que viaja entre nodos.
+ *
+ * @param region Región de caché afectada (por ejemplo {@code events} o {@code users}).
+ * @param key    Clave invalidada dentro de la región.
+ * @param type   Tipo de cambio que originó la invalidación.
+ */
+public record InvalidationMessage(String region, String key, String type) {
+}
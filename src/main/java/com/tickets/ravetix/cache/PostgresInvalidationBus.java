@@ -0,0 +1,133 @@
+package com.tickets.ravetix.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bus de invalidación sobre {@code LISTEN/NOTIFY} de Postgres.
+ * <p>
+ * Los lotes se publican con {@code pg_notify} usando el pool normal. La escucha usa una conexión
+ * dedicada fuera del pool, sondeada por un hilo propio; si la conexión se cae se reabre con espera
+ * creciente y, al recuperarla, se vacían las cachés locales porque pudieron perderse mensajes.
+ * </p>
+ */
+@Slf4j
+public class PostgresInvalidationBus extends AbstractBatchingInvalidationBus {
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final InvalidationCodec codec;
+    private final String channel;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresInvalidationBus(String nodeId, String channel, JdbcTemplate jdbcTemplate,
+                                   DataSourceProperties dataSourceProperties, ObjectMapper objectMapper) {
+        super(nodeId);
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel name: " + channel);
+        }
+        this.channel = channel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.codec = new InvalidationCodec(objectMapper);
+    }
+
+    @Override
+    protected void send(InvalidationBatch batch) throws Exception {
+        for (String payload : codec.encode(batch)) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, channel, payload);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        long backoffMs = 500;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                if (connectedBefore) {
+                    log.info("Cache invalidation channel reconnected, clearing local caches");
+                    resetAll();
+                }
+                connectedBefore = true;
+                backoffMs = 500;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation channel lost, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private Connection openListenerConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private void handle(String payload) {
+        try {
+            deliver(codec.decode(payload));
+        } catch (Exception e) {
+            log.warn("Discarding malformed cache invalidation payload: {}", e.getMessage());
+        }
+    }
+}
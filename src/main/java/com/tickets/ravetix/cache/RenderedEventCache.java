@@ -0,0 +1,129 @@
+package com.tickets.ravetix.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de las respuestas JSON ya serializadas de {@code GET /api/events/{id}}.
+ * <p>
+ * Cada entrada guarda los bytes de una versión concreta del evento (identificada por su ETag),
+ * de modo que las lecturas de eventos calientes solo copian bytes: sin mapeo ni serialización.
+ * Una entrada cuyo ETag no coincide con la versión actual se vuelve a serializar. El DTO que se
+ * serializa debe leerse de la base de datos, no de {@link EventCatalogCache}: esa caché se
+ * invalida tras el commit y, en los demás nodos, al llegar la notificación, y mientras tanto
+ * guardaría bytes antiguos bajo el ETag nuevo.
+ * </p>
+ * <p>
+ * La caché se acota por bytes y sus entradas caducan tras {@code app.cache.events.rendered.ttl};
+ * además se invalida con los cambios locales y con los recibidos de otros nodos por el bus.
+ * </p>
+ */
+@Component
+public class RenderedEventCache implements InvalidationListener {
+
+    private final Cache<UUID, RenderedJson> rendered;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    public RenderedEventCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            InvalidationBus invalidationBus,
+            @Value("${app.cache.events.rendered.max-size:64MB}") DataSize maxSize,
+            @Value("${app.cache.events.rendered.gzip-min-size:1KB}") DataSize gzipMinSize,
+            @Value("${app.cache.events.rendered.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = (int) gzipMinSize.toBytes();
+        this.rendered = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((UUID id, RenderedJson json) -> json.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rendered, "events.rendered");
+        invalidationBus.subscribe(CatalogInvalidationRelay.REGION, this);
+    }
+
+    /**
+     * Devuelve los bytes de la versión indicada del evento, serializándola si no están en caché.
+     *
+     * @param id      ID del evento.
+     * @param version Versión actual del evento; debe obtenerse antes de cargar el DTO.
+     * @param loader  Carga el DTO del evento si hay que serializarlo.
+     * @return Respuesta serializada.
+     */
+    public RenderedJson get(UUID id, ResourceVersion version, Supplier<EventResponseDTO> loader) {
+        RenderedJson cached = rendered.getIfPresent(id);
+        if (cached != null && cached.etag().equals(version.etag())) {
+            return cached;
+        }
+        RenderedJson fresh = render(version.etag(), loader.get());
+        rendered.asMap().merge(id, fresh,
+                (current, candidate) -> current.etag().equals(version.etag()) ? current : candidate);
+        return fresh;
+    }
+
+    /**
+     * Libera las respuestas de un evento modificado una vez confirmada la transacción.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        rendered.invalidate(event.eventoId());
+    }
+
+    /**
+     * Libera las respuestas de un evento modificado en otro nodo.
+     */
+    @Override
+    public void onInvalidation(InvalidationMessage message) {
+        rendered.invalidate(UUID.fromString(message.key()));
+    }
+
+    @Override
+    public void onReset() {
+        rendered.invalidateAll();
+    }
+
+    RenderedJson render(String etag, EventResponseDTO dto) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(dto);
+            return new RenderedJson(etag, json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event " + dto.getId(), e);
+        }
+    }
+
+    long size() {
+        rendered.cleanUp();
+        return rendered.estimatedSize();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
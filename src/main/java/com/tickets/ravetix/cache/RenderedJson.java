@@ -0,0 +1,90 @@
+package com.tickets.ravetix.cache;
+
+import com.tickets.ravetix.dto.ResourceVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+
+/**
+ * Respuesta JSON ya serializada para una versión concreta de un recurso.
+ *
+ * @param etag ETag de la versión serializada, sin el sufijo de la variante comprimida.
+ * @param json Cuerpo JSON en UTF-8.
+ * @param gzip Cuerpo comprimido con gzip, o {@code null} si es demasiado pequeño para comprimirlo.
+ */
+public record RenderedJson(String etag, byte[] json, byte[] gzip) {
+
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    /**
+     * Construye la respuesta 200, comprimida si el cliente acepta gzip.
+     */
+    public ResponseEntity<byte[]> toResponse(WebRequest request) {
+        boolean compressed = gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return builder.body(json);
+    }
+
+    /**
+     * Validadores de la variante que corresponde a un cliente. La respuesta comprimida y la
+     * original son representaciones distintas y no pueden compartir un ETag fuerte, así que a los
+     * clientes que aceptan gzip se les da el ETag de la versión con el sufijo {@code -gzip}, se
+     * comprima o no el cuerpo (los muy pequeños se envían sin comprimir). Así un
+     * {@code If-None-Match} solo responde 304 a la misma variante que lo originó.
+     *
+     * @param version        Validadores de la versión actual del recurso.
+     * @param acceptEncoding Cabecera {@code Accept-Encoding} de la petición.
+     */
+    public static ResourceVersion variant(ResourceVersion version, String acceptEncoding) {
+        return acceptsGzip(acceptEncoding)
+                ? new ResourceVersion(version.etag() + GZIP_ETAG_SUFFIX, version.lastModified())
+                : version;
+    }
+
+    /**
+     * Tamaño aproximado en memoria, usado para acotar la caché por bytes.
+     */
+    int weight() {
+        return json.length + (gzip != null ? gzip.length : 0) + etag.length();
+    }
+
+    /**
+     * Indica si la cabecera {@code Accept-Encoding} admite gzip (sin {@code q=0}). Un valor de
+     * {@code q} mal formado se trata como no aceptable.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=") && !(quality(param.substring(2)) > 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static double quality(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.tickets.ravetix.cache;
+
+import com.tickets.ravetix.domain.UserCredentialsChangedEvent;
+import com.tickets.ravetix.security.CustomUserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Propaga las invalidaciones de la caché de usuarios entre nodos: tras el commit de cada cambio
+ * expulsa el correo de la caché local y lo reenvía al bus; aplica los recibidos de los demás.
+ */
+@Component
+public class UserInvalidationRelay implements InvalidationListener {
+
+    public static final String REGION = "users";
+
+    private final InvalidationBus invalidationBus;
+    private final CustomUserDetailsService userDetailsService;
+
+    public UserInvalidationRelay(InvalidationBus invalidationBus, CustomUserDetailsService userDetailsService) {
+        this.invalidationBus = invalidationBus;
+        this.userDetailsService = userDetailsService;
+        invalidationBus.subscribe(REGION, this);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        userDetailsService.evict(event.correo());
+        invalidationBus.publish(new InvalidationMessage(REGION, event.correo(), "CREDENTIALS_CHANGED"));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationMessage message) {
+        userDetailsService.evict(message.key());
+    }
+
+    @Override
+    public void onReset() {
+        userDetailsService.clear();
+    }
+}
@@ -0,0 +1,44 @@
+package com.tickets.ravetix.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.ravetix.cache.InMemoryInvalidationBus;
+import com.tickets.ravetix.cache.InvalidationBus;
+import com.tickets.ravetix.cache.PostgresInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Selecciona el transporte del bus de invalidación de cachés entre nodos.
+ * <p>
+ * Con {@code app.cache.invalidation.transport=postgres} se usa {@code LISTEN/NOTIFY}; en cualquier
+ * otro caso el bus queda dentro de la JVM, suficiente para un único nodo y para los tests.
+ * El bus en memoria solo se crea si no hay otro, y se declara después para evaluarse en último lugar.
+ * </p>
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "postgres")
+    public InvalidationBus postgresInvalidationBus(
+            @Value("${app.cache.invalidation.channel:ravetix_cache}") String channel,
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper) {
+        return new PostgresInvalidationBus(UUID.randomUUID().toString(), channel, jdbcTemplate,
+                dataSourceProperties, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(InvalidationBus.class)
+    public InvalidationBus inMemoryInvalidationBus() {
+        return new InMemoryInvalidationBus(new InMemoryInvalidationBus.Hub(), UUID.randomUUID().toString());
+    }
+}
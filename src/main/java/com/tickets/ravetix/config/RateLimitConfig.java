@@ -0,0 +1,41 @@
+package com.tickets.ravetix.config;
+
+import com.tickets.ravetix.ratelimit.InMemoryRateLimitStore;
+import com.tickets.ravetix.ratelimit.PostgresRateLimitStore;
+import com.tickets.ravetix.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Selecciona el almacén de los cubos de tokens del limitador.
+ * <p>
+ * Con {@code app.ratelimit.store=postgres} los cubos se comparten entre nodos en una tabla; en
+ * cualquier otro caso cada nodo los guarda en memoria y aplica los límites por su cuenta. El
+ * almacén en memoria solo se crea si no hay otro, y se declara después para evaluarse en último lugar.
+ * </p>
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.ratelimit.store", havingValue = "postgres")
+    public RateLimitStore postgresRateLimitStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        return new PostgresRateLimitStore(jdbcTemplate, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public RateLimitStore inMemoryRateLimitStore(
+            MeterRegistry meterRegistry,
+            @Value("${app.ratelimit.max-buckets:100000}") long maxBuckets,
+            @Value("${app.ratelimit.idle-ttl:10m}") Duration idleTtl) {
+        return new InMemoryRateLimitStore(maxBuckets, idleTtl, meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.tickets.ravetix.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+
+/**
+ * Habilita las tareas programadas de la aplicación y expone el reloj del sistema
+ * para que los componentes dependientes del tiempo puedan probarse con un reloj fijo.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
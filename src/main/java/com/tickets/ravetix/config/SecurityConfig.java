@@ -1,10 +1,16 @@
 package com.tickets.ravetix.config;
 
+import com.tickets.ravetix.ratelimit.RateLimitFilter;
+import com.tickets.ravetix.security.AppUserDetails;
+import com.tickets.ravetix.security.BoundedPasswordEncoder;
 import com.tickets.ravetix.security.CustomUserDetailsService;
 import com.tickets.ravetix.security.jwt.JwtAuthenticationEntryPoint;
 import com.tickets.ravetix.security.jwt.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -21,6 +27,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,7 +41,9 @@ public class SecurityConfig {
     
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PasswordEncoder passwordEncoder;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -48,11 +57,18 @@ public class SecurityConfig {
                     "/swagger-ui/**",
                     "/swagger-ui.html"
                 ).permitAll()
+                // Datos de contacto de los asistentes: solo el personal del evento
+                .requestMatchers(HttpMethod.GET, "/api/tickets/event/*/export").hasAuthority(AppUserDetails.STAFF)
+                // Validación de accesos: solo dispositivos de puerta y personal
+                .requestMatchers("/api/gate/events/*/scans", "/api/gate/events/*/scans/batch",
+                        "/api/gate/events/*/index")
+                    .hasAuthority(AppUserDetails.STAFF)
                 .anyRequest().authenticated()
             )
             .exceptionHandling(e -> e.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
             
         return http.build();
     }
@@ -79,12 +95,24 @@ public class SecurityConfig {
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehace el hash al iniciar sesión si se subió app.security.bcrypt.strength
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt con el coste configurado, calculado en un pool acotado para que una ráfaga de
+     * logins no ocupe toda la CPU del nodo.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public static BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.bcrypt.threads:0}") int threads,
+            @Value("${app.security.bcrypt.queue:64}") int queue,
+            @Value("${app.security.bcrypt.timeout:2s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queue, timeout, meterRegistry);
     }
 }
\ No newline at end of file
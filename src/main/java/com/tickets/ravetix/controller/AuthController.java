@@ -5,11 +5,13 @@ import com.tickets.ravetix.dto.auth.LoginRequest;
 import com.tickets.ravetix.dto.auth.RegisterRequest;
 import com.tickets.ravetix.dto.auth.RegisterResponse;
 import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.security.LoginOverloadedException;
 import com.tickets.ravetix.security.jwt.JwtTokenProvider;
 import com.tickets.ravetix.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -44,7 +46,7 @@ public class AuthController {
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtTokenProvider.generateToken(userDetails.getUsername());
+            String token = jwtTokenProvider.generateToken(userDetails);
             
             log.info("Login exitoso para el usuario: {}", loginRequest.getCorreo());
             return ResponseEntity.ok(new JwtResponse(
@@ -57,6 +59,9 @@ public class AuthController {
             log.warn("Credenciales inválidas para el usuario: {}", loginRequest.getCorreo());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Credenciales inválidas");
+        } catch (LoginOverloadedException e) {
+            log.warn("Login rechazado por sobrecarga para el usuario: {}", loginRequest.getCorreo());
+            return overloaded(e);
         } catch (Exception e) {
             log.error("Error durante el login para el usuario: " + loginRequest.getCorreo(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -81,7 +86,7 @@ public class AuthController {
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtTokenProvider.generateToken(userDetails.getUsername());
+            String token = jwtTokenProvider.generateToken(userDetails);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(new RegisterResponse(
                 user.getId(),
@@ -91,10 +96,19 @@ public class AuthController {
                 token,
                 "Bearer"
             ));
+        } catch (LoginOverloadedException e) {
+            log.warn("Registro rechazado por sobrecarga para el usuario: {}", registerRequest.getCorreo());
+            return overloaded(e);
         } catch (Exception e) {
             log.error("Error al registrar usuario: " + registerRequest.getCorreo(), e);
             return ResponseEntity.badRequest()
                     .body("Error al registrar el usuario: " + e.getMessage());
         }
     }
+
+    private ResponseEntity<String> overloaded(LoginOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
\ No newline at end of file
@@ -1,21 +1,40 @@
 package com.tickets.ravetix.controller;
 
+import com.tickets.ravetix.cache.RenderedEventCache;
+import com.tickets.ravetix.cache.RenderedJson;
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.event.EventCreateDTO;
+import com.tickets.ravetix.dto.event.EventFacetResponseDTO;
 import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.dto.event.EventSuggestionDTO;
 import com.tickets.ravetix.dto.event.EventUpdateDTO;
 import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.enums.CategoriaEvento;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.enums.TipoZona;
+import com.tickets.ravetix.search.DiscoveryQuery;
+import com.tickets.ravetix.search.EventSearchQuery;
+import com.tickets.ravetix.search.FacetQuery;
+import com.tickets.ravetix.service.interfac.EventSearchService;
 import com.tickets.ravetix.service.interfac.EventService;
+import com.tickets.ravetix.util.ConditionalRequestUtil;
+import com.tickets.ravetix.util.KeysetCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -24,28 +43,54 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final RenderedEventCache renderedEventCache;
+    private final EventSearchService eventSearchService;
 
     /**
      * Obtiene todos los eventos paginados.
      *
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de eventos.
      */
     @GetMapping
     public ResponseEntity<Page<EventResponseDTO>> getAllEvents(
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(eventService.findAll(pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventService.findAll(pageable, count));
+    }
+
+    /**
+     * Recorre todos los eventos por cursor, sin total de elementos. Se activa con el parámetro
+     * {@code cursor}: vacío para la primera página y, después, el {@code nextCursor} recibido.
+     *
+     * @param cursor Cursor de la página anterior.
+     * @param size Tamaño de página (máximo {@value KeysetCursor#MAX_SIZE}).
+     * @return Página de eventos con el cursor de la siguiente.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<SliceResponse<EventResponseDTO>> scrollEvents(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.scrollAll(cursor, size));
     }
 
     /**
-     * Obtiene un evento por su ID.
+     * Obtiene un evento por su ID. Responde 304 sin cargar el evento si el cliente
+     * ya tiene la versión actual, y en otro caso escribe el JSON ya serializado de esa versión
+     * (comprimido si el cliente acepta gzip, con su propio ETag). Para serializar, el evento se lee
+     * de la base de datos y no de la caché del catálogo, que puede ir por detrás de la versión.
      *
      * @param id ID del evento.
-     * @return Evento encontrado.
+     * @param request Petición, con las cabeceras condicionales.
+     * @return Evento encontrado, serializado como {@link EventResponseDTO}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponseDTO> getEventById(@PathVariable UUID id) {
-        return ResponseEntity.ok(eventService.findById(id));
+    public ResponseEntity<byte[]> getEventById(@PathVariable UUID id, WebRequest request) {
+        ResourceVersion version = eventService.getVersion(id);
+        ResourceVersion variant = RenderedJson.variant(version, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        return ConditionalRequestUtil.ifModifiedResponse(request, variant,
+                () -> renderedEventCache.get(id, version, () -> eventService.findById(id)).toResponse(request));
     }
 
     /**
@@ -89,27 +134,110 @@ public class EventController {
      *
      * @param status Estado del evento.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de eventos filtrados.
      */
     @GetMapping("/status/{status}")
     public ResponseEntity<Page<EventResponseDTO>> getEventsByStatus(
             @PathVariable EstadoEvento status,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(eventService.findByEstado(status, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventService.findByEstado(status, pageable, count));
     }
 
     /**
-     * Busca eventos por texto.
+     * Busca eventos por texto en nombre, ciudad y descripción, sin distinguir tildes
+     * y ordenados por relevancia. La última palabra se trata como prefijo.
      *
      * @param query Texto de búsqueda.
-     * @param pageable Parámetros de paginación.
+     * @param estado Estado de los eventos (opcional).
+     * @param desde Inicio mínimo de los eventos (opcional).
+     * @param hasta Inicio máximo de los eventos (opcional).
+     * @param pageable Parámetros de paginación; el orden se ignora.
+     * @param count Estrategia de cuenta mientras el índice se carga; si se omite, la configurada para el endpoint.
      * @return Página de eventos encontrados.
      */
     @GetMapping("/search")
     public ResponseEntity<Page<EventResponseDTO>> searchEvents(
             @RequestParam String query,
+            @RequestParam(required = false) EstadoEvento estado,
+            @RequestParam(required = false) LocalDateTime desde,
+            @RequestParam(required = false) LocalDateTime hasta,
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventSearchService.search(
+                new EventSearchQuery(query, estado, desde, hasta), pageable, count));
+    }
+
+    /**
+     * Descubre eventos en una ciudad o alrededor de un punto, con una ventana de fechas de inicio.
+     * Si se dan coordenadas, ordena por distancia; si no, por fecha de inicio.
+     *
+     * @param ciudad Ciudad de los eventos (obligatoria si no se dan coordenadas).
+     * @param pais País de los eventos (opcional).
+     * @param latitud Latitud del centro de búsqueda (opcional).
+     * @param longitud Longitud del centro de búsqueda (opcional).
+     * @param radioKm Radio de búsqueda en kilómetros (máximo 200).
+     * @param estado Estado de los eventos (opcional).
+     * @param desde Inicio mínimo de los eventos (opcional).
+     * @param hasta Inicio máximo de los eventos (opcional).
+     * @param pageable Parámetros de paginación; el orden se ignora.
+     * @param count Estrategia de cuenta mientras el índice se carga; si se omite, la configurada para el endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @GetMapping("/discover")
+    public ResponseEntity<Page<EventResponseDTO>> discoverEvents(
+            @RequestParam(required = false) String ciudad,
+            @RequestParam(required = false) String pais,
+            @RequestParam(required = false) Double latitud,
+            @RequestParam(required = false) Double longitud,
+            @RequestParam(defaultValue = "10") double radioKm,
+            @RequestParam(required = false) EstadoEvento estado,
+            @RequestParam(required = false) LocalDateTime desde,
+            @RequestParam(required = false) LocalDateTime hasta,
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventSearchService.discover(
+                new DiscoveryQuery(ciudad, pais, latitud, longitud, radioKm, estado, desde, hasta), pageable, count));
+    }
+
+    /**
+     * Filtra eventos por facetas y devuelve cuántos eventos hay de cada valor. Dentro de una faceta
+     * basta con uno de los valores; entre facetas se exigen todas.
+     *
+     * @param estado Estados del evento (opcional).
+     * @param categoria Categorías del evento (opcional).
+     * @param tipoZona Tipos de zona que debe tener el evento (opcional).
+     * @param ciudad Ciudades del evento (opcional).
+     * @param precio Rangos de precio de alguna zona, como "50-100" o "500+" (opcional).
+     * @param pageable Parámetros de paginación; el orden se ignora (por fecha de inicio).
+     * @return Página de eventos y cuentas por faceta.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<EventFacetResponseDTO> getEventFacets(
+            @RequestParam(required = false) Set<EstadoEvento> estado,
+            @RequestParam(required = false) Set<CategoriaEvento> categoria,
+            @RequestParam(required = false) Set<TipoZona> tipoZona,
+            @RequestParam(required = false) Set<String> ciudad,
+            @RequestParam(required = false) Set<String> precio,
             @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(eventService.search(query, pageable));
+        return ResponseEntity.ok(eventSearchService.facets(
+                new FacetQuery(estado, categoria, tipoZona, ciudad, precio), pageable));
+    }
+
+    /**
+     * Sugiere eventos, ciudades y direcciones para el texto escrito en el buscador.
+     * Responde desde memoria, sin consultar la base de datos.
+     *
+     * @param q Texto escrito; si termina en espacio, la última palabra debe estar completa.
+     * @param limit Número máximo de sugerencias (máximo 10).
+     * @return Sugerencias de más a menos popular.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<EventSuggestionDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(eventSearchService.suggest(q, limit));
     }
 
     /**
@@ -118,14 +246,37 @@ public class EventController {
      * @param startDate Fecha de inicio.
      * @param endDate Fecha de fin.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de eventos encontrados.
      */
     @GetMapping("/date-range")
     public ResponseEntity<Page<EventResponseDTO>> getEventsBetweenDates(
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(eventService.findBetweenDates(startDate, endDate, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventService.findBetweenDates(startDate, endDate, pageable, count));
+    }
+
+    /**
+     * Obtiene los eventos en curso en algún momento de una ventana de tiempo, incluidos los de
+     * varios días que empezaron antes de ella. Sin {@code hasta}, devuelve los que aún no han terminado.
+     *
+     * @param desde Principio de la ventana; si se omite, ahora.
+     * @param hasta Final de la ventana (opcional).
+     * @param estado Estado de los eventos (opcional).
+     * @param pageable Parámetros de paginación; el orden se ignora (por fecha de inicio).
+     * @param count Estrategia de cuenta mientras el índice se carga; si se omite, la configurada para el endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @GetMapping("/happening")
+    public ResponseEntity<Page<EventResponseDTO>> getEventsHappening(
+            @RequestParam(required = false) LocalDateTime desde,
+            @RequestParam(required = false) LocalDateTime hasta,
+            @RequestParam(required = false) EstadoEvento estado,
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventSearchService.happening(desde, hasta, estado, pageable, count));
     }
 
     /**
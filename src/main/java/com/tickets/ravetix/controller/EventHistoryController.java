@@ -1,7 +1,11 @@
 package com.tickets.ravetix.controller;
 
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.dto.eventhistory.EventRatingResponseDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.service.interfac.EventHistoryService;
+import com.tickets.ravetix.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,13 +38,32 @@ public class EventHistoryController {
      *
      * @param userId ID del usuario.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de historiales encontrados.
      */
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<EventHistoryResponseDTO>> getEventHistoryByUserId(
             @PathVariable UUID userId,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(eventHistoryService.getEventHistoryByUserId(userId, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventHistoryService.getEventHistoryByUserId(userId, pageable, count));
+    }
+
+    /**
+     * Recorre el historial de eventos de un usuario por cursor, sin total de elementos. Se activa
+     * con el parámetro {@code cursor}: vacío para la primera página y, después, el {@code nextCursor} recibido.
+     *
+     * @param userId ID del usuario.
+     * @param cursor Cursor de la página anterior.
+     * @param size Tamaño de página (máximo {@value KeysetCursor#MAX_SIZE}).
+     * @return Página de historiales con el cursor de la siguiente.
+     */
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    public ResponseEntity<SliceResponse<EventHistoryResponseDTO>> scrollEventHistoryByUserId(
+            @PathVariable UUID userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventHistoryService.scrollEventHistoryByUserId(userId, cursor, size));
     }
 
     /**
@@ -48,13 +71,32 @@ public class EventHistoryController {
      *
      * @param eventId ID del evento.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de historiales encontrados.
      */
     @GetMapping("/event/{eventId}")
     public ResponseEntity<Page<EventHistoryResponseDTO>> getEventHistoryByEventId(
             @PathVariable UUID eventId,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(eventHistoryService.getEventHistoryByEventId(eventId, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(eventHistoryService.getEventHistoryByEventId(eventId, pageable, count));
+    }
+
+    /**
+     * Recorre el historial de eventos de un evento por cursor, sin total de elementos. Se activa
+     * con el parámetro {@code cursor}: vacío para la primera página y, después, el {@code nextCursor} recibido.
+     *
+     * @param eventId ID del evento.
+     * @param cursor Cursor de la página anterior.
+     * @param size Tamaño de página (máximo {@value KeysetCursor#MAX_SIZE}).
+     * @return Página de historiales con el cursor de la siguiente.
+     */
+    @GetMapping(value = "/event/{eventId}", params = "cursor")
+    public ResponseEntity<SliceResponse<EventHistoryResponseDTO>> scrollEventHistoryByEventId(
+            @PathVariable UUID eventId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventHistoryService.scrollEventHistoryByEventId(eventId, cursor, size));
     }
 
     /**
@@ -88,4 +130,26 @@ public class EventHistoryController {
             @RequestParam(required = false) String comment) {
         return ResponseEntity.ok(eventHistoryService.rateEvent(eventId, userId, rating, comment));
     }
+
+    /**
+     * Obtiene el resumen de calificaciones de un evento: número, media y distribución por estrellas.
+     *
+     * @param eventId ID del evento.
+     * @return Resumen de calificaciones.
+     */
+    @GetMapping("/event/{eventId}/ratings")
+    public ResponseEntity<EventRatingResponseDTO> getEventRatings(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(eventHistoryService.getEventRatings(eventId));
+    }
+
+    /**
+     * Recalcula el resumen de calificaciones de un evento desde su historial.
+     *
+     * @param eventId ID del evento.
+     * @return Resumen recalculado.
+     */
+    @PostMapping("/event/{eventId}/ratings/rebuild")
+    public ResponseEntity<EventRatingResponseDTO> rebuildEventRatings(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(eventHistoryService.rebuildEventRatings(eventId));
+    }
 }
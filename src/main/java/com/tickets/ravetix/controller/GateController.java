@@ -0,0 +1,117 @@
+package com.tickets.ravetix.controller;
+
+import com.tickets.ravetix.dto.gate.GateIndexResponseDTO;
+import com.tickets.ravetix.dto.gate.GateScanBatchItemDTO;
+import com.tickets.ravetix.dto.gate.GateScanBatchResponseDTO;
+import com.tickets.ravetix.dto.gate.GateScanRequestDTO;
+import com.tickets.ravetix.dto.gate.GateScanResponseDTO;
+import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.gate.GateBatchReader;
+import com.tickets.ravetix.gate.GateScanRegistry;
+import com.tickets.ravetix.gate.TicketIndex;
+import com.tickets.ravetix.gate.TicketIndexStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/gate/events/{eventId}")
+@RequiredArgsConstructor
+public class GateController {
+
+    private final GateScanRegistry gateScanRegistry;
+    private final GateBatchReader gateBatchReader;
+    private final TicketIndexStore ticketIndexStore;
+
+    /**
+     * Valida el código de acceso leído en la puerta de un evento. Responde siempre 200 con el
+     * resultado del escaneo; solo {@code ADMITIDO} permite la entrada.
+     *
+     * @param eventId ID del evento de la puerta.
+     * @param scanDTO Código leído.
+     * @return Resultado del escaneo.
+     */
+    @PostMapping("/scans")
+    public ResponseEntity<GateScanResponseDTO> scan(
+            @PathVariable UUID eventId,
+            @Valid @RequestBody GateScanRequestDTO scanDTO) {
+        return ResponseEntity.ok(gateScanRegistry.scan(eventId, scanDTO.getCodigo()));
+    }
+
+    /**
+     * Sincroniza un lote de escaneos hechos sin conexión por un dispositivo de puerta. El cuerpo
+     * es un JSON con la lista {@code escaneos} (código e instante de cada uno) y puede enviarse
+     * comprimido con {@code Content-Encoding: gzip}. Reenviar un lote ya sincronizado es seguro.
+     *
+     * @param eventId ID del evento de la puerta.
+     * @param contentEncoding Cabecera {@code Content-Encoding} de la petición.
+     * @param request Petición, de la que se lee el lote.
+     * @return Escaneos admitidos y conflictos, con su posición en el lote.
+     */
+    @PostMapping(value = "/scans/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GateScanBatchResponseDTO> ingestBatch(
+            @PathVariable UUID eventId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) throws IOException {
+        List<GateScanBatchItemDTO> items = gateBatchReader.read(request.getInputStream(), contentEncoding);
+        return ResponseEntity.ok(gateScanRegistry.ingest(eventId, items));
+    }
+
+    /**
+     * Genera de nuevo el índice de tickets del evento desde la base de datos.
+     *
+     * @param eventId ID del evento.
+     * @return Datos del índice generado.
+     */
+    @PostMapping("/index")
+    public ResponseEntity<GateIndexResponseDTO> buildIndex(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(toDto(ticketIndexStore.build(eventId)));
+    }
+
+    /**
+     * Descarga el índice de tickets del evento, para que un dispositivo de puerta lo proyecte en
+     * memoria y valide sin conexión. Las cancelaciones posteriores no están incluidas: el
+     * dispositivo debe volver a descargarlo al recuperar la conexión.
+     *
+     * @param eventId ID del evento.
+     * @return Fichero del índice.
+     */
+    @GetMapping("/index")
+    public ResponseEntity<Resource> downloadIndex(@PathVariable UUID eventId) {
+        TicketIndex index = ticketIndexStore.find(eventId);
+        if (index == null) {
+            throw new NotFoundException("No hay índice de tickets del evento con ID: " + eventId);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets-" + eventId + ".idx")
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(ticketIndexStore.indexPath(eventId)));
+    }
+
+    private static GateIndexResponseDTO toDto(TicketIndex index) {
+        return GateIndexResponseDTO.builder()
+                .eventoId(index.getEventoId())
+                .tickets(index.getTicketCount())
+                .zonas(index.getZoneCount())
+                .bytes(index.size())
+                .generado(LocalDateTime.ofInstant(Instant.ofEpochMilli(index.getGeneradoEn()), ZoneId.systemDefault()))
+                .build();
+    }
+}
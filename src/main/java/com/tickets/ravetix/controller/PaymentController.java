@@ -2,6 +2,7 @@ package com.tickets.ravetix.controller;
 
 import com.tickets.ravetix.dto.payment.PaymentRequestDTO;
 import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.service.interfac.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -50,13 +51,15 @@ public class PaymentController {
      *
      * @param userId ID del usuario.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de pagos encontrados.
      */
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<PaymentResponseDTO>> getPaymentsByUserId(
             @PathVariable UUID userId,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(paymentService.getPaymentsByUserId(userId, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(paymentService.getPaymentsByUserId(userId, pageable, count));
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.tickets.ravetix.controller;
+
+import com.tickets.ravetix.dto.sales.SalesPointDTO;
+import com.tickets.ravetix.dto.sales.SalesTimeSeriesResponseDTO;
+import com.tickets.ravetix.enums.SalesResolution;
+import com.tickets.ravetix.service.interfac.SalesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/sales")
+@RequiredArgsConstructor
+public class SalesController {
+
+    private final SalesService salesService;
+
+    /**
+     * Obtiene la serie temporal de ventas en vivo de un evento (tickets e ingresos por bucket).
+     *
+     * @param eventId ID del evento.
+     * @param zoneId ID de la zona (opcional).
+     * @param resolution Resolución de la serie (SECOND, MINUTE u HOUR).
+     * @param points Número de puntos a devolver.
+     * @return Serie temporal de ventas.
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<SalesTimeSeriesResponseDTO> getTimeSeries(
+            @PathVariable UUID eventId,
+            @RequestParam(required = false) UUID zoneId,
+            @RequestParam(defaultValue = "SECOND") SalesResolution resolution,
+            @RequestParam(defaultValue = "60") int points) {
+        return ResponseEntity.ok(salesService.getTimeSeries(eventId, zoneId, resolution, points));
+    }
+
+    /**
+     * Obtiene las ventas compactadas por minuto de un evento en un rango de fechas.
+     *
+     * @param eventId ID del evento.
+     * @param from Inicio del rango.
+     * @param to Fin del rango.
+     * @return Puntos agregados por minuto.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<List<SalesPointDTO>> getHistory(
+            @PathVariable UUID eventId,
+            @RequestParam LocalDateTime from,
+            @RequestParam LocalDateTime to) {
+        return ResponseEntity.ok(salesService.getHistory(eventId, from, to));
+    }
+}
@@ -1,17 +1,35 @@
 package com.tickets.ravetix.controller;
 
+import com.tickets.ravetix.cache.RenderedJson;
+import com.tickets.ravetix.dto.SliceResponse;
+import com.tickets.ravetix.dto.ticket.TicketCredentialDTO;
 import com.tickets.ravetix.dto.ticket.TicketRequestDTO;
 import com.tickets.ravetix.dto.ticket.TicketResponseDTO;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.ExportFormat;
+import com.tickets.ravetix.enums.TicketState;
+import com.tickets.ravetix.export.AttendeeExporter;
+import com.tickets.ravetix.ratelimit.RateLimiter;
+import com.tickets.ravetix.security.AppUserDetails;
 import com.tickets.ravetix.service.interfac.TicketService;
+import com.tickets.ravetix.util.ConditionalRequestUtil;
+import com.tickets.ravetix.util.KeysetCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -20,28 +38,50 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final AttendeeExporter attendeeExporter;
+    private final RateLimiter rateLimiter;
 
     /**
-     * Crea un nuevo ticket para un usuario en una zona de un evento.
+     * Crea un nuevo ticket para un usuario en una zona de un evento. Responde 429 si el evento
+     * supera su límite de compras.
      *
      * @param ticketDTO Datos del ticket a crear.
      * @return Ticket creado.
      */
     @PostMapping
     public ResponseEntity<TicketResponseDTO> createTicket(@Valid @RequestBody TicketRequestDTO ticketDTO) {
+        rateLimiter.requireEvent(ticketDTO.getEventoId());
         TicketResponseDTO createdTicket = ticketService.createTicket(ticketDTO);
         return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
     }
 
     /**
-     * Obtiene un ticket por su ID.
+     * Obtiene un ticket por su ID. Responde 304 sin cargar el ticket si el cliente
+     * ya tiene la versión actual.
      *
      * @param id ID del ticket.
+     * @param request Petición, con las cabeceras condicionales.
      * @return Ticket encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TicketResponseDTO> getTicketById(@PathVariable UUID id) {
-        return ResponseEntity.ok(ticketService.getTicketById(id));
+    public ResponseEntity<TicketResponseDTO> getTicketById(@PathVariable UUID id, WebRequest request) {
+        return ConditionalRequestUtil.ifModified(request, ticketService.getTicketVersion(id),
+                () -> ticketService.getTicketById(id));
+    }
+
+    /**
+     * Obtiene el código de acceso firmado de un ticket pagado, para mostrarlo como QR. Solo lo
+     * obtiene el comprador del ticket.
+     *
+     * @param id ID del ticket.
+     * @param principal Usuario autenticado.
+     * @return Código y ventana de validez.
+     */
+    @GetMapping("/{id}/credential")
+    public ResponseEntity<TicketCredentialDTO> getTicketCredential(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal AppUserDetails principal) {
+        return ResponseEntity.ok(ticketService.getTicketCredential(id, principal == null ? null : principal.getId()));
     }
 
     /**
@@ -49,13 +89,32 @@ public class TicketController {
      *
      * @param userId ID del usuario.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de tickets encontrados.
      */
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<TicketResponseDTO>> getTicketsByUser(
             @PathVariable UUID userId,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(ticketService.getTicketsByUserId(userId, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(ticketService.getTicketsByUserId(userId, pageable, count));
+    }
+
+    /**
+     * Recorre los tickets de un usuario por cursor, sin total de elementos. Se activa con el
+     * parámetro {@code cursor}: vacío para la primera página y, después, el {@code nextCursor} recibido.
+     *
+     * @param userId ID del usuario.
+     * @param cursor Cursor de la página anterior.
+     * @param size Tamaño de página (máximo {@value KeysetCursor#MAX_SIZE}).
+     * @return Página de tickets con el cursor de la siguiente.
+     */
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    public ResponseEntity<SliceResponse<TicketResponseDTO>> scrollTicketsByUser(
+            @PathVariable UUID userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ticketService.scrollTicketsByUserId(userId, cursor, size));
     }
 
     /**
@@ -63,13 +122,66 @@ public class TicketController {
      *
      * @param eventId ID del evento.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de tickets encontrados.
      */
     @GetMapping("/event/{eventId}")
     public ResponseEntity<Page<TicketResponseDTO>> getTicketsByEvent(
             @PathVariable UUID eventId,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(ticketService.getTicketsByEventId(eventId, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(ticketService.getTicketsByEventId(eventId, pageable, count));
+    }
+
+    /**
+     * Recorre los tickets de un evento por cursor, sin total de elementos. Se activa con el
+     * parámetro {@code cursor}: vacío para la primera página y, después, el {@code nextCursor} recibido.
+     *
+     * @param eventId ID del evento.
+     * @param cursor Cursor de la página anterior.
+     * @param size Tamaño de página (máximo {@value KeysetCursor#MAX_SIZE}).
+     * @return Página de tickets con el cursor de la siguiente.
+     */
+    @GetMapping(value = "/event/{eventId}", params = "cursor")
+    public ResponseEntity<SliceResponse<TicketResponseDTO>> scrollTicketsByEvent(
+            @PathVariable UUID eventId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ticketService.scrollTicketsByEventId(eventId, cursor, size));
+    }
+
+    /**
+     * Exporta todos los tickets de un evento con los datos de sus asistentes, para el personal
+     * de puerta. La respuesta se escribe mientras se leen las filas, comprimida si el cliente
+     * acepta gzip. Incluye nombre, correo y teléfono, así que solo la pueden pedir usuarios con la
+     * autoridad {@code STAFF} (ver {@code SecurityConfig}).
+     *
+     * @param eventId ID del evento.
+     * @param format Formato de salida: CSV o NDJSON.
+     * @param estado Estados de los tickets a exportar (opcional; por defecto todos).
+     * @param acceptEncoding Cabecera {@code Accept-Encoding} de la petición.
+     * @return Fichero con un ticket por fila.
+     */
+    @GetMapping("/event/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTicketsByEvent(
+            @PathVariable UUID eventId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) Set<TicketState> estado,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        attendeeExporter.requireEvent(eventId);
+        boolean gzip = RenderedJson.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> attendeeExporter.export(eventId, estado, format, gzip, out);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets-" + eventId + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
     }
 
     /**
@@ -1,9 +1,13 @@
 package com.tickets.ravetix.controller;
 
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.user.UserCreateDTO;
 import com.tickets.ravetix.dto.user.UserResponseDTO;
 import com.tickets.ravetix.dto.user.UserUpdateDTO;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.UserExpansion;
 import com.tickets.ravetix.service.interfac.UserService;
+import com.tickets.ravetix.util.KeysetCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -38,14 +42,21 @@ public class UserController {
     }
 
     /**
-     * Obtiene un usuario por su ID.
+     * Obtiene un usuario por su ID, con los recursos asociados indicados en {@code expand}
+     * ({@code tickets}, {@code pagos}, {@code historial}, separados por comas). Si se omite se
+     * incluyen todos; {@code expand=none} devuelve solo el perfil.
      *
      * @param id ID del usuario.
+     * @param expand Recursos asociados a incluir.
+     * @param size Elementos más recientes de cada recurso incluido.
      * @return Usuario encontrado.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable UUID id) {
-        UserResponseDTO user = userService.getUserById(id);
+    public ResponseEntity<UserResponseDTO> getUserById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String expand,
+            @RequestParam(defaultValue = "20") int size) {
+        UserResponseDTO user = userService.getUserById(id, UserExpansion.parse(expand), size);
         return ResponseEntity.ok(user);
     }
 
@@ -53,15 +64,32 @@ public class UserController {
      * Obtiene todos los usuarios paginados.
      *
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de usuarios.
      */
     @GetMapping
     public ResponseEntity<Page<UserResponseDTO>> getAllUsers(
-            @PageableDefault(size = 20) Pageable pageable) {
-        Page<UserResponseDTO> users = userService.getAllUsers(pageable);
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        Page<UserResponseDTO> users = userService.getAllUsers(pageable, count);
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Recorre todos los usuarios por cursor, sin total de elementos. Se activa con el parámetro
+     * {@code cursor}: vacío para la primera página y, después, el {@code nextCursor} recibido.
+     *
+     * @param cursor Cursor de la página anterior.
+     * @param size Tamaño de página (máximo {@value KeysetCursor#MAX_SIZE}).
+     * @return Página de usuarios con el cursor de la siguiente.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<SliceResponse<UserResponseDTO>> scrollUsers(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.scrollAllUsers(cursor, size));
+    }
+
     /**
      * Actualiza un usuario existente.
      *
@@ -3,7 +3,9 @@ package com.tickets.ravetix.controller;
 import com.tickets.ravetix.dto.zone.ZoneCreateDTO;
 import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
 import com.tickets.ravetix.dto.zone.ZoneUpdateDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.service.interfac.ZoneService;
+import com.tickets.ravetix.util.ConditionalRequestUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,6 +14,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -26,13 +29,15 @@ public class ZoneController {
      *
      * @param eventId ID del evento.
      * @param pageable Parámetros de paginación.
+     * @param count Estrategia de cuenta del total; si se omite, la configurada para el endpoint.
      * @return Página de zonas del evento.
      */
     @GetMapping
     public ResponseEntity<Page<ZoneResponseDTO>> getAllZonesByEventId(
             @PathVariable UUID eventId,
-            @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(zoneService.findAllByEventId(eventId, pageable));
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(required = false) CountStrategy count) {
+        return ResponseEntity.ok(zoneService.findAllByEventId(eventId, pageable, count));
     }
 
     /**
@@ -50,17 +55,21 @@ public class ZoneController {
     }
 
     /**
-     * Obtiene una zona específica por su ID dentro de un evento.
+     * Obtiene una zona específica por su ID dentro de un evento. Responde 304 sin cargar
+     * la zona si el cliente ya tiene la versión actual.
      *
      * @param eventId ID del evento.
      * @param zoneId ID de la zona.
+     * @param request Petición, con las cabeceras condicionales.
      * @return Zona encontrada.
      */
     @GetMapping("/{zoneId}")
     public ResponseEntity<ZoneResponseDTO> getZoneById(
             @PathVariable UUID eventId,
-            @PathVariable UUID zoneId) {
-        return ResponseEntity.ok(zoneService.findById(zoneId));
+            @PathVariable UUID zoneId,
+            WebRequest request) {
+        return ConditionalRequestUtil.ifModified(request, zoneService.getVersion(zoneId),
+                () -> zoneService.findById(zoneId));
     }
 
     /**
@@ -0,0 +1,15 @@
+package com.tickets.ravetix.domain;
+
+import com.tickets.ravetix.enums.CatalogChangeType;
+
+import java.util.UUID;
+
+/**
+ * Evento de dominio publicado cuando cambia un evento del catálogo o algo que forma parte de su vista
+ * (zonas, tickets vendidos).
+ *
+ * @param eventoId ID del evento afectado.
+ * @param tipo     Tipo de cambio.
+ */
+public record CatalogChangedEvent(UUID eventoId, CatalogChangeType tipo) {
+}
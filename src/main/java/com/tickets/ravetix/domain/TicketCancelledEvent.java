@@ -0,0 +1,12 @@
+package com.tickets.ravetix.domain;
+
+import java.util.UUID;
+
+/**
+ * Evento de dominio publicado cuando se cancela un ticket.
+ *
+ * @param ticketId ID del ticket cancelado.
+ * @param eventoId ID del evento al que pertenece el ticket.
+ */
+public record TicketCancelledEvent(UUID ticketId, UUID eventoId) {
+}
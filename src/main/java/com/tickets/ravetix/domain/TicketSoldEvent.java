@@ -0,0 +1,17 @@
+package com.tickets.ravetix.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de dominio publicado cuando el pago de un ticket se completa.
+ *
+ * @param eventoId ID del evento al que pertenece el ticket.
+ * @param zonaId   ID de la zona del ticket.
+ * @param usuarioId ID del comprador.
+ * @param monto    Monto cobrado por el ticket.
+ * @param vendidoEn Instante en que se completó la venta.
+ */
+public record TicketSoldEvent(UUID eventoId, UUID zonaId, UUID usuarioId, BigDecimal monto, Instant vendidoEn) {
+}
@@ -0,0 +1,14 @@
+package com.tickets.ravetix.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de dominio publicado cuando se revocan los tokens de un usuario (baja, cambio de correo
+ * o de contraseña).
+ *
+ * @param usuarioId  ID del usuario.
+ * @param revocadoEn Instante de la revocación; los tokens emitidos antes dejan de aceptarse.
+ */
+public record UserAccessRevokedEvent(UUID usuarioId, Instant revocadoEn) {
+}
@@ -0,0 +1,10 @@
+package com.tickets.ravetix.domain;
+
+/**
+ * Evento de dominio publicado cuando cambian los datos con los que se autentica un usuario:
+ * alta, modificación o baja.
+ *
+ * @param correo Correo con el que se cargaba el usuario; el anterior si cambió.
+ */
+public record UserCredentialsChangedEvent(String correo) {
+}
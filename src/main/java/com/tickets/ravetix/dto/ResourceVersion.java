@@ -0,0 +1,43 @@
+package com.tickets.ravetix.dto;
+
+import com.tickets.ravetix.repository.VersionStamp;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validadores HTTP de un recurso: ETag fuerte y fecha de última modificación.
+ *
+ * @param etag         ETag derivado de las versiones de todas las filas que componen la representación.
+ * @param lastModified Última modificación entre esas filas.
+ */
+public record ResourceVersion(String etag, LocalDateTime lastModified) {
+
+    /**
+     * Combina los sellos de versión de las filas que aparecen en la representación del recurso.
+     */
+    public static ResourceVersion of(VersionStamp... stamps) {
+        StringBuilder components = new StringBuilder();
+        LocalDateTime lastModified = null;
+        for (VersionStamp stamp : stamps) {
+            components.append(stamp.getCount()).append(':')
+                    .append(stamp.getVersion()).append(':')
+                    .append(stamp.getUpdatedAt()).append(';');
+            if (stamp.getUpdatedAt() != null
+                    && (lastModified == null || stamp.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = stamp.getUpdatedAt();
+            }
+        }
+        String etag = DigestUtils.md5DigestAsHex(components.toString().getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion(etag, lastModified);
+    }
+
+    /**
+     * Última modificación en milisegundos, o {@code -1} si no se conoce.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,37 @@
+package com.tickets.ravetix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de un recorrido por cursor (keyset). No incluye el total de elementos: saber si hay
+ * más resultados basta para pedir la siguiente página.
+ *
+ * @param <T> Tipo de los elementos.
+ */
+@Getter
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    /**
+     * Elementos de la página.
+     */
+    private final List<T> content;
+
+    /**
+     * Tamaño de página solicitado.
+     */
+    private final int size;
+
+    /**
+     * Indica si existe una página siguiente.
+     */
+    private final boolean hasNext;
+
+    /**
+     * Cursor opaco para pedir la página siguiente, o {@code null} si no hay más.
+     */
+    private final String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.tickets.ravetix.dto.event;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a faceted event search: a page of events plus the count of each facet value.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventFacetResponseDTO {
+    private List<EventResponseDTO> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private Map<String, Map<String, Long>> facetas;
+}
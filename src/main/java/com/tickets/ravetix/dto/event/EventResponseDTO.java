@@ -2,6 +2,7 @@ package com.tickets.ravetix.dto.event;
 
 import com.tickets.ravetix.dto.BaseDTO;
 import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
+import com.tickets.ravetix.enums.CategoriaEvento;
 import com.tickets.ravetix.enums.EstadoEvento;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -23,6 +24,7 @@ public class EventResponseDTO extends BaseDTO {
     private String nombre;
     private String descripcion;
     private EstadoEvento estado;
+    private CategoriaEvento categoria;
     private LocalDateTime fechaHoraInicio;
     private LocalDateTime fechaHoraFin;
     private String ubicacion;
@@ -0,0 +1,20 @@
+package com.tickets.ravetix.dto.event;
+
+import com.tickets.ravetix.enums.SuggestionType;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * DTO for an autocomplete suggestion of the event search box.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSuggestionDTO {
+    private SuggestionType tipo;
+    private String texto;
+    private UUID eventoId;
+}
@@ -0,0 +1,21 @@
+package com.tickets.ravetix.dto.eventhistory;
+
+import lombok.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for the rating summary of an event.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventRatingResponseDTO {
+    private UUID eventoId;
+    private long totalCalificaciones;
+    private Double promedio;
+    private Map<Integer, Long> distribucion;
+}
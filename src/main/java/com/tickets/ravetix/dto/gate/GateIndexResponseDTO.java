@@ -0,0 +1,22 @@
+package com.tickets.ravetix.dto.gate;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO describing the ticket index file generated for an event's gates.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateIndexResponseDTO {
+    private UUID eventoId;
+    private int tickets;
+    private int zonas;
+    private long bytes;
+    private LocalDateTime generado;
+}
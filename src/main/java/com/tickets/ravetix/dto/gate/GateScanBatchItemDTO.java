@@ -0,0 +1,18 @@
+package com.tickets.ravetix.dto.gate;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a scan recorded offline by a gate device.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateScanBatchItemDTO {
+    private String codigo;
+    private LocalDateTime escaneadoEn;
+}
@@ -0,0 +1,18 @@
+package com.tickets.ravetix.dto.gate;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of scans synchronized by a gate device.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateScanBatchRequestDTO {
+    private String dispositivo;
+    private List<GateScanBatchItemDTO> escaneos;
+}
@@ -0,0 +1,19 @@
+package com.tickets.ravetix.dto.gate;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a batch of gate scans: counts and the scans that were not admitted.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateScanBatchResponseDTO {
+    private int recibidos;
+    private int admitidos;
+    private List<GateScanConflictDTO> conflictos;
+}
@@ -0,0 +1,22 @@
+package com.tickets.ravetix.dto.gate;
+
+import com.tickets.ravetix.enums.ScanResult;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a scan of a batch that was not admitted.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateScanConflictDTO {
+    private int indice;
+    private ScanResult resultado;
+    private UUID ticketId;
+    private LocalDateTime primerEscaneo;
+}
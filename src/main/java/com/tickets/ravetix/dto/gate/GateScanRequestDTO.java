@@ -0,0 +1,17 @@
+package com.tickets.ravetix.dto.gate;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * DTO for a code read by a gate scanner.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateScanRequestDTO {
+    @NotBlank(message = "El código es obligatorio")
+    private String codigo;
+}
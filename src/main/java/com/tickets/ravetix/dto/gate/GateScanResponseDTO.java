@@ -0,0 +1,22 @@
+package com.tickets.ravetix.dto.gate;
+
+import com.tickets.ravetix.enums.ScanResult;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of a gate scan.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateScanResponseDTO {
+    private ScanResult resultado;
+    private UUID ticketId;
+    private UUID zonaId;
+    private LocalDateTime primerEscaneo;
+}
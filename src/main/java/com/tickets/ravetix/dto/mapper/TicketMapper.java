@@ -26,6 +26,7 @@ public abstract class TicketMapper implements BaseMapper<Ticket, TicketCreateDTO
     @Mapping(target = "zona", ignore = true)
     @Mapping(target = "usuario", ignore = true)
     @Mapping(target = "pago", ignore = true)
+    @Mapping(target = "fechaUso", ignore = true)
     @Mapping(target = "fechaCreacion", ignore = true)
     @Mapping(target = "fechaActualizacion", ignore = true)
     public abstract Ticket toEntity(TicketCreateDTO createDto);
@@ -53,6 +53,27 @@ public abstract class UserMapper implements BaseMapper<User, UserCreateDTO, User
                 .build();
     }
 
+    /**
+     * Convierte solo los datos del perfil, sin tocar las colecciones perezosas del usuario:
+     * tickets, pagos e historial quedan vacíos.
+     */
+    @Named("toProfileDto")
+    public UserResponseDTO toProfileDto(User entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return UserResponseDTO.builder()
+                .id(entity.getId() != null ? entity.getId().toString() : null)
+                .fechaCreacion(entity.getFechaCreacion())
+                .fechaActualizacion(entity.getFechaActualizacion())
+                .version(entity.getVersion())
+                .nombre(entity.getNombre())
+                .correo(entity.getCorreo())
+                .telefono(entity.getTelefono())
+                .build();
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "tickets", ignore = true)
     @Mapping(target = "pagos", ignore = true)
@@ -0,0 +1,20 @@
+package com.tickets.ravetix.dto.sales;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a single point of a sales time series.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesPointDTO {
+    private LocalDateTime inicio;
+    private long entradasVendidas;
+    private BigDecimal ingresos;
+}
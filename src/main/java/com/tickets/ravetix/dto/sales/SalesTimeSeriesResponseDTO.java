@@ -0,0 +1,27 @@
+package com.tickets.ravetix.dto.sales;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tickets.ravetix.enums.SalesResolution;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for sales time series responses.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesTimeSeriesResponseDTO {
+    private UUID eventoId;
+    private UUID zonaId;
+    private SalesResolution resolucion;
+
+    @Builder.Default
+    private List<SalesPointDTO> puntos = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.tickets.ravetix.dto.ticket;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the signed access code of a ticket, to be rendered as a QR code.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketCredentialDTO {
+    private String codigo;
+    private LocalDateTime validoDesde;
+    private LocalDateTime validoHasta;
+}
@@ -1,5 +1,6 @@
 package com.tickets.ravetix.entity;
 
+import com.tickets.ravetix.enums.CategoriaEvento;
 import com.tickets.ravetix.enums.EstadoEvento;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -20,7 +21,14 @@ import java.util.List;
  * </p>
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events",
+       indexes = {
+           @Index(name = "idx_events_fecha_creacion_id", columnList = "fecha_creacion, id"),
+           @Index(name = "idx_events_ciudad_inicio", columnList = "ciudad, fecha_hora_inicio"),
+           @Index(name = "idx_events_inicio_fin", columnList = "fecha_hora_inicio, fecha_hora_fin"),
+           @Index(name = "idx_events_fin", columnList = "fecha_hora_fin")
+       })
+@NamedEntityGraph(name = Event.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("zonas"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,6 +38,12 @@ import java.util.List;
 @ToString(callSuper = true, exclude = {"tickets", "zonas", "historial"})
 @EqualsAndHashCode(callSuper = true)
 public class Event extends BaseEntity {
+
+    /**
+     * Grafo para leer un evento con sus zonas. Solo para consultas de una fila: en listados
+     * paginados las colecciones se cargan por lotes.
+     */
+    public static final String GRAPH_DETAIL = "Event.detail";
     
     // ID heredado de BaseEntity
     
@@ -53,6 +67,13 @@ public class Event extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private EstadoEvento estado;
 
+    /**
+     * Categoría del evento (ej: CONCIERTO, FESTIVAL, TEATRO).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CategoriaEvento categoria;
+
     /**
      * Fecha y hora de inicio del evento. Debe ser una fecha futura.
      */
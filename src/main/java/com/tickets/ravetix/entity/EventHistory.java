@@ -16,7 +16,19 @@ import java.time.LocalDateTime;
  * </p>
  */
 @Entity
-@Table(name = "event_histories")
+@Table(name = "event_histories",
+       uniqueConstraints = @UniqueConstraint(name = "uk_event_histories_usuario_evento",
+               columnNames = {"usuario_id", "evento_id"}),
+       indexes = {
+               @Index(name = "idx_event_histories_usuario_fecha_creacion_id", columnList = "usuario_id, fecha_creacion, id"),
+               @Index(name = "idx_event_histories_evento_fecha_creacion_id", columnList = "evento_id, fecha_creacion, id")
+       })
+@NamedEntityGraph(
+        name = EventHistory.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode("evento"),
+                @NamedAttributeNode("usuario")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +36,11 @@ import java.time.LocalDateTime;
 @DynamicUpdate
 @ToString(exclude = {"usuario", "evento"})
 public class EventHistory extends BaseEntity {
+
+    /**
+     * Grafo para mapear una entrada del historial a DTO: evento y usuario en la misma consulta.
+     */
+    public static final String GRAPH_DETAIL = "EventHistory.detail";
     
     /**
      * Usuario asociado a este historial de evento.
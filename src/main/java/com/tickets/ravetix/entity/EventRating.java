@@ -0,0 +1,70 @@
+package com.tickets.ravetix.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Agregado de las calificaciones de un evento: número, suma e histograma de 1 a 5 estrellas.
+ * <p>
+ * Se mantiene de forma incremental al calificar, en la misma transacción que el historial, para
+ * no recorrer {@code event_histories} al consultar la media. Las filas se escriben con SQL
+ * atómico desde {@link com.tickets.ravetix.rating.EventRatingAggregator}.
+ * </p>
+ */
+@Entity
+@Table(name = "event_ratings",
+       uniqueConstraints = @UniqueConstraint(name = "uk_event_ratings_evento", columnNames = "evento_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class EventRating extends BaseEntity {
+
+    /**
+     * ID del evento calificado.
+     */
+    @Column(name = "evento_id", nullable = false, updatable = false)
+    private UUID eventoId;
+
+    /**
+     * Número de calificaciones.
+     */
+    @Column(name = "total_calificaciones", nullable = false)
+    private long totalCalificaciones;
+
+    /**
+     * Suma de las calificaciones.
+     */
+    @Column(name = "suma_calificaciones", nullable = false)
+    private long sumaCalificaciones;
+
+    @Column(name = "estrellas_1", nullable = false)
+    private long estrellas1;
+
+    @Column(name = "estrellas_2", nullable = false)
+    private long estrellas2;
+
+    @Column(name = "estrellas_3", nullable = false)
+    private long estrellas3;
+
+    @Column(name = "estrellas_4", nullable = false)
+    private long estrellas4;
+
+    @Column(name = "estrellas_5", nullable = false)
+    private long estrellas5;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventRating that)) return false;
+        return getId() != null && getId().equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
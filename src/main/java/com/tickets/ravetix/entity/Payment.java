@@ -18,6 +18,12 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "payments")
+@NamedEntityGraph(
+        name = Payment.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode("ticket"),
+                @NamedAttributeNode("usuario")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +31,11 @@ import java.time.LocalDateTime;
 @DynamicUpdate
 @ToString(exclude = {"ticket", "usuario"})
 public class Payment extends BaseEntity {
+
+    /**
+     * Grafo para mapear un pago a DTO: ticket y usuario en la misma consulta.
+     */
+    public static final String GRAPH_DETAIL = "Payment.detail";
     
     /**
      * Monto total del pago realizado por el usuario.
@@ -0,0 +1,76 @@
+package com.tickets.ravetix.entity;
+
+import com.tickets.ravetix.enums.SalesResolution;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Agregado durable de ventas de una zona en un bucket de tiempo.
+ * <p>
+ * Se genera compactando las series temporales en memoria; cada nodo aporta
+ * sus propias filas y el total de un bucket es la suma de ellas.
+ * </p>
+ */
+@Entity
+@Table(name = "sales_rollups",
+       indexes = @Index(name = "idx_sales_rollups_evento_bucket", columnList = "evento_id, inicio_bucket"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SalesRollup extends BaseEntity {
+
+    /**
+     * ID del evento al que pertenecen las ventas.
+     */
+    @Column(name = "evento_id", nullable = false, updatable = false)
+    private UUID eventoId;
+
+    /**
+     * ID de la zona a la que pertenecen las ventas.
+     */
+    @Column(name = "zona_id", nullable = false, updatable = false)
+    private UUID zonaId;
+
+    /**
+     * Resolución del bucket agregado.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10, updatable = false)
+    private SalesResolution resolucion;
+
+    /**
+     * Inicio del bucket de tiempo.
+     */
+    @Column(name = "inicio_bucket", nullable = false, updatable = false)
+    private LocalDateTime inicioBucket;
+
+    /**
+     * Tickets vendidos en el bucket.
+     */
+    @Column(name = "entradas_vendidas", nullable = false)
+    private long entradasVendidas;
+
+    /**
+     * Ingresos obtenidos en el bucket.
+     */
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal ingresos;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SalesRollup that)) return false;
+        return getId() != null && getId().equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
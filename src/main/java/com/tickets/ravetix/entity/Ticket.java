@@ -17,7 +17,19 @@ import java.time.LocalDateTime;
  * </p>
  */
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets",
+       indexes = {
+               @Index(name = "idx_tickets_usuario_fecha_creacion_id", columnList = "usuario_id, fecha_creacion, id"),
+               @Index(name = "idx_tickets_evento_fecha_creacion_id", columnList = "evento_id, fecha_creacion, id")
+       })
+@NamedEntityGraph(
+        name = Ticket.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode("evento"),
+                @NamedAttributeNode("zona"),
+                @NamedAttributeNode("usuario"),
+                @NamedAttributeNode("pago")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +37,11 @@ import java.time.LocalDateTime;
 @DynamicUpdate
 @ToString(exclude = {"evento", "zona", "usuario", "pago"})
 public class Ticket extends BaseEntity {
+
+    /**
+     * Grafo para mapear un ticket a DTO: evento, zona, usuario y pago en la misma consulta.
+     */
+    public static final String GRAPH_DETAIL = "Ticket.detail";
     
     /**
      * Evento al que pertenece este ticket. Relación muchos a uno, obligatorio.
@@ -79,6 +96,12 @@ public class Ticket extends BaseEntity {
     @Column(nullable = false, length = 20)
     private TicketState estado = TicketState.PENDIENTE_PAGO;
     
+    /**
+     * Fecha y hora en que se escaneó el ticket en la puerta, si ya se usó.
+     */
+    @Column(name = "fecha_uso")
+    private LocalDateTime fechaUso;
+    
     /**
      * Motivo de cancelación del ticket, si aplica (opcional).
      */
@@ -0,0 +1,34 @@
+package com.tickets.ravetix.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revocación de los tokens de un usuario: los emitidos antes de {@code revocadoEn} dejan de
+ * aceptarse. Solo hace falta conservarla mientras esos tokens no hayan expirado.
+ */
+@Entity
+@Table(name = "token_revocations",
+       indexes = @Index(name = "idx_token_revocations_revocado_en", columnList = "revocado_en"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TokenRevocation extends BaseEntity {
+
+    /**
+     * ID del usuario cuyos tokens se revocan.
+     */
+    @Column(name = "usuario_id", nullable = false, updatable = false)
+    private UUID usuarioId;
+
+    /**
+     * Instante de la revocación.
+     */
+    @Column(name = "revocado_en", nullable = false, updatable = false)
+    private Instant revocadoEn;
+}
@@ -22,7 +22,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "users", 
-       uniqueConstraints = @UniqueConstraint(columnNames = "correo"))
+       uniqueConstraints = @UniqueConstraint(columnNames = "correo"),
+       indexes = @Index(name = "idx_users_fecha_creacion_id", columnList = "fecha_creacion, id"))
 @Getter
 @Setter
 @NoArgsConstructor
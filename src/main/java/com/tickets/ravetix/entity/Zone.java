@@ -20,6 +20,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "zones")
+@NamedEntityGraph(name = Zone.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("beneficios"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,6 +28,12 @@ import java.util.List;
 @DynamicUpdate
 @ToString(exclude = {"evento", "tickets"})
 public class Zone extends BaseEntity {
+
+    /**
+     * Grafo para leer una zona con sus beneficios. Solo para consultas de una fila: en listados
+     * paginados los beneficios se cargan por lotes.
+     */
+    public static final String GRAPH_DETAIL = "Zone.detail";
     
     /**
      * Nombre identificador de la zona dentro del evento.
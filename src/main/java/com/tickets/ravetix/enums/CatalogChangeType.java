@@ -0,0 +1,33 @@
+package com.tickets.ravetix.enums;
+
+/**
+ * Tipos de cambio del catálogo de eventos que invalidan datos derivados (cachés, índices).
+ */
+public enum CatalogChangeType {
+    /** Se creó un evento */
+    EVENT_CREATED,
+
+    /** Se modificaron los datos de un evento */
+    EVENT_UPDATED,
+
+    /** Cambió el estado de un evento */
+    EVENT_STATUS_CHANGED,
+
+    /** Se eliminó un evento */
+    EVENT_DELETED,
+
+    /** Se creó, modificó o eliminó una zona del evento */
+    ZONES_CHANGED,
+
+    /** Se vendió, pagó, canceló o reembolsó un ticket del evento */
+    TICKETS_CHANGED;
+
+    /**
+     * Indica si el cambio puede alterar qué eventos aparecen en un listado
+     * (por estado, fechas, texto u orden), y no solo el contenido de un evento.
+     */
+    public boolean affectsListings() {
+        return this == EVENT_CREATED || this == EVENT_UPDATED
+                || this == EVENT_STATUS_CHANGED || this == EVENT_DELETED;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tickets.ravetix.enums;
+
+/**
+ * Formas de calcular el total de elementos de un listado paginado.
+ * <p>
+ * Un {@code count(*)} exacto recorre todas las filas que cumplen el filtro, así que en tablas
+ * grandes puede costar más que la propia página. Cada endpoint elige cuánto le importa la precisión.
+ * </p>
+ */
+public enum CountStrategy {
+    /** Cuenta exacta con {@code count(*)} */
+    EXACT,
+
+    /** Sin cuenta: el total es el mínimo conocido a partir de la página leída */
+    SKIPPED,
+
+    /** Cuenta exacta hasta un tope; por encima solo se sabe que hay más que el tope */
+    CAPPED,
+
+    /** Estimación de las estadísticas del planificador o una cuenta cacheada con antigüedad acotada */
+    ESTIMATED
+}
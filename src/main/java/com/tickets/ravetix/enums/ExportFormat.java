@@ -0,0 +1,28 @@
+package com.tickets.ravetix.enums;
+
+/**
+ * Formatos de las exportaciones masivas.
+ */
+public enum ExportFormat {
+    /** Valores separados por comas, con una fila de cabecera */
+    CSV("text/csv", "csv"),
+
+    /** Un objeto JSON por línea */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
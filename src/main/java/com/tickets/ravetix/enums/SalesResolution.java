@@ -0,0 +1,35 @@
+package com.tickets.ravetix.enums;
+
+/**
+ * Resoluciones disponibles para las series temporales de ventas en memoria.
+ * <p>
+ * Cada resolución define el ancho de un bucket en segundos y cuántos buckets
+ * conserva su buffer circular antes de sobrescribir los más antiguos.
+ * </p>
+ */
+public enum SalesResolution {
+    /** Buckets de un segundo, ventana de cinco minutos */
+    SECOND(1, 300),
+
+    /** Buckets de un minuto, ventana de dos horas */
+    MINUTE(60, 120),
+
+    /** Buckets de una hora, ventana de tres días */
+    HOUR(3600, 72);
+
+    private final long bucketSeconds;
+    private final int slots;
+
+    SalesResolution(long bucketSeconds, int slots) {
+        this.bucketSeconds = bucketSeconds;
+        this.slots = slots;
+    }
+
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tickets.ravetix.enums;
+
+/**
+ * Resultado de la validación de un código de acceso en la puerta de un evento.
+ */
+public enum ScanResult {
+    /** Código válido y primer escaneo: el asistente puede entrar. */
+    ADMITIDO,
+    /** El ticket ya se escaneó antes. */
+    YA_ESCANEADO,
+    /** El código está mal formado o su firma no es válida. */
+    CODIGO_INVALIDO,
+    /** El código pertenece a otro evento. */
+    OTRO_EVENTO,
+    /** El código todavía no es válido o ya expiró. */
+    FUERA_DE_HORARIO,
+    /** El ticket fue cancelado o venció. */
+    ANULADO,
+    /** La puerta tiene demasiados escaneos sin escribir; el escaneo no se registró y hay que repetirlo. */
+    NO_DISPONIBLE
+}
@@ -0,0 +1,15 @@
+package com.tickets.ravetix.enums;
+
+/**
+ * Tipos de sugerencia del autocompletado de la búsqueda de eventos.
+ */
+public enum SuggestionType {
+    /** Nombre de un evento */
+    EVENTO,
+
+    /** Ciudad donde hay eventos */
+    CIUDAD,
+
+    /** Dirección de un recinto, con su ciudad */
+    DIRECCION
+}
@@ -0,0 +1,50 @@
+package com.tickets.ravetix.enums;
+
+import com.tickets.ravetix.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Recursos asociados que pueden incluirse al consultar un usuario.
+ */
+public enum UserExpansion {
+    /** Tickets del usuario */
+    TICKETS,
+
+    /** Pagos realizados por el usuario */
+    PAGOS,
+
+    /** Historial de eventos del usuario */
+    HISTORIAL;
+
+    /**
+     * Interpreta el parámetro {@code expand}: una lista separada por comas, sin distinguir
+     * mayúsculas. Si se omite se incluyen todos los recursos; vacío o {@code none} devuelve
+     * solo el perfil.
+     *
+     * @param expand Valor del parámetro.
+     * @return Recursos a incluir.
+     * @throws ValidationException si algún valor no es un recurso conocido.
+     */
+    public static Set<UserExpansion> parse(String expand) {
+        if (expand == null) {
+            return EnumSet.allOf(UserExpansion.class);
+        }
+        Set<UserExpansion> expansions = EnumSet.noneOf(UserExpansion.class);
+        for (String value : expand.split(",")) {
+            String name = value.trim();
+            if (name.isEmpty() || name.equalsIgnoreCase("none")) {
+                continue;
+            }
+            try {
+                expansions.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Validación fallida",
+                        "Recurso desconocido en expand: " + name + " (válidos: tickets, pagos, historial)");
+            }
+        }
+        return expansions;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tickets.ravetix.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a client exceeds a rate limit.
+ */
+@Getter
+public class RateLimitExceededException extends BaseException {
+
+    /**
+     * Seconds the client should wait before retrying.
+     */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String details, long retryAfterSeconds) {
+        super(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "RATE_LIMITED",
+            "Demasiadas solicitudes",
+            details
+        );
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,261 @@
+package com.tickets.ravetix.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.ravetix.enums.ExportFormat;
+import com.tickets.ravetix.enums.TicketState;
+import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta los tickets de un evento con los datos de sus asistentes, para el personal de puerta.
+ * <p>
+ * Lee una proyección plana (ticket, zona y usuario) con un cursor de solo avance: dentro de una
+ * transacción de solo lectura, el driver de PostgreSQL trae las filas por bloques de
+ * {@code app.export.fetch-size} en lugar de cargar todo el resultado. Cada fila se escribe
+ * directamente en la respuesta, sin entidades ni DTOs, así que la memoria usada no depende del
+ * tamaño del evento.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AttendeeExporter {
+
+    static final List<String> COLUMNS = List.of(
+            "ticket_id", "estado", "zona", "tipo_zona", "precio", "fecha_compra",
+            "usuario_id", "nombre", "correo", "telefono");
+
+    private static final String SELECT =
+            "SELECT t.id, t.estado, z.nombre, z.tipo, t.precio, t.fecha_compra, " +
+            "u.id, u.nombre, u.correo, u.telefono " +
+            "FROM tickets t JOIN zones z ON z.id = t.zona_id JOIN users u ON u.id = t.usuario_id " +
+            "WHERE t.evento_id = ?";
+    private static final String ORDER = " ORDER BY t.fecha_creacion, t.id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public AttendeeExporter(
+            EventRepository eventRepository,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Comprueba que el evento existe antes de empezar a escribir la respuesta.
+     *
+     * @param eventId ID del evento.
+     * @throws NotFoundException si el evento no existe.
+     */
+    public void requireEvent(UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Evento no encontrado con ID: " + eventId);
+        }
+    }
+
+    /**
+     * Escribe los tickets del evento, en orden de compra.
+     *
+     * @param eventId ID del evento.
+     * @param estados Estados de los tickets a exportar; vacío o {@code null} para todos.
+     * @param format  Formato de salida.
+     * @param gzip    Si la salida se comprime con gzip.
+     * @param out     Destino; no se cierra.
+     */
+    public void export(UUID eventId, Set<TicketState> estados, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        long start = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        OutputStream target = compressed != null ? compressed : out;
+        Rows rows = format == ExportFormat.CSV ? new CsvRows(target) : new NdjsonRows(target, objectMapper);
+
+        List<Object> args = new ArrayList<>();
+        args.add(eventId);
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (estados != null && !estados.isEmpty()) {
+            sql.append(" AND t.estado IN (").append(String.join(", ", Collections.nCopies(estados.size(), "?"))).append(')');
+            estados.forEach(estado -> args.add(estado.name()));
+        }
+        sql.append(ORDER);
+
+        try {
+            rows.begin();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql.toString(), rows, args.toArray()));
+            rows.end();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        meterRegistry.counter("tickets.export.rows", "format", format.name()).increment(rows.count);
+        log.info("Exported {} tickets of event {} as {} in {} ms",
+                rows.count, eventId, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Escribe un campo CSV, entre comillas si hace falta. Los valores que una hoja de cálculo
+     * interpretaría como fórmula se prefijan con un apóstrofo.
+     */
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String text(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Lee una fila de la proyección en el orden de {@link #COLUMNS}.
+     */
+    static Object[] read(ResultSet rs) throws SQLException {
+        return new Object[]{
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getBigDecimal(5),
+                rs.getObject(6, LocalDateTime.class), rs.getString(7), rs.getString(8), rs.getString(9),
+                rs.getString(10)};
+    }
+
+    /**
+     * Escribe las filas según llegan del cursor.
+     */
+    abstract static class Rows implements RowCallbackHandler {
+
+        long count;
+
+        abstract void begin() throws IOException;
+
+        abstract void write(Object[] row) throws IOException;
+
+        abstract void end() throws IOException;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(read(rs));
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static final class CsvRows extends Rows {
+
+        private final Writer writer;
+
+        CsvRows(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(text(row[i])));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void end() throws IOException {
+            writer.flush();
+        }
+    }
+
+    static final class NdjsonRows extends Rows {
+
+        private final JsonGenerator generator;
+
+        NdjsonRows(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        void begin() {
+        }
+
+        @Override
+        void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                generator.writeFieldName(COLUMNS.get(i));
+                if (row[i] instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else {
+                    generator.writeString(text(row[i]));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void end() throws IOException {
+            generator.flush();
+        }
+    }
+}
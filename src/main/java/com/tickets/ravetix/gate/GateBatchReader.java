@@ -0,0 +1,115 @@
+package com.tickets.ravetix.gate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.ravetix.dto.gate.GateScanBatchItemDTO;
+import com.tickets.ravetix.dto.gate.GateScanBatchRequestDTO;
+import com.tickets.ravetix.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Lee los lotes de escaneos que envían los dispositivos de puerta, comprimidos con gzip si la
+ * petición trae {@code Content-Encoding: gzip}.
+ * <p>
+ * El tamaño descomprimido se limita a {@code app.gate.batch.max-size} y el número de escaneos a
+ * {@code app.gate.batch.max-scans}, para que un lote no pueda agotar la memoria del nodo.
+ * </p>
+ */
+@Component
+public class GateBatchReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final int maxScans;
+    private final long maxBytes;
+
+    public GateBatchReader(
+            ObjectMapper objectMapper,
+            @Value("${app.gate.batch.max-scans:10000}") int maxScans,
+            @Value("${app.gate.batch.max-size:8MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxScans = maxScans;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    /**
+     * Lee un lote.
+     *
+     * @param body            Cuerpo de la petición.
+     * @param contentEncoding Cabecera {@code Content-Encoding}; {@code null} si no está comprimido.
+     * @return Escaneos del lote, en orden.
+     * @throws ValidationException si el lote está mal formado, vacío o supera los límites.
+     */
+    public List<GateScanBatchItemDTO> read(InputStream body, String contentEncoding) throws IOException {
+        String encoding = contentEncoding != null ? contentEncoding.trim() : "";
+        boolean gzip = "gzip".equalsIgnoreCase(encoding);
+        if (!gzip && !encoding.isEmpty() && !"identity".equalsIgnoreCase(encoding)) {
+            throw new ValidationException("Validación fallida", "Codificación no soportada: " + contentEncoding);
+        }
+        GateScanBatchRequestDTO batch;
+        try {
+            InputStream in = gzip ? new GZIPInputStream(body, BUFFER_SIZE) : body;
+            batch = objectMapper.readValue(new LimitedInputStream(in, maxBytes), GateScanBatchRequestDTO.class);
+        } catch (JsonProcessingException | ZipException | EOFException e) {
+            throw new ValidationException("Validación fallida", "Lote de escaneos mal formado");
+        }
+        List<GateScanBatchItemDTO> items = batch != null ? batch.getEscaneos() : null;
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Validación fallida", "El lote no contiene escaneos");
+        }
+        if (items.size() > maxScans) {
+            throw new ValidationException("Validación fallida", "El lote supera el máximo de " + maxScans + " escaneos");
+        }
+        return items;
+    }
+
+    /**
+     * Corta la lectura al superar el límite de bytes.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long read;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            if (read > limit) {
+                throw new ValidationException("Validación fallida", "El lote supera el tamaño máximo de " + limit + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.cache.InvalidationBus;
+import com.tickets.ravetix.cache.InvalidationListener;
+import com.tickets.ravetix.cache.InvalidationMessage;
+import com.tickets.ravetix.domain.TicketCancelledEvent;
+import com.tickets.ravetix.enums.TicketState;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Lleva las cancelaciones y reembolsos de tickets a las puertas de todos los nodos: tras el commit
+ * anula el ticket en el registro de escaneos y en el índice del evento, y lo reenvía al bus; aplica
+ * los recibidos de los demás nodos. Si se pudieron perder mensajes, el registro vuelve a cargar
+ * los eventos de la base de datos.
+ */
+@Component
+public class GateRevocationRelay implements InvalidationListener {
+
+    public static final String REGION = "gate.tickets";
+
+    private final InvalidationBus invalidationBus;
+    private final GateScanRegistry gateScanRegistry;
+    private final TicketIndexStore ticketIndexStore;
+
+    public GateRevocationRelay(InvalidationBus invalidationBus, GateScanRegistry gateScanRegistry,
+                               TicketIndexStore ticketIndexStore) {
+        this.invalidationBus = invalidationBus;
+        this.gateScanRegistry = gateScanRegistry;
+        this.ticketIndexStore = ticketIndexStore;
+        invalidationBus.subscribe(REGION, this);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCancelled(TicketCancelledEvent event) {
+        revoke(event.eventoId(), event.ticketId());
+        invalidationBus.publish(new InvalidationMessage(REGION, event.ticketId().toString(), event.eventoId().toString()));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationMessage message) {
+        revoke(UUID.fromString(message.type()), UUID.fromString(message.key()));
+    }
+
+    @Override
+    public void onReset() {
+        gateScanRegistry.clear();
+    }
+
+    private void revoke(UUID eventoId, UUID ticketId) {
+        gateScanRegistry.revoke(eventoId, ticketId);
+        ticketIndexStore.apply(eventoId, ticketId, TicketState.CANCELADO);
+    }
+}
@@ -0,0 +1,56 @@
+package com.tickets.ravetix.gate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Escribe periódicamente los escaneos admitidos en la puerta que siguen en la cola del registro.
+ * <p>
+ * Si un lote falla, sus escaneos vuelven a la cola y se reintentan en la siguiente pasada.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GateScanFlushJob {
+
+    private final GateScanRegistry registry;
+    private final GateScanWriter writer;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration idleTtl;
+
+    public GateScanFlushJob(
+            GateScanRegistry registry,
+            GateScanWriter writer,
+            Clock clock,
+            @Value("${app.gate.flush-batch-size:1000}") int batchSize,
+            @Value("${app.gate.idle-ttl:12h}") Duration idleTtl) {
+        this.registry = registry;
+        this.writer = writer;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.idleTtl = idleTtl;
+    }
+
+    @Scheduled(fixedDelayString = "${app.gate.flush-interval-ms:1000}")
+    public void flush() {
+        List<GateScanRegistry.Scan> batch;
+        while (!(batch = registry.drain(batchSize)).isEmpty()) {
+            try {
+                writer.write(batch);
+            } catch (DataAccessException e) {
+                registry.requeue(batch);
+                log.warn("Could not write {} gate scans, will retry: {}", batch.size(), e.getMessage());
+                return;
+            }
+        }
+        registry.evictIdle(clock.instant().minus(idleTtl));
+    }
+}
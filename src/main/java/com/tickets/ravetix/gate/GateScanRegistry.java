@@ -0,0 +1,369 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.dto.gate.GateScanBatchItemDTO;
+import com.tickets.ravetix.dto.gate.GateScanBatchResponseDTO;
+import com.tickets.ravetix.dto.gate.GateScanConflictDTO;
+import com.tickets.ravetix.dto.gate.GateScanResponseDTO;
+import com.tickets.ravetix.enums.ScanResult;
+import com.tickets.ravetix.enums.TicketState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Valida los códigos de acceso en la puerta y recuerda qué tickets ya entraron.
+ * <p>
+ * Cada evento tiene en memoria el conjunto de tickets escaneados y el de tickets anulados. El
+ * conjunto se carga de la tabla {@code tickets} la primera vez que se escanea un ticket del evento
+ * en el nodo; a partir de ahí, validar un código es verificar su firma y una inserción en un mapa
+ * concurrente, sin tocar la base de datos. Los escaneos admitidos quedan en una cola que
+ * {@link GateScanFlushJob} escribe por lotes en los tickets y en el historial; los lotes que
+ * sincronizan los dispositivos sin conexión se escriben al recibirlos.
+ * </p>
+ * <p>
+ * La cola está acotada por {@code app.gate.pending-capacity}. Con la cola llena, un escaneo en
+ * línea se rechaza con {@code NO_DISPONIBLE} y el ticket no cuenta como escaneado, para que la
+ * puerta lo repita. Los escaneos que no caben al devolver a la cola un lote fallido se olvidan y
+ * se cuentan en {@code gate.scans.dropped}: el ticket sigue pagado en la base de datos.
+ * </p>
+ * <p>
+ * Las puertas de un mismo evento deben apuntar al mismo nodo: los escaneos de otro nodo solo se
+ * ven al recargar el evento, y al escribir el lote el doble uso se detecta y se cuenta.
+ * </p>
+ * <p>
+ * Si el evento tiene un {@link TicketIndex}, las anulaciones se consultan también en él, y si la
+ * base de datos no responde al cargar el evento, los tickets ya usados se toman del índice.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GateScanRegistry {
+
+    private static final String LOAD_SQL =
+            "SELECT id, estado, fecha_uso FROM tickets WHERE evento_id = ? AND estado IN (?, ?, ?)";
+
+    private final TicketCredentials credentials;
+    private final GateScanWriter writer;
+    private final TicketIndexStore ticketIndexStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final Map<UUID, EventGate> gates = new ConcurrentHashMap<>();
+    private final BlockingQueue<Scan> pending;
+    private final Map<ScanResult, Counter> results = new EnumMap<>(ScanResult.class);
+    private final Counter dropped;
+    private final Timer timer;
+    private final DistributionSummary batchSizes;
+
+    public GateScanRegistry(TicketCredentials credentials, GateScanWriter writer, TicketIndexStore ticketIndexStore,
+                            JdbcTemplate jdbcTemplate, Clock clock, MeterRegistry meterRegistry,
+                            @Value("${app.gate.pending-capacity:100000}") int pendingCapacity) {
+        this.credentials = credentials;
+        this.writer = writer;
+        this.ticketIndexStore = ticketIndexStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.pending = new ArrayBlockingQueue<>(pendingCapacity);
+        for (ScanResult result : ScanResult.values()) {
+            results.put(result, meterRegistry.counter("gate.scans", "resultado", result.name()));
+        }
+        this.timer = meterRegistry.timer("gate.scans.validate");
+        this.batchSizes = meterRegistry.summary("gate.scans.batch.size");
+        this.dropped = meterRegistry.counter("gate.scans.dropped");
+        meterRegistry.gaugeCollectionSize("gate.scans.pending", Tags.empty(), pending);
+        meterRegistry.gaugeMapSize("gate.events", Tags.empty(), gates);
+    }
+
+    /**
+     * Valida un código leído en la puerta de un evento y, si es el primer escaneo, admite el ticket.
+     *
+     * @param eventoId ID del evento de la puerta.
+     * @param codigo   Código leído.
+     * @return Resultado del escaneo.
+     */
+    public GateScanResponseDTO scan(UUID eventoId, String codigo) {
+        long start = System.nanoTime();
+        GateScanResponseDTO response = check(eventoId, codigo, clock.instant(), null);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    /**
+     * Registra un lote de escaneos hechos sin conexión por un dispositivo de puerta.
+     * <p>
+     * Cada escaneo se valida en el instante en que se hizo y se deduplica contra los tickets que
+     * ya entraron. Los admitidos se escriben en la base de datos antes de responder, en un único
+     * lote; si la escritura falla, pasan a la cola y los escribe {@link GateScanFlushJob}, y los que
+     * no caben en ella se responden como {@code NO_DISPONIBLE}, sin registrar. Reenviar
+     * un lote ya registrado es seguro: un escaneo con el mismo ticket e instante que el primero se
+     * considera el mismo y vuelve a responder {@code ADMITIDO} sin escribirse otra vez.
+     * </p>
+     *
+     * @param eventoId ID del evento de la puerta.
+     * @param items    Escaneos del dispositivo, en el orden en que se hicieron.
+     * @return Número de escaneos admitidos y los que no, con su posición en el lote.
+     */
+    public GateScanBatchResponseDTO ingest(UUID eventoId, List<GateScanBatchItemDTO> items) {
+        Instant now = clock.instant();
+        List<Scan> admitted = new ArrayList<>(items.size());
+        Map<Scan, Integer> positions = new IdentityHashMap<>();
+        List<GateScanConflictDTO> conflicts = new ArrayList<>();
+        int accepted = 0;
+        for (int i = 0; i < items.size(); i++) {
+            GateScanBatchItemDTO item = items.get(i);
+            int before = admitted.size();
+            GateScanResponseDTO response = item != null
+                    ? check(eventoId, item.getCodigo(), scannedAt(item.getEscaneadoEn(), now), admitted)
+                    : check(eventoId, null, now, admitted);
+            if (admitted.size() > before) {
+                positions.put(admitted.get(before), i);
+            }
+            if (response.getResultado() == ScanResult.ADMITIDO) {
+                accepted++;
+            } else {
+                conflicts.add(conflict(i, response.getResultado(), response.getTicketId(),
+                        response.getPrimerEscaneo()));
+            }
+        }
+        try {
+            writer.write(admitted);
+        } catch (DataAccessException e) {
+            List<Scan> rejected = requeue(admitted);
+            log.warn("Could not write a batch of {} gate scans of event {}, {} queued for retry: {}",
+                    admitted.size(), eventoId, admitted.size() - rejected.size(), e.getMessage());
+            for (Scan scan : rejected) {
+                accepted--;
+                conflicts.add(conflict(positions.get(scan), ScanResult.NO_DISPONIBLE, scan.ticketId(), null));
+            }
+            conflicts.sort(Comparator.comparingInt(GateScanConflictDTO::getIndice));
+        }
+        batchSizes.record(items.size());
+        return GateScanBatchResponseDTO.builder()
+                .recibidos(items.size())
+                .admitidos(accepted)
+                .conflictos(conflicts)
+                .build();
+    }
+
+    /**
+     * Anula un ticket cancelado en el evento, si el evento ya está cargado en este nodo.
+     */
+    public void revoke(UUID eventoId, UUID ticketId) {
+        EventGate gate = gates.get(eventoId);
+        if (gate != null) {
+            gate.revoked.add(ticketId);
+        }
+    }
+
+    /**
+     * Olvida el estado de todos los eventos; se vuelve a cargar en el siguiente escaneo de cada uno.
+     * Los escaneos pendientes de escribir se conservan.
+     */
+    public void clear() {
+        gates.clear();
+    }
+
+    /**
+     * Saca de la cola hasta {@code max} escaneos pendientes de escribir.
+     */
+    List<Scan> drain(int max) {
+        List<Scan> batch = new ArrayList<>(Math.min(max, Math.max(pending.size(), 1)));
+        pending.drainTo(batch, max);
+        return batch;
+    }
+
+    /**
+     * Devuelve a la cola un lote que no se pudo escribir. Los escaneos que no caben se olvidan:
+     * el ticket deja de constar como escaneado en este nodo.
+     *
+     * @return Escaneos que no cabían en la cola.
+     */
+    List<Scan> requeue(List<Scan> batch) {
+        List<Scan> rejected = new ArrayList<>();
+        for (Scan scan : batch) {
+            if (!pending.offer(scan)) {
+                forget(scan);
+                rejected.add(scan);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            dropped.increment(rejected.size());
+            log.warn("Gate scan queue full, dropped {} scans that could not be written", rejected.size());
+        }
+        return rejected;
+    }
+
+    /**
+     * Olvida los eventos sin escaneos desde el instante indicado.
+     */
+    void evictIdle(Instant idleSince) {
+        long threshold = idleSince.toEpochMilli();
+        gates.values().removeIf(gate -> gate.lastScanMillis < threshold);
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void forget(Scan scan) {
+        EventGate gate = gates.get(scan.eventoId());
+        if (gate != null) {
+            gate.scanned.remove(scan.ticketId(), scan.escaneadoEn().toEpochMilli());
+        }
+    }
+
+    private EventGate gate(UUID eventoId) {
+        return gates.computeIfAbsent(eventoId, this::load);
+    }
+
+    private EventGate load(UUID eventoId) {
+        EventGate gate = new EventGate(clock.millis(), ticketIndexStore.find(eventoId));
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                UUID ticketId = rs.getObject(1, UUID.class);
+                if (TicketState.USADO.name().equals(rs.getString(2))) {
+                    Timestamp usedAt = rs.getTimestamp(3);
+                    gate.scanned.put(ticketId, usedAt != null ? usedAt.getTime() : 0L);
+                } else {
+                    gate.revoked.add(ticketId);
+                }
+            }, eventoId, TicketState.USADO.name(), TicketState.CANCELADO.name(), TicketState.VENCIDO.name());
+        } catch (DataAccessException e) {
+            if (gate.index == null) {
+                throw e;
+            }
+            gate.scanned.clear();
+            gate.revoked.clear();
+            gate.index.forEach(TicketState.USADO, (msb, lsb) -> gate.scanned.put(new UUID(msb, lsb), 0L));
+            log.warn("Database unavailable, loaded gate state of event {} from its index: {}",
+                    eventoId, e.getMessage());
+        }
+        log.info("Loaded gate state of event {}: {} scanned, {} revoked{}", eventoId, gate.scanned.size(),
+                gate.revoked.size(), gate.index != null ? ", with index" : "");
+        return gate;
+    }
+
+    /**
+     * Valida un código en el instante indicado. Los escaneos admitidos se añaden a {@code admitted}
+     * o, si es {@code null}, a la cola del registro.
+     */
+    private GateScanResponseDTO check(UUID eventoId, String codigo, Instant scannedAt, List<Scan> admitted) {
+        TicketCredential credential = credentials.verify(codigo);
+        GateScanResponseDTO response;
+        if (credential == null) {
+            response = GateScanResponseDTO.builder().resultado(ScanResult.CODIGO_INVALIDO).build();
+        } else if (!credential.eventoId().equals(eventoId)) {
+            response = response(ScanResult.OTRO_EVENTO, credential, null);
+        } else if (!credential.isValidAt(scannedAt.getEpochSecond())) {
+            response = response(ScanResult.FUERA_DE_HORARIO, credential, null);
+        } else {
+            response = gate(eventoId).admit(credential, scannedAt, admitted);
+        }
+        results.get(response.getResultado()).increment();
+        return response;
+    }
+
+    /**
+     * Instante de un escaneo sin conexión; si falta o es posterior al actual, el actual.
+     */
+    private static Instant scannedAt(LocalDateTime escaneadoEn, Instant now) {
+        if (escaneadoEn == null) {
+            return now;
+        }
+        Instant instant = escaneadoEn.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.isAfter(now) ? now : instant;
+    }
+
+    private static GateScanConflictDTO conflict(int index, ScanResult result, UUID ticketId,
+                                                LocalDateTime primerEscaneo) {
+        return GateScanConflictDTO.builder()
+                .indice(index)
+                .resultado(result)
+                .ticketId(ticketId)
+                .primerEscaneo(primerEscaneo)
+                .build();
+    }
+
+    private static GateScanResponseDTO response(ScanResult result, TicketCredential credential, Long scannedAt) {
+        return GateScanResponseDTO.builder()
+                .resultado(result)
+                .ticketId(credential.ticketId())
+                .zonaId(credential.zonaId())
+                .primerEscaneo(scannedAt != null && scannedAt > 0
+                        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(scannedAt), ZoneId.systemDefault())
+                        : null)
+                .build();
+    }
+
+    /**
+     * Escaneo admitido pendiente de escribir.
+     */
+    record Scan(UUID ticketId, UUID eventoId, UUID usuarioId, Instant escaneadoEn) {
+    }
+
+    /**
+     * Estado de la puerta de un evento.
+     */
+    private final class EventGate {
+
+        private final Map<UUID, Long> scanned = new ConcurrentHashMap<>();
+        private final Set<UUID> revoked = ConcurrentHashMap.newKeySet();
+        private final TicketIndex index;
+        private volatile long lastScanMillis;
+
+        private EventGate(long createdMillis, TicketIndex index) {
+            this.lastScanMillis = createdMillis;
+            this.index = index;
+        }
+
+        private boolean isRevoked(UUID ticketId) {
+            return revoked.contains(ticketId) || (index != null
+                    && index.isRevoked(ticketId.getMostSignificantBits(), ticketId.getLeastSignificantBits()));
+        }
+
+        private GateScanResponseDTO admit(TicketCredential credential, Instant scannedAt, List<Scan> admitted) {
+            long scannedMillis = scannedAt.toEpochMilli();
+            lastScanMillis = clock.millis();
+            if (isRevoked(credential.ticketId())) {
+                return response(ScanResult.ANULADO, credential, null);
+            }
+            Long first = scanned.putIfAbsent(credential.ticketId(), scannedMillis);
+            if (first != null) {
+                boolean replay = admitted != null && first == scannedMillis;
+                return response(replay ? ScanResult.ADMITIDO : ScanResult.YA_ESCANEADO, credential, first);
+            }
+            Scan scan = new Scan(credential.ticketId(), credential.eventoId(), credential.usuarioId(), scannedAt);
+            if (admitted != null) {
+                admitted.add(scan);
+            } else if (!pending.offer(scan)) {
+                scanned.remove(credential.ticketId(), scannedMillis);
+                return response(ScanResult.NO_DISPONIBLE, credential, null);
+            }
+            return response(ScanResult.ADMITIDO, credential, scannedMillis);
+        }
+    }
+}
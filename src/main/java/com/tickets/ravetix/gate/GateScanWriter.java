@@ -0,0 +1,95 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.enums.TicketState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Escribe escaneos admitidos en la base de datos, por lotes.
+ * <p>
+ * Cada lote, en una transacción, marca los tickets como {@code USADO} con el instante del escaneo
+ * y confirma la asistencia en el historial del usuario con el evento, creando la entrada si no
+ * existe. Son dos sentencias en modo batch de JDBC por lote, no una transacción por escaneo.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GateScanWriter {
+
+    private static final String USE_TICKET_SQL =
+            "UPDATE tickets SET estado = ?, fecha_uso = ?, fecha_actualizacion = ?, version = version + 1 " +
+            "WHERE id = ? AND estado = ?";
+    private static final String CONFIRM_HISTORY_SQL =
+            "INSERT INTO event_histories (id, usuario_id, evento_id, asistencia_confirmada, " +
+            "fecha_confirmacion_asistencia, fecha_creacion, fecha_actualizacion, version) " +
+            "VALUES (?, ?, ?, true, ?, ?, ?, 0) ON CONFLICT (usuario_id, evento_id) DO UPDATE " +
+            "SET asistencia_confirmada = true, " +
+            "fecha_confirmacion_asistencia = EXCLUDED.fecha_confirmacion_asistencia, " +
+            "fecha_actualizacion = EXCLUDED.fecha_actualizacion, version = event_histories.version + 1 " +
+            "WHERE event_histories.asistencia_confirmada = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter written;
+    private final Counter conflicts;
+
+    public GateScanWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.written = meterRegistry.counter("gate.scans.flushed");
+        this.conflicts = meterRegistry.counter("gate.scans.conflicts");
+    }
+
+    /**
+     * Escribe un lote de escaneos en una transacción.
+     *
+     * @param batch Escaneos admitidos.
+     * @throws org.springframework.dao.DataAccessException si el lote no se pudo escribir; no se
+     *         escribe ningún escaneo del lote.
+     */
+    public void write(List<GateScanRegistry.Scan> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(clock.instant());
+        List<Object[]> tickets = new ArrayList<>(batch.size());
+        List<Object[]> confirmations = new ArrayList<>(batch.size());
+        for (GateScanRegistry.Scan scan : batch) {
+            Timestamp scannedAt = Timestamp.from(scan.escaneadoEn());
+            tickets.add(new Object[]{TicketState.USADO.name(), scannedAt, now, scan.ticketId(),
+                    TicketState.PAGADO.name()});
+            confirmations.add(new Object[]{UUID.randomUUID(), scan.usuarioId(), scan.eventoId(), scannedAt,
+                    now, now});
+        }
+        int used = transactionTemplate.execute(status -> {
+            int[] updated = jdbcTemplate.batchUpdate(USE_TICKET_SQL, tickets);
+            jdbcTemplate.batchUpdate(CONFIRM_HISTORY_SQL, confirmations);
+            int count = 0;
+            for (int rows : updated) {
+                count += rows > 0 || rows == Statement.SUCCESS_NO_INFO ? 1 : 0;
+            }
+            return count;
+        });
+        written.increment(batch.size());
+        if (used < batch.size()) {
+            conflicts.increment(batch.size() - used);
+            log.warn("{} of {} scanned tickets were not paid or already used", batch.size() - used, batch.size());
+        }
+        log.debug("Wrote {} gate scans", batch.size());
+    }
+}
@@ -0,0 +1,31 @@
+package com.tickets.ravetix.gate;
+
+import java.util.UUID;
+
+/**
+ * Contenido firmado del código de acceso de un ticket.
+ *
+ * @param ticketId    ID del ticket.
+ * @param eventoId    ID del evento.
+ * @param zonaId      ID de la zona.
+ * @param usuarioId   ID del comprador.
+ * @param validoDesde Inicio de la validez, en segundos desde la época.
+ * @param validoHasta Fin de la validez, en segundos desde la época.
+ */
+public record TicketCredential(
+        UUID ticketId,
+        UUID eventoId,
+        UUID zonaId,
+        UUID usuarioId,
+        long validoDesde,
+        long validoHasta) {
+
+    /**
+     * Indica si el código es válido en el instante indicado.
+     *
+     * @param epochSecond Instante, en segundos desde la época.
+     */
+    public boolean isValidAt(long epochSecond) {
+        return epochSecond >= validoDesde && epochSecond <= validoHasta;
+    }
+}
@@ -0,0 +1,155 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.dto.ticket.TicketCredentialDTO;
+import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.entity.Ticket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Emite y verifica los códigos de acceso de los tickets.
+ * <p>
+ * Un código lleva el ticket, el evento, la zona, el comprador y la ventana de validez en binario,
+ * seguidos de un HMAC-SHA256 truncado a 128 bits, todo en Base64 URL (130 caracteres, cabe en un
+ * QR pequeño). La puerta lo valida sin consultar la base de datos: verificar la firma es un cálculo
+ * de unos microsegundos. La ventana de validez va de {@code app.gate.open-before} antes del inicio
+ * del evento a {@code app.gate.close-after} después de su fin.
+ * </p>
+ */
+@Component
+public class TicketCredentials {
+
+    static final byte VERSION = 1;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_SIZE = 1 + 4 * 16 + 2 * 8;
+    private static final int TAG_SIZE = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+    private final Duration openBefore;
+    private final Duration closeAfter;
+
+    public TicketCredentials(
+            @Value("${app.gate.secret}") String secret,
+            @Value("${app.gate.open-before:6h}") Duration openBefore,
+            @Value("${app.gate.close-after:6h}") Duration closeAfter) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("app.gate.secret must not be empty");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+            }
+        });
+        this.openBefore = openBefore;
+        this.closeAfter = closeAfter;
+    }
+
+    /**
+     * Emite el código de acceso de un ticket, válido durante el horario de su evento.
+     *
+     * @param ticket Ticket con su evento, zona y usuario cargados.
+     * @return Código firmado y su ventana de validez.
+     */
+    public TicketCredentialDTO issue(Ticket ticket) {
+        Event event = ticket.getEvento();
+        LocalDateTime desde = event.getFechaHoraInicio().minus(openBefore);
+        LocalDateTime hasta = event.getFechaHoraFin().plus(closeAfter);
+        ZoneId zone = ZoneId.systemDefault();
+        TicketCredential credential = new TicketCredential(
+                ticket.getId(), event.getId(), ticket.getZona().getId(), ticket.getUsuario().getId(),
+                desde.atZone(zone).toEpochSecond(), hasta.atZone(zone).toEpochSecond());
+        return TicketCredentialDTO.builder()
+                .codigo(sign(credential))
+                .validoDesde(desde)
+                .validoHasta(hasta)
+                .build();
+    }
+
+    /**
+     * Firma y codifica un código de acceso.
+     *
+     * @param credential Contenido del código.
+     * @return Código en Base64 URL.
+     */
+    public String sign(TicketCredential credential) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_SIZE + TAG_SIZE);
+        buffer.put(VERSION);
+        putUuid(buffer, credential.ticketId());
+        putUuid(buffer, credential.eventoId());
+        putUuid(buffer, credential.zonaId());
+        putUuid(buffer, credential.usuarioId());
+        buffer.putLong(credential.validoDesde());
+        buffer.putLong(credential.validoHasta());
+        byte[] bytes = buffer.array();
+        System.arraycopy(tag(bytes), 0, bytes, PAYLOAD_SIZE, TAG_SIZE);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * Decodifica un código y comprueba su firma. No comprueba la ventana de validez.
+     *
+     * @param codigo Código leído por la puerta.
+     * @return Contenido del código, o {@code null} si está mal formado o la firma no es válida.
+     */
+    public TicketCredential verify(String codigo) {
+        if (codigo == null || codigo.length() > 2 * (PAYLOAD_SIZE + TAG_SIZE)) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(codigo.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length != PAYLOAD_SIZE + TAG_SIZE || bytes[0] != VERSION) {
+            return null;
+        }
+        byte[] expected = tag(bytes);
+        byte[] actual = new byte[TAG_SIZE];
+        System.arraycopy(bytes, PAYLOAD_SIZE, actual, 0, TAG_SIZE);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_SIZE - 1);
+        return new TicketCredential(
+                getUuid(buffer), getUuid(buffer), getUuid(buffer), getUuid(buffer),
+                buffer.getLong(), buffer.getLong());
+    }
+
+    private byte[] tag(byte[] bytes) {
+        Mac instance = mac.get();
+        instance.update(bytes, 0, PAYLOAD_SIZE);
+        byte[] full = instance.doFinal();
+        byte[] truncated = new byte[TAG_SIZE];
+        System.arraycopy(full, 0, truncated, 0, TAG_SIZE);
+        return truncated;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
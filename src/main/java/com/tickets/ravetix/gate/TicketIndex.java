@@ -0,0 +1,290 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.enums.TicketState;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Índice de los tickets de un evento en un fichero proyectado en memoria.
+ * <p>
+ * El fichero es una tabla hash de direccionamiento abierto (sondeo lineal, ocupación máxima del
+ * 50%) con el ID, el estado y la zona de cada ticket, precedida de una cabecera y de la lista de
+ * zonas del evento. Se consulta directamente sobre el fichero proyectado, fuera del heap y sin
+ * crear objetos, y el sistema operativo decide qué páginas mantiene en memoria. El mismo fichero
+ * sirve a los dispositivos de puerta, que pueden descargarlo y proyectarlo igual.
+ * </p>
+ * <pre>
+ * cabecera (64 bytes): magic "RTIX", versión, evento, tickets, capacidad, zonas, generado
+ * zonas:  zonas x 16 bytes (UUID)
+ * huecos: capacidad x 24 bytes (UUID del ticket, índice de zona: short, estado: byte, relleno)
+ * </pre>
+ * Un hueco con el UUID a cero está vacío. Los estados se guardan por ordinal de {@link TicketState}.
+ */
+public final class TicketIndex {
+
+    static final int MAGIC = 0x52544958;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int ZONE_SIZE = 16;
+    static final int SLOT_SIZE = 24;
+    static final int MAX_TICKETS = 1 << 25;
+
+    private static final TicketState[] STATES = TicketState.values();
+    private static final byte CANCELADO = (byte) TicketState.CANCELADO.ordinal();
+    private static final byte VENCIDO = (byte) TicketState.VENCIDO.ordinal();
+
+    private final MappedByteBuffer buffer;
+    private final UUID eventoId;
+    private final int ticketCount;
+    private final int capacity;
+    private final int zoneCount;
+    private final long generadoEn;
+    private final int slotsOffset;
+
+    private TicketIndex(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a ticket index file");
+        }
+        this.eventoId = new UUID(buffer.getLong(8), buffer.getLong(16));
+        this.ticketCount = buffer.getInt(24);
+        this.capacity = buffer.getInt(28);
+        this.zoneCount = buffer.getInt(32);
+        this.generadoEn = buffer.getLong(40);
+        this.slotsOffset = HEADER_SIZE + zoneCount * ZONE_SIZE;
+        if (Integer.bitCount(capacity) != 1 || buffer.capacity() != slotsOffset + (long) capacity * SLOT_SIZE) {
+            throw new IllegalArgumentException("Corrupt ticket index file");
+        }
+    }
+
+    /**
+     * Ticket que se escribe en el índice.
+     *
+     * @param ticketId ID del ticket.
+     * @param zonaId   ID de su zona.
+     * @param estado   Estado del ticket.
+     */
+    public record Entry(UUID ticketId, UUID zonaId, TicketState estado) {
+    }
+
+    /**
+     * Recibe los huecos recorridos por {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface SlotConsumer {
+        void accept(long msb, long lsb);
+    }
+
+    /**
+     * Escribe el índice de un evento. El fichero se genera aparte y se mueve a su destino, de modo
+     * que un lector nunca ve un índice a medias.
+     *
+     * @param path       Destino del índice.
+     * @param eventoId   ID del evento.
+     * @param entries    Tickets del evento.
+     * @param generadoEn Instante de generación, en milisegundos desde la época.
+     */
+    public static void write(Path path, UUID eventoId, List<Entry> entries, long generadoEn) throws IOException {
+        if (entries.size() > MAX_TICKETS) {
+            throw new IllegalArgumentException("Too many tickets: " + entries.size());
+        }
+        Map<UUID, Integer> zones = new HashMap<>();
+        List<UUID> zoneList = new ArrayList<>();
+        for (Entry entry : entries) {
+            zones.computeIfAbsent(entry.zonaId(), zone -> {
+                zoneList.add(zone);
+                return zoneList.size() - 1;
+            });
+        }
+        if (zoneList.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many zones: " + zoneList.size());
+        }
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, entries.size() * 2 - 1)) << 1);
+        int slotsOffset = HEADER_SIZE + zoneList.size() * ZONE_SIZE;
+        long size = slotsOffset + (long) capacity * SLOT_SIZE;
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.order(ByteOrder.BIG_ENDIAN);
+            out.putInt(0, MAGIC);
+            out.putInt(4, VERSION);
+            out.putLong(8, eventoId.getMostSignificantBits());
+            out.putLong(16, eventoId.getLeastSignificantBits());
+            out.putInt(24, entries.size());
+            out.putInt(28, capacity);
+            out.putInt(32, zoneList.size());
+            out.putLong(40, generadoEn);
+            for (int i = 0; i < zoneList.size(); i++) {
+                out.putLong(HEADER_SIZE + i * ZONE_SIZE, zoneList.get(i).getMostSignificantBits());
+                out.putLong(HEADER_SIZE + i * ZONE_SIZE + 8, zoneList.get(i).getLeastSignificantBits());
+            }
+            for (Entry entry : entries) {
+                long msb = entry.ticketId().getMostSignificantBits();
+                long lsb = entry.ticketId().getLeastSignificantBits();
+                int slot = hash(msb, lsb) & (capacity - 1);
+                int offset;
+                while (true) {
+                    offset = slotsOffset + slot * SLOT_SIZE;
+                    long current = out.getLong(offset);
+                    long currentLsb = out.getLong(offset + 8);
+                    if ((current == 0 && currentLsb == 0) || (current == msb && currentLsb == lsb)) {
+                        break;
+                    }
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                out.putLong(offset, msb);
+                out.putLong(offset + 8, lsb);
+                out.putShort(offset + 16, zones.get(entry.zonaId()).shortValue());
+                out.put(offset + 18, (byte) entry.estado().ordinal());
+            }
+            out.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Proyecta en memoria un índice existente. Se abre en lectura y escritura para aplicar los
+     * cambios de estado de los tickets sobre el propio fichero.
+     *
+     * @param path Fichero del índice.
+     * @throws IllegalArgumentException si el fichero no es un índice válido.
+     */
+    public static TicketIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new TicketIndex(channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Busca un ticket.
+     *
+     * @return Posición del ticket en la tabla, o {@code -1} si no está.
+     */
+    public int find(long msb, long lsb) {
+        if (msb == 0 && lsb == 0) {
+            return -1;
+        }
+        int slot = hash(msb, lsb) & (capacity - 1);
+        for (int probes = 0; probes < capacity; probes++) {
+            int offset = slotsOffset + slot * SLOT_SIZE;
+            long currentMsb = buffer.getLong(offset);
+            long currentLsb = buffer.getLong(offset + 8);
+            if (currentMsb == msb && currentLsb == lsb) {
+                return slot;
+            }
+            if (currentMsb == 0 && currentLsb == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si el ticket está en el índice y fue cancelado o venció.
+     */
+    public boolean isRevoked(long msb, long lsb) {
+        int slot = find(msb, lsb);
+        if (slot < 0) {
+            return false;
+        }
+        byte state = buffer.get(slotsOffset + slot * SLOT_SIZE + 18);
+        return state == CANCELADO || state == VENCIDO;
+    }
+
+    /**
+     * Estado del ticket en la posición indicada.
+     */
+    public TicketState state(int slot) {
+        return STATES[buffer.get(slotsOffset + slot * SLOT_SIZE + 18)];
+    }
+
+    /**
+     * Índice, en la lista de zonas del fichero, de la zona del ticket en la posición indicada.
+     */
+    public int zoneIndex(int slot) {
+        return buffer.getShort(slotsOffset + slot * SLOT_SIZE + 16);
+    }
+
+    /**
+     * ID de la zona con el índice indicado.
+     */
+    public UUID zone(int zoneIndex) {
+        int offset = HEADER_SIZE + zoneIndex * ZONE_SIZE;
+        return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+    }
+
+    /**
+     * Cambia el estado de un ticket sobre el fichero.
+     *
+     * @return {@code false} si el ticket no está en el índice.
+     */
+    public boolean setState(UUID ticketId, TicketState state) {
+        int slot = find(ticketId.getMostSignificantBits(), ticketId.getLeastSignificantBits());
+        if (slot < 0) {
+            return false;
+        }
+        buffer.put(slotsOffset + slot * SLOT_SIZE + 18, (byte) state.ordinal());
+        return true;
+    }
+
+    /**
+     * Recorre los tickets con el estado indicado.
+     */
+    public void forEach(TicketState state, SlotConsumer consumer) {
+        byte code = (byte) state.ordinal();
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = slotsOffset + slot * SLOT_SIZE;
+            long msb = buffer.getLong(offset);
+            long lsb = buffer.getLong(offset + 8);
+            if ((msb != 0 || lsb != 0) && buffer.get(offset + 18) == code) {
+                consumer.accept(msb, lsb);
+            }
+        }
+    }
+
+    public UUID getEventoId() {
+        return eventoId;
+    }
+
+    public int getTicketCount() {
+        return ticketCount;
+    }
+
+    public int getZoneCount() {
+        return zoneCount;
+    }
+
+    public long getGeneradoEn() {
+        return generadoEn;
+    }
+
+    /**
+     * Tamaño del fichero en bytes.
+     */
+    public long size() {
+        return buffer.capacity();
+    }
+
+    static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,93 @@
+package com.tickets.ravetix.gate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Genera el índice de tickets de cada evento al abrir puertas, es decir, cuando empieza la ventana
+ * de validez de sus códigos de acceso ({@code app.gate.open-before} antes del inicio). Los eventos
+ * que ya tienen índice en este nodo no se regeneran; para hacerlo a mano está
+ * {@code POST /api/gate/events/{eventId}/index}.
+ * <p>
+ * Los índices de los eventos que terminaron hace más de {@code app.gate.close-after}, o que ya no
+ * existen, se borran del disco cada {@code app.gate.index.cleanup-interval-ms}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TicketIndexJob {
+
+    private static final String DOORS_OPEN_SQL =
+            "SELECT id FROM events WHERE fecha_hora_inicio <= ? AND fecha_hora_fin >= ?";
+    private static final String EVENT_END_SQL =
+            "SELECT fecha_hora_fin FROM events WHERE id = ?";
+
+    private final TicketIndexStore ticketIndexStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final Duration openBefore;
+    private final Duration closeAfter;
+    private final boolean enabled;
+
+    public TicketIndexJob(
+            TicketIndexStore ticketIndexStore,
+            JdbcTemplate jdbcTemplate,
+            Clock clock,
+            @Value("${app.gate.open-before:6h}") Duration openBefore,
+            @Value("${app.gate.close-after:6h}") Duration closeAfter,
+            @Value("${app.gate.index.auto-build:true}") boolean enabled) {
+        this.ticketIndexStore = ticketIndexStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.openBefore = openBefore;
+        this.closeAfter = closeAfter;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${app.gate.index.refresh-interval-ms:60000}")
+    public void buildOpeningEvents() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<UUID> events = jdbcTemplate.queryForList(DOORS_OPEN_SQL, UUID.class,
+                Timestamp.valueOf(now.plus(openBefore)), Timestamp.valueOf(now.minus(closeAfter)));
+        for (UUID eventoId : events) {
+            if (ticketIndexStore.exists(eventoId)) {
+                continue;
+            }
+            try {
+                ticketIndexStore.build(eventoId);
+            } catch (RuntimeException e) {
+                log.error("Could not build the gate index of event {}", eventoId, e);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.gate.index.cleanup-interval-ms:3600000}",
+               fixedDelayString = "${app.gate.index.cleanup-interval-ms:3600000}")
+    public void deleteClosedEvents() {
+        LocalDateTime closedBefore = LocalDateTime.now(clock).minus(closeAfter);
+        for (UUID eventoId : ticketIndexStore.stored()) {
+            try {
+                List<Timestamp> end = jdbcTemplate.queryForList(EVENT_END_SQL, Timestamp.class, eventoId);
+                if (end.isEmpty() || end.get(0) == null || end.get(0).toLocalDateTime().isBefore(closedBefore)) {
+                    ticketIndexStore.delete(eventoId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not check whether the gate index of event {} can be deleted: {}",
+                        eventoId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.enums.TicketState;
+import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Genera, abre y mantiene al día los índices de tickets de los eventos en el directorio
+ * {@code app.gate.index.dir}.
+ * <p>
+ * El índice de un evento se genera desde la tabla {@code tickets} al abrir puertas. Los cambios
+ * posteriores (cancelaciones y reembolsos) se anotan en un registro de cambios junto al índice,
+ * {@code <evento>.delta}, con registros de 24 bytes que se sincronizan a disco al escribirlos, y
+ * se aplican también sobre el índice proyectado. Al abrir un índice se vuelve a aplicar su
+ * registro, que nunca se trunca: aplicar una cancelación dos veces no cambia nada, y así un
+ * índice regenerado no pierde las que llegaron mientras se leía la base de datos. Con los dos
+ * ficheros, la puerta sigue validando aunque la base de datos no responda.
+ * </p>
+ * <p>
+ * Solo se anotan cambios de eventos con índice en este nodo o con uno generándose. Cuando el
+ * evento termina, {@link TicketIndexJob} borra los dos ficheros con {@link #delete(UUID)}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TicketIndexStore {
+
+    private static final String SELECT =
+            "SELECT id, zona_id, estado FROM tickets WHERE evento_id = ?";
+    private static final int DELTA_SIZE = 24;
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String DELTA_SUFFIX = ".delta";
+
+    private final Path directory;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Map<UUID, TicketIndex> indexes = new ConcurrentHashMap<>();
+    private final Set<UUID> building = ConcurrentHashMap.newKeySet();
+
+    public TicketIndexStore(
+            @Value("${app.gate.index.dir:${java.io.tmpdir}/ravetix-gate}") Path directory,
+            @Value("${app.export.fetch-size:1000}") int fetchSize,
+            EventRepository eventRepository,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.clock = clock;
+        meterRegistry.gaugeMapSize("gate.indexes", Tags.empty(), indexes);
+    }
+
+    /**
+     * Genera el índice de un evento desde la base de datos y lo deja abierto, sustituyendo al
+     * anterior.
+     *
+     * @param eventoId ID del evento.
+     * @return Índice generado.
+     * @throws NotFoundException si el evento no existe.
+     */
+    public TicketIndex build(UUID eventoId) {
+        if (!eventRepository.existsById(eventoId)) {
+            throw new NotFoundException("Evento no encontrado con ID: " + eventoId);
+        }
+        long start = System.nanoTime();
+        // Desde aquí se anotan los cambios del evento, para no perder los que lleguen mientras se lee
+        building.add(eventoId);
+        try {
+            Files.createDirectories(directory);
+            List<TicketIndex.Entry> entries = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT, rs -> {
+                entries.add(new TicketIndex.Entry(
+                        rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), TicketState.valueOf(rs.getString(3))));
+            }, eventoId));
+            TicketIndex.write(indexPath(eventoId), eventoId, entries, clock.millis());
+            TicketIndex index = openAndReplay(eventoId);
+            indexes.put(eventoId, index);
+            log.info("Built gate index of event {}: {} tickets, {} bytes in {} ms",
+                    eventoId, index.getTicketCount(), index.size(), (System.nanoTime() - start) / 1_000_000);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            building.remove(eventoId);
+        }
+    }
+
+    /**
+     * Devuelve el índice de un evento, abriéndolo del disco si existe.
+     *
+     * @param eventoId ID del evento.
+     * @return Índice, o {@code null} si no hay índice del evento o no se puede leer.
+     */
+    public TicketIndex find(UUID eventoId) {
+        TicketIndex index = indexes.get(eventoId);
+        if (index != null || !Files.exists(indexPath(eventoId))) {
+            return index;
+        }
+        return indexes.computeIfAbsent(eventoId, id -> {
+            try {
+                return openAndReplay(id);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Could not open gate index of event {}: {}", id, e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Indica si ya existe el índice de un evento en el disco.
+     */
+    public boolean exists(UUID eventoId) {
+        return indexes.containsKey(eventoId) || Files.exists(indexPath(eventoId));
+    }
+
+    /**
+     * IDs de los eventos con índice o registro de cambios en el disco.
+     */
+    public List<UUID> stored() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(INDEX_SUFFIX) || name.endsWith(DELTA_SUFFIX))
+                    .map(name -> name.substring(0, name.lastIndexOf('.')))
+                    .distinct()
+                    .flatMap(TicketIndexStore::parseId)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Olvida el índice de un evento y borra su fichero y su registro de cambios. La proyección se
+     * libera cuando ya nadie usa el índice.
+     *
+     * @param eventoId ID del evento.
+     */
+    public synchronized void delete(UUID eventoId) {
+        indexes.remove(eventoId);
+        try {
+            Files.deleteIfExists(indexPath(eventoId));
+            Files.deleteIfExists(deltaPath(eventoId));
+            log.info("Deleted gate index of event {}", eventoId);
+        } catch (IOException e) {
+            log.warn("Could not delete gate index of event {}: {}", eventoId, e.getMessage());
+        }
+    }
+
+    /**
+     * Anota el cambio de estado de un ticket en el registro del evento y lo aplica sobre su índice
+     * si está abierto. Solo se anota si el evento tiene índice en este nodo o se está generando.
+     *
+     * @param eventoId ID del evento.
+     * @param ticketId ID del ticket.
+     * @param state    Nuevo estado.
+     */
+    public synchronized void apply(UUID eventoId, UUID ticketId, TicketState state) {
+        if (!building.contains(eventoId) && !exists(eventoId)) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.allocate(DELTA_SIZE);
+        record.putLong(ticketId.getMostSignificantBits());
+        record.putLong(ticketId.getLeastSignificantBits());
+        record.put((byte) state.ordinal());
+        record.rewind();
+        try (FileChannel channel = FileChannel.open(deltaPath(eventoId), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("Could not append to the gate delta log of event {}", eventoId, e);
+        }
+        TicketIndex index = indexes.get(eventoId);
+        if (index != null) {
+            index.setState(ticketId, state);
+        }
+    }
+
+    /**
+     * Fichero del índice de un evento, para servirlo a los dispositivos de puerta.
+     */
+    public Path indexPath(UUID eventoId) {
+        return directory.resolve(eventoId + INDEX_SUFFIX);
+    }
+
+    Path deltaPath(UUID eventoId) {
+        return directory.resolve(eventoId + DELTA_SUFFIX);
+    }
+
+    private static Stream<UUID> parseId(String name) {
+        try {
+            return Stream.of(UUID.fromString(name));
+        } catch (IllegalArgumentException e) {
+            return Stream.empty();
+        }
+    }
+
+    private synchronized TicketIndex openAndReplay(UUID eventoId) throws IOException {
+        TicketIndex index = TicketIndex.open(indexPath(eventoId));
+        Path delta = deltaPath(eventoId);
+        if (Files.exists(delta)) {
+            TicketState[] states = TicketState.values();
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(delta));
+            int applied = 0;
+            while (records.remaining() >= DELTA_SIZE) {
+                UUID ticketId = new UUID(records.getLong(), records.getLong());
+                byte state = records.get();
+                records.position(records.position() + DELTA_SIZE - 17);
+                if (state >= 0 && state < states.length && index.setState(ticketId, states[state])) {
+                    applied++;
+                }
+            }
+            log.info("Replayed {} gate index changes of event {}", applied, eventoId);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tickets.ravetix.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Crea las entradas del historial que {@link EventHistoryWriter} no llegó a escribir: descartadas
+ * con la cola llena, perdidas en un fallo o pendientes cuando se cayó el nodo.
+ * <p>
+ * Los pagos completados hacen de registro de salida: se buscan los de la ventana
+ * {@code app.history.replay-window} cuyo comprador no tiene historial con el evento, dejando fuera
+ * los de los últimos {@code app.history.replay-grace}, que el escritor todavía puede estar
+ * procesando. La primera pasada se hace al arrancar.
+ * </p>
+ * <p>
+ * Cada pasada toma un bloqueo consultivo de transacción de Postgres: si otro nodo está
+ * reponiendo, la pasada se salta. Una entrada que el escritor inserte a la vez choca con la
+ * restricción única y se ignora.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventHistoryReplayJob {
+
+    private static final String REPLAY_SQL =
+            "INSERT INTO event_histories (id, usuario_id, evento_id, asistencia_confirmada, " +
+            "fecha_confirmacion_asistencia, fecha_creacion, fecha_actualizacion, version) " +
+            "SELECT gen_random_uuid(), m.usuario_id, m.evento_id, false, m.fecha, ?, ?, 0 FROM (" +
+            "SELECT DISTINCT ON (p.usuario_id, t.evento_id) p.usuario_id, t.evento_id, p.fecha_actualizacion AS fecha " +
+            "FROM payments p JOIN tickets t ON t.id = p.ticket_id " +
+            "WHERE p.estado = 'COMPLETADO' AND p.fecha_actualizacion >= ? AND p.fecha_actualizacion < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM event_histories h " +
+            "WHERE h.usuario_id = p.usuario_id AND h.evento_id = t.evento_id) " +
+            "ORDER BY p.usuario_id, t.evento_id, p.fecha_actualizacion) m " +
+            "ON CONFLICT (usuario_id, evento_id) DO NOTHING";
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final long LOCK_KEY = 0x5241564548495354L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration window;
+    private final Duration grace;
+    private final Counter replayed;
+
+    public EventHistoryReplayJob(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${app.history.replay-window:24h}") Duration window,
+            @Value("${app.history.replay-grace:1m}") Duration grace) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.window = window;
+        this.grace = grace;
+        this.replayed = meterRegistry.counter("history.writer.replayed");
+    }
+
+    @Scheduled(initialDelayString = "${app.history.replay-initial-delay-ms:10000}",
+               fixedDelayString = "${app.history.replay-interval-ms:300000}")
+    public void replay() {
+        Instant now = clock.instant();
+        Timestamp timestamp = Timestamp.from(now);
+        try {
+            Integer created = transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, LOCK_KEY))) {
+                    log.debug("Event history replay already running on another node");
+                    return 0;
+                }
+                return jdbcTemplate.update(REPLAY_SQL, timestamp, timestamp,
+                        Timestamp.from(now.minus(window)), Timestamp.from(now.minus(grace)));
+            });
+            if (created != null && created > 0) {
+                replayed.increment(created);
+                log.info("Replayed {} missing event history entries from completed payments", created);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not replay event history entries: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tickets.ravetix.history;
+
+import com.tickets.ravetix.rating.EventRatingAggregator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Garantiza al arrancar la restricción única de {@code event_histories} sobre usuario y evento,
+ * de la que dependen los {@code ON CONFLICT (usuario_id, evento_id)} de {@link EventHistoryWriter},
+ * {@link EventHistoryReplayJob} y el registro de accesos.
+ * <p>
+ * Con {@code ddl-auto=update}, Hibernate no puede crear la restricción si la tabla ya tiene
+ * entradas duplicadas, y solo lo deja en el log. Por eso, después de actualizar el esquema, se
+ * borran los duplicados y se crea el índice único si falta, todo en una transacción y bajo un
+ * bloqueo consultivo para que dos nodos no lo hagan a la vez. De cada par usuario-evento se
+ * conserva la entrada con la asistencia confirmada, luego la que tenga calificación y, por último,
+ * la más antigua; los agregados de calificaciones de los eventos afectados se recalculan. Si algo
+ * falla, la aplicación no arranca.
+ * </p>
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class EventHistoryUniqueness {
+
+    private static final long LOCK_KEY = 0x52415645554E4951L;
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")";
+
+    private static final String DEDUPLICATE_SQL =
+            "DELETE FROM event_histories h USING (" +
+            "SELECT id, ROW_NUMBER() OVER (PARTITION BY usuario_id, evento_id " +
+            "ORDER BY asistencia_confirmada DESC, (calificacion IS NOT NULL) DESC, fecha_creacion, id) AS n " +
+            "FROM event_histories) d " +
+            "WHERE h.id = d.id AND d.n > 1 RETURNING h.evento_id";
+
+    private static final String CREATE_INDEX_SQL =
+            "CREATE UNIQUE INDEX IF NOT EXISTS uk_event_histories_usuario_evento " +
+            "ON event_histories (usuario_id, evento_id)";
+
+    public EventHistoryUniqueness(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  EventRatingAggregator ratingAggregator) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_SQL);
+            Set<UUID> eventos = new LinkedHashSet<>(jdbcTemplate.queryForList(DEDUPLICATE_SQL, UUID.class));
+            for (UUID eventoId : eventos) {
+                ratingAggregator.rebuild(eventoId);
+            }
+            jdbcTemplate.execute(CREATE_INDEX_SQL);
+            if (!eventos.isEmpty()) {
+                log.warn("Removed duplicate event history entries of {} events before creating the unique constraint",
+                        eventos.size());
+            }
+        });
+    }
+}
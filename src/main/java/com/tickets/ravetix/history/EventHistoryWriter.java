@@ -0,0 +1,175 @@
+package com.tickets.ravetix.history;
+
+import com.tickets.ravetix.domain.TicketSoldEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crea las entradas del historial de los compradores fuera de la transacción del pago.
+ * <p>
+ * Cada venta confirmada deja una entrada en una cola acotada, y una tarea periódica escribe todo
+ * lo acumulado en lotes de JDBC, una transacción por lote. La restricción única sobre usuario y evento hace que
+ * escribir dos veces la misma entrada, aquí o desde otro nodo, no tenga efecto.
+ * </p>
+ * <p>
+ * Con la cola llena, quien vende espera como mucho {@code app.history.offer-timeout}; si sigue
+ * llena, la entrada se descarta. Tampoco se reintentan los lotes que no caben en la cola tras un
+ * fallo, ni sobreviven las entradas encoladas a una caída del nodo. Todas ellas se recuperan
+ * desde los pagos completados con {@link EventHistoryReplayJob}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventHistoryWriter {
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO event_histories (id, usuario_id, evento_id, asistencia_confirmada, " +
+            "fecha_confirmacion_asistencia, fecha_creacion, fecha_actualizacion, version) " +
+            "VALUES (?, ?, ?, false, ?, ?, ?, 0) ON CONFLICT (usuario_id, evento_id) DO NOTHING";
+
+    /**
+     * Entrada pendiente de escribir.
+     *
+     * @param usuarioId  ID del comprador.
+     * @param eventoId   ID del evento.
+     * @param vendidoEn  Instante de la venta.
+     * @param encoladoEn Instante en que se encoló, en nanosegundos del reloj monotónico.
+     */
+    record Entry(UUID usuarioId, UUID eventoId, Instant vendidoEn, long encoladoEn) {
+    }
+
+    private final BlockingQueue<Entry> queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failures;
+    private final Timer lag;
+
+    public EventHistoryWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${app.history.queue-capacity:10000}") int capacity,
+            @Value("${app.history.batch-size:500}") int batchSize,
+            @Value("${app.history.offer-timeout:100ms}") Duration offerTimeout) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.written = meterRegistry.counter("history.writer.written");
+        this.dropped = meterRegistry.counter("history.writer.dropped");
+        this.failures = meterRegistry.counter("history.writer.failures");
+        this.lag = meterRegistry.timer("history.writer.lag");
+        meterRegistry.gaugeCollectionSize("history.writer.queue", Tags.empty(), queue);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketSold(TicketSoldEvent event) {
+        enqueue(event.usuarioId(), event.eventoId(), event.vendidoEn());
+    }
+
+    /**
+     * Encola la entrada del historial de un comprador, esperando un tiempo acotado si la cola está llena.
+     *
+     * @return {@code false} si se descartó.
+     */
+    public boolean enqueue(UUID usuarioId, UUID eventoId, Instant vendidoEn) {
+        Entry entry = new Entry(usuarioId, eventoId, vendidoEn, System.nanoTime());
+        try {
+            if (queue.offer(entry, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("Event history queue full, entry for user {} and event {} left to replay", usuarioId, eventoId);
+        return false;
+    }
+
+    /**
+     * Escribe en lotes todas las entradas encoladas. Si un lote falla, sus entradas vuelven a la
+     * cola, si caben, y se reintentan en la siguiente pasada.
+     */
+    @Scheduled(fixedDelayString = "${app.history.flush-interval-ms:100}")
+    public void flush() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (DataAccessException e) {
+                failures.increment();
+                int requeued = 0;
+                for (Entry entry : batch) {
+                    if (queue.offer(entry)) {
+                        requeued++;
+                    } else {
+                        dropped.increment();
+                    }
+                }
+                log.warn("Could not write {} event history entries, {} requeued: {}",
+                        batch.size(), requeued, e.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Número de entradas pendientes de escribir.
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void write(List<Entry> batch) {
+        Timestamp now = Timestamp.from(clock.instant());
+        List<Object[]> inserts = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            inserts.add(new Object[]{UUID.randomUUID(), entry.usuarioId(), entry.eventoId(),
+                    Timestamp.from(entry.vendidoEn()), now, now});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, inserts));
+        long writtenAt = System.nanoTime();
+        for (Entry entry : batch) {
+            lag.record(writtenAt - entry.encoladoEn(), TimeUnit.NANOSECONDS);
+        }
+        written.increment(batch.size());
+        log.debug("Wrote {} event history entries", batch.size());
+    }
+}
@@ -0,0 +1,43 @@
+package com.tickets.ravetix.pagination;
+
+import com.tickets.ravetix.enums.CountStrategy;
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página que indica cómo se obtuvo su total. Si {@code totalExact} es {@code false},
+ * {@code totalElements} es un mínimo (estrategias {@link CountStrategy#SKIPPED} y
+ * {@link CountStrategy#CAPPED}) o una estimación ({@link CountStrategy#ESTIMATED}).
+ *
+ * @param <T> Tipo de los elementos.
+ */
+@Getter
+public class CountedPage<T> extends PageImpl<T> {
+
+    /**
+     * Estrategia con la que se calculó el total.
+     */
+    private final CountStrategy countStrategy;
+
+    /**
+     * Indica si el total es exacto.
+     */
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total,
+                       CountStrategy countStrategy, boolean totalExact) {
+        super(content, pageable, total);
+        this.countStrategy = countStrategy;
+        this.totalExact = totalExact;
+    }
+
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(),
+                countStrategy, totalExact);
+    }
+}
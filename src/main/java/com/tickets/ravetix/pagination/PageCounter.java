@@ -0,0 +1,189 @@
+package com.tickets.ravetix.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickets.ravetix.enums.CountStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Construye páginas con el total calculado según la {@link CountStrategy} de cada endpoint.
+ * <p>
+ * El contenido se lee siempre como {@link Slice} (una fila de más para saber si hay siguiente),
+ * así que Spring Data no lanza su {@code count(*)}; el total se obtiene después según la estrategia:
+ * </p>
+ * <ul>
+ *     <li>{@code EXACT}: la cuenta del repositorio.</li>
+ *     <li>{@code SKIPPED}: ninguna consulta; el total es lo leído hasta ahora más uno si hay más.</li>
+ *     <li>{@code CAPPED}: una sonda que lee la fila en la posición del tope. Si no existe, la cuenta
+ *     exacta recorre como mucho el tope; si existe, el total se informa como el tope.</li>
+ *     <li>{@code ESTIMATED}: para tablas completas, {@code pg_class.reltuples}; para listados
+ *     filtrados (o si no hay estadísticas), una cuenta exacta cacheada durante un tiempo acotado.</li>
+ * </ul>
+ * <p>
+ * Si la página leída es la última, el total se conoce sin consultas, sea cual sea la estrategia.
+ * La estrategia por defecto de cada endpoint se configura con
+ * {@code app.pagination.count.endpoints.<endpoint>} y el cliente puede pedir otra.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PageCounter {
+
+    private static final String ENDPOINT_PROPERTY = "app.pagination.count.endpoints.";
+
+    private final Environment environment;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CountStrategy defaultStrategy;
+    private final long cap;
+    private final Cache<String, Long> estimates;
+    private volatile boolean plannerStatsAvailable = true;
+
+    public PageCounter(
+            Environment environment,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.pagination.count.default:EXACT}") CountStrategy defaultStrategy,
+            @Value("${app.pagination.count.cap:1000}") long cap,
+            @Value("${app.pagination.count.estimate-ttl:60s}") Duration estimateTtl,
+            @Value("${app.pagination.count.estimate-max-size:10000}") long estimateMaxSize) {
+        this.environment = environment;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.defaultStrategy = defaultStrategy;
+        this.cap = cap;
+        this.estimates = Caffeine.newBuilder()
+                .maximumSize(estimateMaxSize)
+                .expireAfterWrite(estimateTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, estimates, "pagination.count.estimates");
+    }
+
+    /**
+     * Lee una página de un listado filtrado.
+     *
+     * @param endpoint   Nombre del endpoint, para su estrategia por defecto y sus métricas.
+     * @param params     Parámetros del filtro; junto al endpoint identifican la cuenta cacheada.
+     * @param pageable   Paginación y orden.
+     * @param requested  Estrategia pedida por el cliente, o {@code null} para la del endpoint.
+     * @param query      Consulta del contenido.
+     * @param exactCount Cuenta exacta del listado.
+     * @return Página con el total y la estrategia usada.
+     */
+    public <T> CountedPage<T> page(String endpoint, List<?> params, Pageable pageable, CountStrategy requested,
+                                   Function<Pageable, Slice<T>> query, LongSupplier exactCount) {
+        return page(endpoint, null, params, pageable, requested, query, exactCount);
+    }
+
+    /**
+     * Lee una página de una tabla completa, cuyo total puede estimarse con las estadísticas del
+     * planificador.
+     *
+     * @param endpoint   Nombre del endpoint, para su estrategia por defecto y sus métricas.
+     * @param table      Tabla que se lista sin filtros.
+     * @param pageable   Paginación y orden.
+     * @param requested  Estrategia pedida por el cliente, o {@code null} para la del endpoint.
+     * @param query      Consulta del contenido.
+     * @param exactCount Cuenta exacta de la tabla.
+     * @return Página con el total y la estrategia usada.
+     */
+    public <T> CountedPage<T> pageTable(String endpoint, String table, Pageable pageable, CountStrategy requested,
+                                        Function<Pageable, Slice<T>> query, LongSupplier exactCount) {
+        return page(endpoint, table, List.of(), pageable, requested, query, exactCount);
+    }
+
+    /**
+     * Estrategia efectiva de un endpoint.
+     *
+     * @param endpoint  Nombre del endpoint.
+     * @param requested Estrategia pedida por el cliente, o {@code null}.
+     * @return La pedida o, si no hay, la configurada para el endpoint.
+     */
+    public CountStrategy resolve(String endpoint, CountStrategy requested) {
+        if (requested != null) {
+            return requested;
+        }
+        return environment.getProperty(ENDPOINT_PROPERTY + endpoint, CountStrategy.class, defaultStrategy);
+    }
+
+    private <T> CountedPage<T> page(String endpoint, String table, List<?> params, Pageable pageable,
+                                    CountStrategy requested, Function<Pageable, Slice<T>> query,
+                                    LongSupplier exactCount) {
+        CountStrategy strategy = resolve(endpoint, requested);
+        Slice<T> slice = query.apply(pageable);
+        List<T> content = slice.getContent();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long seen = offset + content.size();
+
+        if (!slice.hasNext() && (!content.isEmpty() || offset == 0)) {
+            return new CountedPage<>(content, pageable, seen, strategy, true);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return switch (strategy) {
+                case EXACT -> new CountedPage<>(content, pageable, exactCount.getAsLong(), strategy, true);
+                case SKIPPED -> new CountedPage<>(content, pageable,
+                        slice.hasNext() ? seen + 1 : seen, strategy, !slice.hasNext());
+                case CAPPED -> capped(content, pageable, seen, slice.hasNext(), query, exactCount);
+                case ESTIMATED -> new CountedPage<>(content, pageable,
+                        Math.max(estimate(endpoint, table, params, exactCount), slice.hasNext() ? seen + 1 : seen),
+                        strategy, false);
+            };
+        } finally {
+            sample.stop(meterRegistry.timer("pagination.count", "endpoint", endpoint, "strategy", strategy.name()));
+        }
+    }
+
+    private <T> CountedPage<T> capped(List<T> content, Pageable pageable, long seen, boolean hasNext,
+                                      Function<Pageable, Slice<T>> query, LongSupplier exactCount) {
+        if (hasNext && seen >= cap) {
+            return new CountedPage<>(content, pageable, seen + 1, CountStrategy.CAPPED, false);
+        }
+        Slice<T> probe = query.apply(PageRequest.of(Math.toIntExact(cap), 1));
+        if (probe.hasContent()) {
+            return new CountedPage<>(content, pageable, cap, CountStrategy.CAPPED, false);
+        }
+        return new CountedPage<>(content, pageable, exactCount.getAsLong(), CountStrategy.CAPPED, true);
+    }
+
+    private long estimate(String endpoint, String table, List<?> params, LongSupplier exactCount) {
+        if (table != null && plannerStatsAvailable) {
+            Long rows = plannerRows(table);
+            if (rows != null) {
+                return rows;
+            }
+        }
+        return estimates.get(endpoint + params, key -> exactCount.getAsLong());
+    }
+
+    private Long plannerRows(String table) {
+        try {
+            List<Long> rows = jdbcTemplate.queryForList(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+            // reltuples es -1 (o 0) mientras la tabla no se ha analizado
+            return rows.isEmpty() || rows.get(0) == null || rows.get(0) <= 0 ? null : rows.get(0);
+        } catch (DataAccessException e) {
+            log.info("Planner statistics not available, falling back to cached counts: {}", e.getMessage());
+            plannerStatsAvailable = false;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tickets.ravetix.ratelimit;
+
+/**
+ * Límite de un cubo de tokens: admite ráfagas de hasta {@code capacity} peticiones y recupera
+ * {@code refillPerSecond} tokens por segundo.
+ * <p>
+ * Los almacenes lo aplican como GCRA (<em>generic cell rate algorithm</em>): en lugar de tokens y
+ * última recarga se guarda un único instante teórico de llegada, lo que permite actualizar el cubo
+ * con una sola operación atómica. El resultado es idéntico al de un cubo de tokens.
+ * </p>
+ *
+ * @param capacity        Tamaño máximo de la ráfaga.
+ * @param refillPerSecond Tokens recuperados por segundo.
+ */
+public record BucketPolicy(long capacity, double refillPerSecond) {
+
+    public BucketPolicy {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid bucket policy: capacity=" + capacity
+                    + ", refillPerSecond=" + refillPerSecond);
+        }
+    }
+
+    /**
+     * Intervalo entre dos tokens, en nanosegundos.
+     */
+    public long intervalNanos() {
+        return Math.max(1, Math.round(1_000_000_000d / refillPerSecond));
+    }
+
+    /**
+     * Adelanto máximo del instante teórico de llegada sobre el actual: lo que ocupa una ráfaga
+     * completa menos la petición en curso.
+     */
+    public long burstNanos() {
+        return intervalNanos() * (capacity - 1);
+    }
+
+    /**
+     * Tiempo que tarda un cubo vacío en llenarse; pasado ese tiempo sin uso, el cubo puede
+     * olvidarse sin cambiar ninguna decisión.
+     */
+    public long fullRefillNanos() {
+        return intervalNanos() * capacity;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tickets.ravetix.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubos de tokens en memoria, sin bloqueos.
+ * <p>
+ * El estado de cada cubo es un {@link AtomicLong} con su instante teórico de llegada, que se
+ * actualiza con compare-and-set. Los cubos viven en una caché acotada por
+ * {@code app.ratelimit.max-buckets} que descarta los menos usados; además, un cubo sin uso durante
+ * {@code idleTtl} se descarta, y ese tiempo debe ser al menos el de recarga completa del límite
+ * más lento para que olvidarlo no cambie ninguna decisión.
+ * </p>
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public InMemoryRateLimitStore(long maxBuckets, Duration idleTtl, MeterRegistry meterRegistry) {
+        this(maxBuckets, idleTtl, meterRegistry, System::nanoTime);
+    }
+
+    InMemoryRateLimitStore(long maxBuckets, Duration idleTtl, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "ratelimit.buckets");
+    }
+
+    @Override
+    public long tryConsume(String key, BucketPolicy policy) {
+        long now = nanoClock.getAsLong();
+        long interval = policy.intervalNanos();
+        long burst = policy.burstNanos();
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long tat = Math.max(current, now);
+            long ahead = tat - now;
+            if (ahead > burst) {
+                return ahead - burst;
+            }
+            if (arrival.compareAndSet(current, tat + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tickets.ravetix.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Cubos de tokens compartidos por todos los nodos en una tabla de PostgreSQL.
+ * <p>
+ * Cada consulta es un único {@code INSERT ... ON CONFLICT DO UPDATE} que aplica el GCRA con el
+ * reloj de la base de datos, así que es atómica sin bloqueos explícitos y los nodos no dependen de
+ * tener los relojes sincronizados. Si la base de datos no responde, la petición se deja pasar: el
+ * limitador protege la capacidad de la base de datos y no debe convertirse en su punto de fallo.
+ * Los cubos sin uso durante una hora se purgan periódicamente.
+ * </p>
+ */
+@Slf4j
+public class PostgresRateLimitStore implements RateLimitStore {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS rate_limit_buckets (" +
+            "clave VARCHAR(200) PRIMARY KEY, llegada_teorica BIGINT NOT NULL)";
+
+    private static final String NOW_MICROS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000)::bigint";
+
+    private static final String CONSUME =
+            "INSERT INTO rate_limit_buckets AS b (clave, llegada_teorica) VALUES (?, " + NOW_MICROS + " + ?) " +
+            "ON CONFLICT (clave) DO UPDATE SET llegada_teorica = GREATEST(b.llegada_teorica, " + NOW_MICROS + ") + ? " +
+            "WHERE GREATEST(b.llegada_teorica, " + NOW_MICROS + ") - " + NOW_MICROS + " <= ? " +
+            "RETURNING llegada_teorica";
+
+    private static final String PURGE =
+            "DELETE FROM rate_limit_buckets WHERE llegada_teorica < " + NOW_MICROS + " - 3600000000";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter failures;
+
+    public PostgresRateLimitStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.failures = meterRegistry.counter("ratelimit.store.failures");
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    @Override
+    public long tryConsume(String key, BucketPolicy policy) {
+        long intervalMicros = Math.max(1, policy.intervalNanos() / 1_000);
+        long burstMicros = policy.burstNanos() / 1_000;
+        try {
+            List<Long> granted = jdbcTemplate.queryForList(CONSUME, Long.class,
+                    key, intervalMicros, intervalMicros, burstMicros);
+            // Sin fila devuelta, el WHERE del UPDATE rechazó la petición; como estimación de la
+            // espera basta el intervalo entre tokens
+            return granted.isEmpty() ? policy.intervalNanos() : 0;
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.warn("Rate limit store unavailable, allowing request for {}: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            int deleted = jdbcTemplate.update(PURGE);
+            if (deleted > 0) {
+                log.debug("Purged {} idle rate limit buckets", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not purge rate limit buckets: {}", e.getMessage());
+        }
+    }
+}
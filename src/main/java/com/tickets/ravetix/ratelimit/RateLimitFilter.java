@@ -0,0 +1,114 @@
+package com.tickets.ravetix.ratelimit;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.ravetix.dto.ErrorResponse;
+import com.tickets.ravetix.security.jwt.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Aplica los límites por usuario e IP a las compras ({@code POST /api/tickets}), los pagos
+ * ({@code POST /api/payments/**}) y los logins, antes de la autenticación y de cualquier acceso a
+ * la base de datos. El usuario se toma del token Bearer; como la verificación está cacheada, leerlo
+ * aquí no repite la firma. Las peticiones que superan un límite reciben 429 con {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN = "/api/auth/login";
+    private static final String TICKETS = "/api/tickets";
+    private static final String PAYMENTS = "/api/payments";
+
+    private final RateLimiter rateLimiter;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, JwtTokenProvider jwtTokenProvider, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !path.equals(LOGIN) && !path.equals(TICKETS) && !path.startsWith(PAYMENTS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        String ip = request.getRemoteAddr();
+        long wait;
+        if (path.equals(LOGIN)) {
+            wait = rateLimiter.check(RateLimiter.LOGIN_IP, ip);
+        } else if (path.equals(TICKETS)) {
+            wait = checkUserThenIp(RateLimiter.PURCHASE_USER, RateLimiter.PURCHASE_IP, request, ip);
+        } else {
+            wait = checkUserThenIp(RateLimiter.PAYMENT_USER, RateLimiter.PAYMENT_IP, request, ip);
+        }
+
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private long checkUserThenIp(String userScope, String ipScope, HttpServletRequest request, String ip) {
+        long wait = rateLimiter.check(userScope, user(request));
+        return wait > 0 ? wait : rateLimiter.check(ipScope, ip);
+    }
+
+    /**
+     * Usuario del token Bearer: su ID si el token lo incluye o, si no, su correo. Un token inválido
+     * no identifica a nadie y la petición queda limitada solo por IP.
+     */
+    private String user(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            DecodedJWT jwt = jwtTokenProvider.verify(header.substring(7));
+            UUID userId = JwtTokenProvider.userId(jwt);
+            return userId != null ? userId.toString() : jwt.getSubject();
+        } catch (JWTVerificationException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Demasiadas solicitudes",
+                "Se superó el límite de solicitudes; reintente en unos segundos",
+                request.getRequestURI());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
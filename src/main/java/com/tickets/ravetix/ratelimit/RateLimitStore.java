@@ -0,0 +1,20 @@
+package com.tickets.ravetix.ratelimit;
+
+/**
+ * Almacén del estado de los cubos de tokens.
+ * <p>
+ * La implementación en memoria limita cada nodo por separado; una compartida aplica el límite al
+ * conjunto de nodos. Se elige con {@code app.ratelimit.store}.
+ * </p>
+ */
+public interface RateLimitStore {
+
+    /**
+     * Consume un token del cubo, si lo hay.
+     *
+     * @param key    Cubo, por ejemplo {@code purchase.user:<id>}.
+     * @param policy Límite del cubo.
+     * @return {@code 0} si se concedió el token; si no, los nanosegundos hasta que haya uno.
+     */
+    long tryConsume(String key, BucketPolicy policy);
+}
@@ -0,0 +1,103 @@
+package com.tickets.ravetix.ratelimit;
+
+import com.tickets.ravetix.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las peticiones de compra, pago y login con cubos de tokens por usuario, por IP y por
+ * evento, para reservar la capacidad de la base de datos a los compradores reales durante una
+ * venta.
+ * <p>
+ * Cada ámbito se configura con {@code app.ratelimit.rules.<ámbito>.capacity} (ráfaga máxima) y
+ * {@code app.ratelimit.rules.<ámbito>.refill-per-second}. Los ámbitos por usuario e IP se aplican
+ * en {@link RateLimitFilter}, antes de autenticar la petición; el ámbito por evento, en el
+ * controlador, que es donde se conoce el evento de la compra.
+ * </p>
+ */
+@Component
+public class RateLimiter {
+
+    public static final String LOGIN_IP = "login.ip";
+    public static final String PURCHASE_USER = "purchase.user";
+    public static final String PURCHASE_IP = "purchase.ip";
+    public static final String PURCHASE_EVENT = "purchase.event";
+    public static final String PAYMENT_USER = "payment.user";
+    public static final String PAYMENT_IP = "payment.ip";
+
+    private static final String RULE_PROPERTY = "app.ratelimit.rules.";
+
+    private final RateLimitStore store;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, BucketPolicy> policies = new HashMap<>();
+
+    public RateLimiter(
+            RateLimitStore store,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.ratelimit.enabled:true}") boolean enabled) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        register(environment, LOGIN_IP, 10, 0.2);
+        register(environment, PURCHASE_USER, 5, 0.5);
+        register(environment, PURCHASE_IP, 20, 2);
+        register(environment, PURCHASE_EVENT, 500, 200);
+        register(environment, PAYMENT_USER, 5, 0.5);
+        register(environment, PAYMENT_IP, 20, 2);
+    }
+
+    /**
+     * Consume un token del cubo del sujeto en el ámbito indicado.
+     *
+     * @param scope   Ámbito del límite, por ejemplo {@link #PURCHASE_USER}.
+     * @param subject Usuario, IP o evento; {@code null} si no se conoce, y entonces no se limita.
+     * @return {@code 0} si la petición puede seguir; si no, los nanosegundos hasta que pueda.
+     */
+    public long check(String scope, String subject) {
+        BucketPolicy policy = policies.get(scope);
+        if (!enabled || subject == null || policy == null) {
+            return 0;
+        }
+        long wait = store.tryConsume(scope + ':' + subject, policy);
+        if (wait > 0) {
+            meterRegistry.counter("ratelimit.rejected", "scope", scope).increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Aplica el límite de compras de un evento.
+     *
+     * @param eventId ID del evento.
+     * @throws RateLimitExceededException si el evento superó su límite.
+     */
+    public void requireEvent(UUID eventId) {
+        long wait = check(PURCHASE_EVENT, eventId != null ? eventId.toString() : null);
+        if (wait > 0) {
+            throw new RateLimitExceededException(
+                    "El evento recibe demasiadas compras; reintente en unos segundos", retryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Redondea una espera al segundo siguiente, para la cabecera {@code Retry-After}.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+    }
+
+    private void register(Environment environment, String scope, long capacity, double refillPerSecond) {
+        policies.put(scope, new BucketPolicy(
+                environment.getProperty(RULE_PROPERTY + scope + ".capacity", Long.class, capacity),
+                environment.getProperty(RULE_PROPERTY + scope + ".refill-per-second", Double.class, refillPerSecond)));
+    }
+}
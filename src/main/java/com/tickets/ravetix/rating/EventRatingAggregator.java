@@ -0,0 +1,129 @@
+package com.tickets.ravetix.rating;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Mantiene la tabla {@code event_ratings} con el número, la suma y el histograma de las
+ * calificaciones de cada evento.
+ * <p>
+ * Al calificar se aplica la diferencia con la calificación anterior del usuario en un único
+ * {@code UPDATE}, dentro de la transacción del historial: si la transacción se deshace, el
+ * agregado también. Si el evento todavía no tiene agregado, se calcula entero desde
+ * {@code event_histories}. El recálculo bloquea antes la fila del agregado, de modo que una
+ * calificación concurrente o ya está confirmada y entra en el recuento, o espera al bloqueo y
+ * aplica su diferencia después.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventRatingAggregator {
+
+    private static final String APPLY_SQL =
+            "UPDATE event_ratings SET total_calificaciones = total_calificaciones + ?, " +
+            "suma_calificaciones = suma_calificaciones + ?, estrellas_1 = estrellas_1 + ?, " +
+            "estrellas_2 = estrellas_2 + ?, estrellas_3 = estrellas_3 + ?, estrellas_4 = estrellas_4 + ?, " +
+            "estrellas_5 = estrellas_5 + ?, fecha_actualizacion = ?, version = version + 1 " +
+            "WHERE evento_id = ?";
+    private static final String ENSURE_SQL =
+            "INSERT INTO event_ratings (id, evento_id, total_calificaciones, suma_calificaciones, estrellas_1, " +
+            "estrellas_2, estrellas_3, estrellas_4, estrellas_5, fecha_creacion, fecha_actualizacion, version) " +
+            "VALUES (?, ?, 0, 0, 0, 0, 0, 0, 0, ?, ?, 0) ON CONFLICT (evento_id) DO NOTHING";
+    private static final String LOCK_SQL =
+            "SELECT id FROM event_ratings WHERE evento_id = ? FOR UPDATE";
+    private static final String RECOMPUTE_SQL =
+            "UPDATE event_ratings r SET total_calificaciones = a.total, suma_calificaciones = a.suma, " +
+            "estrellas_1 = a.e1, estrellas_2 = a.e2, estrellas_3 = a.e3, estrellas_4 = a.e4, estrellas_5 = a.e5, " +
+            "fecha_actualizacion = ?, version = r.version + 1 " +
+            "FROM (SELECT COUNT(*) AS total, COALESCE(SUM(calificacion), 0) AS suma, " +
+            "COUNT(*) FILTER (WHERE calificacion = 1) AS e1, COUNT(*) FILTER (WHERE calificacion = 2) AS e2, " +
+            "COUNT(*) FILTER (WHERE calificacion = 3) AS e3, COUNT(*) FILTER (WHERE calificacion = 4) AS e4, " +
+            "COUNT(*) FILTER (WHERE calificacion = 5) AS e5 " +
+            "FROM event_histories WHERE evento_id = ? AND calificacion IS NOT NULL) a " +
+            "WHERE r.evento_id = ?";
+    private static final String RETRACT_USER_SQL =
+            "UPDATE event_ratings r SET total_calificaciones = r.total_calificaciones - a.total, " +
+            "suma_calificaciones = r.suma_calificaciones - a.suma, estrellas_1 = r.estrellas_1 - a.e1, " +
+            "estrellas_2 = r.estrellas_2 - a.e2, estrellas_3 = r.estrellas_3 - a.e3, " +
+            "estrellas_4 = r.estrellas_4 - a.e4, estrellas_5 = r.estrellas_5 - a.e5, " +
+            "fecha_actualizacion = ?, version = r.version + 1 " +
+            "FROM (SELECT evento_id, COUNT(*) AS total, SUM(calificacion) AS suma, " +
+            "COUNT(*) FILTER (WHERE calificacion = 1) AS e1, COUNT(*) FILTER (WHERE calificacion = 2) AS e2, " +
+            "COUNT(*) FILTER (WHERE calificacion = 3) AS e3, COUNT(*) FILTER (WHERE calificacion = 4) AS e4, " +
+            "COUNT(*) FILTER (WHERE calificacion = 5) AS e5 " +
+            "FROM event_histories WHERE usuario_id = ? AND calificacion IS NOT NULL GROUP BY evento_id) a " +
+            "WHERE r.evento_id = a.evento_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public EventRatingAggregator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Aplica al agregado del evento el cambio de calificación de un usuario. Debe llamarse dentro
+     * de la transacción que guarda el historial, con el cambio ya volcado a la base de datos.
+     *
+     * @param eventoId ID del evento.
+     * @param previous Calificación anterior del usuario, o {@code null} si no había calificado.
+     * @param rating   Calificación nueva (1-5).
+     */
+    public void apply(UUID eventoId, Integer previous, int rating) {
+        if (previous != null && previous == rating) {
+            return;
+        }
+        long[] stars = new long[5];
+        stars[rating - 1]++;
+        if (previous != null) {
+            stars[previous - 1]--;
+        }
+        int updated = jdbcTemplate.update(APPLY_SQL,
+                previous == null ? 1 : 0, rating - (previous == null ? 0 : previous),
+                stars[0], stars[1], stars[2], stars[3], stars[4], Timestamp.from(clock.instant()), eventoId);
+        if (updated == 0) {
+            recompute(eventoId);
+        }
+    }
+
+    /**
+     * Descuenta de los agregados las calificaciones de un usuario que se va a eliminar. Debe
+     * llamarse dentro de la transacción que lo elimina y antes de que se borre su historial en
+     * cascada: lee las calificaciones de {@code event_histories}.
+     *
+     * @param usuarioId ID del usuario.
+     */
+    public void retractUser(UUID usuarioId) {
+        int updated = jdbcTemplate.update(RETRACT_USER_SQL, Timestamp.from(clock.instant()), usuarioId);
+        log.debug("Retracted ratings of user {} from {} event aggregates", usuarioId, updated);
+    }
+
+    /**
+     * Recalcula el agregado de un evento desde {@code event_histories}, en su propia transacción
+     * o en la que esté en curso.
+     *
+     * @param eventoId ID del evento.
+     */
+    public void rebuild(UUID eventoId) {
+        transactionTemplate.executeWithoutResult(status -> recompute(eventoId));
+    }
+
+    private void recompute(UUID eventoId) {
+        Timestamp now = Timestamp.from(clock.instant());
+        jdbcTemplate.update(ENSURE_SQL, UUID.randomUUID(), eventoId, now, now);
+        jdbcTemplate.queryForList(LOCK_SQL, UUID.class, eventoId);
+        jdbcTemplate.update(RECOMPUTE_SQL, now, eventoId, eventoId);
+        log.debug("Recomputed rating aggregate of event {}", eventoId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tickets.ravetix.rating;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Calcula los agregados de calificaciones de los eventos calificados que todavía no tienen uno,
+ * por ejemplo las calificaciones anteriores a la tabla {@code event_ratings} o las cargadas
+ * directamente en la base de datos. Cada evento se recalcula en su propia transacción y, como
+ * mucho, {@code app.ratings.rebuild-batch-size} eventos por pasada.
+ */
+@Slf4j
+@Component
+public class EventRatingRebuildJob {
+
+    private static final String MISSING_SQL =
+            "SELECT DISTINCT h.evento_id FROM event_histories h WHERE h.calificacion IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM event_ratings r WHERE r.evento_id = h.evento_id) LIMIT ?";
+
+    private final EventRatingAggregator aggregator;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public EventRatingRebuildJob(
+            EventRatingAggregator aggregator,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.ratings.rebuild-batch-size:500}") int batchSize) {
+        this.aggregator = aggregator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.ratings.rebuild-initial-delay-ms:30000}",
+               fixedDelayString = "${app.ratings.rebuild-interval-ms:3600000}")
+    public void rebuildMissing() {
+        List<UUID> events;
+        try {
+            events = jdbcTemplate.queryForList(MISSING_SQL, UUID.class, batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Could not look for events without rating aggregates: {}", e.getMessage());
+            return;
+        }
+        for (UUID eventoId : events) {
+            try {
+                aggregator.rebuild(eventoId);
+            } catch (DataAccessException e) {
+                log.warn("Could not rebuild the rating aggregate of event {}: {}", eventoId, e.getMessage());
+            }
+        }
+        if (!events.isEmpty()) {
+            log.info("Rebuilt {} event rating aggregates", events.size());
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.tickets.ravetix.repository;
 
 import com.tickets.ravetix.entity.EventHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,6 +24,16 @@ import java.util.UUID;
  */
 @Repository
 public interface EventHistoryRepository extends BaseRepository<EventHistory, UUID> {
+
+    /**
+     * Find a history entry by ID with its event and user loaded.
+     *
+     * @param id the ID of the history entry
+     * @return the history entry if found
+     */
+    @Override
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
+    Optional<EventHistory> findById(UUID id);
     
     /**
      * Find all history entries for a specific user.
@@ -26,6 +42,7 @@ public interface EventHistoryRepository extends BaseRepository<EventHistory, UUI
      * @param pageable pagination information
      * @return a page of history entries for the user
      */
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
     Page<EventHistory> findByUsuarioId(UUID userId, Pageable pageable);
     
     /**
@@ -35,6 +52,7 @@ public interface EventHistoryRepository extends BaseRepository<EventHistory, UUI
      * @param pageable pagination information
      * @return a page of history entries for the event
      */
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
     Page<EventHistory> findByEventoId(UUID eventId, Pageable pageable);
     
     /**
@@ -90,4 +108,64 @@ public interface EventHistoryRepository extends BaseRepository<EventHistory, UUI
      */
 //    @Query("SELECT eh FROM EventHistory eh WHERE eh.evento.organizador.id = :userId")
 //    Page<EventHistory> findForUserEvents(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * Scroll through the history entries of a user using keyset pagination.
+     *
+     * @param userId   the ID of the user
+     * @param position the position to continue from
+     * @param sort     the keyset order
+     * @param limit    the maximum number of entries to return
+     * @return a window of history entries for the user
+     */
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
+    Window<EventHistory> findByUsuarioId(UUID userId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Scroll through the history entries of an event using keyset pagination.
+     *
+     * @param eventId  the ID of the event
+     * @param position the position to continue from
+     * @param sort     the keyset order
+     * @param limit    the maximum number of entries to return
+     * @return a window of history entries for the event
+     */
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
+    Window<EventHistory> findByEventoId(UUID eventId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Find a slice of the history entries of a user, without counting them.
+     *
+     * @param userId   the ID of the user
+     * @param pageable pagination information
+     * @return a slice of history entries for the user
+     */
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
+    Slice<EventHistory> findSliceByUsuarioId(UUID userId, Pageable pageable);
+
+    /**
+     * Count the history entries of a user.
+     *
+     * @param userId the ID of the user
+     * @return the number of history entries for the user
+     */
+    long countByUsuarioId(UUID userId);
+
+    /**
+     * Find a slice of the history entries of an event, without counting them.
+     *
+     * @param eventId  the ID of the event
+     * @param pageable pagination information
+     * @return a slice of history entries for the event
+     */
+    @EntityGraph(EventHistory.GRAPH_DETAIL)
+    Slice<EventHistory> findSliceByEventoId(UUID eventId, Pageable pageable);
+
+    /**
+     * Count the history entries of an event.
+     *
+     * @param eventId the ID of the event
+     * @return the number of history entries for the event
+     */
+    long countByEventoId(UUID eventId);
 }
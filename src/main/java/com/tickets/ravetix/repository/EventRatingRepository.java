@@ -0,0 +1,23 @@
+package com.tickets.ravetix.repository;
+
+import com.tickets.ravetix.entity.EventRating;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link EventRating} entity.
+ * Reads the incrementally maintained rating aggregates of events.
+ */
+@Repository
+public interface EventRatingRepository extends BaseRepository<EventRating, UUID> {
+
+    /**
+     * Find the rating aggregate of an event.
+     *
+     * @param eventoId the ID of the event
+     * @return the aggregate, if the event was ever rated or rebuilt
+     */
+    Optional<EventRating> findByEventoId(UUID eventoId);
+}
@@ -2,14 +2,21 @@ package com.tickets.ravetix.repository;
 
 import com.tickets.ravetix.entity.Event;
 import com.tickets.ravetix.enums.EstadoEvento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -18,6 +25,16 @@ import java.util.UUID;
  */
 @Repository
 public interface EventRepository extends BaseRepository<Event, UUID> {
+
+    /**
+     * Find an event by ID with its zones loaded.
+     *
+     * @param id the ID of the event
+     * @return the event if found
+     */
+    @Override
+    @EntityGraph(Event.GRAPH_DETAIL)
+    Optional<Event> findById(UUID id);
     
     /**
      * Find events by status with pagination.
@@ -69,4 +86,245 @@ public interface EventRepository extends BaseRepository<Event, UUID> {
      */
     @Query("SELECT e FROM Event e WHERE e.fechaHoraInicio > CURRENT_TIMESTAMP")
     Page<Event> findUpcomingEvents(Pageable pageable);
+
+    /**
+     * Get the version stamp of an event without loading it.
+     *
+     * @param id the ID of the event
+     * @return the version stamp (count is 0 if the event does not exist)
+     */
+    @Query("SELECT COUNT(e) AS count, COALESCE(SUM(e.version), 0) AS version, " +
+           "MAX(e.fechaActualizacion) AS updatedAt FROM Event e WHERE e.id = :id")
+    VersionStamp findVersionStampById(@Param("id") UUID id);
+
+    /**
+     * Scroll through all events using keyset pagination.
+     *
+     * @param position the position to continue from
+     * @param sort     the keyset order
+     * @param limit    the maximum number of events to return
+     * @return a window of events
+     */
+    Window<Event> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Find a slice of all events, without counting them.
+     *
+     * @param pageable pagination information
+     * @return a slice of events
+     */
+    Slice<Event> findSliceBy(Pageable pageable);
+
+    /**
+     * Find a slice of events by status, without counting them.
+     *
+     * @param estado   the event status to filter by
+     * @param pageable pagination information
+     * @return a slice of events with the given status
+     */
+    Slice<Event> findSliceByEstado(EstadoEvento estado, Pageable pageable);
+
+    /**
+     * Count events by status.
+     *
+     * @param estado the event status to filter by
+     * @return the number of events with the given status
+     */
+    long countByEstado(EstadoEvento estado);
+
+    /**
+     * Find a slice of events between two dates, without counting them.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate   the end date (inclusive)
+     * @param pageable  pagination information
+     * @return a slice of events within the date range
+     */
+    @Query("SELECT e FROM Event e WHERE e.fechaHoraInicio BETWEEN :startDate AND :endDate")
+    Slice<Event> findSliceBetweenDates(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        Pageable pageable
+    );
+
+    /**
+     * Count events between two dates.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate   the end date (inclusive)
+     * @return the number of events within the date range
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.fechaHoraInicio BETWEEN :startDate AND :endDate")
+    long countBetweenDates(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Search a slice of events by name or description (case-insensitive), without counting them.
+     *
+     * @param query    the search term
+     * @param pageable pagination information
+     * @return a slice of matching events
+     */
+    @Query("SELECT e FROM Event e WHERE LOWER(e.nombre) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "OR LOWER(e.descripcion) LIKE LOWER(CONCAT('%', :query, '%'))")
+    Slice<Event> searchSlice(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Count events matching a search term.
+     *
+     * @param query the search term
+     * @return the number of matching events
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE LOWER(e.nombre) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "OR LOWER(e.descripcion) LIKE LOWER(CONCAT('%', :query, '%'))")
+    long countSearch(@Param("query") String query);
+
+    /**
+     * Search a slice of events by name or description with status and start date filters,
+     * without counting them. Only used while the in-memory search index is loading.
+     *
+     * @param query    the search term
+     * @param estado   the event status, or null for any
+     * @param desde    the minimum start date (inclusive)
+     * @param hasta    the maximum start date (inclusive)
+     * @param pageable pagination information
+     * @return a slice of matching events
+     */
+    @Query("SELECT e FROM Event e WHERE (LOWER(e.nombre) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "OR LOWER(e.descripcion) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "AND (:estado IS NULL OR e.estado = :estado) " +
+           "AND e.fechaHoraInicio BETWEEN :desde AND :hasta")
+    Slice<Event> searchSlice(
+        @Param("query") String query,
+        @Param("estado") EstadoEvento estado,
+        @Param("desde") LocalDateTime desde,
+        @Param("hasta") LocalDateTime hasta,
+        Pageable pageable
+    );
+
+    /**
+     * Count events matching a search term with status and start date filters.
+     *
+     * @param query  the search term
+     * @param estado the event status, or null for any
+     * @param desde  the minimum start date (inclusive)
+     * @param hasta  the maximum start date (inclusive)
+     * @return the number of matching events
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE (LOWER(e.nombre) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "OR LOWER(e.descripcion) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "AND (:estado IS NULL OR e.estado = :estado) " +
+           "AND e.fechaHoraInicio BETWEEN :desde AND :hasta")
+    long countSearch(
+        @Param("query") String query,
+        @Param("estado") EstadoEvento estado,
+        @Param("desde") LocalDateTime desde,
+        @Param("hasta") LocalDateTime hasta
+    );
+
+    /**
+     * Find a slice of events by city and/or bounding box with status and start date filters,
+     * ordered by the pageable. Only used while the in-memory discovery index is loading.
+     *
+     * @param ciudad   the lowercase city, or an empty string for any
+     * @param pais     the lowercase country, or an empty string for any
+     * @param estado   the event status, or null for any
+     * @param desde    the minimum start date (inclusive)
+     * @param hasta    the maximum start date (inclusive)
+     * @param geo      whether to filter by the bounding box
+     * @param latMin   the minimum latitude of the bounding box
+     * @param latMax   the maximum latitude of the bounding box
+     * @param lonMin   the minimum longitude of the bounding box
+     * @param lonMax   the maximum longitude of the bounding box
+     * @param pageable pagination information
+     * @return a slice of matching events
+     */
+    @Query("SELECT e FROM Event e WHERE (:ciudad = '' OR LOWER(e.ubicacion.ciudad) = :ciudad) " +
+           "AND (:pais = '' OR LOWER(e.ubicacion.pais) = :pais) " +
+           "AND (:estado IS NULL OR e.estado = :estado) " +
+           "AND e.fechaHoraInicio BETWEEN :desde AND :hasta " +
+           "AND (:geo = false OR (e.ubicacion.latitud BETWEEN :latMin AND :latMax " +
+           "AND e.ubicacion.longitud BETWEEN :lonMin AND :lonMax))")
+    Slice<Event> discoverSlice(
+        @Param("ciudad") String ciudad,
+        @Param("pais") String pais,
+        @Param("estado") EstadoEvento estado,
+        @Param("desde") LocalDateTime desde,
+        @Param("hasta") LocalDateTime hasta,
+        @Param("geo") boolean geo,
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax,
+        Pageable pageable
+    );
+
+    /**
+     * Count events by city and/or bounding box with status and start date filters.
+     *
+     * @param ciudad the lowercase city, or an empty string for any
+     * @param pais   the lowercase country, or an empty string for any
+     * @param estado the event status, or null for any
+     * @param desde  the minimum start date (inclusive)
+     * @param hasta  the maximum start date (inclusive)
+     * @param geo    whether to filter by the bounding box
+     * @param latMin the minimum latitude of the bounding box
+     * @param latMax the maximum latitude of the bounding box
+     * @param lonMin the minimum longitude of the bounding box
+     * @param lonMax the maximum longitude of the bounding box
+     * @return the number of matching events
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE (:ciudad = '' OR LOWER(e.ubicacion.ciudad) = :ciudad) " +
+           "AND (:pais = '' OR LOWER(e.ubicacion.pais) = :pais) " +
+           "AND (:estado IS NULL OR e.estado = :estado) " +
+           "AND e.fechaHoraInicio BETWEEN :desde AND :hasta " +
+           "AND (:geo = false OR (e.ubicacion.latitud BETWEEN :latMin AND :latMax " +
+           "AND e.ubicacion.longitud BETWEEN :lonMin AND :lonMax))")
+    long countDiscover(
+        @Param("ciudad") String ciudad,
+        @Param("pais") String pais,
+        @Param("estado") EstadoEvento estado,
+        @Param("desde") LocalDateTime desde,
+        @Param("hasta") LocalDateTime hasta,
+        @Param("geo") boolean geo,
+        @Param("latMin") double latMin,
+        @Param("latMax") double latMax,
+        @Param("lonMin") double lonMin,
+        @Param("lonMax") double lonMax
+    );
+
+    /**
+     * Find a slice of events that overlap a time window, that is, events starting no later than
+     * the end of the window and ending no earlier than its start. Only used while the in-memory
+     * schedule index is loading.
+     *
+     * @param desde    the start of the window (inclusive)
+     * @param hasta    the end of the window (inclusive)
+     * @param estado   the event status, or null for any
+     * @param pageable pagination information
+     * @return a slice of overlapping events
+     */
+    @Query("SELECT e FROM Event e WHERE e.fechaHoraInicio <= :hasta AND e.fechaHoraFin >= :desde " +
+           "AND (:estado IS NULL OR e.estado = :estado)")
+    Slice<Event> findSliceOverlapping(
+        @Param("desde") LocalDateTime desde,
+        @Param("hasta") LocalDateTime hasta,
+        @Param("estado") EstadoEvento estado,
+        Pageable pageable
+    );
+
+    /**
+     * Count events that overlap a time window.
+     *
+     * @param desde  the start of the window (inclusive)
+     * @param hasta  the end of the window (inclusive)
+     * @param estado the event status, or null for any
+     * @return the number of overlapping events
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.fechaHoraInicio <= :hasta AND e.fechaHoraFin >= :desde " +
+           "AND (:estado IS NULL OR e.estado = :estado)")
+    long countOverlapping(
+        @Param("desde") LocalDateTime desde,
+        @Param("hasta") LocalDateTime hasta,
+        @Param("estado") EstadoEvento estado
+    );
 }
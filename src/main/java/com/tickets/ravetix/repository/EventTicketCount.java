@@ -0,0 +1,19 @@
+package com.tickets.ravetix.repository;
+
+import java.util.UUID;
+
+/**
+ * Proyección con el número de tickets de un evento, sin cargar las entidades.
+ */
+public interface EventTicketCount {
+
+    /**
+     * ID del evento.
+     */
+    UUID getEventoId();
+
+    /**
+     * Número de tickets del evento.
+     */
+    Long getCount();
+}
@@ -5,6 +5,8 @@ import com.tickets.ravetix.entity.Ticket;
 import com.tickets.ravetix.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -30,7 +32,26 @@ public interface PaymentRepository extends BaseRepository<Payment, UUID> {
      * @param pageable pagination information
      * @return a page of payments made by the user
      */
+    @EntityGraph(Payment.GRAPH_DETAIL)
     Page<Payment> findByUsuarioId(UUID userId, Pageable pageable);
+
+    /**
+     * Find a slice of the payments of a user, without counting them.
+     *
+     * @param userId   the ID of the user
+     * @param pageable pagination information
+     * @return a slice of payments made by the user
+     */
+    @EntityGraph(Payment.GRAPH_DETAIL)
+    Slice<Payment> findSliceByUsuarioId(UUID userId, Pageable pageable);
+
+    /**
+     * Count the payments of a user.
+     *
+     * @param userId the ID of the user
+     * @return the number of payments made by the user
+     */
+    long countByUsuarioId(UUID userId);
     
     /**
      * Find all payments for a specific ticket.
@@ -38,6 +59,7 @@ public interface PaymentRepository extends BaseRepository<Payment, UUID> {
      * @param ticketId the ID of the ticket
      * @return a list of payments for the ticket
      */
+    @EntityGraph(Payment.GRAPH_DETAIL)
     List<Payment> findByTicketId(UUID ticketId);
     
     /**
@@ -72,12 +94,13 @@ public interface PaymentRepository extends BaseRepository<Payment, UUID> {
     Optional<Payment> findByIdWithTicketAndZone(@Param("id") UUID id);
     
     /**
-     * Find a payment by ID.
+     * Find a payment by ID with its ticket and user loaded.
      *
      * @param id the ID of the payment
      * @return the payment if found
      */
     @Override
+    @EntityGraph(Payment.GRAPH_DETAIL)
     Optional<Payment> findById(UUID id);
     
     /**
@@ -88,6 +111,7 @@ public interface PaymentRepository extends BaseRepository<Payment, UUID> {
      * @param pageable  pagination information
      * @return a page of successful payments within the date range
      */
+    @EntityGraph(Payment.GRAPH_DETAIL)
     Page<Payment> findByEstadoAndFechaPagoBetween(
         @Param("estado") String estado,
         @Param("startDate") LocalDateTime startDate,
@@ -0,0 +1,27 @@
+package com.tickets.ravetix.repository;
+
+import com.tickets.ravetix.entity.SalesRollup;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link SalesRollup} entity.
+ * Provides methods to read the compacted sales time series.
+ */
+@Repository
+public interface SalesRollupRepository extends BaseRepository<SalesRollup, UUID> {
+
+    /**
+     * Find all rollups for an event within a time range, ordered by bucket start.
+     *
+     * @param eventoId the ID of the event
+     * @param from     the start of the range (inclusive)
+     * @param to       the end of the range (inclusive)
+     * @return the rollups in the range
+     */
+    List<SalesRollup> findByEventoIdAndInicioBucketBetweenOrderByInicioBucketAsc(
+        UUID eventoId, LocalDateTime from, LocalDateTime to);
+}
@@ -2,13 +2,22 @@ package com.tickets.ravetix.repository;
 
 import com.tickets.ravetix.entity.Ticket;
 import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.enums.TicketState;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,6 +26,16 @@ import java.util.UUID;
  */
 @Repository
 public interface TicketRepository extends BaseRepository<Ticket, UUID> {
+
+    /**
+     * Find a ticket by ID with its event, zone, user and payment loaded.
+     *
+     * @param id the ID of the ticket
+     * @return the ticket if found
+     */
+    @Override
+    @EntityGraph(Ticket.GRAPH_DETAIL)
+    Optional<Ticket> findById(UUID id);
     
     /**
      * Find all tickets for a specific user.
@@ -25,6 +44,7 @@ public interface TicketRepository extends BaseRepository<Ticket, UUID> {
      * @param pageable pagination information
      * @return a page of tickets belonging to the user
      */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
     Page<Ticket> findByUsuarioId(UUID userId, Pageable pageable);
     
     /**
@@ -34,6 +54,7 @@ public interface TicketRepository extends BaseRepository<Ticket, UUID> {
      * @param pageable pagination information
      * @return a page of tickets for the event
      */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
     Page<Ticket> findByEventoId(UUID eventId, Pageable pageable);
     
     /**
@@ -45,6 +66,18 @@ public interface TicketRepository extends BaseRepository<Ticket, UUID> {
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.evento.id = :eventId")
     long countByEventoId(@Param("eventId") UUID eventId);
     
+    /**
+     * Count the tickets in the given states of each of the given events.
+     *
+     * @param eventIds the IDs of the events
+     * @param states   the ticket states to count
+     * @return one row per event with at least one matching ticket
+     */
+    @Query("SELECT t.evento.id AS eventoId, COUNT(t) AS count FROM Ticket t " +
+           "WHERE t.evento.id IN :eventIds AND t.estado IN :states GROUP BY t.evento.id")
+    List<EventTicketCount> countByEventoIds(@Param("eventIds") Collection<UUID> eventIds,
+                                            @Param("states") Collection<TicketState> states);
+    
     /**
      * Find all tickets for a specific user and event.
      *
@@ -52,6 +85,7 @@ public interface TicketRepository extends BaseRepository<Ticket, UUID> {
      * @param eventId the ID of the event
      * @return a list of tickets matching the criteria
      */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
     List<Ticket> findByUsuarioIdAndEventoId(UUID userId, UUID eventId);
     
     /**
@@ -62,4 +96,78 @@ public interface TicketRepository extends BaseRepository<Ticket, UUID> {
      * @return true if the user has already purchased a ticket for the event
      */
     boolean existsByUsuarioIdAndEventoId(UUID userId, UUID eventId);
+
+    /**
+     * Get the version stamp of a ticket together with the event, zone and user it renders.
+     *
+     * @param id the ID of the ticket
+     * @return the version stamp (count is 0 if the ticket does not exist)
+     */
+    @Query("SELECT COUNT(t) AS count, COALESCE(SUM(t.version + e.version + z.version + u.version), 0) AS version, " +
+           "MAX(GREATEST(t.fechaActualizacion, e.fechaActualizacion, z.fechaActualizacion, u.fechaActualizacion)) AS updatedAt " +
+           "FROM Ticket t JOIN t.evento e JOIN t.zona z JOIN t.usuario u WHERE t.id = :id")
+    VersionStamp findVersionStampById(@Param("id") UUID id);
+
+    /**
+     * Get the stamp of the tickets sold for an event. Only creations and deletions change how
+     * the event is rendered, so the version is always 0.
+     *
+     * @param eventId the ID of the event
+     * @return the ticket count and the latest purchase timestamp
+     */
+    @Query("SELECT COUNT(t) AS count, 0L AS version, MAX(t.fechaCreacion) AS updatedAt " +
+           "FROM Ticket t WHERE t.evento.id = :eventId")
+    VersionStamp findVersionStampByEventoId(@Param("eventId") UUID eventId);
+
+    /**
+     * Scroll through the tickets of a user using keyset pagination.
+     *
+     * @param userId   the ID of the user
+     * @param position the position to continue from
+     * @param sort     the keyset order
+     * @param limit    the maximum number of tickets to return
+     * @return a window of tickets belonging to the user
+     */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
+    Window<Ticket> findByUsuarioId(UUID userId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Scroll through the tickets of an event using keyset pagination.
+     *
+     * @param eventId  the ID of the event
+     * @param position the position to continue from
+     * @param sort     the keyset order
+     * @param limit    the maximum number of tickets to return
+     * @return a window of tickets for the event
+     */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
+    Window<Ticket> findByEventoId(UUID eventId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Find a slice of the tickets of a user, without counting them.
+     *
+     * @param userId   the ID of the user
+     * @param pageable pagination information
+     * @return a slice of tickets belonging to the user
+     */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
+    Slice<Ticket> findSliceByUsuarioId(UUID userId, Pageable pageable);
+
+    /**
+     * Count the tickets of a user.
+     *
+     * @param userId the ID of the user
+     * @return the number of tickets belonging to the user
+     */
+    long countByUsuarioId(UUID userId);
+
+    /**
+     * Find a slice of the tickets of an event, without counting them.
+     *
+     * @param eventId  the ID of the event
+     * @param pageable pagination information
+     * @return a slice of tickets for the event
+     */
+    @EntityGraph(Ticket.GRAPH_DETAIL)
+    Slice<Ticket> findSliceByEventoId(UUID eventId, Pageable pageable);
 }
@@ -0,0 +1,39 @@
+package com.tickets.ravetix.repository;
+
+import com.tickets.ravetix.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link TokenRevocation} entity.
+ * Keeps the revocations that can still affect unexpired tokens.
+ */
+@Repository
+public interface TokenRevocationRepository extends BaseRepository<TokenRevocation, UUID> {
+
+    /**
+     * Find the revocations made after the given instant.
+     *
+     * @param since the oldest revocation instant of interest (exclusive)
+     * @return the revocations made after that instant
+     */
+    List<TokenRevocation> findByRevocadoEnAfter(Instant since);
+
+    /**
+     * Delete the revocations made before the given instant.
+     *
+     * @param before the revocation instant (exclusive)
+     * @return the number of deleted revocations
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.revocadoEn < :before")
+    int deleteByRevocadoEnBefore(@Param("before") Instant before);
+}
@@ -1,7 +1,17 @@
 package com.tickets.ravetix.repository;
 
 import com.tickets.ravetix.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +30,27 @@ public interface UserRepository extends BaseRepository<User, UUID> {
      * @return an Optional containing the user if found
      */
     Optional<User> findByCorreo(String email);
+
+    /**
+     * Find the email of a user without loading the entity.
+     *
+     * @param id the ID of the user
+     * @return an Optional containing the email if the user exists
+     */
+    @Query("SELECT u.correo FROM User u WHERE u.id = :id")
+    Optional<String> findCorreoById(@Param("id") UUID id);
+
+    /**
+     * Replace the password hash of a user.
+     *
+     * @param email the email of the user
+     * @param password the new password hash
+     * @return the number of updated users
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.correo = :email")
+    int updatePasswordByCorreo(@Param("email") String email, @Param("password") String password);
     
     /**
      * Check if a user with the given email exists.
@@ -36,4 +67,22 @@ public interface UserRepository extends BaseRepository<User, UUID> {
      * @return true if a user with the phone number exists, false otherwise
      */
     boolean existsByTelefono(String telefono);
+
+    /**
+     * Scroll through all users using keyset pagination.
+     *
+     * @param position the position to continue from
+     * @param sort     the keyset order
+     * @param limit    the maximum number of users to return
+     * @return a window of users
+     */
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Find a slice of all users, without counting them.
+     *
+     * @param pageable pagination information
+     * @return a slice of users
+     */
+    Slice<User> findSliceBy(Pageable pageable);
 }
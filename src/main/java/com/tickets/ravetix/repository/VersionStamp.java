@@ -0,0 +1,28 @@
+package com.tickets.ravetix.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con el estado de versión de un conjunto de filas, sin cargar las entidades.
+ * <p>
+ * Las consultas que la devuelven son agregados sin {@code GROUP BY}, por lo que siempre
+ * devuelven una fila; {@code count = 0} indica que no existe ninguna fila.
+ * </p>
+ */
+public interface VersionStamp {
+
+    /**
+     * Número de filas incluidas.
+     */
+    Long getCount();
+
+    /**
+     * Suma de las versiones de las filas incluidas.
+     */
+    Long getVersion();
+
+    /**
+     * Última modificación entre las filas incluidas.
+     */
+    LocalDateTime getUpdatedAt();
+}
@@ -3,6 +3,8 @@ package com.tickets.ravetix.repository;
 import com.tickets.ravetix.entity.Zone;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +19,16 @@ import java.util.UUID;
  */
 @Repository
 public interface ZoneRepository extends BaseRepository<Zone, UUID> {
+
+    /**
+     * Find a zone by ID with its benefits loaded.
+     *
+     * @param id the ID of the zone
+     * @return the zone if found
+     */
+    @Override
+    @EntityGraph(Zone.GRAPH_DETAIL)
+    Optional<Zone> findById(UUID id);
     
     /**
      * Find all zones for a specific event.
@@ -26,6 +38,23 @@ public interface ZoneRepository extends BaseRepository<Zone, UUID> {
      * @return a page of zones for the event
      */
     Page<Zone> findByEventoId(UUID eventId, Pageable pageable);
+
+    /**
+     * Find a slice of the zones of an event, without counting them.
+     *
+     * @param eventId  the ID of the event
+     * @param pageable pagination information
+     * @return a slice of zones for the event
+     */
+    Slice<Zone> findSliceByEventoId(UUID eventId, Pageable pageable);
+
+    /**
+     * Count the zones of an event.
+     *
+     * @param eventId the ID of the event
+     * @return the number of zones for the event
+     */
+    long countByEventoId(UUID eventId);
     
     /**
      * Find all zones for a specific event with available capacity.
@@ -96,4 +125,24 @@ public interface ZoneRepository extends BaseRepository<Zone, UUID> {
      */
     @Query("SELECT z FROM Zone z LEFT JOIN FETCH z.tickets WHERE z.id = :id")
     Optional<Zone> findByIdWithTickets(@Param("id") UUID id);
+
+    /**
+     * Get the version stamp of a zone without loading it.
+     *
+     * @param id the ID of the zone
+     * @return the version stamp (count is 0 if the zone does not exist)
+     */
+    @Query("SELECT COUNT(z) AS count, COALESCE(SUM(z.version), 0) AS version, " +
+           "MAX(z.fechaActualizacion) AS updatedAt FROM Zone z WHERE z.id = :id")
+    VersionStamp findVersionStampById(@Param("id") UUID id);
+
+    /**
+     * Get the combined version stamp of all zones of an event.
+     *
+     * @param eventId the ID of the event
+     * @return the version stamp of the event's zones
+     */
+    @Query("SELECT COUNT(z) AS count, COALESCE(SUM(z.version), 0) AS version, " +
+           "MAX(z.fechaActualizacion) AS updatedAt FROM Zone z WHERE z.evento.id = :eventId")
+    VersionStamp findVersionStampByEventoId(@Param("eventId") UUID eventId);
 }
@@ -0,0 +1,89 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.entity.SalesRollup;
+import com.tickets.ravetix.enums.SalesResolution;
+import com.tickets.ravetix.repository.SalesRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compacta periódicamente los minutos cerrados de las series en memoria a la tabla {@code sales_rollups}.
+ * <p>
+ * Cada nodo escribe sus propios parciales; el total de un minuto es la suma de sus filas.
+ * Las series sin ventas durante toda la ventana horaria se liberan.
+ * </p>
+ * <p>
+ * Las ventas se anotan tras el commit con el instante en que se vendieron, así que un minuto no
+ * se da por cerrado hasta {@code app.sales.compaction-grace} después de terminar: una venta
+ * que se confirma tarde todavía cae en un minuto sin compactar.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SalesCompactionJob {
+
+    private final SalesTimeSeriesStore salesTimeSeriesStore;
+    private final SalesRollupRepository salesRollupRepository;
+    private final Clock clock;
+    private final Duration grace;
+
+    public SalesCompactionJob(
+            SalesTimeSeriesStore salesTimeSeriesStore,
+            SalesRollupRepository salesRollupRepository,
+            Clock clock,
+            @Value("${app.sales.compaction-grace:60s}") Duration grace) {
+        this.salesTimeSeriesStore = salesTimeSeriesStore;
+        this.salesRollupRepository = salesRollupRepository;
+        this.clock = clock;
+        this.grace = grace;
+    }
+
+    @Scheduled(fixedDelayString = "${app.sales.compaction-interval-ms:60000}")
+    @Transactional
+    public void compact() {
+        long nowEpochSecond = clock.instant().getEpochSecond();
+        long minuteSeconds = SalesResolution.MINUTE.getBucketSeconds();
+        long currentMinute = nowEpochSecond / minuteSeconds;
+        long openMinute = (nowEpochSecond - grace.getSeconds()) / minuteSeconds;
+        long idleSince = nowEpochSecond
+                - SalesResolution.HOUR.getBucketSeconds() * SalesResolution.HOUR.getSlots();
+        List<SalesRollup> rollups = new ArrayList<>();
+
+        salesTimeSeriesStore.forEachEvent((eventoId, zones) -> zones.forEach((zonaId, series) -> {
+            SalesRingBuffer ring = series.ring(SalesResolution.MINUTE);
+            long last = series.getLastCompactedMinute().get();
+            long from = Math.max(last + 1, currentMinute - ring.size() + 1);
+            long to = openMinute - 1;
+            if (to >= from && series.getLastCompactedMinute().compareAndSet(last, to)) {
+                for (long bucket = from; bucket <= to; bucket++) {
+                    long tickets = ring.ticketsAt(bucket);
+                    if (tickets > 0) {
+                        SalesRollup rollup = new SalesRollup();
+                        rollup.setEventoId(eventoId);
+                        rollup.setZonaId(zonaId);
+                        rollup.setResolucion(SalesResolution.MINUTE);
+                        rollup.setInicioBucket(SalesTimeSeriesStore.toDateTime(bucket * minuteSeconds));
+                        rollup.setEntradasVendidas(tickets);
+                        rollup.setIngresos(BigDecimal.valueOf(ring.revenueCentsAt(bucket), 2));
+                        rollups.add(rollup);
+                    }
+                }
+            }
+            salesTimeSeriesStore.evictIdle(eventoId, zonaId, idleSince);
+        }));
+
+        if (!rollups.isEmpty()) {
+            salesRollupRepository.saveAll(rollups);
+            log.debug("Compacted {} sales minute buckets", rollups.size());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.enums.SalesResolution;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular de tamaño fijo con contadores de tickets e ingresos por bucket.
+ * <p>
+ * Las escrituras son lock-free: cada slot guarda el índice del bucket que
+ * representa y el primer escritor de un bucket nuevo lo recicla con un CAS.
+ * Una venta que llegue justo entre el CAS y la puesta a cero puede perderse;
+ * la serie es para gráficos en vivo, el dato durable sigue siendo la tabla de tickets.
+ * </p>
+ */
+final class SalesRingBuffer {
+
+    private final SalesResolution resolution;
+    private final int size;
+    private final AtomicLongArray buckets;
+    private final AtomicLongArray tickets;
+    private final AtomicLongArray revenueCents;
+
+    SalesRingBuffer(SalesResolution resolution) {
+        this.resolution = resolution;
+        this.size = resolution.getSlots();
+        this.buckets = new AtomicLongArray(size);
+        this.tickets = new AtomicLongArray(size);
+        this.revenueCents = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            buckets.set(i, -1L);
+        }
+    }
+
+    SalesResolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Índice del bucket que contiene el segundo epoch indicado.
+     */
+    long bucketOf(long epochSecond) {
+        return epochSecond / resolution.getBucketSeconds();
+    }
+
+    /**
+     * Suma tickets e ingresos al bucket del instante indicado.
+     * Las muestras más antiguas que la ventana del buffer se descartan.
+     */
+    void add(long epochSecond, long ticketCount, long cents) {
+        long bucket = bucketOf(epochSecond);
+        int slot = slotOf(bucket);
+        for (;;) {
+            long current = buckets.get(slot);
+            if (current == bucket) {
+                break;
+            }
+            if (current > bucket) {
+                return;
+            }
+            if (buckets.compareAndSet(slot, current, bucket)) {
+                tickets.set(slot, 0);
+                revenueCents.set(slot, 0);
+                break;
+            }
+        }
+        tickets.addAndGet(slot, ticketCount);
+        revenueCents.addAndGet(slot, cents);
+    }
+
+    /**
+     * Tickets acumulados en el bucket indicado, o 0 si ya salió de la ventana.
+     */
+    long ticketsAt(long bucket) {
+        int slot = slotOf(bucket);
+        long count = tickets.get(slot);
+        return buckets.get(slot) == bucket ? count : 0L;
+    }
+
+    /**
+     * Ingresos en céntimos acumulados en el bucket indicado, o 0 si ya salió de la ventana.
+     */
+    long revenueCentsAt(long bucket) {
+        int slot = slotOf(bucket);
+        long cents = revenueCents.get(slot);
+        return buckets.get(slot) == bucket ? cents : 0L;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slotOf(long bucket) {
+        return (int) (bucket % size);
+    }
+}
@@ -0,0 +1,44 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.enums.SalesResolution;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serie de ventas de una zona de un evento, con un buffer circular por resolución.
+ */
+final class SalesSeries {
+
+    private final Map<SalesResolution, SalesRingBuffer> rings = new EnumMap<>(SalesResolution.class);
+    private final AtomicLong lastCompactedMinute;
+    private volatile long lastSaleEpochSecond;
+
+    SalesSeries(long createdEpochSecond) {
+        for (SalesResolution resolution : SalesResolution.values()) {
+            rings.put(resolution, new SalesRingBuffer(resolution));
+        }
+        this.lastCompactedMinute = new AtomicLong(createdEpochSecond / SalesResolution.MINUTE.getBucketSeconds() - 1);
+        this.lastSaleEpochSecond = createdEpochSecond;
+    }
+
+    void record(long epochSecond, long ticketCount, long cents) {
+        for (SalesRingBuffer ring : rings.values()) {
+            ring.add(epochSecond, ticketCount, cents);
+        }
+        lastSaleEpochSecond = epochSecond;
+    }
+
+    SalesRingBuffer ring(SalesResolution resolution) {
+        return rings.get(resolution);
+    }
+
+    AtomicLong getLastCompactedMinute() {
+        return lastCompactedMinute;
+    }
+
+    long getLastSaleEpochSecond() {
+        return lastSaleEpochSecond;
+    }
+}
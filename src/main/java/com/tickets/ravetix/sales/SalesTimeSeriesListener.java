@@ -0,0 +1,22 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.domain.TicketSoldEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Alimenta las series temporales de ventas una vez confirmada la transacción del pago,
+ * de modo que un pago revertido no aparezca en los gráficos.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesTimeSeriesListener {
+
+    private final SalesTimeSeriesStore salesTimeSeriesStore;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketSold(TicketSoldEvent event) {
+        salesTimeSeriesStore.record(event.eventoId(), event.zonaId(), 1, event.monto(), event.vendidoEn());
+    }
+}
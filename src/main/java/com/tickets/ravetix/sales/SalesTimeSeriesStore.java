@@ -0,0 +1,133 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.dto.sales.SalesPointDTO;
+import com.tickets.ravetix.enums.SalesResolution;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Almacén en memoria de series temporales de ventas por evento y zona.
+ * <p>
+ * Cada par evento/zona tiene buffers circulares a resolución de segundo, minuto y hora.
+ * El registro de una venta no toma locks; las lecturas recorren los buffers sin copiarlos.
+ * </p>
+ */
+@Component
+public class SalesTimeSeriesStore {
+
+    private final Map<UUID, Map<UUID, SalesSeries>> seriesByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * Registra la venta de tickets en la serie de la zona del evento.
+     *
+     * @param eventoId    ID del evento.
+     * @param zonaId      ID de la zona.
+     * @param ticketCount Número de tickets vendidos.
+     * @param monto       Ingreso total de la venta.
+     * @param vendidoEn   Instante de la venta.
+     */
+    public void record(UUID eventoId, UUID zonaId, long ticketCount, BigDecimal monto, Instant vendidoEn) {
+        long epochSecond = vendidoEn.getEpochSecond();
+        seriesByEvent
+                .computeIfAbsent(eventoId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(zonaId, id -> new SalesSeries(epochSecond))
+                .record(epochSecond, ticketCount, toCents(monto));
+    }
+
+    /**
+     * Devuelve los últimos puntos de la serie de un evento, del más antiguo al más reciente.
+     * Si no se indica zona, se suman todas las zonas del evento.
+     *
+     * @param eventoId   ID del evento.
+     * @param zonaId     ID de la zona (opcional).
+     * @param resolution Resolución de la serie.
+     * @param points     Número de puntos a devolver, acotado al tamaño del buffer.
+     * @param now        Instante de referencia del punto más reciente.
+     * @return Lista de puntos de la serie.
+     */
+    public List<SalesPointDTO> snapshot(UUID eventoId, UUID zonaId, SalesResolution resolution, int points, Instant now) {
+        int count = Math.max(1, Math.min(points, resolution.getSlots()));
+        long nowBucket = now.getEpochSecond() / resolution.getBucketSeconds();
+        long[] tickets = new long[count];
+        long[] cents = new long[count];
+
+        for (SalesSeries series : seriesFor(eventoId, zonaId)) {
+            SalesRingBuffer ring = series.ring(resolution);
+            for (int i = 0; i < count; i++) {
+                long bucket = nowBucket - (count - 1 - i);
+                tickets[i] += ring.ticketsAt(bucket);
+                cents[i] += ring.revenueCentsAt(bucket);
+            }
+        }
+
+        List<SalesPointDTO> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long bucket = nowBucket - (count - 1 - i);
+            result.add(SalesPointDTO.builder()
+                    .inicio(toDateTime(bucket * resolution.getBucketSeconds()))
+                    .entradasVendidas(tickets[i])
+                    .ingresos(BigDecimal.valueOf(cents[i], 2))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Recorre todas las series registradas.
+     *
+     * @param consumer Recibe el ID del evento y el mapa de series por zona.
+     */
+    void forEachEvent(BiConsumer<UUID, Map<UUID, SalesSeries>> consumer) {
+        seriesByEvent.forEach(consumer);
+    }
+
+    /**
+     * Elimina la serie de una zona si no ha registrado ventas desde el instante indicado.
+     */
+    void evictIdle(UUID eventoId, UUID zonaId, long idleSinceEpochSecond) {
+        Map<UUID, SalesSeries> zones = seriesByEvent.get(eventoId);
+        if (zones == null) {
+            return;
+        }
+        zones.computeIfPresent(zonaId, (id, series) ->
+                series.getLastSaleEpochSecond() < idleSinceEpochSecond ? null : series);
+        if (zones.isEmpty()) {
+            seriesByEvent.remove(eventoId, zones);
+        }
+    }
+
+    private Collection<SalesSeries> seriesFor(UUID eventoId, UUID zonaId) {
+        Map<UUID, SalesSeries> zones = seriesByEvent.get(eventoId);
+        if (zones == null) {
+            return List.of();
+        }
+        if (zonaId == null) {
+            return zones.values();
+        }
+        SalesSeries series = zones.get(zonaId);
+        return series != null ? List.of(series) : List.of();
+    }
+
+    static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    private static long toCents(BigDecimal monto) {
+        if (monto == null) {
+            return 0L;
+        }
+        return monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+}
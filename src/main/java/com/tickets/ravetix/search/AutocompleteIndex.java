@@ -0,0 +1,615 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.enums.SuggestionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocompletado por prefijo sobre los nombres de los eventos y las ciudades y direcciones
+ * de sus recintos.
+ * <p>
+ * Las sugerencias viven en un trie comprimido (cada arista guarda una cadena, no un carácter)
+ * cuyas claves son el texto normalizado con {@link SpanishAnalyzer} a partir de cada palabra
+ * significativa, así que "rock" sugiere tanto "Rock en Lima" como "Festival de Rock". Cada nodo
+ * guarda las {@value #MAX_SUGGESTIONS} mejores sugerencias de su subárbol, de modo que una consulta
+ * solo recorre el prefijo y copia esa lista.
+ * </p>
+ * <p>
+ * La popularidad de un evento son sus entradas vendidas; la de una ciudad o dirección, la suma
+ * de la de sus eventos. Solo se sugieren eventos que no se cancelaron ni terminaron. Al cambiar un
+ * evento se recalculan únicamente los nodos en el camino de sus claves.
+ * </p>
+ */
+@Component
+public class AutocompleteIndex implements CatalogIndex {
+
+    /** Número máximo de sugerencias por consulta */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /** Las claves y las consultas se truncan a esta longitud */
+    static final int MAX_KEY_LENGTH = 48;
+
+    /** Número máximo de palabras desde las que se puede empezar a escribir un mismo texto */
+    static final int MAX_KEYS_PER_TEXT = 6;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+    /** Más popular primero; a igual popularidad, más eventos y después por texto */
+    private static final Comparator<Completion> RANKING = (a, b) -> {
+        int order = Long.compare(b.popularidad, a.popularidad);
+        if (order == 0) {
+            order = Integer.compare(b.eventos, a.eventos);
+        }
+        if (order == 0) {
+            order = a.texto.compareTo(b.texto);
+        }
+        return order != 0 ? order : Long.compare(a.seq, b.seq);
+    };
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Dictionary dictionary = new Dictionary();
+
+    public AutocompleteIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("search.autocomplete.suggestions", this, AutocompleteIndex::size)
+                .description("Sugerencias en el índice de autocompletado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void upsert(CatalogDocument document) {
+        lock.writeLock().lock();
+        try {
+            dictionary.upsert(document, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updatePopularity(CatalogDocument document) {
+        lock.writeLock().lock();
+        try {
+            dictionary.updatePopularity(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            dictionary.delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceAll(Collection<CatalogDocument> documents) {
+        Dictionary rebuilt = new Dictionary();
+        documents.forEach(document -> rebuilt.upsert(document, false));
+        rebuilt.rankAll(rebuilt.root);
+        lock.writeLock().lock();
+        try {
+            dictionary = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de sugerencias distintas (eventos, ciudades y direcciones).
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return dictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sugiere textos que empiezan por lo escrito, de más a menos popular.
+     *
+     * @param text  Texto escrito; si termina en espacio, la última palabra debe estar completa.
+     * @param limit Número máximo de sugerencias (como mucho {@value #MAX_SUGGESTIONS}).
+     * @return Sugerencias, o una lista vacía si no hay texto.
+     */
+    public List<Suggestion> suggest(String text, int limit) {
+        String prefix = queryKey(text);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = dictionary.find(prefix);
+            if (node == null) {
+                return List.of();
+            }
+            int n = Math.min(Math.min(limit, MAX_SUGGESTIONS), node.top.length);
+            List<Suggestion> suggestions = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Completion c = node.top[i];
+                suggestions.add(new Suggestion(c.tipo, c.texto, c.eventoId, c.popularidad));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Claves de un texto: el texto normalizado a partir de la primera palabra y de cada palabra
+     * siguiente que no sea vacía ni empiece por un dígito.
+     */
+    static String[] keys(String text) {
+        List<String> words = SpanishAnalyzer.words(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.size() && keys.size() < MAX_KEYS_PER_TEXT; i++) {
+            String word = words.get(i);
+            if (i > 0 && (SpanishAnalyzer.isStopword(word) || !Character.isLetter(word.charAt(0)))) {
+                continue;
+            }
+            // El espacio final permite pedir una palabra completa escribiendo un espacio tras ella
+            keys.add(truncate(String.join(" ", words.subList(i, words.size())) + " "));
+        }
+        return keys.toArray(String[]::new);
+    }
+
+    /**
+     * Prefijo a buscar para un texto escrito, normalizado igual que las claves.
+     */
+    static String queryKey(String text) {
+        List<String> words = SpanishAnalyzer.words(text);
+        if (words.isEmpty()) {
+            return "";
+        }
+        String key = String.join(" ", words);
+        if (!Character.isLetterOrDigit(text.charAt(text.length() - 1))) {
+            key += " ";
+        }
+        return truncate(key);
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static boolean suggestible(CatalogDocument document) {
+        return document.estado() != EstadoEvento.CANCELADO && document.estado() != EstadoEvento.FINALIZADO;
+    }
+
+    /**
+     * Sugerencia devuelta por el índice.
+     *
+     * @param tipo        Qué se sugiere.
+     * @param texto       Texto a mostrar.
+     * @param eventoId    ID del evento, solo en las sugerencias de tipo {@link SuggestionType#EVENTO}.
+     * @param popularidad Entradas vendidas del evento, o de todos los eventos de la ciudad o dirección.
+     */
+    public record Suggestion(SuggestionType tipo, String texto, UUID eventoId, long popularidad) {
+    }
+
+    /**
+     * Texto sugerible. Un mismo objeto cuelga de todas sus claves; las ciudades y direcciones
+     * acumulan los eventos que tienen.
+     */
+    private static final class Completion {
+        final SuggestionType tipo;
+        final String texto;
+        final UUID eventoId;
+        final String keyText;
+        final long seq;
+        long popularidad;
+        int eventos;
+
+        Completion(SuggestionType tipo, String texto, String keyText, UUID eventoId, long seq) {
+            this.tipo = tipo;
+            this.texto = texto;
+            this.eventoId = eventoId;
+            this.keyText = keyText;
+            this.seq = seq;
+        }
+
+        /**
+         * Claves del texto; se recalculan al actualizar en vez de guardarse, porque ya están
+         * en las aristas del trie.
+         */
+        String[] keys() {
+            return AutocompleteIndex.keys(keyText);
+        }
+    }
+
+    /**
+     * Lo que aporta un evento indexado: su propia sugerencia y la ciudad y dirección que suma.
+     */
+    private record Entry(Completion evento, Completion ciudad, Completion direccion, long popularidad) {
+    }
+
+    private static final class Node {
+        String label;
+        Node[] children = NO_CHILDREN;
+        Completion[] terminals = NO_COMPLETIONS;
+        Completion[] top = NO_COMPLETIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    /**
+     * Contenido del índice: el trie y las sugerencias por evento, ciudad y dirección.
+     */
+    private static final class Dictionary {
+
+        final Node root = new Node("");
+        final Map<UUID, Entry> entries = new HashMap<>();
+        final Map<String, Completion> ciudades = new HashMap<>();
+        final Map<String, Completion> direcciones = new HashMap<>();
+        long seq;
+
+        int size() {
+            return entries.size() + ciudades.size() + direcciones.size();
+        }
+
+        void upsert(CatalogDocument document, boolean rank) {
+            Entry existing = entries.get(document.id());
+            if (existing != null && suggestible(document) && sameTexts(existing, document)) {
+                updatePopularity(document);
+                return;
+            }
+            if (existing != null) {
+                delete(document.id());
+            }
+            if (!suggestible(document) || SpanishAnalyzer.words(document.nombre()).isEmpty()) {
+                return;
+            }
+            long popularidad = document.entradasVendidas();
+            Completion evento = new Completion(SuggestionType.EVENTO, document.nombre(), document.nombre(),
+                    document.id(), seq++);
+            evento.popularidad = popularidad;
+            evento.eventos = 1;
+            insertAll(evento, rank);
+            Completion ciudad = join(ciudades, SuggestionType.CIUDAD, document.ciudad(), document.ciudad(),
+                    popularidad, rank);
+            Completion direccion = document.direccion() == null ? null
+                    : join(direcciones, SuggestionType.DIRECCION, venue(document), document.direccion(),
+                            popularidad, rank);
+            entries.put(document.id(), new Entry(evento, ciudad, direccion, popularidad));
+        }
+
+        void updatePopularity(CatalogDocument document) {
+            Entry entry = entries.get(document.id());
+            if (entry == null || !suggestible(document) || !sameTexts(entry, document)) {
+                upsert(document, true);
+                return;
+            }
+            long delta = document.entradasVendidas() - entry.popularidad();
+            if (delta == 0) {
+                return;
+            }
+            for (Completion c : new Completion[] {entry.evento(), entry.ciudad(), entry.direccion()}) {
+                if (c != null) {
+                    c.popularidad += delta;
+                    rerank(c);
+                }
+            }
+            entries.put(document.id(), new Entry(entry.evento(), entry.ciudad(), entry.direccion(),
+                    document.entradasVendidas()));
+        }
+
+        void delete(UUID id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String key : entry.evento().keys()) {
+                remove(key, entry.evento());
+            }
+            leave(ciudades, entry.ciudad(), entry.popularidad());
+            leave(direcciones, entry.direccion(), entry.popularidad());
+        }
+
+        Node find(String prefix) {
+            Node node = root;
+            int pos = 0;
+            while (pos < prefix.length()) {
+                int i = node.childIndex(prefix.charAt(pos));
+                if (i < 0) {
+                    return null;
+                }
+                Node child = node.children[i];
+                int common = commonPrefix(child.label, prefix, pos);
+                if (pos + common == prefix.length()) {
+                    return child;
+                }
+                if (common < child.label.length()) {
+                    return null;
+                }
+                node = child;
+                pos += common;
+            }
+            return node;
+        }
+
+        void rankAll(Node node) {
+            for (Node child : node.children) {
+                rankAll(child);
+            }
+            rank(node);
+        }
+
+        /**
+         * Suma un evento a la sugerencia de su ciudad o dirección, creándola si es la primera.
+         * Las direcciones se muestran con su ciudad, pero solo se encuentran por la dirección.
+         */
+        private Completion join(Map<String, Completion> aggregates, SuggestionType tipo, String texto,
+                                String keyText, long popularidad, boolean rank) {
+            String normalized = String.join(" ", SpanishAnalyzer.words(texto));
+            if (normalized.isEmpty() || SpanishAnalyzer.words(keyText).isEmpty()) {
+                return null;
+            }
+            Completion aggregate = aggregates.get(normalized);
+            if (aggregate == null) {
+                aggregate = new Completion(tipo, texto, keyText, null, seq++);
+                aggregates.put(normalized, aggregate);
+                aggregate.popularidad = popularidad;
+                aggregate.eventos = 1;
+                insertAll(aggregate, rank);
+            } else {
+                aggregate.popularidad += popularidad;
+                aggregate.eventos++;
+                if (rank) {
+                    rerank(aggregate);
+                }
+            }
+            return aggregate;
+        }
+
+        private void leave(Map<String, Completion> aggregates, Completion aggregate, long popularidad) {
+            if (aggregate == null) {
+                return;
+            }
+            aggregate.popularidad -= popularidad;
+            if (--aggregate.eventos == 0) {
+                aggregates.remove(String.join(" ", SpanishAnalyzer.words(aggregate.texto)));
+                for (String key : aggregate.keys()) {
+                    remove(key, aggregate);
+                }
+            } else {
+                rerank(aggregate);
+            }
+        }
+
+        private void insertAll(Completion completion, boolean rank) {
+            for (String key : completion.keys()) {
+                insert(key, completion, rank);
+            }
+        }
+
+        private void insert(String key, Completion completion, boolean rank) {
+            Node[] path = new Node[key.length() + 1];
+            int depth = 0;
+            Node node = root;
+            path[depth++] = node;
+            int pos = 0;
+            while (pos < key.length()) {
+                int i = node.childIndex(key.charAt(pos));
+                if (i < 0) {
+                    Node leaf = new Node(key.substring(pos));
+                    node.children = insertAt(node.children, -i - 1, leaf);
+                    node = leaf;
+                    path[depth++] = node;
+                    break;
+                }
+                Node child = node.children[i];
+                int common = commonPrefix(child.label, key, pos);
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children = new Node[] {child};
+                    split.top = child.top;
+                    node.children[i] = split;
+                    child = split;
+                }
+                node = child;
+                path[depth++] = node;
+                pos += common;
+            }
+            node.terminals = Arrays.copyOf(node.terminals, node.terminals.length + 1);
+            node.terminals[node.terminals.length - 1] = completion;
+            if (rank) {
+                for (int d = depth - 1; d >= 0; d--) {
+                    rank(path[d]);
+                }
+            }
+        }
+
+        private void remove(String key, Completion completion) {
+            Node[] path = pathTo(key);
+            if (path == null) {
+                return;
+            }
+            int depth = path.length;
+            Node node = path[depth - 1];
+            node.terminals = Arrays.stream(node.terminals)
+                    .filter(c -> c != completion)
+                    .toArray(Completion[]::new);
+            // Poda los nodos que quedan vacíos y fusiona los que quedan con un solo hijo
+            for (int d = depth - 1; d > 0; d--) {
+                Node n = path[d];
+                Node parent = path[d - 1];
+                if (n.terminals.length > 0 || n.children.length > 1) {
+                    break;
+                }
+                int i = parent.childIndex(n.label.charAt(0));
+                if (n.children.length == 0) {
+                    parent.children = removeAt(parent.children, i);
+                } else {
+                    Node only = n.children[0];
+                    only.label = n.label + only.label;
+                    parent.children[i] = only;
+                    path[d] = only;
+                    break;
+                }
+            }
+            for (int d = depth - 1; d >= 0; d--) {
+                rank(path[d]);
+            }
+        }
+
+        private void rerank(Completion completion) {
+            for (String key : completion.keys()) {
+                Node[] path = pathTo(key);
+                if (path != null) {
+                    for (int d = path.length - 1; d >= 0; d--) {
+                        rank(path[d]);
+                    }
+                }
+            }
+        }
+
+        private Node[] pathTo(String key) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int pos = 0;
+            while (pos < key.length()) {
+                int i = node.childIndex(key.charAt(pos));
+                if (i < 0) {
+                    return null;
+                }
+                node = node.children[i];
+                if (!key.startsWith(node.label, pos)) {
+                    return null;
+                }
+                path.add(node);
+                pos += node.label.length();
+            }
+            return path.toArray(Node[]::new);
+        }
+
+        /**
+         * Recalcula las mejores sugerencias de un nodo mezclando sus textos con las listas,
+         * ya ordenadas, de sus hijos.
+         */
+        private static void rank(Node node) {
+            Completion[] terminals = node.terminals;
+            if (terminals.length > 1) {
+                terminals = terminals.clone();
+                Arrays.sort(terminals, RANKING);
+            }
+            if (node.children.length == 0 && terminals.length <= MAX_SUGGESTIONS) {
+                node.top = terminals;
+                return;
+            }
+            int sources = node.children.length + 1;
+            int[] heads = new int[sources];
+            Completion[] top = new Completion[MAX_SUGGESTIONS];
+            int size = 0;
+            while (size < MAX_SUGGESTIONS) {
+                int bestSource = -1;
+                Completion best = null;
+                for (int source = 0; source < sources; source++) {
+                    Completion[] list = source == 0 ? terminals : node.children[source - 1].top;
+                    if (heads[source] < list.length
+                            && (best == null || RANKING.compare(list[heads[source]], best) < 0)) {
+                        best = list[heads[source]];
+                        bestSource = source;
+                    }
+                }
+                if (best == null) {
+                    break;
+                }
+                heads[bestSource]++;
+                // Una sugerencia puede llegar por varias claves del mismo subárbol
+                if (!contains(top, size, best)) {
+                    top[size++] = best;
+                }
+            }
+            node.top = size == top.length ? top : Arrays.copyOf(top, size);
+        }
+
+        private static boolean contains(Completion[] completions, int size, Completion completion) {
+            for (int i = 0; i < size; i++) {
+                if (completions[i] == completion) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean sameTexts(Entry entry, CatalogDocument document) {
+            return entry.evento().texto.equals(document.nombre())
+                    && Objects.equals(entry.ciudad() != null ? entry.ciudad().texto : null, document.ciudad())
+                    && Objects.equals(entry.direccion() != null ? entry.direccion().texto : null,
+                            document.direccion() != null ? venue(document) : null);
+        }
+
+        private static String venue(CatalogDocument document) {
+            return document.ciudad() != null ? document.direccion() + ", " + document.ciudad() : document.direccion();
+        }
+
+        private static int commonPrefix(String label, String key, int from) {
+            int max = Math.min(label.length(), key.length() - from);
+            int i = 0;
+            while (i < max && label.charAt(i) == key.charAt(from + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        private static Node[] insertAt(Node[] nodes, int at, Node node) {
+            Node[] result = new Node[nodes.length + 1];
+            System.arraycopy(nodes, 0, result, 0, at);
+            result[at] = node;
+            System.arraycopy(nodes, at, result, at + 1, nodes.length - at);
+            return result;
+        }
+
+        private static Node[] removeAt(Node[] nodes, int at) {
+            if (nodes.length == 1) {
+                return NO_CHILDREN;
+            }
+            Node[] result = new Node[nodes.length - 1];
+            System.arraycopy(nodes, 0, result, 0, at);
+            System.arraycopy(nodes, at + 1, result, at, nodes.length - at - 1);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.entity.Location;
+import com.tickets.ravetix.enums.CategoriaEvento;
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.enums.TipoZona;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Copia inmutable de los campos de un evento que usan los índices del catálogo.
+ * Se construye dentro de una transacción y después se indexa sin tocar la sesión de JPA.
+ *
+ * @param id          ID del evento.
+ * @param nombre      Nombre del evento.
+ * @param descripcion Descripción del evento.
+ * @param estado      Estado del evento.
+ * @param inicio      Fecha y hora de inicio.
+ * @param fin         Fecha y hora de fin.
+ * @param ciudad      Ciudad de la ubicación.
+ * @param direccion   Dirección de la ubicación.
+ * @param pais        País de la ubicación.
+ * @param latitud     Latitud de la ubicación, o {@code null} si no se conoce.
+ * @param longitud    Longitud de la ubicación, o {@code null} si no se conoce.
+ * @param entradasVendidas Tickets pagados o usados del evento; mide su popularidad.
+ * @param categoria   Categoría del evento, o {@code null} si no tiene.
+ * @param zonas       Tipo y precio de cada zona del evento.
+ */
+public record CatalogDocument(
+        UUID id,
+        String nombre,
+        String descripcion,
+        EstadoEvento estado,
+        LocalDateTime inicio,
+        LocalDateTime fin,
+        String ciudad,
+        String direccion,
+        String pais,
+        Double latitud,
+        Double longitud,
+        int entradasVendidas,
+        CategoriaEvento categoria,
+        List<Zona> zonas) {
+
+    /**
+     * Copia los campos de un evento. Las entradas vendidas se cuentan aparte en la tabla de
+     * tickets: la columna {@code entradas_vendidas} del evento no se mantiene al vender.
+     *
+     * @param event            Evento, con sus zonas accesibles.
+     * @param entradasVendidas Tickets pagados o usados del evento.
+     */
+    public static CatalogDocument from(Event event, int entradasVendidas) {
+        Location ubicacion = event.getUbicacion();
+        return new CatalogDocument(
+                event.getId(),
+                event.getNombre(),
+                event.getDescripcion(),
+                event.getEstado(),
+                event.getFechaHoraInicio(),
+                event.getFechaHoraFin(),
+                ubicacion != null ? ubicacion.getCiudad() : null,
+                ubicacion != null ? ubicacion.getDireccion() : null,
+                ubicacion != null ? ubicacion.getPais() : null,
+                ubicacion != null ? ubicacion.getLatitud() : null,
+                ubicacion != null ? ubicacion.getLongitud() : null,
+                entradasVendidas,
+                event.getCategoria(),
+                event.getZonas() != null
+                        ? event.getZonas().stream().map(zone -> new Zona(zone.getTipo(), zone.getPrecioBase())).toList()
+                        : List.of());
+    }
+
+    /**
+     * Tipo y precio base de una zona del evento.
+     */
+    public record Zona(TipoZona tipo, BigDecimal precioBase) {
+    }
+}
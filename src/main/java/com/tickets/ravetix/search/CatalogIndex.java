@@ -0,0 +1,35 @@
+package com.tickets.ravetix.search;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Índice en memoria sobre el catálogo de eventos, mantenido por {@link CatalogIndexer}.
+ * <p>
+ * Las implementaciones deben admitir lecturas concurrentes con las actualizaciones.
+ * </p>
+ */
+public interface CatalogIndex {
+
+    /**
+     * Indexa un evento nuevo o reemplaza la versión indexada de uno existente.
+     */
+    void upsert(CatalogDocument document);
+
+    /**
+     * Elimina un evento del índice; no hace nada si no estaba indexado.
+     */
+    void remove(UUID id);
+
+    /**
+     * Actualiza un evento cuyas ventas cambiaron. Solo lo implementan los índices que usan
+     * {@link CatalogDocument#entradasVendidas()}; el resto de campos no cambia con una venta.
+     */
+    default void updatePopularity(CatalogDocument document) {
+    }
+
+    /**
+     * Reemplaza todo el contenido del índice.
+     */
+    void replaceAll(Collection<CatalogDocument> documents);
+}
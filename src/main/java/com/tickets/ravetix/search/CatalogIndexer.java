@@ -0,0 +1,225 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.cache.CatalogInvalidationRelay;
+import com.tickets.ravetix.cache.InvalidationBus;
+import com.tickets.ravetix.cache.InvalidationListener;
+import com.tickets.ravetix.cache.InvalidationMessage;
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import com.tickets.ravetix.enums.TicketState;
+import com.tickets.ravetix.repository.EventRepository;
+import com.tickets.ravetix.repository.EventTicketCount;
+import com.tickets.ravetix.repository.TicketRepository;
+import com.tickets.ravetix.util.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene los {@link CatalogIndex} al día con la base de datos.
+ * <p>
+ * Al arrancar carga todo el catálogo en segundo plano, por lotes en orden de keyset. Después
+ * vuelve a leer cada evento modificado, tanto por cambios confirmados en este nodo como por las
+ * invalidaciones que llegan de los demás por el {@link InvalidationBus}. Los cambios que llegan
+ * durante una reconstrucción se anotan y se vuelven a aplicar al terminarla, para que la foto
+ * cargada no pise una versión más reciente.
+ * </p>
+ * <p>
+ * Las ventas de tickets solo cambian la popularidad de un evento. Como llegan con mucha más
+ * frecuencia que los demás cambios, se acumulan y se aplican cada
+ * {@code app.search.popularity-refresh-ms}, leyendo de una vez los eventos afectados. La
+ * popularidad es el número de tickets pagados o usados de cada evento, contado por lotes en la
+ * tabla de tickets.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CatalogIndexer implements InvalidationListener {
+
+    private final List<CatalogIndex> indexes;
+    private static final Set<TicketState> SOLD = EnumSet.of(TicketState.PAGADO, TicketState.USADO);
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<UUID> changedWhileRebuilding = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> salesChanged = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public CatalogIndexer(
+            List<CatalogIndex> indexes,
+            EventRepository eventRepository,
+            TicketRepository ticketRepository,
+            PlatformTransactionManager transactionManager,
+            InvalidationBus invalidationBus,
+            @Value("${app.search.rebuild-batch-size:500}") int batchSize) {
+        this.indexes = indexes;
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        invalidationBus.subscribe(CatalogInvalidationRelay.REGION, this);
+    }
+
+    /**
+     * Indica si los índices ya tienen el catálogo completo.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.tipo() == CatalogChangeType.TICKETS_CHANGED) {
+            salesChanged.add(event.eventoId());
+        } else {
+            refresh(event.eventoId());
+        }
+    }
+
+    @Override
+    public void onInvalidation(InvalidationMessage message) {
+        UUID eventId = UUID.fromString(message.key());
+        if (CatalogChangeType.TICKETS_CHANGED.name().equals(message.type())) {
+            salesChanged.add(eventId);
+        } else {
+            refresh(eventId);
+        }
+    }
+
+    @Override
+    public void onReset() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Vuelve a indexar un evento, o lo elimina de los índices si ya no existe.
+     *
+     * @param eventId ID del evento.
+     */
+    public void refresh(UUID eventId) {
+        if (rebuilding) {
+            changedWhileRebuilding.add(eventId);
+        }
+        try {
+            List<CatalogDocument> found = transactionTemplate.execute(status ->
+                    documents(eventRepository.findById(eventId).stream().toList()));
+            if (found != null && !found.isEmpty()) {
+                indexes.forEach(index -> index.upsert(found.get(0)));
+            } else {
+                indexes.forEach(index -> index.remove(eventId));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reindex event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica la popularidad de los eventos con ventas desde la última ejecución.
+     */
+    @Scheduled(fixedDelayString = "${app.search.popularity-refresh-ms:30000}")
+    public void refreshPopularity() {
+        if (!ready || salesChanged.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(salesChanged);
+        salesChanged.removeAll(ids);
+        try {
+            List<CatalogDocument> documents = transactionTemplate.execute(status ->
+                    documents(eventRepository.findAllById(ids)));
+            if (documents != null) {
+                documents.forEach(document -> indexes.forEach(index -> index.updatePopularity(document)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh popularity of {} events: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Carga de nuevo todo el catálogo y reemplaza el contenido de los índices.
+     */
+    public void rebuild() {
+        rebuilding = true;
+        changedWhileRebuilding.clear();
+        try {
+            List<CatalogDocument> documents = new ArrayList<>();
+            ScrollPosition position = ScrollPosition.keyset();
+            boolean hasNext = true;
+            while (hasNext) {
+                ScrollPosition from = position;
+                Window<CatalogDocument> window = transactionTemplate.execute(status -> {
+                    Window<Event> events = eventRepository.findAllBy(from, KeysetCursor.SORT, Limit.of(batchSize));
+                    Map<UUID, Integer> sold = soldTickets(events.getContent());
+                    return events.map(event -> CatalogDocument.from(event, sold.getOrDefault(event.getId(), 0)));
+                });
+                if (window == null || window.isEmpty()) {
+                    break;
+                }
+                documents.addAll(window.getContent());
+                hasNext = window.hasNext();
+                position = window.positionAt(window.size() - 1);
+            }
+            indexes.forEach(index -> index.replaceAll(documents));
+            rebuilding = false;
+            ready = true;
+            log.info("Catalog indexes rebuilt with {} events", documents.size());
+            changedWhileRebuilding.forEach(this::refresh);
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild catalog indexes: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+            changedWhileRebuilding.clear();
+        }
+    }
+
+    private List<CatalogDocument> documents(List<Event> events) {
+        Map<UUID, Integer> sold = soldTickets(events);
+        return events.stream()
+                .map(event -> CatalogDocument.from(event, sold.getOrDefault(event.getId(), 0)))
+                .toList();
+    }
+
+    private Map<UUID, Integer> soldTickets(List<Event> events) {
+        if (events.isEmpty()) {
+            return Map.of();
+        }
+        return ticketRepository.countByEventoIds(events.stream().map(Event::getId).toList(), SOLD).stream()
+                .collect(Collectors.toMap(EventTicketCount::getEventoId, row -> row.getCount().intValue()));
+    }
+}
@@ -0,0 +1,321 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria para descubrir eventos por lugar y fecha.
+ * <p>
+ * Agrupa los eventos por ciudad (normalizada con {@link SpanishAnalyzer}) y, si tienen coordenadas,
+ * por celdas de una rejilla de {@value #CELL_DEGREES} grados (unos 5,5 km de lado en el ecuador).
+ * Dentro de cada grupo los eventos están ordenados por fecha de inicio, así que una ventana de
+ * fechas solo recorre los eventos que caen en ella.
+ * </p>
+ * <p>
+ * Una búsqueda por ciudad devuelve los eventos por fecha de inicio. Una búsqueda alrededor de un
+ * punto recorre las celdas que cubren el círculo, descarta los eventos fuera del radio y los ordena
+ * por distancia y después por fecha.
+ * </p>
+ */
+@Component
+public class DiscoveryIndex implements CatalogIndex {
+
+    /** Radio máximo de búsqueda alrededor de un punto */
+    public static final double MAX_RADIUS_KM = 200;
+
+    static final double CELL_DEGREES = 0.05;
+
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+    private static final long NO_CELL = -1;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final Comparator<Placement> BY_START =
+            Comparator.comparingLong(Placement::inicio).thenComparing(Placement::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Buckets buckets = new Buckets();
+
+    public DiscoveryIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("search.discovery.documents", this, DiscoveryIndex::size)
+                .description("Eventos en el índice de descubrimiento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void upsert(CatalogDocument document) {
+        Placement placement = Placement.of(document);
+        lock.writeLock().lock();
+        try {
+            buckets.remove(document.id());
+            buckets.add(placement);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            buckets.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceAll(Collection<CatalogDocument> documents) {
+        Buckets rebuilt = new Buckets();
+        documents.forEach(document -> rebuilt.add(Placement.of(document)));
+        lock.writeLock().lock();
+        try {
+            buckets = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de eventos indexados.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return buckets.placements.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca eventos por ciudad, alrededor de un punto o ambas cosas.
+     *
+     * @param query  Lugar, radio y filtros.
+     * @param offset Posición del primer resultado.
+     * @param limit  Número máximo de resultados.
+     * @return IDs de la página pedida y el total de eventos encontrados.
+     */
+    public Result search(DiscoveryQuery query, long offset, int limit) {
+        String ciudad = query.ciudad() != null ? normalize(query.ciudad()) : null;
+        String pais = query.pais() != null ? normalize(query.pais()) : null;
+        Placement from = Placement.bound(query.desde() != null ? epoch(query.desde()) : Long.MIN_VALUE, MIN_ID);
+        Placement to = Placement.bound(query.hasta() != null ? epoch(query.hasta()) : Long.MAX_VALUE, MAX_ID);
+
+        lock.readLock().lock();
+        try {
+            if (query.hasCenter()) {
+                return searchAround(query, ciudad, pais, from, to, offset, limit);
+            }
+            NavigableSet<Placement> city = ciudad != null ? buckets.byCity.get(ciudad) : null;
+            if (city == null) {
+                return Result.EMPTY;
+            }
+            List<UUID> ids = new ArrayList<>();
+            long total = 0;
+            for (Placement placement : city.subSet(from, true, to, true)) {
+                if (matches(placement, query.estado(), null, pais)) {
+                    if (total >= offset && ids.size() < limit) {
+                        ids.add(placement.id());
+                    }
+                    total++;
+                }
+            }
+            return new Result(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Result searchAround(DiscoveryQuery query, String ciudad, String pais, Placement from, Placement to,
+                                long offset, int limit) {
+        double lat = query.latitud();
+        double lon = query.longitud();
+        double radius = query.radioKm();
+        List<Match> matches = new ArrayList<>();
+        for (NavigableSet<Placement> cell : cellsAround(lat, lon, radius)) {
+            for (Placement placement : cell.subSet(from, true, to, true)) {
+                if (matches(placement, query.estado(), ciudad, pais)) {
+                    double distance = distanceKm(lat, lon, placement.latitud(), placement.longitud());
+                    if (distance <= radius) {
+                        matches.add(new Match(placement, distance));
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distance)
+                .thenComparing(Match::placement, BY_START));
+        List<UUID> ids = new ArrayList<>();
+        for (int i = (int) Math.min(offset, matches.size()); i < matches.size() && ids.size() < limit; i++) {
+            ids.add(matches.get(i).placement().id());
+        }
+        return new Result(ids, matches.size());
+    }
+
+    /**
+     * Celdas con eventos que pueden estar a menos de {@code radius} km del punto. Si el rectángulo que
+     * cubre el círculo tiene más celdas que eventos con coordenadas hay en el índice, devuelve todas
+     * las celdas ocupadas y deja que la distancia filtre.
+     */
+    private List<NavigableSet<Placement>> cellsAround(double lat, double lon, double radius) {
+        double dLat = radius / KM_PER_DEGREE;
+        int latFrom = latCell(lat - dLat);
+        int latTo = latCell(lat + dLat);
+        double farthestLat = Math.min(90, Math.abs(lat) + dLat);
+        double dLon = farthestLat >= 89.9 ? 180 : radius / (KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLat)));
+        int lonFrom = 0;
+        int lonCount = LON_CELLS;
+        if (dLon < 180) {
+            lonFrom = (int) Math.floor((lon - dLon + 180) / CELL_DEGREES);
+            lonCount = Math.min(LON_CELLS, (int) Math.floor((lon + dLon + 180) / CELL_DEGREES) - lonFrom + 1);
+        }
+
+        if ((long) (latTo - latFrom + 1) * lonCount > buckets.byCell.size()) {
+            return new ArrayList<>(buckets.byCell.values());
+        }
+        List<NavigableSet<Placement>> cells = new ArrayList<>();
+        for (int latCell = latFrom; latCell <= latTo; latCell++) {
+            for (int i = 0; i < lonCount; i++) {
+                NavigableSet<Placement> cell = buckets.byCell.get(cellKey(latCell, Math.floorMod(lonFrom + i, LON_CELLS)));
+                if (cell != null) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static boolean matches(Placement placement, EstadoEvento estado, String ciudad, String pais) {
+        return (estado == null || placement.estado() == estado)
+                && (ciudad == null || ciudad.equals(placement.ciudad()))
+                && (pais == null || pais.equals(placement.pais()));
+    }
+
+    /**
+     * Distancia en kilómetros entre dos puntos, por la fórmula del haversine.
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static long cellOf(double lat, double lon) {
+        int lonCell = Math.floorMod((int) Math.floor((lon + 180) / CELL_DEGREES), LON_CELLS);
+        return cellKey(latCell(lat), lonCell);
+    }
+
+    private static int latCell(double lat) {
+        return Math.max(0, Math.min(LAT_CELLS - 1, (int) Math.floor((lat + 90) / CELL_DEGREES)));
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", SpanishAnalyzer.words(text));
+    }
+
+    private static long epoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param ids   IDs de la página pedida, en orden.
+     * @param total Número total de eventos encontrados.
+     */
+    public record Result(List<UUID> ids, long total) {
+        static final Result EMPTY = new Result(List.of(), 0);
+    }
+
+    private record Match(Placement placement, double distance) {
+    }
+
+    /**
+     * Datos de un evento que usa el índice, con la ciudad y el país normalizados.
+     */
+    private record Placement(UUID id, EstadoEvento estado, long inicio, String ciudad, String pais,
+                             double latitud, double longitud, long cell) {
+
+        static Placement of(CatalogDocument document) {
+            boolean located = document.latitud() != null && document.longitud() != null;
+            return new Placement(
+                    document.id(),
+                    document.estado(),
+                    document.inicio() != null ? epoch(document.inicio()) : Long.MIN_VALUE,
+                    document.ciudad() != null ? normalize(document.ciudad()) : null,
+                    document.pais() != null ? normalize(document.pais()) : null,
+                    located ? document.latitud() : Double.NaN,
+                    located ? document.longitud() : Double.NaN,
+                    located ? cellOf(document.latitud(), document.longitud()) : NO_CELL);
+        }
+
+        /**
+         * Extremo de un rango de fechas para {@link NavigableSet#subSet}.
+         */
+        static Placement bound(long inicio, UUID id) {
+            return new Placement(id, null, inicio, null, null, Double.NaN, Double.NaN, NO_CELL);
+        }
+    }
+
+    private static final class Buckets {
+
+        final Map<UUID, Placement> placements = new HashMap<>();
+        final Map<String, NavigableSet<Placement>> byCity = new HashMap<>();
+        final Map<Long, NavigableSet<Placement>> byCell = new HashMap<>();
+
+        void add(Placement placement) {
+            placements.put(placement.id(), placement);
+            if (placement.ciudad() != null) {
+                byCity.computeIfAbsent(placement.ciudad(), c -> new TreeSet<>(BY_START)).add(placement);
+            }
+            if (placement.cell() != NO_CELL) {
+                byCell.computeIfAbsent(placement.cell(), c -> new TreeSet<>(BY_START)).add(placement);
+            }
+        }
+
+        void remove(UUID id) {
+            Placement placement = placements.remove(id);
+            if (placement == null) {
+                return;
+            }
+            if (placement.ciudad() != null) {
+                removeFrom(byCity, placement.ciudad(), placement);
+            }
+            if (placement.cell() != NO_CELL) {
+                removeFrom(byCell, placement.cell(), placement);
+            }
+        }
+
+        private static <K> void removeFrom(Map<K, NavigableSet<Placement>> groups, K key, Placement placement) {
+            NavigableSet<Placement> group = groups.get(key);
+            group.remove(placement);
+            if (group.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Búsqueda de eventos por lugar y fecha: en una ciudad, alrededor de un punto o ambas cosas.
+ *
+ * @param ciudad   Ciudad de los eventos, o {@code null} para cualquiera.
+ * @param pais     País de los eventos, o {@code null} para cualquiera.
+ * @param latitud  Latitud del centro de búsqueda, o {@code null} si no se busca por distancia.
+ * @param longitud Longitud del centro de búsqueda, o {@code null} si no se busca por distancia.
+ * @param radioKm  Radio de búsqueda en kilómetros alrededor del centro.
+ * @param estado   Estado de los eventos, o {@code null} para cualquiera.
+ * @param desde    Inicio mínimo de los eventos (inclusive), o {@code null}.
+ * @param hasta    Inicio máximo de los eventos (inclusive), o {@code null}.
+ */
+public record DiscoveryQuery(
+        String ciudad,
+        String pais,
+        Double latitud,
+        Double longitud,
+        double radioKm,
+        EstadoEvento estado,
+        LocalDateTime desde,
+        LocalDateTime hasta) {
+
+    /**
+     * Indica si la búsqueda es alrededor de un punto.
+     */
+    public boolean hasCenter() {
+        return latitud != null && longitud != null;
+    }
+}
@@ -0,0 +1,322 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria para la búsqueda de texto de eventos.
+ * <p>
+ * Indexa el nombre, la ciudad y la descripción de cada evento con {@link SpanishAnalyzer},
+ * ponderando más las coincidencias en el nombre. Una búsqueda exige todos los términos (la última
+ * palabra puede ser un prefijo), filtra por estado y fecha de inicio sobre arrays por ordinal
+ * y ordena por relevancia BM25, desempatando por fecha de inicio. Solo se ordena la ventana pedida,
+ * con un montículo de tamaño {@code offset + limit}.
+ * </p>
+ * <p>
+ * Las lecturas comparten un read lock; las actualizaciones incrementales toman el write lock
+ * durante el tiempo de indexar un evento. Una reconstrucción completa se prepara fuera del lock
+ * y se publica de una vez.
+ * </p>
+ */
+@Component
+public class EventSearchIndex implements CatalogIndex {
+
+    static final int NAME_WEIGHT = 3;
+    static final int CITY_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    /** Ventana máxima de resultados ordenados ({@code offset + limit}) */
+    public static final int MAX_WINDOW = 10_000;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    public EventSearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("search.events.documents", this, EventSearchIndex::size)
+                .description("Eventos en el índice de búsqueda")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void upsert(CatalogDocument document) {
+        lock.writeLock().lock();
+        try {
+            segment.upsert(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            segment.delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceAll(Collection<CatalogDocument> documents) {
+        Segment rebuilt = new Segment();
+        documents.forEach(rebuilt::upsert);
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de eventos indexados.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca eventos por texto.
+     *
+     * @param query  Texto y filtros.
+     * @param offset Posición del primer resultado.
+     * @param limit  Número máximo de resultados.
+     * @return IDs de la página pedida, por relevancia, y el total de coincidencias.
+     */
+    public Result search(EventSearchQuery query, long offset, int limit) {
+        List<String> terms = SpanishAnalyzer.terms(query.text());
+        if (terms.isEmpty() || limit <= 0) {
+            return Result.EMPTY;
+        }
+        String text = query.text();
+        boolean lastIsPrefix = Character.isLetterOrDigit(text.charAt(text.length() - 1));
+        long desde = query.desde() != null ? epoch(query.desde()) : Long.MIN_VALUE;
+        long hasta = query.hasta() != null ? epoch(query.hasta()) : Long.MAX_VALUE;
+        int window = (int) Math.min(offset + limit, MAX_WINDOW);
+
+        lock.readLock().lock();
+        try {
+            Segment s = segment;
+            PostingList[] lists = new PostingList[terms.size()];
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = lastIsPrefix && i == terms.size() - 1;
+                lists[i] = prefix ? s.prefixPostings(terms.get(i)) : s.terms.get(terms.get(i));
+                if (lists[i] == null || lists[i].size() == 0) {
+                    return Result.EMPTY;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (s.live - lists[i].size() + 0.5) / (lists[i].size() + 0.5));
+            }
+            double avgLength = s.live > 0 ? (double) s.totalLength / s.live : 1;
+
+            Comparator<Hit> best = Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparingLong(Hit::inicio)
+                    .thenComparingInt(Hit::doc);
+            PriorityQueue<Hit> top = new PriorityQueue<>(window + 1, best.reversed());
+            long total = 0;
+
+            // La lista más corta propone candidatos; las demás avanzan con un cursor cada una
+            PostingList driver = lists[0];
+            int[] cursors = new int[lists.length];
+            candidates:
+            for (int p = 0; p < driver.size(); p++) {
+                int doc = driver.doc(p);
+                if ((query.estado() != null && s.estados[doc] != query.estado())
+                        || s.inicios[doc] < desde || s.inicios[doc] > hasta) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * s.lengths[doc] / avgLength);
+                double score = idf[0] * driver.freq(p) * (K1 + 1) / (driver.freq(p) + norm);
+                for (int i = 1; i < lists.length; i++) {
+                    cursors[i] = lists[i].advance(cursors[i], doc);
+                    if (cursors[i] == lists[i].size()) {
+                        break candidates;
+                    }
+                    if (lists[i].doc(cursors[i]) != doc) {
+                        continue candidates;
+                    }
+                    int tf = lists[i].freq(cursors[i]);
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                total++;
+                if (top.size() < window) {
+                    top.offer(new Hit(doc, score, s.inicios[doc]));
+                } else if (score >= top.peek().score()) {
+                    Hit hit = new Hit(doc, score, s.inicios[doc]);
+                    if (best.compare(hit, top.peek()) < 0) {
+                        top.poll();
+                        top.offer(hit);
+                    }
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(best);
+            List<UUID> ids = new ArrayList<>();
+            for (int i = (int) Math.min(offset, ranked.size()); i < ranked.size() && ids.size() < limit; i++) {
+                ids.add(s.ids[ranked.get(i).doc()]);
+            }
+            return new Result(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long epoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param ids   IDs de la página pedida, del más relevante al menos.
+     * @param total Número total de eventos que cumplen la búsqueda.
+     */
+    public record Result(List<UUID> ids, long total) {
+        static final Result EMPTY = new Result(List.of(), 0);
+    }
+
+    private record Hit(int doc, double score, long inicio) {
+    }
+
+    /**
+     * Estado del índice. Los documentos se identifican por ordinales densos que se reutilizan
+     * al eliminar eventos, para que los arrays por ordinal no crezcan con las actualizaciones.
+     */
+    private static final class Segment {
+
+        final TreeMap<String, PostingList> terms = new TreeMap<>();
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        UUID[] ids = new UUID[64];
+        EstadoEvento[] estados = new EstadoEvento[64];
+        long[] inicios = new long[64];
+        int[] lengths = new int[64];
+        String[][] docTerms = new String[64][];
+        int[] free = new int[16];
+        int freeCount;
+        int next;
+        int live;
+        long totalLength;
+
+        void upsert(CatalogDocument document) {
+            Integer existing = ordinals.get(document.id());
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unindex(doc);
+            } else {
+                doc = allocate();
+                ordinals.put(document.id(), doc);
+                live++;
+            }
+
+            Map<String, Integer> freqs = new HashMap<>();
+            int length = addTerms(freqs, document.nombre(), NAME_WEIGHT)
+                    + addTerms(freqs, document.ciudad(), CITY_WEIGHT)
+                    + addTerms(freqs, document.descripcion(), DESCRIPTION_WEIGHT);
+            freqs.forEach((term, freq) -> terms.computeIfAbsent(term, t -> new PostingList()).put(doc, freq));
+
+            ids[doc] = document.id();
+            estados[doc] = document.estado();
+            inicios[doc] = document.inicio() != null ? epoch(document.inicio()) : Long.MIN_VALUE;
+            lengths[doc] = length;
+            docTerms[doc] = freqs.keySet().toArray(String[]::new);
+            totalLength += length;
+        }
+
+        void delete(UUID id) {
+            Integer doc = ordinals.remove(id);
+            if (doc == null) {
+                return;
+            }
+            unindex(doc);
+            ids[doc] = null;
+            estados[doc] = null;
+            docTerms[doc] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = doc;
+            live--;
+        }
+
+        PostingList prefixPostings(String prefix) {
+            NavigableMap<String, PostingList> matches =
+                    terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+            if (matches.size() == 1) {
+                return matches.firstEntry().getValue();
+            }
+            List<PostingList> expansions = new ArrayList<>();
+            for (PostingList list : matches.values()) {
+                if (expansions.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.add(list);
+            }
+            return expansions.isEmpty() ? null : PostingList.union(expansions);
+        }
+
+        private void unindex(int doc) {
+            for (String term : docTerms[doc]) {
+                PostingList list = terms.get(term);
+                list.remove(doc);
+                if (list.size() == 0) {
+                    terms.remove(term);
+                }
+            }
+            totalLength -= lengths[doc];
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return free[--freeCount];
+            }
+            if (next == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                estados = Arrays.copyOf(estados, capacity);
+                inicios = Arrays.copyOf(inicios, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                docTerms = Arrays.copyOf(docTerms, capacity);
+            }
+            return next++;
+        }
+
+        private static int addTerms(Map<String, Integer> freqs, String text, int weight) {
+            List<String> fieldTerms = SpanishAnalyzer.terms(text);
+            fieldTerms.forEach(term -> freqs.merge(term, weight, Integer::sum));
+            return fieldTerms.size() * weight;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Búsqueda de texto sobre el catálogo de eventos.
+ *
+ * @param text   Texto buscado; la última palabra se trata como prefijo si no va seguida de un espacio.
+ * @param estado Estado de los eventos, o {@code null} para cualquiera.
+ * @param desde  Inicio mínimo de los eventos (inclusive), o {@code null}.
+ * @param hasta  Inicio máximo de los eventos (inclusive), o {@code null}.
+ */
+public record EventSearchQuery(String text, EstadoEvento estado, LocalDateTime desde, LocalDateTime hasta) {
+
+    public static EventSearchQuery of(String text) {
+        return new EventSearchQuery(text, null, null, null);
+    }
+}
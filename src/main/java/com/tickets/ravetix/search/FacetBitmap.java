@@ -0,0 +1,209 @@
+package com.tickets.ravetix.search;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto comprimido de ordinales de documentos, al estilo de los Roaring bitmaps.
+ * <p>
+ * Divide los ordinales en bloques de 65536 por sus 16 bits altos. Un bloque con pocos ordinales
+ * guarda los 16 bits bajos en un array ordenado de {@code char}; al pasar de {@value #ARRAY_MAX}
+ * se convierte en un mapa de bits de 8 KB. Así un valor de faceta raro ocupa unos pocos bytes y
+ * uno frecuente, un bit por documento.
+ * </p>
+ * <p>
+ * Las operaciones entre conjuntos se hacen contra máscaras densas ({@code long[]}) que prepara
+ * quien consulta. No es seguro para hilos: el índice que lo contiene sincroniza el acceso.
+ * </p>
+ */
+final class FacetBitmap {
+
+    static final int ARRAY_MAX = 4096;
+
+    private static final int CHUNK_WORDS = 1024;
+
+    private int[] keys = new int[2];
+    private Object[] containers = new Object[2];
+    private int[] cards = new int[2];
+    private int chunks;
+    private int cardinality;
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    boolean contains(int doc) {
+        int i = Arrays.binarySearch(keys, 0, chunks, doc >>> 16);
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) doc;
+        if (containers[i] instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[i], 0, cards[i], low) >= 0;
+    }
+
+    void add(int doc) {
+        int i = Arrays.binarySearch(keys, 0, chunks, doc >>> 16);
+        if (i < 0) {
+            i = insertChunk(-i - 1, doc >>> 16);
+        }
+        char low = (char) doc;
+        if (containers[i] instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                bits[low >>> 6] |= mask;
+                cards[i]++;
+                cardinality++;
+            }
+            return;
+        }
+        char[] values = (char[]) containers[i];
+        int pos = Arrays.binarySearch(values, 0, cards[i], low);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (cards[i] == ARRAY_MAX) {
+            long[] bits = toBits(values, cards[i]);
+            bits[low >>> 6] |= 1L << low;
+            containers[i] = bits;
+        } else {
+            if (cards[i] == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+                containers[i] = values;
+            }
+            System.arraycopy(values, pos, values, pos + 1, cards[i] - pos);
+            values[pos] = low;
+        }
+        cards[i]++;
+        cardinality++;
+    }
+
+    void remove(int doc) {
+        int i = Arrays.binarySearch(keys, 0, chunks, doc >>> 16);
+        if (i < 0) {
+            return;
+        }
+        char low = (char) doc;
+        if (containers[i] instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return;
+            }
+            bits[low >>> 6] &= ~mask;
+            if (--cards[i] <= ARRAY_MAX / 2) {
+                containers[i] = toValues(bits, cards[i]);
+            }
+        } else {
+            char[] values = (char[]) containers[i];
+            int pos = Arrays.binarySearch(values, 0, cards[i], low);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(values, pos + 1, values, pos, cards[i] - pos - 1);
+            cards[i]--;
+        }
+        cardinality--;
+        if (cards[i] == 0) {
+            removeChunk(i);
+        }
+    }
+
+    /**
+     * Añade los ordinales del conjunto a una máscara densa.
+     */
+    void orInto(long[] words) {
+        for (int i = 0; i < chunks; i++) {
+            int base = keys[i] * CHUNK_WORDS;
+            if (containers[i] instanceof long[] bits) {
+                int end = Math.min(CHUNK_WORDS, words.length - base);
+                for (int w = 0; w < end; w++) {
+                    words[base + w] |= bits[w];
+                }
+            } else {
+                char[] values = (char[]) containers[i];
+                for (int v = 0; v < cards[i]; v++) {
+                    int word = base + (values[v] >>> 6);
+                    if (word < words.length) {
+                        words[word] |= 1L << values[v];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cuenta los ordinales del conjunto que también están en una máscara densa.
+     */
+    int countAnd(long[] words) {
+        int count = 0;
+        for (int i = 0; i < chunks; i++) {
+            int base = keys[i] * CHUNK_WORDS;
+            if (containers[i] instanceof long[] bits) {
+                int end = Math.min(CHUNK_WORDS, words.length - base);
+                for (int w = 0; w < end; w++) {
+                    count += Long.bitCount(bits[w] & words[base + w]);
+                }
+            } else {
+                char[] values = (char[]) containers[i];
+                for (int v = 0; v < cards[i]; v++) {
+                    int word = base + (values[v] >>> 6);
+                    if (word < words.length && (words[word] & (1L << values[v])) != 0) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private int insertChunk(int at, int key) {
+        if (chunks == keys.length) {
+            keys = Arrays.copyOf(keys, chunks * 2);
+            containers = Arrays.copyOf(containers, chunks * 2);
+            cards = Arrays.copyOf(cards, chunks * 2);
+        }
+        System.arraycopy(keys, at, keys, at + 1, chunks - at);
+        System.arraycopy(containers, at, containers, at + 1, chunks - at);
+        System.arraycopy(cards, at, cards, at + 1, chunks - at);
+        keys[at] = key;
+        containers[at] = new char[4];
+        cards[at] = 0;
+        chunks++;
+        return at;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(keys, at + 1, keys, at, chunks - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, chunks - at - 1);
+        System.arraycopy(cards, at + 1, cards, at, chunks - at - 1);
+        chunks--;
+        containers[chunks] = null;
+    }
+
+    private static long[] toBits(char[] values, int size) {
+        long[] bits = new long[CHUNK_WORDS];
+        for (int v = 0; v < size; v++) {
+            bits[values[v] >>> 6] |= 1L << values[v];
+        }
+        return bits;
+    }
+
+    private static char[] toValues(long[] bits, int size) {
+        char[] values = new char[Math.max(4, size)];
+        int n = 0;
+        for (int w = 0; w < CHUNK_WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                values[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+}
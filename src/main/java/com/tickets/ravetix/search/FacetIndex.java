@@ -0,0 +1,374 @@
+package com.tickets.ravetix.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria para filtrar eventos por facetas y contar cuántos hay de cada valor.
+ * <p>
+ * Guarda un {@link FacetBitmap} por valor de faceta (estado, categoría, tipo de zona, ciudad y rango
+ * de precio) sobre los ordinales de los eventos. Un filtro une los bitmaps de los valores pedidos
+ * de cada faceta e intersecta las facetas entre sí. La cuenta de cada valor se hace sobre los
+ * eventos que cumplen los filtros de las demás facetas, para que el cliente vea cuántos
+ * encontraría si añadiera ese valor.
+ * </p>
+ * <p>
+ * El tipo de zona y el rango de precio se miran zona a zona: un evento está en el rango
+ * {@code "50-100"} si alguna de sus zonas tiene el precio base en él. Los límites de los rangos
+ * se configuran con {@code app.search.facets.price-bands}.
+ * </p>
+ */
+@Component
+public class FacetIndex implements CatalogIndex {
+
+    public static final String ESTADO = "estado";
+    public static final String CATEGORIA = "categoria";
+    public static final String TIPO_ZONA = "tipoZona";
+    public static final String CIUDAD = "ciudad";
+    public static final String PRECIO = "precio";
+
+    /** Ventana máxima de resultados ordenados ({@code offset + limit}) */
+    public static final int MAX_WINDOW = 10_000;
+
+    private static final List<String> FACETS = List.of(ESTADO, CATEGORIA, TIPO_ZONA, CIUDAD, PRECIO);
+
+    private final BigDecimal[] priceBounds;
+    private final List<String> priceBands;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    public FacetIndex(MeterRegistry meterRegistry,
+                      @Value("${app.search.facets.price-bands:50,100,200,500}") BigDecimal[] priceBounds) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.priceBands = bandLabels(this.priceBounds);
+        Gauge.builder("search.facets.documents", this, FacetIndex::size)
+                .description("Eventos en el índice de facetas")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void upsert(CatalogDocument document) {
+        FacetValue[] values = valuesOf(document);
+        lock.writeLock().lock();
+        try {
+            segment.upsert(document, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            segment.delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceAll(Collection<CatalogDocument> documents) {
+        Segment rebuilt = new Segment();
+        documents.forEach(document -> rebuilt.upsert(document, valuesOf(document)));
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de eventos indexados.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.all.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rangos de precio configurados, de menor a mayor.
+     */
+    public List<String> priceBands() {
+        return priceBands;
+    }
+
+    /**
+     * Filtra eventos por facetas.
+     *
+     * @param query  Valores pedidos de cada faceta.
+     * @param offset Posición del primer resultado.
+     * @param limit  Número máximo de resultados.
+     * @return IDs de la página pedida por fecha de inicio, el total y las cuentas por faceta.
+     */
+    public Result search(FacetQuery query, long offset, int limit) {
+        Map<String, Set<String>> filters = filtersOf(query);
+        int window = (int) Math.min(offset + limit, MAX_WINDOW);
+
+        lock.readLock().lock();
+        try {
+            Segment s = segment;
+            int words = (s.next + 63) >>> 6;
+            long[] live = new long[words];
+            s.all.orInto(live);
+            Map<String, long[]> masks = new LinkedHashMap<>();
+            filters.forEach((facet, values) -> {
+                long[] mask = new long[words];
+                Map<String, FacetBitmap> bitmaps = s.bitmaps.get(facet);
+                for (String value : values) {
+                    FacetBitmap bitmap = bitmaps.get(value);
+                    if (bitmap != null) {
+                        bitmap.orInto(mask);
+                    }
+                }
+                masks.put(facet, mask);
+            });
+            long[] matched = intersect(live, masks, null);
+
+            Comparator<Integer> byStart = Comparator.<Integer>comparingLong(doc -> s.inicios[doc])
+                    .thenComparing(doc -> s.ids[doc]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(window + 1, byStart.reversed());
+            long total = 0;
+            for (int w = 0; w < words; w++) {
+                long word = matched[w];
+                while (word != 0) {
+                    int doc = w * 64 + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    total++;
+                    if (window <= 0) {
+                        continue;
+                    }
+                    if (top.size() < window) {
+                        top.offer(doc);
+                    } else if (byStart.compare(doc, top.peek()) < 0) {
+                        top.poll();
+                        top.offer(doc);
+                    }
+                }
+            }
+            List<Integer> ordered = new ArrayList<>(top);
+            ordered.sort(byStart);
+            List<UUID> ids = new ArrayList<>();
+            for (int i = (int) Math.min(offset, ordered.size()); i < ordered.size() && ids.size() < limit; i++) {
+                ids.add(s.ids[ordered.get(i)]);
+            }
+
+            Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                long[] base = masks.containsKey(facet) ? intersect(live, masks, facet) : matched;
+                Set<String> selected = filters.getOrDefault(facet, Set.of());
+                List<Map.Entry<String, Long>> entries = new ArrayList<>();
+                s.bitmaps.get(facet).forEach((value, bitmap) -> {
+                    long count = bitmap.countAnd(base);
+                    if (count > 0 || selected.contains(value)) {
+                        entries.add(Map.entry(value, count));
+                    }
+                });
+                entries.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<String, Long>comparingByKey()));
+                Map<String, Long> values = new LinkedHashMap<>();
+                entries.forEach(entry -> values.put(entry.getKey(), entry.getValue()));
+                counts.put(facet, values);
+            }
+            return new Result(ids, total, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersecta los eventos vivos con las máscaras de todas las facetas salvo {@code except}.
+     */
+    private static long[] intersect(long[] live, Map<String, long[]> masks, String except) {
+        long[] result = live.clone();
+        masks.forEach((facet, mask) -> {
+            if (!facet.equals(except)) {
+                for (int w = 0; w < result.length; w++) {
+                    result[w] &= mask[w];
+                }
+            }
+        });
+        return result;
+    }
+
+    private Map<String, Set<String>> filtersOf(FacetQuery query) {
+        Map<String, Set<String>> filters = new LinkedHashMap<>();
+        addFilter(filters, ESTADO, query.estados().stream().map(Enum::name).toList());
+        addFilter(filters, CATEGORIA, query.categorias().stream().map(Enum::name).toList());
+        addFilter(filters, TIPO_ZONA, query.tiposZona().stream().map(Enum::name).toList());
+        addFilter(filters, CIUDAD, query.ciudades().stream().map(FacetIndex::normalize).toList());
+        addFilter(filters, PRECIO, query.rangosPrecio());
+        return filters;
+    }
+
+    private static void addFilter(Map<String, Set<String>> filters, String facet, Collection<String> values) {
+        if (!values.isEmpty()) {
+            filters.put(facet, new LinkedHashSet<>(values));
+        }
+    }
+
+    private FacetValue[] valuesOf(CatalogDocument document) {
+        Set<FacetValue> values = new LinkedHashSet<>();
+        if (document.estado() != null) {
+            values.add(new FacetValue(ESTADO, document.estado().name()));
+        }
+        if (document.categoria() != null) {
+            values.add(new FacetValue(CATEGORIA, document.categoria().name()));
+        }
+        if (document.ciudad() != null && !normalize(document.ciudad()).isEmpty()) {
+            values.add(new FacetValue(CIUDAD, normalize(document.ciudad())));
+        }
+        for (CatalogDocument.Zona zona : document.zonas()) {
+            if (zona.tipo() != null) {
+                values.add(new FacetValue(TIPO_ZONA, zona.tipo().name()));
+            }
+            if (zona.precioBase() != null) {
+                values.add(new FacetValue(PRECIO, bandOf(zona.precioBase())));
+            }
+        }
+        return values.toArray(FacetValue[]::new);
+    }
+
+    private String bandOf(BigDecimal price) {
+        int band = 0;
+        while (band < priceBounds.length && price.compareTo(priceBounds[band]) >= 0) {
+            band++;
+        }
+        return priceBands.get(band);
+    }
+
+    private static List<String> bandLabels(BigDecimal[] bounds) {
+        List<String> labels = new ArrayList<>();
+        String lower = "0";
+        for (BigDecimal bound : bounds) {
+            String upper = bound.stripTrailingZeros().toPlainString();
+            labels.add(lower + "-" + upper);
+            lower = upper;
+        }
+        labels.add(lower + "+");
+        return List.copyOf(labels);
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", SpanishAnalyzer.words(text));
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param ids     IDs de la página pedida, por fecha de inicio.
+     * @param total   Número total de eventos que cumplen los filtros.
+     * @param facetas Cuentas por faceta y valor, de más a menos eventos.
+     */
+    public record Result(List<UUID> ids, long total, Map<String, Map<String, Long>> facetas) {
+    }
+
+    private record FacetValue(String facet, String value) {
+    }
+
+    /**
+     * Estado del índice. Los eventos se identifican por ordinales densos que se reutilizan al
+     * eliminarlos, para que las máscaras de las consultas no crezcan con las actualizaciones.
+     */
+    private static final class Segment {
+
+        final Map<String, Map<String, FacetBitmap>> bitmaps = new HashMap<>();
+        final FacetBitmap all = new FacetBitmap();
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        UUID[] ids = new UUID[64];
+        long[] inicios = new long[64];
+        FacetValue[][] docValues = new FacetValue[64][];
+        int[] free = new int[16];
+        int freeCount;
+        int next;
+
+        Segment() {
+            FACETS.forEach(facet -> bitmaps.put(facet, new TreeMap<>()));
+        }
+
+        void upsert(CatalogDocument document, FacetValue[] values) {
+            Integer existing = ordinals.get(document.id());
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unindex(doc);
+            } else {
+                doc = allocate();
+                ordinals.put(document.id(), doc);
+                all.add(doc);
+            }
+            for (FacetValue value : values) {
+                bitmaps.get(value.facet()).computeIfAbsent(value.value(), v -> new FacetBitmap()).add(doc);
+            }
+            ids[doc] = document.id();
+            inicios[doc] = document.inicio() != null
+                    ? document.inicio().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            docValues[doc] = values;
+        }
+
+        void delete(UUID id) {
+            Integer doc = ordinals.remove(id);
+            if (doc == null) {
+                return;
+            }
+            unindex(doc);
+            all.remove(doc);
+            ids[doc] = null;
+            docValues[doc] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = doc;
+        }
+
+        private void unindex(int doc) {
+            for (FacetValue value : docValues[doc]) {
+                Map<String, FacetBitmap> facet = bitmaps.get(value.facet());
+                FacetBitmap bitmap = facet.get(value.value());
+                bitmap.remove(doc);
+                if (bitmap.isEmpty()) {
+                    facet.remove(value.value());
+                }
+            }
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return free[--freeCount];
+            }
+            if (next == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                inicios = Arrays.copyOf(inicios, capacity);
+                docValues = Arrays.copyOf(docValues, capacity);
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.CategoriaEvento;
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.enums.TipoZona;
+
+import java.util.Set;
+
+/**
+ * Filtros de la búsqueda por facetas. Dentro de una faceta basta con que el evento tenga uno de los
+ * valores pedidos; entre facetas se exigen todas. Un conjunto vacío no filtra esa faceta.
+ *
+ * @param estados      Estados del evento.
+ * @param categorias   Categorías del evento.
+ * @param tiposZona    Tipos de zona; el evento debe tener al menos una zona de alguno.
+ * @param ciudades     Ciudades del evento, sin distinguir mayúsculas ni tildes.
+ * @param rangosPrecio Rangos de precio (por ejemplo {@code "50-100"} o {@code "500+"}); el evento
+ *                     debe tener al menos una zona con el precio base en alguno.
+ */
+public record FacetQuery(
+        Set<EstadoEvento> estados,
+        Set<CategoriaEvento> categorias,
+        Set<TipoZona> tiposZona,
+        Set<String> ciudades,
+        Set<String> rangosPrecio) {
+
+    public FacetQuery {
+        estados = estados != null ? Set.copyOf(estados) : Set.of();
+        categorias = categorias != null ? Set.copyOf(categorias) : Set.of();
+        tiposZona = tiposZona != null ? Set.copyOf(tiposZona) : Set.of();
+        ciudades = ciudades != null ? Set.copyOf(ciudades) : Set.of();
+        rangosPrecio = rangosPrecio != null ? Set.copyOf(rangosPrecio) : Set.of();
+    }
+}
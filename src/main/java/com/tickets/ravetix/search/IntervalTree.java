@@ -0,0 +1,163 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Árbol de intervalos sobre las fechas de los eventos: un treap ordenado por inicio (y por ID para
+ * desempatar) en el que cada nodo guarda además el fin máximo de su subárbol.
+ * <p>
+ * Encontrar los eventos que se solapan con una ventana cuesta O(log n + k): se descartan los
+ * subárboles cuyo fin máximo es anterior a la ventana y los que empiezan después de ella, y los
+ * eventos encontrados salen en orden de inicio. Insertar y eliminar cuestan O(log n) esperado.
+ * </p>
+ * <p>
+ * No es seguro para hilos: el índice que lo contiene sincroniza el acceso.
+ * </p>
+ */
+final class IntervalTree {
+
+    private final SplittableRandom random = new SplittableRandom();
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Añade un evento, o reemplaza sus fechas y estado si ya estaba.
+     *
+     * @param inicio Inicio en segundos desde la época.
+     * @param fin    Fin en segundos desde la época; si es anterior al inicio se usa el inicio.
+     */
+    void put(UUID id, EstadoEvento estado, long inicio, long fin) {
+        remove(id);
+        Node node = new Node(id, estado, inicio, Math.max(inicio, fin), random.nextInt());
+        nodes.put(id, node);
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void remove(UUID id) {
+        Node node = nodes.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Recorre en orden de inicio los eventos que se solapan con {@code [desde, hasta]}, es decir,
+     * que empiezan como tarde en {@code hasta} y terminan como pronto en {@code desde}.
+     */
+    void overlapping(long desde, long hasta, Consumer<Interval> visitor) {
+        visit(root, desde, hasta, visitor);
+    }
+
+    private static void visit(Node node, long desde, long hasta, Consumer<Interval> visitor) {
+        if (node == null || node.maxFin < desde) {
+            return;
+        }
+        visit(node.left, desde, hasta, visitor);
+        if (node.interval.inicio() > hasta) {
+            return;
+        }
+        if (node.interval.fin() >= desde) {
+            visitor.accept(node.interval);
+        }
+        visit(node.right, desde, hasta, visitor);
+    }
+
+    /**
+     * Separa el árbol en los nodos anteriores a {@code key} y los posteriores.
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node delete(Node node, Node target) {
+        if (node == null) {
+            return null;
+        }
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+        if (compare(target, node) < 0) {
+            node.left = delete(node.left, target);
+        } else {
+            node.right = delete(node.right, target);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int compare(Node a, Node b) {
+        int byStart = Long.compare(a.interval.inicio(), b.interval.inicio());
+        return byStart != 0 ? byStart : a.interval.id().compareTo(b.interval.id());
+    }
+
+    /**
+     * Fechas y estado de un evento, en segundos desde la época.
+     */
+    record Interval(UUID id, EstadoEvento estado, long inicio, long fin) {
+    }
+
+    private static final class Node {
+
+        final Interval interval;
+        final int priority;
+        Node left;
+        Node right;
+        long maxFin;
+
+        Node(UUID id, EstadoEvento estado, long inicio, long fin, int priority) {
+            this.interval = new Interval(id, estado, inicio, fin);
+            this.priority = priority;
+            this.maxFin = fin;
+        }
+
+        void update() {
+            maxFin = interval.fin();
+            if (left != null) {
+                maxFin = Math.max(maxFin, left.maxFin);
+            }
+            if (right != null) {
+                maxFin = Math.max(maxFin, right.maxFin);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.tickets.ravetix.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de documentos de un término, ordenada por ordinal, con la frecuencia ponderada del término
+ * en cada documento. Usa arrays primitivos para que 100k documentos no generen objetos por entrada.
+ * No es segura para hilos: el índice que la contiene sincroniza el acceso.
+ */
+final class PostingList {
+
+    private int[] docs;
+    private int[] freqs;
+    private int size;
+
+    PostingList() {
+        this(4);
+    }
+
+    PostingList(int capacity) {
+        this.docs = new int[Math.max(capacity, 1)];
+        this.freqs = new int[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    int freq(int i) {
+        return freqs[i];
+    }
+
+    /**
+     * Frecuencia del término en un documento, o 0 si no aparece.
+     */
+    int freqOf(int doc) {
+        int i = Arrays.binarySearch(docs, 0, size, doc);
+        return i >= 0 ? freqs[i] : 0;
+    }
+
+    /**
+     * Primera posición desde {@code from} cuyo documento es mayor o igual que {@code doc}
+     * (o {@code size()} si no hay). Avanza por saltos exponenciales, así que recorrer una lista
+     * con documentos crecientes cuesta lo mismo que una intersección por mezcla.
+     */
+    int advance(int from, int doc) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && docs[high] < doc) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int i = Arrays.binarySearch(docs, low, Math.min(high + 1, size), doc);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    void put(int doc, int freq) {
+        int i = Arrays.binarySearch(docs, 0, size, doc);
+        if (i >= 0) {
+            freqs[i] = freq;
+            return;
+        }
+        int at = -i - 1;
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        System.arraycopy(docs, at, docs, at + 1, size - at);
+        System.arraycopy(freqs, at, freqs, at + 1, size - at);
+        docs[at] = doc;
+        freqs[at] = freq;
+        size++;
+    }
+
+    /**
+     * Añade un documento mayor que todos los presentes (carga masiva en orden).
+     */
+    void append(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    void remove(int doc) {
+        int i = Arrays.binarySearch(docs, 0, size, doc);
+        if (i < 0) {
+            return;
+        }
+        System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+        System.arraycopy(freqs, i + 1, freqs, i, size - i - 1);
+        size--;
+    }
+
+    /**
+     * Une varias listas sumando las frecuencias de los documentos repetidos.
+     */
+    static PostingList union(Iterable<PostingList> lists) {
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size;
+        }
+        // ordinal en los 32 bits altos y frecuencia en los bajos: ordenar los long ordena por ordinal
+        long[] entries = new long[total];
+        int n = 0;
+        for (PostingList list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                entries[n++] = ((long) list.docs[i] << 32) | list.freqs[i];
+            }
+        }
+        Arrays.sort(entries);
+        PostingList result = new PostingList(total);
+        for (long entry : entries) {
+            int doc = (int) (entry >>> 32);
+            int freq = (int) entry;
+            if (result.size > 0 && result.docs[result.size - 1] == doc) {
+                result.freqs[result.size - 1] += freq;
+            } else {
+                result.append(doc, freq);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de las fechas de los eventos, para saber qué hay en una ventana de tiempo.
+ * <p>
+ * A diferencia de los filtros por fecha de inicio, encuentra también los eventos de varios días
+ * que empezaron antes de la ventana y siguen en curso dentro de ella, como un festival de fin de
+ * semana. Usa un {@link IntervalTree}, así que solo recorre los eventos que se solapan con la
+ * ventana y los devuelve por fecha de inicio.
+ * </p>
+ */
+@Component
+public class ScheduleIndex implements CatalogIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private IntervalTree tree = new IntervalTree();
+
+    public ScheduleIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("search.schedule.documents", this, ScheduleIndex::size)
+                .description("Eventos en el índice de fechas")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void upsert(CatalogDocument document) {
+        lock.writeLock().lock();
+        try {
+            put(tree, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            tree.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replaceAll(Collection<CatalogDocument> documents) {
+        IntervalTree rebuilt = new IntervalTree();
+        documents.forEach(document -> put(rebuilt, document));
+        lock.writeLock().lock();
+        try {
+            tree = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de eventos indexados.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los eventos que están en curso en algún momento de la ventana: los que empiezan como
+     * tarde en {@code hasta} y terminan como pronto en {@code desde}.
+     *
+     * @param desde  Principio de la ventana (inclusive).
+     * @param hasta  Final de la ventana (inclusive), o {@code null} para no acotarla.
+     * @param estado Estado de los eventos, o {@code null} para cualquiera.
+     * @param offset Posición del primer resultado.
+     * @param limit  Número máximo de resultados.
+     * @return IDs de la página pedida, por fecha de inicio, y el total de eventos encontrados.
+     */
+    public Result overlapping(LocalDateTime desde, LocalDateTime hasta, EstadoEvento estado, long offset, int limit) {
+        long from = epoch(desde);
+        long to = hasta != null ? epoch(hasta) : Long.MAX_VALUE;
+        List<UUID> ids = new ArrayList<>();
+        long[] total = new long[1];
+
+        lock.readLock().lock();
+        try {
+            tree.overlapping(from, to, interval -> {
+                if (estado == null || interval.estado() == estado) {
+                    if (total[0] >= offset && ids.size() < limit) {
+                        ids.add(interval.id());
+                    }
+                    total[0]++;
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Result(ids, total[0]);
+    }
+
+    private static void put(IntervalTree tree, CatalogDocument document) {
+        if (document.inicio() == null) {
+            tree.remove(document.id());
+            return;
+        }
+        long inicio = epoch(document.inicio());
+        tree.put(document.id(), document.estado(), inicio, document.fin() != null ? epoch(document.fin()) : inicio);
+    }
+
+    private static long epoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param ids   IDs de la página pedida, en orden.
+     * @param total Número total de eventos encontrados.
+     */
+    public record Result(List<UUID> ids, long total) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.tickets.ravetix.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Análisis de texto en español para los índices del catálogo.
+ * <p>
+ * Normaliza a minúsculas sin tildes ni diéresis (la "ñ" queda como "n"), separa por cualquier
+ * carácter que no sea letra o dígito, descarta las palabras vacías más frecuentes y aplica un
+ * stemming ligero que elimina la vocal final y los plurales ({@code conciertos} y
+ * {@code concierto} dan {@code conciert}). El mismo análisis se aplica al indexar y al buscar.
+ * </p>
+ */
+public final class SpanishAnalyzer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "ante", "con", "de", "del", "desde", "e", "el", "en", "entre", "es", "la", "las",
+            "lo", "los", "mas", "o", "para", "pero", "por", "que", "se", "sin", "sobre", "su", "sus",
+            "u", "un", "una", "unas", "unos", "y");
+
+    private SpanishAnalyzer() {
+    }
+
+    /**
+     * Pasa un texto a minúsculas y le quita tildes y diéresis.
+     *
+     * @param text Texto original; puede ser {@code null}.
+     * @return Texto normalizado (vacío si era {@code null}).
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Separa un texto normalizado en palabras, sin descartar ni reducir ninguna.
+     *
+     * @param text Texto original; puede ser {@code null}.
+     * @return Palabras normalizadas, en orden.
+     */
+    public static List<String> words(String text) {
+        String normalized = normalize(text);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Obtiene los términos indexables de un texto: palabras normalizadas, sin palabras vacías
+     * y reducidas a su raíz.
+     *
+     * @param text Texto original; puede ser {@code null}.
+     * @return Términos, en orden y con repeticiones.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : words(text)) {
+            if (!STOPWORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    static boolean isStopword(String word) {
+        return STOPWORDS.contains(word);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stemming ligero para español: elimina la vocal final y las terminaciones de plural
+     * de las palabras de cinco o más letras.
+     *
+     * @param word Palabra normalizada.
+     * @return Raíz de la palabra.
+     */
+    static String stem(String word) {
+        int len = word.length();
+        if (len < 5) {
+            return word;
+        }
+        char last = word.charAt(len - 1);
+        if (last == 'a' || last == 'e' || last == 'o') {
+            return word.substring(0, len - 1);
+        }
+        if (last == 's') {
+            char beforeLast = word.charAt(len - 2);
+            if (word.endsWith("eses")) {
+                return word.substring(0, len - 2);
+            }
+            if (word.endsWith("ces")) {
+                return word.substring(0, len - 3) + "z";
+            }
+            if (beforeLast == 'a' || beforeLast == 'e' || beforeLast == 'o') {
+                return word.substring(0, len - 2);
+            }
+        }
+        return word;
+    }
+}
@@ -0,0 +1,43 @@
+package com.tickets.ravetix.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Usuario autenticado de la aplicación: los datos de Spring Security más el ID del usuario, que
+ * viaja en el token para poder autenticar las peticiones sin consultar la base de datos.
+ */
+public class AppUserDetails extends User {
+
+    /**
+     * Autoridad de todos los usuarios.
+     */
+    public static final String USER = "USER";
+
+    /**
+     * Autoridad del personal de los eventos (organizadores y dispositivos de puerta), configurado
+     * en {@code app.security.staff}.
+     */
+    public static final String STAFF = "STAFF";
+
+    private final UUID id;
+
+    public AppUserDetails(UUID id, String correo, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(correo, password, authorities);
+        this.id = id;
+    }
+
+    /**
+     * Crea el usuario a partir de un token ya verificado; no lleva contraseña.
+     */
+    public static AppUserDetails fromToken(UUID id, String correo, Collection<? extends GrantedAuthority> authorities) {
+        return new AppUserDetails(id, correo, "", authorities);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
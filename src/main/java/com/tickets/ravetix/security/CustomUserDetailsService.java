@@ -1,31 +1,117 @@
 package com.tickets.ravetix.security;
 
-import com.tickets.ravetix.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickets.ravetix.domain.UserCredentialsChangedEvent;
 import com.tickets.ravetix.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Carga los usuarios para Spring Security por su correo.
+ * <p>
+ * Los datos se guardan en una caché acotada por {@code app.cache.users.max-size} y
+ * {@code app.cache.users.ttl}, de modo que los logins y las peticiones autenticadas contra la base
+ * de datos no repiten la consulta. Las altas, modificaciones y bajas expulsan el correo afectado
+ * en todos los nodos (ver {@link com.tickets.ravetix.cache.UserInvalidationRelay}); el TTL acota
+ * lo que pueda sobrevivir si se pierde una invalidación.
+ * </p>
+ * <p>
+ * Spring Security borra la contraseña del usuario autenticado, así que la caché guarda una copia
+ * inmutable y cada carga devuelve un {@link AppUserDetails} nuevo.
+ * </p>
+ * <p>
+ * Todos los usuarios tienen la autoridad {@link AppUserDetails#USER}; los correos listados en
+ * {@code app.security.staff} tienen además {@link AppUserDetails#STAFF}. Las autoridades viajan
+ * en el token, así que un cambio en la lista se aplica al volver a iniciar sesión.
+ * </p>
+ */
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, CachedUser> users;
+    private final Set<String> staff;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.users.max-size:10000}") long maxSize,
+            @Value("${app.cache.users.ttl:5m}") Duration ttl,
+            @Value("${app.security.staff:}") Set<String> staff) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users.details");
+        this.staff = staff.stream()
+                .map(correo -> correo.trim().toLowerCase(Locale.ROOT))
+                .filter(correo -> !correo.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
     @Override
     public UserDetails loadUserByUsername(String correo) throws UsernameNotFoundException {
-        User user = userRepository.findByCorreo(correo)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con el correo: " + correo));
-        
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getCorreo())
-                .password(user.getPassword())
-                .authorities("USER")
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        CachedUser user = users.get(correo, this::load);
+        if (user == null) {
+            throw new UsernameNotFoundException("Usuario no encontrado con el correo: " + correo);
+        }
+        return new AppUserDetails(user.id(), user.correo(), user.password(), user.authorities());
+    }
+
+    /**
+     * Guarda el hash recalculado con el coste actual tras un login correcto cuyo hash tenía un
+     * coste menor. Lo invoca Spring Security; la contraseña no cambia.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByCorreo(user.getUsername(), newPassword);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        UUID id = user instanceof AppUserDetails appUser ? appUser.getId() : null;
+        return new AppUserDetails(id, user.getUsername(), newPassword, user.getAuthorities());
+    }
+
+    /**
+     * Expulsa de la caché el usuario con el correo indicado.
+     */
+    public void evict(String correo) {
+        users.invalidate(correo);
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public void clear() {
+        users.invalidateAll();
+    }
+
+    private CachedUser load(String correo) {
+        return userRepository.findByCorreo(correo)
+                .map(user -> new CachedUser(user.getId(), user.getCorreo(), user.getPassword(),
+                        staff.contains(user.getCorreo().toLowerCase(Locale.ROOT))
+                                ? AuthorityUtils.createAuthorityList(AppUserDetails.USER, AppUserDetails.STAFF)
+                                : AuthorityUtils.createAuthorityList(AppUserDetails.USER)))
+                .orElse(null);
+    }
+
+    private record CachedUser(UUID id, String correo, String password, List<GrantedAuthority> authorities) {
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.tickets.ravetix.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Se lanza cuando no hay capacidad para calcular un hash de contraseña: la cola del pool de
+ * hashing está llena o la espera superó el límite. El cliente debe reintentar más tarde.
+ * <p>
+ * Extiende {@link InternalAuthenticationServiceException} para que el
+ * {@code ProviderManager} la propague sin probar otros proveedores ni tratarla como
+ * credenciales inválidas.
+ * </p>
+ */
+public class LoginOverloadedException extends InternalAuthenticationServiceException {
+
+    public LoginOverloadedException(String message) {
+        super(message);
+    }
+}
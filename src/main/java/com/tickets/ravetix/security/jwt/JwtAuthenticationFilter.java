@@ -1,44 +1,80 @@
 package com.tickets.ravetix.security.jwt;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.tickets.ravetix.security.AppUserDetails;
 import com.tickets.ravetix.security.CustomUserDetailsService;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
+/**
+ * Autentica las peticiones con el token Bearer.
+ * <p>
+ * Con {@code app.jwt.stateless=true} el usuario se construye a partir del ID y las autoridades
+ * del token, sin consultar la base de datos; solo se comprueba en memoria que sus tokens no
+ * estén revocados. Los tokens emitidos antes de incluir el ID, o con el modo desactivado, se
+ * resuelven cargando el usuario por su correo. Un token inválido o revocado deja la petición sin
+ * autenticar y la respuesta será 401.
+ * </p>
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtTokenProvider jwtTokenProvider;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocations;
+    private final boolean stateless;
 
-    @Autowired
-    private CustomUserDetailsService userDetailsService;
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            CustomUserDetailsService userDetailsService,
+            TokenRevocationList revocations,
+            @Value("${app.jwt.stateless:true}") boolean stateless) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.revocations = revocations;
+        this.stateless = stateless;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String header = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (header != null && header.startsWith("Bearer ")) {
-            token = header.substring(7);
-            username = jwtTokenProvider.getUsernameFromToken(token);
+        if (header != null && header.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                UserDetails userDetails = authenticate(header.substring(7));
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
+            } catch (JWTVerificationException | UsernameNotFoundException e) {
+                logger.debug("Rejected bearer token: " + e.getMessage());
+            }
         }
+        filterChain.doFilter(request, response);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(auth);
+    private UserDetails authenticate(String token) {
+        DecodedJWT jwt = jwtTokenProvider.verify(token);
+        UUID userId = JwtTokenProvider.userId(jwt);
+        if (userId != null && revocations.isRevoked(userId, jwt.getIssuedAtAsInstant())) {
+            return null;
         }
-        filterChain.doFilter(request, response);
+        if (stateless && userId != null) {
+            return AppUserDetails.fromToken(userId, jwt.getSubject(), JwtTokenProvider.authorities(jwt));
+        }
+        return userDetailsService.loadUserByUsername(jwt.getSubject());
     }
-}
\ No newline at end of file
+}
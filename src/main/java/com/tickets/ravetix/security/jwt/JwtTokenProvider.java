@@ -1,32 +1,136 @@
 package com.tickets.ravetix.security.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.tickets.ravetix.security.AppUserDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Emite y verifica los JWT de la API.
+ * <p>
+ * El algoritmo y el verificador se construyen una sola vez y son seguros entre hilos. Las
+ * verificaciones pasan por {@link VerifiedTokenCache}, así que la firma de un token solo se
+ * comprueba la primera vez que llega; el timer {@code auth.tokens.verify} mide únicamente esas
+ * verificaciones completas.
+ * </p>
+ */
 @Component
 public class JwtTokenProvider {
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationMs;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+
+    private final long jwtExpirationMs;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final VerifiedTokenCache cache;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public JwtTokenProvider(
+            @Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.jwt.expiration}") long jwtExpirationMs,
+            VerifiedTokenCache cache,
+            MeterRegistry meterRegistry) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.algorithm = Algorithm.HMAC256(jwtSecret);
+        this.verifier = JWT.require(algorithm).build();
+        this.cache = cache;
+        this.verifyTimer = meterRegistry.timer("auth.tokens.verify");
+        this.rejected = meterRegistry.counter("auth.tokens.rejected");
+    }
 
     public String generateToken(String username) {
         return JWT.create()
                 .withSubject(username)
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .sign(Algorithm.HMAC256(jwtSecret));
+                .sign(algorithm);
+    }
+
+    /**
+     * Emite un token que incluye el ID y las autoridades del usuario, con los que las peticiones
+     * pueden autenticarse sin consultar la base de datos.
+     *
+     * @param userDetails Usuario autenticado.
+     * @return Token firmado.
+     */
+    public String generateToken(UserDetails userDetails) {
+        JWTCreator.Builder builder = JWT.create()
+                .withSubject(userDetails.getUsername())
+                .withIssuedAt(new Date())
+                .withExpiresAt(new Date(System.currentTimeMillis() + jwtExpirationMs))
+                .withClaim(CLAIM_ROLES, AuthorityUtils.authorityListToSet(userDetails.getAuthorities()).stream().toList());
+        if (userDetails instanceof AppUserDetails user && user.getId() != null) {
+            builder.withClaim(CLAIM_USER_ID, user.getId().toString());
+        }
+        return builder.sign(algorithm);
     }
 
     public String getUsernameFromToken(String token) {
-        return JWT.require(Algorithm.HMAC256(jwtSecret))
-                .build()
-                .verify(token)
-                .getSubject();
+        return verify(token).getSubject();
+    }
+
+    /**
+     * Verifica la firma y la expiración del token, o reutiliza una verificación reciente.
+     *
+     * @param token Token recibido.
+     * @return Token decodificado.
+     * @throws JWTVerificationException si el token no es válido.
+     */
+    public DecodedJWT verify(String token) {
+        return cache.verify(token, this::verifyUncached);
+    }
+
+    /**
+     * ID del usuario incluido en el token, o {@code null} si el token no lo lleva.
+     */
+    public static UUID userId(DecodedJWT jwt) {
+        Claim claim = jwt.getClaim(CLAIM_USER_ID);
+        if (claim.isMissing() || claim.isNull()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(claim.asString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Autoridades incluidas en el token; {@code USER} si el token no las lleva.
+     */
+    public static List<GrantedAuthority> authorities(DecodedJWT jwt) {
+        List<String> roles = jwt.getClaim(CLAIM_ROLES).asList(String.class);
+        return AuthorityUtils.createAuthorityList(roles != null ? roles : List.of(AppUserDetails.USER));
+    }
+
+    private DecodedJWT verifyUncached(String token) {
+        long start = System.nanoTime();
+        try {
+            return verifier.verify(token);
+        } catch (JWTVerificationException e) {
+            rejected.increment();
+            throw e;
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
-}
\ No newline at end of file
+}
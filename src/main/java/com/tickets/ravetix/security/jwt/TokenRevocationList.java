@@ -0,0 +1,134 @@
+package com.tickets.ravetix.security.jwt;
+
+import com.tickets.ravetix.cache.InvalidationBus;
+import com.tickets.ravetix.cache.InvalidationListener;
+import com.tickets.ravetix.cache.InvalidationMessage;
+import com.tickets.ravetix.domain.UserAccessRevokedEvent;
+import com.tickets.ravetix.entity.TokenRevocation;
+import com.tickets.ravetix.repository.TokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de usuarios cuyos tokens emitidos antes de cierto instante ya no se aceptan.
+ * <p>
+ * Permite autenticar las peticiones solo con el token y, aun así, cortar el acceso de un usuario
+ * dado de baja o que cambió sus credenciales. La consulta es un acceso a un mapa en memoria; la
+ * base de datos solo se lee al arrancar y cuando el bus de invalidación pudo perder mensajes.
+ * Cada revocación se guarda en la transacción del cambio que la origina, se aplica en memoria
+ * tras el commit y se propaga a los demás nodos por el {@link InvalidationBus}. Las revocaciones
+ * más antiguas que la duración de un token ya no afectan a ninguno y se purgan.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements InvalidationListener {
+
+    public static final String REGION = "auth.revocations";
+
+    private final TokenRevocationRepository repository;
+    private final InvalidationBus invalidationBus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Duration tokenLifetime;
+    private final Map<UUID, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationList(
+            TokenRevocationRepository repository,
+            InvalidationBus invalidationBus,
+            ApplicationEventPublisher eventPublisher,
+            Clock clock,
+            @Value("${app.jwt.expiration}") long jwtExpirationMs) {
+        this.repository = repository;
+        this.invalidationBus = invalidationBus;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.tokenLifetime = Duration.ofMillis(jwtExpirationMs);
+        invalidationBus.subscribe(REGION, this);
+    }
+
+    /**
+     * Revoca los tokens emitidos hasta ahora para el usuario. Debe llamarse dentro de la
+     * transacción del cambio que la motiva: si esta se revierte, la revocación también.
+     *
+     * @param userId ID del usuario.
+     */
+    public void revoke(UUID userId) {
+        Instant now = clock.instant();
+        repository.save(new TokenRevocation(userId, now));
+        eventPublisher.publishEvent(new UserAccessRevokedEvent(userId, now));
+    }
+
+    /**
+     * Indica si un token del usuario emitido en el instante dado fue revocado. Como la fecha de
+     * emisión del token tiene precisión de segundos, solo se rechazan los emitidos en segundos
+     * anteriores al de la revocación, para no invalidar el token de un nuevo login inmediato.
+     *
+     * @param userId   ID del usuario.
+     * @param issuedAt Emisión del token; {@code null} si el token no la indica.
+     * @return true si el token ya no debe aceptarse.
+     */
+    public boolean isRevoked(UUID userId, Instant issuedAt) {
+        Instant revokedAt = revokedBefore.get(userId);
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.isBefore(revokedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevoked(UserAccessRevokedEvent event) {
+        apply(event.usuarioId(), event.revocadoEn());
+        invalidationBus.publish(new InvalidationMessage(
+                REGION, event.usuarioId().toString(), Long.toString(event.revocadoEn().toEpochMilli())));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationMessage message) {
+        apply(UUID.fromString(message.key()), Instant.ofEpochMilli(Long.parseLong(message.type())));
+    }
+
+    @Override
+    public void onReset() {
+        reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Instant since = clock.instant().minus(tokenLifetime);
+        repository.findByRevocadoEnAfter(since)
+                .forEach(revocation -> apply(revocation.getUsuarioId(), revocation.getRevocadoEn()));
+        log.info("Loaded {} token revocations", revokedBefore.size());
+    }
+
+    /**
+     * Olvida las revocaciones que ya no pueden afectar a ningún token vigente.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocations.purge-interval-ms:3600000}")
+    public void purge() {
+        Instant cutoff = clock.instant().minus(tokenLifetime);
+        revokedBefore.values().removeIf(revokedAt -> revokedAt.isBefore(cutoff));
+        int deleted = repository.deleteByRevocadoEnBefore(cutoff);
+        if (deleted > 0) {
+            log.debug("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    private void apply(UUID userId, Instant revokedAt) {
+        revokedBefore.merge(userId, revokedAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+}
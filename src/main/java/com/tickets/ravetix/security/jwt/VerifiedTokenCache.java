@@ -0,0 +1,126 @@
+package com.tickets.ravetix.security.jwt;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Caché de los tokens ya verificados, para no repetir la decodificación y la firma HMAC en cada
+ * petición de un mismo cliente.
+ * <p>
+ * La clave es el SHA-256 del token, así que la caché no guarda tokens utilizables. Un token
+ * válido se conserva hasta su expiración, con un máximo de {@code app.jwt.cache.max-ttl}; uno
+ * rechazado se recuerda durante {@code app.jwt.cache.negative-ttl}, de modo que reenviar el
+ * mismo token inválido una y otra vez solo cuesta un hash. El tamaño se acota con
+ * {@code app.jwt.cache.max-size}.
+ * </p>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Verification> verifications;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+            @Value("${app.jwt.cache.max-ttl:10m}") Duration maxTtl,
+            @Value("${app.jwt.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new VerificationExpiry(maxTtl, negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifications, "auth.tokens");
+    }
+
+    /**
+     * Devuelve el token ya verificado o lo verifica con la función indicada.
+     *
+     * @param token  Token recibido.
+     * @param verify Verificación completa, usada solo si el token no está en caché.
+     * @return Token decodificado.
+     * @throws JWTVerificationException si el token es inválido, ahora o en una verificación reciente.
+     */
+    public DecodedJWT verify(String token, Function<String, DecodedJWT> verify) {
+        Verification verification = verifications.get(hash(token), key -> {
+            try {
+                return new Verified(verify.apply(token));
+            } catch (JWTVerificationException e) {
+                return new Rejected(e.getMessage());
+            }
+        });
+        if (verification instanceof Verified verified) {
+            return verified.jwt();
+        }
+        throw new JWTVerificationException(((Rejected) verification).message());
+    }
+
+    /**
+     * Olvida todas las verificaciones, por ejemplo al rotar el secreto.
+     */
+    public void clear() {
+        verifications.invalidateAll();
+    }
+
+    long size() {
+        verifications.cleanUp();
+        return verifications.estimatedSize();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private sealed interface Verification permits Verified, Rejected {
+    }
+
+    private record Verified(DecodedJWT jwt) implements Verification {
+    }
+
+    private record Rejected(String message) implements Verification {
+    }
+
+    /**
+     * Los tokens válidos caducan con el propio token; los rechazados, al pasar el TTL negativo.
+     */
+    private record VerificationExpiry(Duration maxTtl, Duration negativeTtl) implements Expiry<String, Verification> {
+
+        @Override
+        public long expireAfterCreate(String key, Verification value, long currentTime) {
+            if (value instanceof Verified verified && verified.jwt().getExpiresAtAsInstant() != null) {
+                Duration remaining = Duration.between(Instant.now(), verified.jwt().getExpiresAtAsInstant());
+                return Math.max(0, Math.min(remaining.toNanos(), maxTtl.toNanos()));
+            }
+            return value instanceof Verified ? maxTtl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verification value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verification value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
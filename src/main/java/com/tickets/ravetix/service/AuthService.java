@@ -1,11 +1,14 @@
 package com.tickets.ravetix.service;
 
+import com.tickets.ravetix.domain.UserCredentialsChangedEvent;
 import com.tickets.ravetix.dto.auth.RegisterRequest;
 import com.tickets.ravetix.entity.User;
 import com.tickets.ravetix.exception.DuplicateResourceException;
 import com.tickets.ravetix.repository.UserRepository;
+import com.tickets.ravetix.security.LoginOverloadedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +20,7 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public User register(RegisterRequest registerRequest) {
@@ -47,9 +51,12 @@ public class AuthService {
 
             // Guardar usuario en la base de datos
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(savedUser.getCorreo()));
             log.info("Usuario registrado exitosamente con ID: {}", savedUser.getId());
             
             return savedUser;
+        } catch (LoginOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error al registrar el usuario: {}", e.getMessage(), e);
             throw new RuntimeException("Error al registrar el usuario: " + e.getMessage(), e);
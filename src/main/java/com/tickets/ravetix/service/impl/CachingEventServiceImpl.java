@@ -0,0 +1,128 @@
+package com.tickets.ravetix.service.impl;
+
+import com.tickets.ravetix.cache.EventCatalogCache;
+import com.tickets.ravetix.cache.EventCatalogCache.ListingKey;
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.SliceResponse;
+import com.tickets.ravetix.dto.event.EventCreateDTO;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.dto.event.EventUpdateDTO;
+import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.service.interfac.EventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Implementación de {@link EventService} que sirve los listados desde {@link EventCatalogCache}
+ * y delega el resto en {@link EventServiceImpl}.
+ * <p>
+ * {@link #findById} y {@link #search} no se cachean aquí: {@code GET /api/events/{id}} tiene su
+ * propia caché de respuestas serializadas, que necesita leer el evento de la base de datos, y
+ * {@code GET /api/events/search} responde desde el índice de búsqueda en memoria.
+ * </p>
+ * <p>
+ * Las escrituras no tocan la caché directamente: {@link EventServiceImpl} publica un
+ * {@link com.tickets.ravetix.domain.CatalogChangedEvent} y la caché se invalida tras el commit.
+ * </p>
+ */
+@Primary
+@Service
+@RequiredArgsConstructor
+public class CachingEventServiceImpl implements EventService {
+
+    private final EventServiceImpl delegate;
+    private final EventCatalogCache cache;
+
+    @Override
+    public EventResponseDTO findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public ResourceVersion getVersion(UUID id) {
+        return delegate.getVersion(id);
+    }
+
+    @Override
+    public Page<EventResponseDTO> findAll(Pageable pageable) {
+        return cache.getListing(ListingKey.of("all", pageable), () -> delegate.findAll(pageable));
+    }
+
+    @Override
+    public Page<EventResponseDTO> findAll(Pageable pageable, CountStrategy count) {
+        return cache.getListing(ListingKey.of("all", pageable, count), () -> delegate.findAll(pageable, count));
+    }
+
+    @Override
+    public SliceResponse<EventResponseDTO> scrollAll(String cursor, int size) {
+        return delegate.scrollAll(cursor, size);
+    }
+
+    @Override
+    public Page<EventResponseDTO> findByEstado(EstadoEvento estado, Pageable pageable) {
+        return cache.getListing(ListingKey.of("estado", pageable, estado),
+                () -> delegate.findByEstado(estado, pageable));
+    }
+
+    @Override
+    public Page<EventResponseDTO> findByEstado(EstadoEvento estado, Pageable pageable, CountStrategy count) {
+        return cache.getListing(ListingKey.of("estado", pageable, estado, count),
+                () -> delegate.findByEstado(estado, pageable, count));
+    }
+
+    @Override
+    public Page<EventResponseDTO> findBetweenDates(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return cache.getListing(ListingKey.of("fechas", pageable, startDate, endDate),
+                () -> delegate.findBetweenDates(startDate, endDate, pageable));
+    }
+
+    @Override
+    public Page<EventResponseDTO> findBetweenDates(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable,
+                                                   CountStrategy count) {
+        return cache.getListing(ListingKey.of("fechas", pageable, startDate, endDate, count),
+                () -> delegate.findBetweenDates(startDate, endDate, pageable, count));
+    }
+
+    @Override
+    public Page<EventResponseDTO> search(String query, Pageable pageable) {
+        return delegate.search(query, pageable);
+    }
+
+    @Override
+    public Page<EventResponseDTO> search(String query, Pageable pageable, CountStrategy count) {
+        return delegate.search(query, pageable, count);
+    }
+
+    @Override
+    public EventResponseDTO create(Event event) {
+        return delegate.create(event);
+    }
+
+    @Override
+    public EventResponseDTO createFromDto(EventCreateDTO createDto) {
+        return delegate.createFromDto(createDto);
+    }
+
+    @Override
+    public EventResponseDTO update(UUID id, EventUpdateDTO updateDto) {
+        return delegate.update(id, updateDto);
+    }
+
+    @Override
+    public void delete(UUID id) {
+        delegate.delete(id);
+    }
+
+    @Override
+    public EventResponseDTO changeStatus(UUID eventId, EstadoEvento newStatus) {
+        return delegate.changeStatus(eventId, newStatus);
+    }
+}
@@ -1,24 +1,36 @@
 package com.tickets.ravetix.service.impl;
 
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.dto.eventhistory.EventRatingResponseDTO;
 import com.tickets.ravetix.dto.mapper.EventHistoryMapper;
 import com.tickets.ravetix.entity.Event;
 import com.tickets.ravetix.entity.EventHistory;
+import com.tickets.ravetix.entity.EventRating;
 import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.exception.ResourceNotFoundException;
 import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.pagination.PageCounter;
+import com.tickets.ravetix.rating.EventRatingAggregator;
 import com.tickets.ravetix.repository.EventHistoryRepository;
+import com.tickets.ravetix.repository.EventRatingRepository;
 import com.tickets.ravetix.repository.EventRepository;
 import com.tickets.ravetix.repository.UserRepository;
 import com.tickets.ravetix.service.interfac.EventHistoryService;
+import com.tickets.ravetix.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -30,6 +42,9 @@ public class EventHistoryServiceImpl implements EventHistoryService {
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final EventHistoryMapper eventHistoryMapper;
+    private final PageCounter pageCounter;
+    private final EventRatingRepository eventRatingRepository;
+    private final EventRatingAggregator eventRatingAggregator;
 
     /**
      * Obtiene el historial de eventos por su identificador único.
@@ -66,6 +81,28 @@ public class EventHistoryServiceImpl implements EventHistoryService {
                 .map(eventHistoryMapper::toDto);
     }
 
+    /**
+     * Obtiene el historial de eventos de un usuario, calculando el total con la estrategia indicada.
+     *
+     * @param userId Identificador único del usuario.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Página de historiales encontrados.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventHistoryResponseDTO> getEventHistoryByUserId(UUID userId, Pageable pageable, CountStrategy count) {
+        log.info("Fetching event history for user ID: {}", userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return pageCounter.page("history.user", List.of(userId), pageable, count,
+                        p -> eventHistoryRepository.findSliceByUsuarioId(userId, p),
+                        () -> eventHistoryRepository.countByUsuarioId(userId))
+                .map(eventHistoryMapper::toDto);
+    }
+
     /**
      * Obtiene el historial de eventos de un evento específico, paginado.
      *
@@ -85,6 +122,70 @@ public class EventHistoryServiceImpl implements EventHistoryService {
                 .map(eventHistoryMapper::toDto);
     }
 
+    /**
+     * Obtiene el historial de eventos de un evento, calculando el total con la estrategia indicada.
+     *
+     * @param eventId Identificador único del evento.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Página de historiales encontrados.
+     * @throws ResourceNotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventHistoryResponseDTO> getEventHistoryByEventId(UUID eventId, Pageable pageable, CountStrategy count) {
+        log.info("Fetching event history for event ID: {}", eventId);
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        return pageCounter.page("history.event", List.of(eventId), pageable, count,
+                        p -> eventHistoryRepository.findSliceByEventoId(eventId, p),
+                        () -> eventHistoryRepository.countByEventoId(eventId))
+                .map(eventHistoryMapper::toDto);
+    }
+
+    /**
+     * Recorre el historial de eventos de un usuario por cursor, del más reciente al más antiguo.
+     *
+     * @param userId Identificador único del usuario.
+     * @param cursor Cursor de la página anterior; vacío para la primera.
+     * @param size Tamaño de página.
+     * @return Página de historiales con el cursor de la siguiente.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<EventHistoryResponseDTO> scrollEventHistoryByUserId(UUID userId, String cursor, int size) {
+        log.info("Scrolling event history for user ID: {}", userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        Window<EventHistory> history = eventHistoryRepository.findByUsuarioId(userId,
+                KeysetCursor.decode(cursor), KeysetCursor.SORT, KeysetCursor.limit(size));
+        return KeysetCursor.toSlice(history, size, eventHistoryMapper::toDto);
+    }
+
+    /**
+     * Recorre el historial de eventos de un evento por cursor, del más reciente al más antiguo.
+     *
+     * @param eventId Identificador único del evento.
+     * @param cursor Cursor de la página anterior; vacío para la primera.
+     * @param size Tamaño de página.
+     * @return Página de historiales con el cursor de la siguiente.
+     * @throws ResourceNotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<EventHistoryResponseDTO> scrollEventHistoryByEventId(UUID eventId, String cursor, int size) {
+        log.info("Scrolling event history for event ID: {}", eventId);
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        Window<EventHistory> history = eventHistoryRepository.findByEventoId(eventId,
+                KeysetCursor.decode(cursor), KeysetCursor.SORT, KeysetCursor.limit(size));
+        return KeysetCursor.toSlice(history, size, eventHistoryMapper::toDto);
+    }
+
     /**
      * Confirma la asistencia de un usuario a un evento, creando o actualizando el historial correspondiente.
      *
@@ -125,6 +226,7 @@ public class EventHistoryServiceImpl implements EventHistoryService {
 
     /**
      * Registra la calificación y comentario de un usuario para un evento, validando el rango de la calificación.
+     * El agregado de calificaciones del evento se actualiza en la misma transacción.
      *
      * @param eventId Identificador único del evento.
      * @param userId Identificador único del usuario.
@@ -155,13 +257,75 @@ public class EventHistoryServiceImpl implements EventHistoryService {
                 .orElseThrow(() -> new ValidationException("Validación fallida", "El usuario no tiene un historial para este evento"));
         
         // Actualizar calificación y comentario
+        Integer previous = eventHistory.getCalificacion();
         eventHistory.setCalificacion(rating);
         eventHistory.setComentario(comment);
         eventHistory.setFechaCalificacion(LocalDateTime.now());
         
         EventHistory savedHistory = eventHistoryRepository.save(eventHistory);
+        // El agregado se recalcula desde la tabla si no existe: el cambio debe estar ya escrito
+        eventHistoryRepository.flush();
+        eventRatingAggregator.apply(eventId, previous, rating);
         log.info("Event ID: {} rated by user ID: {} with rating: {}", eventId, userId, rating);
         
         return eventHistoryMapper.toDto(savedHistory);
     }
+
+    /**
+     * Obtiene el resumen de calificaciones de un evento desde su agregado, sin recorrer el historial.
+     *
+     * @param eventId Identificador único del evento.
+     * @return DTO con el número de calificaciones, la media y la distribución por estrellas.
+     * @throws ResourceNotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventRatingResponseDTO getEventRatings(UUID eventId) {
+        log.info("Fetching ratings for event ID: {}", eventId);
+        EventRating rating = eventRatingRepository.findByEventoId(eventId).orElseGet(() -> {
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException("Event", "id", eventId);
+            }
+            EventRating empty = new EventRating();
+            empty.setEventoId(eventId);
+            return empty;
+        });
+        return toRatingDto(rating);
+    }
+
+    /**
+     * Recalcula el agregado de calificaciones de un evento desde su historial.
+     *
+     * @param eventId Identificador único del evento.
+     * @return DTO con el resumen recalculado.
+     * @throws ResourceNotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional
+    public EventRatingResponseDTO rebuildEventRatings(UUID eventId) {
+        log.info("Rebuilding ratings for event ID: {}", eventId);
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        eventRatingAggregator.rebuild(eventId);
+        return eventRatingRepository.findByEventoId(eventId)
+                .map(this::toRatingDto)
+                .orElseThrow(() -> new ResourceNotFoundException("EventRating", "eventoId", eventId));
+    }
+
+    private EventRatingResponseDTO toRatingDto(EventRating rating) {
+        Map<Integer, Long> distribucion = new LinkedHashMap<>();
+        distribucion.put(1, rating.getEstrellas1());
+        distribucion.put(2, rating.getEstrellas2());
+        distribucion.put(3, rating.getEstrellas3());
+        distribucion.put(4, rating.getEstrellas4());
+        distribucion.put(5, rating.getEstrellas5());
+        long total = rating.getTotalCalificaciones();
+        return EventRatingResponseDTO.builder()
+                .eventoId(rating.getEventoId())
+                .totalCalificaciones(total)
+                .promedio(total == 0 ? null : Math.round(rating.getSumaCalificaciones() * 100.0 / total) / 100.0)
+                .distribucion(distribucion)
+                .build();
+    }
 }
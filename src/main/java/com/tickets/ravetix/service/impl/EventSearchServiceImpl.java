@@ -0,0 +1,266 @@
+package com.tickets.ravetix.service.impl;
+
+import com.tickets.ravetix.dto.event.EventFacetResponseDTO;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.dto.event.EventSuggestionDTO;
+import com.tickets.ravetix.dto.mapper.EventMapper;
+import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.exception.event.EventException;
+import com.tickets.ravetix.pagination.CountedPage;
+import com.tickets.ravetix.pagination.PageCounter;
+import com.tickets.ravetix.repository.EventRepository;
+import com.tickets.ravetix.search.AutocompleteIndex;
+import com.tickets.ravetix.search.CatalogIndexer;
+import com.tickets.ravetix.search.DiscoveryIndex;
+import com.tickets.ravetix.search.DiscoveryQuery;
+import com.tickets.ravetix.search.EventSearchIndex;
+import com.tickets.ravetix.search.EventSearchQuery;
+import com.tickets.ravetix.search.FacetIndex;
+import com.tickets.ravetix.search.FacetQuery;
+import com.tickets.ravetix.search.ScheduleIndex;
+import com.tickets.ravetix.service.interfac.EventSearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventSearchServiceImpl implements EventSearchService {
+
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final double KM_PER_DEGREE = 111.195;
+
+    private final EventSearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final DiscoveryIndex discoveryIndex;
+    private final ScheduleIndex scheduleIndex;
+    private final FacetIndex facetIndex;
+    private final CatalogIndexer catalogIndexer;
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final PageCounter pageCounter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Busca eventos por texto en el índice en memoria y carga solo los eventos de la página,
+     * en el orden de relevancia. Mientras el índice se carga al arrancar, busca con {@code LIKE}
+     * en la base de datos.
+     *
+     * @param query Texto y filtros de estado y fecha.
+     * @param pageable Página pedida; el orden se ignora.
+     * @param count Estrategia de cuenta de la búsqueda en base de datos; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> search(EventSearchQuery query, Pageable pageable, CountStrategy count) {
+        log.debug("Searching events with query: {}", query);
+        if (!catalogIndexer.isReady()) {
+            return searchDatabase(query, pageable, count);
+        }
+
+        EventSearchIndex.Result result = meterRegistry.timer("events.search")
+                .record(() -> searchIndex.search(query, pageable.getOffset(), pageable.getPageSize()));
+        return load(result.ids(), pageable, result.total());
+    }
+
+    /**
+     * Busca eventos por ciudad y/o distancia en el índice de descubrimiento y carga solo los eventos
+     * de la página. Mientras el índice se carga al arrancar, busca en la base de datos por ciudad y
+     * por el rectángulo que contiene el círculo, ordenando por fecha.
+     *
+     * @param query Lugar, radio y filtros de estado y fecha.
+     * @param pageable Página pedida; el orden se ignora.
+     * @param count Estrategia de cuenta de la búsqueda en base de datos; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> discover(DiscoveryQuery query, Pageable pageable, CountStrategy count) {
+        log.debug("Discovering events with query: {}", query);
+        validate(query);
+        if (!catalogIndexer.isReady()) {
+            return discoverDatabase(query, pageable, count);
+        }
+
+        DiscoveryIndex.Result result = meterRegistry.timer("events.discover")
+                .record(() -> discoveryIndex.search(query, pageable.getOffset(), pageable.getPageSize()));
+        return load(result.ids(), pageable, result.total());
+    }
+
+    /**
+     * Busca en el índice de fechas los eventos en curso en algún momento de la ventana y carga solo
+     * los eventos de la página, por fecha de inicio. Mientras el índice se carga al arrancar, busca
+     * el solapamiento en la base de datos.
+     *
+     * @param desde Principio de la ventana; si se omite, ahora.
+     * @param hasta Final de la ventana; {@code null} para no acotarla.
+     * @param estado Estado de los eventos; {@code null} para cualquiera.
+     * @param pageable Página pedida; el orden se ignora.
+     * @param count Estrategia de cuenta de la búsqueda en base de datos; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> happening(LocalDateTime desde, LocalDateTime hasta, EstadoEvento estado,
+                                            Pageable pageable, CountStrategy count) {
+        LocalDateTime from = desde != null ? desde : LocalDateTime.now();
+        log.debug("Fetching events happening between {} and {}", from, hasta);
+        if (hasta != null && hasta.isBefore(from)) {
+            throw new ValidationException("Validación fallida", "El final de la ventana no puede ser anterior al principio");
+        }
+        if (!catalogIndexer.isReady()) {
+            return happeningDatabase(from, hasta != null ? hasta : MAX_DATE, estado, pageable, count);
+        }
+
+        ScheduleIndex.Result result = meterRegistry.timer("events.happening")
+                .record(() -> scheduleIndex.overlapping(from, hasta, estado, pageable.getOffset(), pageable.getPageSize()));
+        return load(result.ids(), pageable, result.total());
+    }
+
+    /**
+     * Filtra eventos con los bitmaps del índice de facetas y carga solo los eventos de la página,
+     * por fecha de inicio. Las cuentas de facetas solo existen en memoria, así que mientras el
+     * índice se carga al arrancar responde 503.
+     *
+     * @param query Valores pedidos de cada faceta.
+     * @param pageable Página pedida; el orden se ignora.
+     * @return Página de eventos y cuentas por faceta.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventFacetResponseDTO facets(FacetQuery query, Pageable pageable) {
+        log.debug("Filtering events by facets: {}", query);
+        if (!query.rangosPrecio().isEmpty() && !facetIndex.priceBands().containsAll(query.rangosPrecio())) {
+            throw new ValidationException("Validación fallida",
+                    "Los rangos de precio válidos son " + String.join(", ", facetIndex.priceBands()));
+        }
+        if (!catalogIndexer.isReady()) {
+            throw new EventException("Índice de facetas no disponible",
+                    "El catálogo se está cargando; vuelva a intentarlo en unos segundos", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        FacetIndex.Result result = meterRegistry.timer("events.facets")
+                .record(() -> facetIndex.search(query, pageable.getOffset(), pageable.getPageSize()));
+        return EventFacetResponseDTO.builder()
+                .content(load(result.ids(), pageable, result.total()).getContent())
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(result.total())
+                .facetas(result.facetas())
+                .build();
+    }
+
+    /**
+     * Sugiere textos para el buscador desde el índice de autocompletado, sin consultar
+     * la base de datos.
+     *
+     * @param text Texto escrito.
+     * @param limit Número máximo de sugerencias.
+     * @return Sugerencias de más a menos popular.
+     */
+    @Override
+    public List<EventSuggestionDTO> suggest(String text, int limit) {
+        if (limit < 1 || limit > AutocompleteIndex.MAX_SUGGESTIONS) {
+            throw new ValidationException("Validación fallida",
+                    "El límite debe estar entre 1 y " + AutocompleteIndex.MAX_SUGGESTIONS);
+        }
+        return autocompleteIndex.suggest(text, limit).stream()
+                .map(suggestion -> EventSuggestionDTO.builder()
+                        .tipo(suggestion.tipo())
+                        .texto(suggestion.texto())
+                        .eventoId(suggestion.eventoId())
+                        .build())
+                .toList();
+    }
+
+    private Page<EventResponseDTO> load(List<UUID> ids, Pageable pageable, long total) {
+        Map<UUID, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<EventResponseDTO> content = ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .map(eventMapper::toDto)
+                .toList();
+        return new CountedPage<>(content, pageable, total, CountStrategy.EXACT, true);
+    }
+
+    private void validate(DiscoveryQuery query) {
+        if ((query.latitud() == null) != (query.longitud() == null)) {
+            throw new ValidationException("Validación fallida", "La latitud y la longitud deben indicarse juntas");
+        }
+        if (!query.hasCenter() && (query.ciudad() == null || query.ciudad().isBlank())) {
+            throw new ValidationException("Validación fallida", "Debe indicar una ciudad o unas coordenadas");
+        }
+        if (query.hasCenter() && (Math.abs(query.latitud()) > 90 || Math.abs(query.longitud()) > 180)) {
+            throw new ValidationException("Validación fallida", "Las coordenadas no son válidas");
+        }
+        if (query.radioKm() <= 0 || query.radioKm() > DiscoveryIndex.MAX_RADIUS_KM) {
+            throw new ValidationException("Validación fallida",
+                    "El radio debe ser mayor que 0 y de como mucho " + (int) DiscoveryIndex.MAX_RADIUS_KM + " km");
+        }
+    }
+
+    private Page<EventResponseDTO> discoverDatabase(DiscoveryQuery query, Pageable pageable, CountStrategy count) {
+        String ciudad = query.ciudad() != null ? query.ciudad().trim().toLowerCase() : "";
+        String pais = query.pais() != null ? query.pais().trim().toLowerCase() : "";
+        LocalDateTime desde = query.desde() != null ? query.desde() : MIN_DATE;
+        LocalDateTime hasta = query.hasta() != null ? query.hasta() : MAX_DATE;
+        boolean geo = query.hasCenter();
+        double lat = geo ? query.latitud() : 0;
+        double lon = geo ? query.longitud() : 0;
+        double dLat = query.radioKm() / KM_PER_DEGREE;
+        double dLon = Math.min(180, query.radioKm() / (KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(lat)))));
+        Pageable byStart = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by("fechaHoraInicio", "id"));
+        return pageCounter.page("events.discover",
+                        List.of(ciudad, pais, String.valueOf(query.estado()), desde, hasta, geo, lat, lon, query.radioKm()),
+                        byStart, count,
+                        p -> eventRepository.discoverSlice(ciudad, pais, query.estado(), desde, hasta,
+                                geo, lat - dLat, lat + dLat, lon - dLon, lon + dLon, p),
+                        () -> eventRepository.countDiscover(ciudad, pais, query.estado(), desde, hasta,
+                                geo, lat - dLat, lat + dLat, lon - dLon, lon + dLon))
+                .map(eventMapper::toDto);
+    }
+
+    private Page<EventResponseDTO> happeningDatabase(LocalDateTime desde, LocalDateTime hasta, EstadoEvento estado,
+                                                     Pageable pageable, CountStrategy count) {
+        Pageable byStart = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by("fechaHoraInicio", "id"));
+        return pageCounter.page("events.happening", List.of(desde, hasta, String.valueOf(estado)), byStart, count,
+                        p -> eventRepository.findSliceOverlapping(desde, hasta, estado, p),
+                        () -> eventRepository.countOverlapping(desde, hasta, estado))
+                .map(eventMapper::toDto);
+    }
+
+    private Page<EventResponseDTO> searchDatabase(EventSearchQuery query, Pageable pageable, CountStrategy count) {
+        String text = query.text().trim();
+        LocalDateTime desde = query.desde() != null ? query.desde() : MIN_DATE;
+        LocalDateTime hasta = query.hasta() != null ? query.hasta() : MAX_DATE;
+        return pageCounter.page("events.search", List.of(text, String.valueOf(query.estado()), desde, hasta),
+                        pageable, count,
+                        p -> eventRepository.searchSlice(text, query.estado(), desde, hasta, p),
+                        () -> eventRepository.countSearch(text, query.estado(), desde, hasta))
+                .map(eventMapper::toDto);
+    }
+}
@@ -1,24 +1,38 @@
 package com.tickets.ravetix.service.impl;
 
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.event.EventCreateDTO;
 import com.tickets.ravetix.dto.event.EventResponseDTO;
 import com.tickets.ravetix.dto.event.EventUpdateDTO;
 import com.tickets.ravetix.dto.mapper.EventMapper;
 import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.enums.EstadoEvento;
 import com.tickets.ravetix.exception.event.EventException;
 import com.tickets.ravetix.exception.ResourceNotFoundException;
+import com.tickets.ravetix.pagination.CountedPage;
+import com.tickets.ravetix.pagination.PageCounter;
 import com.tickets.ravetix.repository.EventRepository;
+import com.tickets.ravetix.repository.TicketRepository;
+import com.tickets.ravetix.repository.VersionStamp;
+import com.tickets.ravetix.repository.ZoneRepository;
 import com.tickets.ravetix.service.interfac.EventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.tickets.ravetix.util.EventStatisticsCalculator;
+import com.tickets.ravetix.util.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -27,7 +41,11 @@ import java.util.UUID;
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
+    private final ZoneRepository zoneRepository;
+    private final TicketRepository ticketRepository;
     private final EventMapper eventMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageCounter pageCounter;
 
     /**
      * Obtiene todos los eventos paginados.
@@ -51,6 +69,53 @@ public class EventServiceImpl implements EventService {
         return events.map(eventMapper::toDto);
     }
 
+    /**
+     * Obtiene todos los eventos paginados, calculando el total con la estrategia indicada.
+     *
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> findAll(Pageable pageable, CountStrategy count) {
+        log.debug("Fetching all events with pagination: {}", pageable);
+        CountedPage<Event> events = pageCounter.pageTable("events", "events", pageable, count,
+                eventRepository::findSliceBy, eventRepository::count);
+
+        // Actualizar estadísticas de cada evento
+        events.getContent().forEach(event -> {
+            EventStatisticsCalculator.calculateEventStatistics(event);
+            event.getZonas().forEach(zone ->
+                EventStatisticsCalculator.calculateZoneStatistics(zone));
+        });
+
+        return events.map(eventMapper::toDto);
+    }
+
+    /**
+     * Recorre todos los eventos por cursor, del más reciente al más antiguo.
+     *
+     * @param cursor Cursor de la página anterior; vacío para la primera.
+     * @param size Tamaño de página.
+     * @return Página de eventos con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<EventResponseDTO> scrollAll(String cursor, int size) {
+        log.debug("Scrolling events from cursor: {}", cursor);
+        Window<Event> events = eventRepository.findAllBy(
+                KeysetCursor.decode(cursor), KeysetCursor.SORT, KeysetCursor.limit(size));
+
+        events.getContent().forEach(event -> {
+            EventStatisticsCalculator.calculateEventStatistics(event);
+            event.getZonas().forEach(zone ->
+                EventStatisticsCalculator.calculateZoneStatistics(zone));
+        });
+
+        return KeysetCursor.toSlice(events, size, eventMapper::toDto);
+    }
+
     /**
      * Busca un evento por su identificador único.
      *
@@ -67,6 +132,26 @@ public class EventServiceImpl implements EventService {
         return eventMapper.toDto(event);
     }
 
+    /**
+     * Calcula los validadores HTTP de un evento a partir de su versión, la de sus zonas y el
+     * número de tickets vendidos, que es todo lo que interviene en su representación.
+     *
+     * @param id Identificador único del evento.
+     * @return ETag y última modificación del evento.
+     * @throws ResourceNotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(UUID id) {
+        VersionStamp event = eventRepository.findVersionStampById(id);
+        if (event.getCount() == 0) {
+            throw new ResourceNotFoundException("Event", "id", id);
+        }
+        return ResourceVersion.of(event,
+                zoneRepository.findVersionStampByEventoId(id),
+                ticketRepository.findVersionStampByEventoId(id));
+    }
+
     /**
      * Crea un nuevo evento a partir de una entidad Event, validando fechas y estado.
      *
@@ -107,6 +192,7 @@ public class EventServiceImpl implements EventService {
         
         Event savedEvent = eventRepository.save(event);
         log.info("Created event with id: {}", savedEvent.getId());
+        eventPublisher.publishEvent(new CatalogChangedEvent(savedEvent.getId(), CatalogChangeType.EVENT_CREATED));
         
         return eventMapper.toDto(savedEvent);
     }
@@ -163,6 +249,7 @@ public class EventServiceImpl implements EventService {
         eventMapper.updateEntity(updateDto, existingEvent);
         Event updatedEvent = eventRepository.save(existingEvent);
         log.info("Updated event with id: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangeType.EVENT_UPDATED));
         
         return eventMapper.toDto(updatedEvent);
     }
@@ -186,6 +273,7 @@ public class EventServiceImpl implements EventService {
         
         eventRepository.deleteById(id);
         log.info("Deleted event with id: {}", id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangeType.EVENT_DELETED));
     }
 
     /**
@@ -203,6 +291,24 @@ public class EventServiceImpl implements EventService {
                 .map(eventMapper::toDto);
     }
 
+    /**
+     * Obtiene eventos filtrados por estado, calculando el total con la estrategia indicada.
+     *
+     * @param estado Estado del evento a filtrar.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> findByEstado(EstadoEvento estado, Pageable pageable, CountStrategy count) {
+        log.debug("Fetching events with status: {}", estado);
+        return pageCounter.page("events.status", List.of(estado), pageable, count,
+                        p -> eventRepository.findSliceByEstado(estado, p),
+                        () -> eventRepository.countByEstado(estado))
+                .map(eventMapper::toDto);
+    }
+
     /**
      * Obtiene eventos entre dos fechas dadas.
      *
@@ -219,6 +325,26 @@ public class EventServiceImpl implements EventService {
                 .map(eventMapper::toDto);
     }
 
+    /**
+     * Obtiene eventos entre dos fechas dadas, calculando el total con la estrategia indicada.
+     *
+     * @param startDate Fecha de inicio.
+     * @param endDate Fecha de fin.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> findBetweenDates(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable,
+                                                   CountStrategy count) {
+        log.debug("Fetching events between {} and {}", startDate, endDate);
+        return pageCounter.page("events.dates", List.of(startDate, endDate), pageable, count,
+                        p -> eventRepository.findSliceBetweenDates(startDate, endDate, p),
+                        () -> eventRepository.countBetweenDates(startDate, endDate))
+                .map(eventMapper::toDto);
+    }
+
     /**
      * Busca eventos por un texto de búsqueda.
      *
@@ -234,6 +360,24 @@ public class EventServiceImpl implements EventService {
                 .map(eventMapper::toDto);
     }
 
+    /**
+     * Busca eventos por un texto de búsqueda, calculando el total con la estrategia indicada.
+     *
+     * @param query Texto de búsqueda.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Página de eventos encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventResponseDTO> search(String query, Pageable pageable, CountStrategy count) {
+        log.debug("Searching events with query: {}", query);
+        return pageCounter.page("events.search", List.of(query), pageable, count,
+                        p -> eventRepository.searchSlice(query, p),
+                        () -> eventRepository.countSearch(query))
+                .map(eventMapper::toDto);
+    }
+
     /**
      * Cambia el estado de un evento, validando la transición de estado.
      *
@@ -263,6 +407,7 @@ public class EventServiceImpl implements EventService {
         event.setEstado(newStatus);
         Event updatedEvent = eventRepository.save(event);
         log.info("Changed status of event {} to {}", eventId, newStatus);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangeType.EVENT_STATUS_CHANGED));
         
         return eventMapper.toDto(updatedEvent);
     }
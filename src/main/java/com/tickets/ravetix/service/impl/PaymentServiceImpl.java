@@ -1,5 +1,8 @@
 package com.tickets.ravetix.service.impl;
 
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.domain.TicketCancelledEvent;
+import com.tickets.ravetix.domain.TicketSoldEvent;
 import com.tickets.ravetix.dto.mapper.PaymentMapper;
 import com.tickets.ravetix.dto.payment.PaymentRequestDTO;
 import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
@@ -7,28 +10,29 @@ import com.tickets.ravetix.entity.Payment;
 import com.tickets.ravetix.entity.Ticket;
 import com.tickets.ravetix.entity.User;
 import com.tickets.ravetix.entity.Zone;
-import com.tickets.ravetix.entity.EventHistory;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.enums.EstadoPago;
 import com.tickets.ravetix.enums.TicketState;
 import com.tickets.ravetix.exception.ResourceNotFoundException;
 import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.pagination.PageCounter;
 import com.tickets.ravetix.repository.PaymentRepository;
 import com.tickets.ravetix.repository.TicketRepository;
 import com.tickets.ravetix.repository.UserRepository;
-import com.tickets.ravetix.repository.EventHistoryRepository;
 import com.tickets.ravetix.service.interfac.PaymentService;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.Collections;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -42,7 +46,8 @@ public class PaymentServiceImpl implements PaymentService {
     private final UserRepository userRepository;
     private final TicketRepository ticketRepository;
     private final PaymentMapper paymentMapper;
-    private final EventHistoryRepository eventHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageCounter pageCounter;
 
     /**
      * Crea un nuevo pago para un ticket, validando la existencia del usuario y ticket, el estado del ticket y el monto.
@@ -138,6 +143,28 @@ public class PaymentServiceImpl implements PaymentService {
                 .map(paymentMapper::toDto);
     }
 
+    /**
+     * Obtiene los pagos de un usuario, calculando el total con la estrategia indicada.
+     *
+     * @param userId Identificador único del usuario.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Page<PaymentResponseDTO> página de pagos encontrados.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PaymentResponseDTO> getPaymentsByUserId(UUID userId, Pageable pageable, CountStrategy count) {
+        log.info("Fetching payments for user ID: {}", userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return pageCounter.page("payments.user", List.of(userId), pageable, count,
+                        p -> paymentRepository.findSliceByUsuarioId(userId, p),
+                        () -> paymentRepository.countByUsuarioId(userId))
+                .map(paymentMapper::toDto);
+    }
+
     /**
      * Obtiene una lista paginada de pagos asociados a un ticket específico.
      *
@@ -244,8 +271,11 @@ public class PaymentServiceImpl implements PaymentService {
             payment.setEstado(EstadoPago.COMPLETADO);
             paymentRepository.save(payment);
             
-            // Crear entrada en el historial de eventos
-            createEventHistory(ticket);
+            // Notificar la venta (series temporales de ventas, historial del comprador y caché del
+            // catálogo, tras el commit)
+            eventPublisher.publishEvent(new TicketSoldEvent(
+                    zona.getEvento().getId(), zona.getId(), payment.getUsuario().getId(), payment.getMonto(), Instant.now()));
+            eventPublisher.publishEvent(new CatalogChangedEvent(zona.getEvento().getId(), CatalogChangeType.TICKETS_CHANGED));
             
             log.info("Payment processed successfully for ID: {}", paymentId);
             return paymentMapper.toDto(payment);
@@ -263,27 +293,6 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
     
-    private void createEventHistory(Ticket ticket) {
-        try {
-            User user = userRepository.findById(ticket.getUsuario().getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", ticket.getUsuario().getId()));
-                    
-            EventHistory eventHistory = new EventHistory();
-            eventHistory.setEvento(ticket.getEvento());
-            eventHistory.setUsuario(user);
-            eventHistory.setAsistenciaConfirmada(false);
-            eventHistory.setFechaConfirmacionAsistencia(LocalDateTime.now());
-            
-            eventHistoryRepository.save(eventHistory);
-            log.info("Created event history entry for user ID: {} and event ID: {}", 
-                    user.getId(), ticket.getEvento().getId());
-                    
-        } catch (Exception e) {
-            log.error("Error creating event history entry: {}", e.getMessage(), e);
-            // No lanzamos excepción para no afectar el flujo de pago
-        }
-    }
-
     /**
      * Procesa el reembolso de un pago completado, actualizando el estado del pago y del ticket asociado.
      *
@@ -317,6 +326,8 @@ public class PaymentServiceImpl implements PaymentService {
         
         Payment updatedPayment = paymentRepository.save(payment);
         log.info("Payment refunded successfully for ID: {}", paymentId);
+        eventPublisher.publishEvent(new CatalogChangedEvent(ticket.getEvento().getId(), CatalogChangeType.TICKETS_CHANGED));
+        eventPublisher.publishEvent(new TicketCancelledEvent(ticket.getId(), ticket.getEvento().getId()));
         
         return paymentMapper.toDto(updatedPayment);
     }
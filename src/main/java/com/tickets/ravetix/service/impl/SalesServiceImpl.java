@@ -0,0 +1,75 @@
+package com.tickets.ravetix.service.impl;
+
+import com.tickets.ravetix.dto.sales.SalesPointDTO;
+import com.tickets.ravetix.dto.sales.SalesTimeSeriesResponseDTO;
+import com.tickets.ravetix.entity.SalesRollup;
+import com.tickets.ravetix.enums.SalesResolution;
+import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.repository.SalesRollupRepository;
+import com.tickets.ravetix.sales.SalesTimeSeriesStore;
+import com.tickets.ravetix.service.interfac.SalesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SalesServiceImpl implements SalesService {
+
+    private final SalesTimeSeriesStore salesTimeSeriesStore;
+    private final SalesRollupRepository salesRollupRepository;
+    private final Clock clock;
+
+    /**
+     * Obtiene la serie temporal de ventas en memoria de un evento. No accede a la base de datos.
+     *
+     * @param eventId ID del evento.
+     * @param zoneId ID de la zona, o nulo para sumar todas las zonas.
+     * @param resolution Resolución de la serie.
+     * @param points Número de puntos solicitados.
+     * @return Serie temporal de ventas.
+     */
+    @Override
+    public SalesTimeSeriesResponseDTO getTimeSeries(UUID eventId, UUID zoneId, SalesResolution resolution, int points) {
+        return SalesTimeSeriesResponseDTO.builder()
+                .eventoId(eventId)
+                .zonaId(zoneId)
+                .resolucion(resolution)
+                .puntos(salesTimeSeriesStore.snapshot(eventId, zoneId, resolution, points, clock.instant()))
+                .build();
+    }
+
+    /**
+     * Obtiene las ventas compactadas por minuto de un evento, sumando los parciales de cada nodo y zona.
+     *
+     * @param eventId ID del evento.
+     * @param from Inicio del rango.
+     * @param to Fin del rango.
+     * @return Puntos agregados por minuto, en orden cronológico.
+     * @throws ValidationException si el rango de fechas no es válido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesPointDTO> getHistory(UUID eventId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Validación fallida", "La fecha de inicio debe ser anterior a la fecha de fin");
+        }
+        Map<LocalDateTime, SalesPointDTO> byMinute = new TreeMap<>();
+        for (SalesRollup rollup : salesRollupRepository
+                .findByEventoIdAndInicioBucketBetweenOrderByInicioBucketAsc(eventId, from, to)) {
+            SalesPointDTO point = byMinute.computeIfAbsent(rollup.getInicioBucket(),
+                    inicio -> new SalesPointDTO(inicio, 0L, BigDecimal.ZERO));
+            point.setEntradasVendidas(point.getEntradasVendidas() + rollup.getEntradasVendidas());
+            point.setIngresos(point.getIngresos().add(rollup.getIngresos()));
+        }
+        return List.copyOf(byMinute.values());
+    }
+}
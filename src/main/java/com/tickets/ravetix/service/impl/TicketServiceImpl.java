@@ -1,26 +1,41 @@
 package com.tickets.ravetix.service.impl;
 
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.domain.TicketCancelledEvent;
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.mapper.TicketMapper;
+import com.tickets.ravetix.dto.ticket.TicketCredentialDTO;
 import com.tickets.ravetix.dto.ticket.TicketRequestDTO;
 import com.tickets.ravetix.dto.ticket.TicketResponseDTO;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.enums.TicketState;
 import com.tickets.ravetix.entity.*;
+import com.tickets.ravetix.exception.AccessDeniedException;
 import com.tickets.ravetix.exception.NotFoundException;
 import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.gate.TicketCredentials;
+import com.tickets.ravetix.pagination.PageCounter;
 import com.tickets.ravetix.repository.EventRepository;
 import com.tickets.ravetix.repository.TicketRepository;
 import com.tickets.ravetix.repository.UserRepository;
+import com.tickets.ravetix.repository.VersionStamp;
 import com.tickets.ravetix.repository.ZoneRepository;
 import com.tickets.ravetix.service.interfac.TicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.tickets.ravetix.util.EventStatisticsCalculator;
+import com.tickets.ravetix.util.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -32,6 +47,9 @@ public class TicketServiceImpl implements TicketService {
     private final ZoneRepository zoneRepository;
     private final UserRepository userRepository;
     private final TicketMapper ticketMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageCounter pageCounter;
+    private final TicketCredentials ticketCredentials;
 
     /**
      * Crea un nuevo ticket para un usuario en una zona específica de un evento, validando la existencia de las entidades
@@ -83,18 +101,34 @@ public class TicketServiceImpl implements TicketService {
         // Actualizar estadísticas del evento y zona
         EventStatisticsCalculator.calculateEventStatistics(event);
         EventStatisticsCalculator.calculateZoneStatistics(zone);
+        eventPublisher.publishEvent(new CatalogChangedEvent(event.getId(), CatalogChangeType.TICKETS_CHANGED));
         
         return ticketMapper.toDto(savedTicket);
     }
     
     /**
-     * Genera un código QR único para el ticket. Método auxiliar que puede ser implementado según los requisitos del sistema.
+     * Emite el código de acceso firmado de un ticket, para mostrarlo como QR en la puerta del evento.
+     * La puerta lo valida sin consultar la base de datos, así que solo se emite a su comprador.
      *
-     * @return String con el código QR generado.
+     * @param id Identificador único del ticket.
+     * @param userId Identificador del usuario autenticado que lo solicita.
+     * @return TicketCredentialDTO con el código y su ventana de validez.
+     * @throws NotFoundException si el ticket no existe.
+     * @throws AccessDeniedException si el ticket no es del usuario.
+     * @throws ValidationException si el ticket no está pagado.
      */
-    private String generateQrCode() {
-        // Implementa la generación del código QR aquí
-        return "QR-" + UUID.randomUUID().toString();
+    @Override
+    @Transactional(readOnly = true)
+    public TicketCredentialDTO getTicketCredential(UUID id, UUID userId) {
+        Ticket ticket = ticketRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Ticket no encontrado con ID: " + id));
+        if (userId == null || ticket.getUsuario() == null || !userId.equals(ticket.getUsuario().getId())) {
+            throw new AccessDeniedException("ticket");
+        }
+        if (ticket.getEstado() != TicketState.PAGADO && ticket.getEstado() != TicketState.USADO) {
+            throw new ValidationException("Validación fallida", "Solo los tickets pagados tienen código de acceso");
+        }
+        return ticketCredentials.issue(ticket);
     }
 
     /**
@@ -112,6 +146,24 @@ public class TicketServiceImpl implements TicketService {
                 .orElseThrow(() -> new NotFoundException("Ticket no encontrado con ID: " + id));
     }
 
+    /**
+     * Calcula los validadores HTTP de un ticket a partir de su versión y la del evento,
+     * la zona y el usuario que aparecen en su representación.
+     *
+     * @param id Identificador único del ticket.
+     * @return ETag y última modificación del ticket.
+     * @throws NotFoundException si el ticket no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getTicketVersion(UUID id) {
+        VersionStamp ticket = ticketRepository.findVersionStampById(id);
+        if (ticket.getCount() == 0) {
+            throw new NotFoundException("Ticket no encontrado con ID: " + id);
+        }
+        return ResourceVersion.of(ticket);
+    }
+
     /**
      * Obtiene una lista paginada de tickets asociados a un usuario específico.
      *
@@ -130,6 +182,27 @@ public class TicketServiceImpl implements TicketService {
                 .map(ticketMapper::toDto);
     }
 
+    /**
+     * Obtiene los tickets de un usuario, calculando el total con la estrategia indicada.
+     *
+     * @param userId Identificador único del usuario.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Page<TicketResponseDTO> página de tickets encontrados.
+     * @throws NotFoundException si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TicketResponseDTO> getTicketsByUserId(UUID userId, Pageable pageable, CountStrategy count) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Usuario no encontrado con ID: " + userId);
+        }
+        return pageCounter.page("tickets.user", List.of(userId), pageable, count,
+                        p -> ticketRepository.findSliceByUsuarioId(userId, p),
+                        () -> ticketRepository.countByUsuarioId(userId))
+                .map(ticketMapper::toDto);
+    }
+
     /**
      * Obtiene una lista paginada de tickets asociados a un evento específico.
      *
@@ -148,6 +221,67 @@ public class TicketServiceImpl implements TicketService {
                 .map(ticketMapper::toDto);
     }
 
+    /**
+     * Obtiene los tickets de un evento, calculando el total con la estrategia indicada.
+     *
+     * @param eventId Identificador único del evento.
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Page<TicketResponseDTO> página de tickets encontrados.
+     * @throws NotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TicketResponseDTO> getTicketsByEventId(UUID eventId, Pageable pageable, CountStrategy count) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Evento no encontrado con ID: " + eventId);
+        }
+        return pageCounter.page("tickets.event", List.of(eventId), pageable, count,
+                        p -> ticketRepository.findSliceByEventoId(eventId, p),
+                        () -> ticketRepository.countByEventoId(eventId))
+                .map(ticketMapper::toDto);
+    }
+
+    /**
+     * Recorre los tickets de un usuario por cursor, del más reciente al más antiguo.
+     *
+     * @param userId Identificador único del usuario.
+     * @param cursor Cursor de la página anterior; vacío para la primera.
+     * @param size Tamaño de página.
+     * @return SliceResponse<TicketResponseDTO> página de tickets con el cursor de la siguiente.
+     * @throws NotFoundException si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<TicketResponseDTO> scrollTicketsByUserId(UUID userId, String cursor, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Usuario no encontrado con ID: " + userId);
+        }
+        Window<Ticket> tickets = ticketRepository.findByUsuarioId(userId,
+                KeysetCursor.decode(cursor), KeysetCursor.SORT, KeysetCursor.limit(size));
+        return KeysetCursor.toSlice(tickets, size, ticketMapper::toDto);
+    }
+
+    /**
+     * Recorre los tickets de un evento por cursor, del más reciente al más antiguo.
+     *
+     * @param eventId Identificador único del evento.
+     * @param cursor Cursor de la página anterior; vacío para la primera.
+     * @param size Tamaño de página.
+     * @return SliceResponse<TicketResponseDTO> página de tickets con el cursor de la siguiente.
+     * @throws NotFoundException si el evento no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<TicketResponseDTO> scrollTicketsByEventId(UUID eventId, String cursor, int size) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Evento no encontrado con ID: " + eventId);
+        }
+        Window<Ticket> tickets = ticketRepository.findByEventoId(eventId,
+                KeysetCursor.decode(cursor), KeysetCursor.SORT, KeysetCursor.limit(size));
+        return KeysetCursor.toSlice(tickets, size, ticketMapper::toDto);
+    }
+
     /**
      * Cancela un ticket existente, validando que no haya sido previamente cancelado o utilizado. Actualiza el estado y registra el motivo de cancelación.
      * Puede ser extendido para incluir lógica de reembolso si es necesario.
@@ -179,6 +313,8 @@ public class TicketServiceImpl implements TicketService {
         ticket.setFechaActualizacion(LocalDateTime.now());
 
         ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new CatalogChangedEvent(ticket.getEvento().getId(), CatalogChangeType.TICKETS_CHANGED));
+        eventPublisher.publishEvent(new TicketCancelledEvent(ticketId, ticket.getEvento().getId()));
 
         // Aquí podrías agregar lógica para reembolsos si es necesario
     }
@@ -0,0 +1,226 @@
+package com.tickets.ravetix.service.impl;
+
+import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.dto.mapper.EventHistoryMapper;
+import com.tickets.ravetix.dto.mapper.PaymentMapper;
+import com.tickets.ravetix.dto.mapper.TicketMapper;
+import com.tickets.ravetix.dto.mapper.UserMapper;
+import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
+import com.tickets.ravetix.dto.ticket.TicketResponseDTO;
+import com.tickets.ravetix.dto.user.UserResponseDTO;
+import com.tickets.ravetix.enums.UserExpansion;
+import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.exception.user.UserException;
+import com.tickets.ravetix.repository.EventHistoryRepository;
+import com.tickets.ravetix.repository.PaymentRepository;
+import com.tickets.ravetix.repository.TicketRepository;
+import com.tickets.ravetix.repository.UserRepository;
+import com.tickets.ravetix.util.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Carga el perfil de un usuario junto con sus tickets, pagos e historial de eventos.
+ * <p>
+ * El perfil y cada recurso pedido se leen en paralelo en el pool del cargador, cada uno en su
+ * propia transacción de solo lectura y, por tanto, con su propia conexión, así que la respuesta
+ * tarda lo que la consulta más lenta y no la suma de todas. El hilo de la petición no toca la
+ * base de datos: con open-in-view, el EntityManager de la petición retendría la conexión hasta
+ * escribir la respuesta, también mientras espera al resto de lecturas. Solo se incluye la
+ * primera página de cada recurso, de los elementos más recientes a los más antiguos y con un
+ * máximo de {@code app.users.expand.max-size}; el resto se consulta en los endpoints paginados
+ * de cada recurso.
+ * </p>
+ * <p>
+ * El pool tiene {@code app.users.expand.threads} hilos y una cola de
+ * {@code app.users.expand.queue} tareas, lo que limita las conexiones que estas lecturas pueden
+ * ocupar. Con la cola llena la petición se rechaza con 503, como los hashes de
+ * {@link com.tickets.ravetix.security.BoundedPasswordEncoder}: ejecutar la lectura en el hilo de
+ * la petición la haría dentro del EntityManager de open-in-view.
+ * </p>
+ * <p>
+ * {@code app.users.expand.timeout} acota la espera del hilo de la petición, no las lecturas: al
+ * vencer se responde 503, pero las consultas que ya están en marcha siguen hasta terminar y
+ * mantienen su hilo y su conexión. Las que aún estaban en cola se descartan.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UserCompositeLoader {
+
+    private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final PaymentRepository paymentRepository;
+    private final EventHistoryRepository eventHistoryRepository;
+    private final UserMapper userMapper;
+    private final TicketMapper ticketMapper;
+    private final PaymentMapper paymentMapper;
+    private final EventHistoryMapper eventHistoryMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final int maxSize;
+    private final Duration timeout;
+
+    public UserCompositeLoader(
+            UserRepository userRepository,
+            TicketRepository ticketRepository,
+            PaymentRepository paymentRepository,
+            EventHistoryRepository eventHistoryRepository,
+            UserMapper userMapper,
+            TicketMapper ticketMapper,
+            PaymentMapper paymentMapper,
+            EventHistoryMapper eventHistoryMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.users.expand.threads:8}") int threads,
+            @Value("${app.users.expand.queue:64}") int queue,
+            @Value("${app.users.expand.max-size:100}") int maxSize,
+            @Value("${app.users.expand.timeout:5s}") Duration timeout) {
+        this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        this.paymentRepository = paymentRepository;
+        this.eventHistoryRepository = eventHistoryRepository;
+        this.userMapper = userMapper;
+        this.ticketMapper = ticketMapper;
+        this.paymentMapper = paymentMapper;
+        this.eventHistoryMapper = eventHistoryMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-expand-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.rejected = meterRegistry.counter("users.expand.rejected");
+        Gauge.builder("users.expand.queue", executor, pool -> pool.getQueue().size())
+                .description("Lecturas de recursos de usuario en espera")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga el perfil del usuario y los recursos pedidos.
+     *
+     * @param userId     ID del usuario.
+     * @param expansions Recursos a incluir; vacío para devolver solo el perfil.
+     * @param size       Elementos por recurso; se limita a {@code app.users.expand.max-size}.
+     * @return Perfil del usuario con los recursos pedidos.
+     * @throws NotFoundException si el usuario no existe.
+     * @throws UserException si el pool está saturado o las lecturas no terminan en
+     *                       {@code app.users.expand.timeout}.
+     */
+    public UserResponseDTO load(UUID userId, Set<UserExpansion> expansions, int size) {
+        long start = System.nanoTime();
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(size, maxSize)), KeysetCursor.SORT);
+
+        List<CompletableFuture<?>> submitted = new ArrayList<>(4);
+        CompletableFuture<UserResponseDTO> profile;
+        CompletableFuture<List<TicketResponseDTO>> tickets;
+        CompletableFuture<List<PaymentResponseDTO>> pagos;
+        CompletableFuture<List<EventHistoryResponseDTO>> historial;
+        try {
+            profile = load(submitted, true, () -> userRepository.findById(userId)
+                    .map(userMapper::toProfileDto)
+                    .orElseThrow(() -> new NotFoundException("User not found with id: " + userId)));
+            tickets = load(submitted, expansions.contains(UserExpansion.TICKETS),
+                    () -> ticketMapper.toDtoList(ticketRepository.findSliceByUsuarioId(userId, page).getContent()));
+            pagos = load(submitted, expansions.contains(UserExpansion.PAGOS),
+                    () -> paymentMapper.toDtoList(paymentRepository.findSliceByUsuarioId(userId, page).getContent()));
+            historial = load(submitted, expansions.contains(UserExpansion.HISTORIAL),
+                    () -> eventHistoryRepository.findSliceByUsuarioId(userId, page).map(eventHistoryMapper::toDto).getContent());
+        } catch (RejectedExecutionException e) {
+            submitted.forEach(future -> future.cancel(false));
+            rejected.increment();
+            log.warn("Expanding user {} rejected: {} reads already queued", userId, executor.getQueue().size());
+            throw new UserException("Servicio no disponible",
+                    "Demasiadas peticiones de datos asociados; reintente o use los endpoints paginados",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(profile, tickets, pagos, historial);
+        try {
+            all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Solo descarta las lecturas en cola; las que ya se ejecutan siguen hasta terminar
+            submitted.forEach(future -> future.cancel(false));
+            log.warn("Expanding user {} with {} timed out after {}", userId, expansions, timeout);
+            throw new UserException("Servicio no disponible",
+                    "Los datos asociados del usuario tardaron demasiado; reintente o use los endpoints paginados",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserException("Servicio no disponible", "La petición fue interrumpida",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        UserResponseDTO user = profile.join();
+        if (tickets.join() != null) {
+            user.setTickets(tickets.join());
+        }
+        if (pagos.join() != null) {
+            user.setPagos(pagos.join());
+        }
+        if (historial.join() != null) {
+            user.setHistorialEventos(historial.join());
+        }
+        meterRegistry.timer("users.expand").record(Duration.ofNanos(System.nanoTime() - start));
+        return user;
+    }
+
+    private <T> CompletableFuture<T> load(List<CompletableFuture<?>> submitted, boolean requested, Supplier<T> query) {
+        if (!requested) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<T> future =
+                CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> query.get()), executor);
+        submitted.add(future);
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
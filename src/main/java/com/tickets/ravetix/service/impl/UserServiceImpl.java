@@ -1,23 +1,31 @@
 package com.tickets.ravetix.service.impl;
 
-import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.domain.UserCredentialsChangedEvent;
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.mapper.UserMapper;
-import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
 import com.tickets.ravetix.dto.user.UserCreateDTO;
 import com.tickets.ravetix.dto.user.UserResponseDTO;
 import com.tickets.ravetix.dto.user.UserUpdateDTO;
 import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.UserExpansion;
 import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.pagination.PageCounter;
+import com.tickets.ravetix.rating.EventRatingAggregator;
 import com.tickets.ravetix.repository.UserRepository;
-import com.tickets.ravetix.service.interfac.EventHistoryService;
-import com.tickets.ravetix.service.interfac.PaymentService;
+import com.tickets.ravetix.security.jwt.TokenRevocationList;
 import com.tickets.ravetix.service.interfac.UserService;
+import com.tickets.ravetix.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -29,8 +37,11 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PaymentService paymentService;
-    private final EventHistoryService eventHistoryService;
+    private final UserCompositeLoader compositeLoader;
+    private final PageCounter pageCounter;
+    private final TokenRevocationList tokenRevocations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventRatingAggregator ratingAggregator;
 
     /**
      * Crea un nuevo usuario en el sistema después de validar que el correo electrónico y el número de teléfono no estén registrados previamente.
@@ -60,33 +71,33 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Recupera la información detallada de un usuario por su identificador único (UUID).
-     * Incluye los pagos realizados y el historial de eventos asociados al usuario.
+     * Incluye sus tickets, pagos e historial de eventos más recientes, hasta
+     * {@value KeysetCursor#DEFAULT_SIZE} de cada uno.
      *
      * @param id Identificador único del usuario.
      * @return UserResponseDTO con los datos del usuario, pagos e historial de eventos.
      * @throws NotFoundException si no se encuentra un usuario con el ID proporcionado.
      */
     @Override
-    @Transactional(readOnly = true)
     public UserResponseDTO getUserById(UUID id) {
-        // Get user and convert to DTO
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
-        UserResponseDTO userDTO = userMapper.toDto(user);
-        
-        // Get user's payments
-        Page<PaymentResponseDTO> payments = paymentService.getPaymentsByUserId(id, Pageable.unpaged());
-        if (payments != null && payments.hasContent()) {
-            userDTO.setPagos(payments.getContent());
-        }
-        
-        // Get user's event history
-        Page<EventHistoryResponseDTO> eventHistory = eventHistoryService.getEventHistoryByUserId(id, Pageable.unpaged());
-        if (eventHistory != null && eventHistory.hasContent()) {
-            userDTO.setHistorialEventos(eventHistory.getContent());
-        }
-        
-        return userDTO;
+        return getUserById(id, EnumSet.allOf(UserExpansion.class), KeysetCursor.DEFAULT_SIZE);
+    }
+
+    /**
+     * Recupera el perfil de un usuario y, en paralelo, los recursos asociados pedidos.
+     * No abre una transacción propia ni lee en el hilo de la petición: el perfil y cada recurso
+     * se leen en el pool de {@link UserCompositeLoader}, cada uno en su transacción, para que el
+     * EntityManager de open-in-view no retenga una conexión mientras se esperan las demás lecturas.
+     *
+     * @param id Identificador único del usuario.
+     * @param expand Recursos a incluir; vacío para devolver solo el perfil.
+     * @param size Elementos más recientes de cada recurso.
+     * @return UserResponseDTO con los datos del usuario y los recursos pedidos.
+     * @throws NotFoundException si no se encuentra un usuario con el ID proporcionado.
+     */
+    @Override
+    public UserResponseDTO getUserById(UUID id, Set<UserExpansion> expand, int size) {
+        return compositeLoader.load(id, expand, size);
     }
 
     /**
@@ -102,8 +113,39 @@ public class UserServiceImpl implements UserService {
                 .map(userMapper::toDto);
     }
 
+    /**
+     * Obtiene una lista paginada de todos los usuarios, calculando el total con la estrategia indicada.
+     *
+     * @param pageable Parámetro de paginación y ordenamiento.
+     * @param count Estrategia de cuenta; {@code null} para la del endpoint.
+     * @return Page<UserResponseDTO> página de usuarios encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserResponseDTO> getAllUsers(Pageable pageable, CountStrategy count) {
+        return pageCounter.pageTable("users", "users", pageable, count,
+                        userRepository::findSliceBy, userRepository::count)
+                .map(userMapper::toDto);
+    }
+
+    /**
+     * Recorre todos los usuarios por cursor, del más reciente al más antiguo.
+     *
+     * @param cursor Cursor de la página anterior; vacío para la primera.
+     * @param size Tamaño de página.
+     * @return SliceResponse<UserResponseDTO> página de usuarios con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<UserResponseDTO> scrollAllUsers(String cursor, int size) {
+        Window<User> users = userRepository.findAllBy(
+                KeysetCursor.decode(cursor), KeysetCursor.SORT, KeysetCursor.limit(size));
+        return KeysetCursor.toSlice(users, size, userMapper::toDto);
+    }
+
     /**
      * Actualiza los datos de un usuario existente, validando que el nuevo correo electrónico y teléfono no estén en uso por otro usuario.
+     * Si cambia el correo, se revocan los tokens emitidos con el anterior.
      *
      * @param id Identificador único del usuario a actualizar.
      * @param userDTO Objeto de transferencia con los nuevos datos del usuario.
@@ -131,13 +173,22 @@ public class UserServiceImpl implements UserService {
             }
         }
         
+        String previousEmail = existingUser.getCorreo();
+        boolean emailChanged = userDTO.getEmail() != null && !userDTO.getEmail().equals(previousEmail);
         userMapper.updateEntity(userDTO, existingUser);
         User updatedUser = userRepository.save(existingUser);
+        if (emailChanged) {
+            // Los tokens emitidos llevan el correo anterior como sujeto
+            tokenRevocations.revoke(id);
+        }
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(previousEmail));
         return userMapper.toDto(updatedUser);
     }
 
     /**
-     * Elimina un usuario del sistema por su identificador único (UUID).
+     * Elimina un usuario del sistema por su identificador único (UUID) y revoca sus tokens.
+     * Su historial se borra en cascada, así que antes se descuentan sus calificaciones de los
+     * agregados de cada evento.
      *
      * @param id Identificador único del usuario a eliminar.
      * @throws NotFoundException si el usuario no existe.
@@ -145,10 +196,12 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(UUID id) {
-        if (!userRepository.existsById(id)) {
-            throw new NotFoundException("User not found with id: " + id);
-        }
+        String correo = userRepository.findCorreoById(id)
+                .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
+        ratingAggregator.retractUser(id);
         userRepository.deleteById(id);
+        tokenRevocations.revoke(id);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(correo));
     }
 
     /**
@@ -1,22 +1,30 @@
 package com.tickets.ravetix.service.impl;
 
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.dto.ResourceVersion;
 import com.tickets.ravetix.dto.mapper.ZoneMapper;
 import com.tickets.ravetix.dto.zone.ZoneCreateDTO;
 import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
 import com.tickets.ravetix.dto.zone.ZoneUpdateDTO;
 import com.tickets.ravetix.entity.Event;
 import com.tickets.ravetix.entity.Zone;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.exception.NotFoundException;
 import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.pagination.PageCounter;
 import com.tickets.ravetix.repository.EventRepository;
+import com.tickets.ravetix.repository.VersionStamp;
 import com.tickets.ravetix.repository.ZoneRepository;
 import com.tickets.ravetix.service.interfac.ZoneService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -51,6 +59,8 @@ public class ZoneServiceImpl implements ZoneService {
     private final ZoneRepository zoneRepository;
     private final EventRepository eventRepository;
     private final ZoneMapper zoneMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageCounter pageCounter;
 
     /**
      * Retrieves a paginated list of all zones for a specific event.
@@ -66,6 +76,23 @@ public class ZoneServiceImpl implements ZoneService {
                 .map(zoneMapper::toDto);
     }
 
+    /**
+     * Retrieves the zones of an event, computing the total with the given count strategy.
+     *
+     * @param eventId  The ID of the event.
+     * @param pageable Pagination information.
+     * @param count    The count strategy, or {@code null} for the endpoint default.
+     * @return A page of zones.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ZoneResponseDTO> findAllByEventId(UUID eventId, Pageable pageable, CountStrategy count) {
+        return pageCounter.page("zones.event", List.of(eventId), pageable, count,
+                        p -> zoneRepository.findSliceByEventoId(eventId, p),
+                        () -> zoneRepository.countByEventoId(eventId))
+                .map(zoneMapper::toDto);
+    }
+
     /**
      * Retrieves a specific zone by its ID.
      *
@@ -81,6 +108,22 @@ public class ZoneServiceImpl implements ZoneService {
                 .orElseThrow(() -> new NotFoundException("Zona no encontrada con ID: " + id));
     }
 
+    /**
+     * Computes the HTTP validators of a zone from its version, without loading it.
+     *
+     * @param id The ID of the zone.
+     * @return The ETag and last modification of the zone.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(UUID id) {
+        VersionStamp zone = zoneRepository.findVersionStampById(id);
+        if (zone.getCount() == 0) {
+            throw new NotFoundException("Zona no encontrada con ID: " + id);
+        }
+        return ResourceVersion.of(zone);
+    }
+
     /**
      * Creates a new zone for a given event.
      *
@@ -102,6 +145,7 @@ public class ZoneServiceImpl implements ZoneService {
         Zone zone = zoneMapper.toEntity(zoneDTO);
         zone.setEvento(event);
         Zone savedZone = zoneRepository.save(zone);
+        eventPublisher.publishEvent(new CatalogChangedEvent(event.getId(), CatalogChangeType.ZONES_CHANGED));
         return zoneMapper.toDto(savedZone);
     }
 
@@ -129,6 +173,7 @@ public class ZoneServiceImpl implements ZoneService {
 
         zoneMapper.updateZoneFromDto(zoneDTO, zone);
         Zone updatedZone = zoneRepository.save(zone);
+        eventPublisher.publishEvent(new CatalogChangedEvent(zone.getEvento().getId(), CatalogChangeType.ZONES_CHANGED));
         return zoneMapper.toDto(updatedZone);
     }
 
@@ -150,6 +195,7 @@ public class ZoneServiceImpl implements ZoneService {
         }
 
         zoneRepository.delete(zone);
+        eventPublisher.publishEvent(new CatalogChangedEvent(zone.getEvento().getId(), CatalogChangeType.ZONES_CHANGED));
     }
 
     /**
@@ -1,6 +1,9 @@
 package com.tickets.ravetix.service.interfac;
 
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.dto.eventhistory.EventRatingResponseDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +25,15 @@ public interface EventHistoryService {
      * @return page of event history
      */
     Page<EventHistoryResponseDTO> getEventHistoryByUserId(UUID userId, Pageable pageable);
+
+    /**
+     * Get all event history for a user, counting it with the given strategy
+     * @param userId user ID
+     * @param pageable pagination information
+     * @param count count strategy, or null for the endpoint default
+     * @return page of event history
+     */
+    Page<EventHistoryResponseDTO> getEventHistoryByUserId(UUID userId, Pageable pageable, CountStrategy count);
     
     /**
      * Get all event history for an event
@@ -30,6 +42,33 @@ public interface EventHistoryService {
      * @return page of event history
      */
     Page<EventHistoryResponseDTO> getEventHistoryByEventId(UUID eventId, Pageable pageable);
+
+    /**
+     * Get all event history for an event, counting it with the given strategy
+     * @param eventId event ID
+     * @param pageable pagination information
+     * @param count count strategy, or null for the endpoint default
+     * @return page of event history
+     */
+    Page<EventHistoryResponseDTO> getEventHistoryByEventId(UUID eventId, Pageable pageable, CountStrategy count);
+
+    /**
+     * Scroll through the event history of a user by cursor, newest first
+     * @param userId user ID
+     * @param cursor cursor of the previous page, empty for the first one
+     * @param size page size
+     * @return slice of event history
+     */
+    SliceResponse<EventHistoryResponseDTO> scrollEventHistoryByUserId(UUID userId, String cursor, int size);
+
+    /**
+     * Scroll through the event history of an event by cursor, newest first
+     * @param eventId event ID
+     * @param cursor cursor of the previous page, empty for the first one
+     * @param size page size
+     * @return slice of event history
+     */
+    SliceResponse<EventHistoryResponseDTO> scrollEventHistoryByEventId(UUID eventId, String cursor, int size);
     
     /**
      * Confirm attendance for an event
@@ -48,4 +87,18 @@ public interface EventHistoryService {
      * @return updated event history
      */
     EventHistoryResponseDTO rateEvent(UUID eventId, UUID userId, Integer rating, String comment);
+
+    /**
+     * Get the rating summary of an event in constant time
+     * @param eventId event ID
+     * @return rating count, average and distribution
+     */
+    EventRatingResponseDTO getEventRatings(UUID eventId);
+
+    /**
+     * Rebuild the rating aggregate of an event from its history
+     * @param eventId event ID
+     * @return rebuilt rating summary
+     */
+    EventRatingResponseDTO rebuildEventRatings(UUID eventId);
 }
@@ -0,0 +1,66 @@
+package com.tickets.ravetix.service.interfac;
+
+import com.tickets.ravetix.dto.event.EventFacetResponseDTO;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.dto.event.EventSuggestionDTO;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.search.DiscoveryQuery;
+import com.tickets.ravetix.search.EventSearchQuery;
+import com.tickets.ravetix.search.FacetQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventSearchService {
+
+    /**
+     * Busca eventos por texto, ordenados por relevancia
+     * @param query texto y filtros de estado y fecha
+     * @param pageable página pedida (el orden se ignora: siempre es por relevancia)
+     * @param count estrategia de cuenta mientras el índice se está cargando, o null para la del endpoint
+     * @return página de eventos encontrados
+     */
+    Page<EventResponseDTO> search(EventSearchQuery query, Pageable pageable, CountStrategy count);
+
+    /**
+     * Sugiere eventos, ciudades y direcciones que empiezan por lo escrito, de más a menos popular
+     * @param text texto escrito en el buscador
+     * @param limit número máximo de sugerencias
+     * @return sugerencias; vacía mientras el índice se está cargando
+     */
+    List<EventSuggestionDTO> suggest(String text, int limit);
+
+    /**
+     * Busca eventos en una ciudad o alrededor de un punto, dentro de una ventana de fechas de inicio
+     * @param query lugar, radio y filtros de estado y fecha
+     * @param pageable página pedida (el orden se ignora: por distancia si hay coordenadas y si no por fecha)
+     * @param count estrategia de cuenta mientras el índice se está cargando, o null para la del endpoint
+     * @return página de eventos encontrados
+     */
+    Page<EventResponseDTO> discover(DiscoveryQuery query, Pageable pageable, CountStrategy count);
+
+    /**
+     * Busca los eventos en curso en algún momento de una ventana de tiempo, incluidos los de varios
+     * días que empezaron antes de ella
+     * @param desde principio de la ventana
+     * @param hasta final de la ventana, o null para no acotarla
+     * @param estado estado de los eventos, o null para cualquiera
+     * @param pageable página pedida (el orden se ignora: por fecha de inicio)
+     * @param count estrategia de cuenta mientras el índice se está cargando, o null para la del endpoint
+     * @return página de eventos encontrados
+     */
+    Page<EventResponseDTO> happening(LocalDateTime desde, LocalDateTime hasta, EstadoEvento estado,
+                                     Pageable pageable, CountStrategy count);
+
+    /**
+     * Filtra eventos por estado, categoría, tipo de zona, ciudad y rango de precio, contando los
+     * eventos de cada valor de faceta
+     * @param query valores pedidos de cada faceta
+     * @param pageable página pedida (el orden se ignora: por fecha de inicio)
+     * @return página de eventos y cuentas por faceta
+     */
+    EventFacetResponseDTO facets(FacetQuery query, Pageable pageable);
+}
@@ -1,9 +1,12 @@
 package com.tickets.ravetix.service.interfac;
 
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.event.EventCreateDTO;
 import com.tickets.ravetix.dto.event.EventResponseDTO;
 import com.tickets.ravetix.dto.event.EventUpdateDTO;
 import com.tickets.ravetix.entity.Event;
+import com.tickets.ravetix.enums.CountStrategy;
 import com.tickets.ravetix.enums.EstadoEvento;
 import com.tickets.ravetix.service.BaseService;
 import org.springframework.data.domain.Page;
@@ -33,26 +36,61 @@ public interface EventService extends BaseService<Event, UUID, Event, EventUpdat
     @Override
     void delete(UUID id);
 
+    /**
+     * Obtiene un evento por su ID, siempre desde la base de datos: {@code GET /api/events/{id}}
+     * serializa el resultado para la versión que acaba de comprobar, así que no puede venir de una caché.
+     */
     @Override
     EventResponseDTO findById(UUID id);
 
+    /**
+     * Obtiene los validadores HTTP de un evento sin cargar sus zonas ni tickets.
+     */
+    ResourceVersion getVersion(UUID id);
+
     @Override
     Page<EventResponseDTO> findAll(Pageable pageable);
 
+    /**
+     * Obtiene todos los eventos calculando el total con la estrategia indicada (null para la del endpoint).
+     */
+    Page<EventResponseDTO> findAll(Pageable pageable, CountStrategy count);
+
+    /**
+     * Recorre todos los eventos por cursor, del más reciente al más antiguo.
+     */
+    SliceResponse<EventResponseDTO> scrollAll(String cursor, int size);
+
     /**
      * Busca eventos por estado
      */
     Page<EventResponseDTO> findByEstado(EstadoEvento estado, Pageable pageable);
+
+    /**
+     * Busca eventos por estado calculando el total con la estrategia indicada
+     */
+    Page<EventResponseDTO> findByEstado(EstadoEvento estado, Pageable pageable, CountStrategy count);
     
     /**
      * Busca eventos entre fechas
      */
     Page<EventResponseDTO> findBetweenDates(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * Busca eventos entre fechas calculando el total con la estrategia indicada
+     */
+    Page<EventResponseDTO> findBetweenDates(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable,
+                                            CountStrategy count);
     
     /**
      * Busca eventos por término de búsqueda
      */
     Page<EventResponseDTO> search(String query, Pageable pageable);
+
+    /**
+     * Busca eventos por término de búsqueda calculando el total con la estrategia indicada
+     */
+    Page<EventResponseDTO> search(String query, Pageable pageable, CountStrategy count);
     
     /**
      * Cambia el estado de un evento
@@ -2,6 +2,7 @@ package com.tickets.ravetix.service.interfac;
 
 import com.tickets.ravetix.dto.payment.PaymentRequestDTO;
 import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -30,6 +31,15 @@ public interface PaymentService {
      * @return page of payments
      */
     Page<PaymentResponseDTO> getPaymentsByUserId(UUID userId, Pageable pageable);
+
+    /**
+     * Get all payments for a user, counting them with the given strategy
+     * @param userId user ID
+     * @param pageable pagination information
+     * @param count count strategy, or null for the endpoint default
+     * @return page of payments
+     */
+    Page<PaymentResponseDTO> getPaymentsByUserId(UUID userId, Pageable pageable, CountStrategy count);
     
     /**
      * Get all payments for a ticket
@@ -0,0 +1,31 @@
+package com.tickets.ravetix.service.interfac;
+
+import com.tickets.ravetix.dto.sales.SalesPointDTO;
+import com.tickets.ravetix.dto.sales.SalesTimeSeriesResponseDTO;
+import com.tickets.ravetix.enums.SalesResolution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SalesService {
+
+    /**
+     * Obtiene la serie temporal de ventas en memoria de un evento
+     * @param eventId ID del evento
+     * @param zoneId ID de la zona (opcional, si es nulo se suman todas las zonas)
+     * @param resolution resolución de la serie
+     * @param points número de puntos a devolver
+     * @return serie temporal de ventas
+     */
+    SalesTimeSeriesResponseDTO getTimeSeries(UUID eventId, UUID zoneId, SalesResolution resolution, int points);
+
+    /**
+     * Obtiene las ventas compactadas por minuto de un evento en un rango de fechas
+     * @param eventId ID del evento
+     * @param from inicio del rango
+     * @param to fin del rango
+     * @return puntos agregados por minuto
+     */
+    List<SalesPointDTO> getHistory(UUID eventId, LocalDateTime from, LocalDateTime to);
+}
@@ -1,7 +1,11 @@
 package com.tickets.ravetix.service.interfac;
 
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.SliceResponse;
+import com.tickets.ravetix.dto.ticket.TicketCredentialDTO;
 import com.tickets.ravetix.dto.ticket.TicketRequestDTO;
 import com.tickets.ravetix.dto.ticket.TicketResponseDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +26,21 @@ public interface TicketService {
      */
     TicketResponseDTO getTicketById(UUID id);
 
+    /**
+     * Obtiene los validadores HTTP de un ticket sin cargarlo
+     * @param id ID del ticket
+     * @return ETag y última modificación del ticket
+     */
+    ResourceVersion getTicketVersion(UUID id);
+
+    /**
+     * Emite el código de acceso firmado de un ticket pagado a su comprador
+     * @param id ID del ticket
+     * @param userId ID del usuario autenticado
+     * @return Código para el QR y su ventana de validez
+     */
+    TicketCredentialDTO getTicketCredential(UUID id, UUID userId);
+
     /**
      * Obtiene todos los tickets de un usuario
      * @param userId ID del usuario
@@ -30,6 +49,15 @@ public interface TicketService {
      */
     Page<TicketResponseDTO> getTicketsByUserId(UUID userId, Pageable pageable);
 
+    /**
+     * Obtiene los tickets de un usuario calculando el total con la estrategia indicada
+     * @param userId ID del usuario
+     * @param pageable Configuración de paginación
+     * @param count Estrategia de cuenta, o null para la del endpoint
+     * @return Página de tickets del usuario
+     */
+    Page<TicketResponseDTO> getTicketsByUserId(UUID userId, Pageable pageable, CountStrategy count);
+
     /**
      * Obtiene todos los tickets de un evento
      * @param eventId ID del evento
@@ -38,6 +66,33 @@ public interface TicketService {
      */
     Page<TicketResponseDTO> getTicketsByEventId(UUID eventId, Pageable pageable);
 
+    /**
+     * Obtiene los tickets de un evento calculando el total con la estrategia indicada
+     * @param eventId ID del evento
+     * @param pageable Configuración de paginación
+     * @param count Estrategia de cuenta, o null para la del endpoint
+     * @return Página de tickets del evento
+     */
+    Page<TicketResponseDTO> getTicketsByEventId(UUID eventId, Pageable pageable, CountStrategy count);
+
+    /**
+     * Recorre los tickets de un usuario por cursor, del más reciente al más antiguo
+     * @param userId ID del usuario
+     * @param cursor Cursor de la página anterior, vacío para la primera
+     * @param size Tamaño de página
+     * @return Página de tickets del usuario
+     */
+    SliceResponse<TicketResponseDTO> scrollTicketsByUserId(UUID userId, String cursor, int size);
+
+    /**
+     * Recorre los tickets de un evento por cursor, del más reciente al más antiguo
+     * @param eventId ID del evento
+     * @param cursor Cursor de la página anterior, vacío para la primera
+     * @param size Tamaño de página
+     * @return Página de tickets del evento
+     */
+    SliceResponse<TicketResponseDTO> scrollTicketsByEventId(UUID eventId, String cursor, int size);
+
     /**
      * Cancela un ticket
      * @param ticketId ID del ticket a cancelar
@@ -1,11 +1,15 @@
 package com.tickets.ravetix.service.interfac;
 
+import com.tickets.ravetix.dto.SliceResponse;
 import com.tickets.ravetix.dto.user.UserCreateDTO;
 import com.tickets.ravetix.dto.user.UserResponseDTO;
 import com.tickets.ravetix.dto.user.UserUpdateDTO;
+import com.tickets.ravetix.enums.CountStrategy;
+import com.tickets.ravetix.enums.UserExpansion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -26,6 +30,15 @@ public interface UserService {
      * @return the user
      */
     UserResponseDTO getUserById(UUID id);
+
+    /**
+     * Get a user by ID, embedding only the requested related resources.
+     * @param id the ID of the user to retrieve
+     * @param expand the related resources to embed; empty for the profile only
+     * @param size the maximum number of most recent elements embedded per resource
+     * @return the user
+     */
+    UserResponseDTO getUserById(UUID id, Set<UserExpansion> expand, int size);
     
     /**
      * Get all users with pagination.
@@ -33,6 +46,22 @@ public interface UserService {
      * @return a page of users
      */
     Page<UserResponseDTO> getAllUsers(Pageable pageable);
+
+    /**
+     * Get all users with pagination, counting them with the given strategy.
+     * @param pageable the pagination information
+     * @param count the count strategy, or null for the endpoint default
+     * @return a page of users
+     */
+    Page<UserResponseDTO> getAllUsers(Pageable pageable, CountStrategy count);
+
+    /**
+     * Scroll through all users by cursor, newest first.
+     * @param cursor the cursor of the previous page, empty for the first one
+     * @param size the page size
+     * @return a slice of users
+     */
+    SliceResponse<UserResponseDTO> scrollAllUsers(String cursor, int size);
     
     /**
      * Update an existing user.
@@ -1,8 +1,10 @@
 package com.tickets.ravetix.service.interfac;
 
+import com.tickets.ravetix.dto.ResourceVersion;
 import com.tickets.ravetix.dto.zone.ZoneCreateDTO;
 import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
 import com.tickets.ravetix.dto.zone.ZoneUpdateDTO;
+import com.tickets.ravetix.enums.CountStrategy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -17,11 +19,25 @@ public interface ZoneService {
      */
     Page<ZoneResponseDTO> findAllByEventId(UUID eventId, Pageable pageable);
 
+    /**
+     * Obtiene las zonas de un evento calculando el total con la estrategia indicada
+     * @param eventId ID del evento
+     * @param pageable Configuración de paginación
+     * @param count Estrategia de cuenta, o null para la del endpoint
+     * @return Página de zonas
+     */
+    Page<ZoneResponseDTO> findAllByEventId(UUID eventId, Pageable pageable, CountStrategy count);
+
     /**
      * Obtiene una zona por su ID
      */
     ZoneResponseDTO findById(UUID id);
 
+    /**
+     * Obtiene los validadores HTTP de una zona sin cargarla
+     */
+    ResourceVersion getVersion(UUID id);
+
     /**
      * Crea una nueva zona para un evento
      */
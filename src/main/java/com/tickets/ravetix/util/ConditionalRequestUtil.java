@@ -0,0 +1,52 @@
+package com.tickets.ravetix.util;
+
+import com.tickets.ravetix.dto.ResourceVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Resuelve peticiones GET condicionales ({@code If-None-Match} / {@code If-Modified-Since}).
+ */
+public final class ConditionalRequestUtil {
+
+    private ConditionalRequestUtil() {
+    }
+
+    /**
+     * Devuelve 304 si el cliente ya tiene la versión actual del recurso; en otro caso carga el
+     * cuerpo y lo devuelve con 200. En ambos casos la respuesta lleva {@code ETag} y
+     * {@code Last-Modified}.
+     * <p>
+     * La versión debe obtenerse antes que el cuerpo, de modo que el cuerpo nunca sea más antiguo
+     * que el ETag con el que se sirve.
+     * </p>
+     *
+     * @param request Petición en curso.
+     * @param version Validadores actuales del recurso.
+     * @param body    Carga del cuerpo; solo se invoca si el recurso ha cambiado.
+     * @return Respuesta 304 sin cuerpo o 200 con el cuerpo cargado.
+     */
+    public static <T> ResponseEntity<T> ifModified(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        return ifModifiedResponse(request, version, () -> ResponseEntity.ok(body.get()));
+    }
+
+    /**
+     * Igual que {@link #ifModified}, pero el proveedor construye la respuesta completa
+     * (por ejemplo, para fijar {@code Content-Encoding}).
+     *
+     * @param request  Petición en curso.
+     * @param version  Validadores actuales del recurso.
+     * @param response Construye la respuesta; solo se invoca si el recurso ha cambiado.
+     * @return Respuesta 304 sin cuerpo o la respuesta construida.
+     */
+    public static <T> ResponseEntity<T> ifModifiedResponse(WebRequest request, ResourceVersion version,
+                                                           Supplier<ResponseEntity<T>> response) {
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return response.get();
+    }
+}
@@ -0,0 +1,98 @@
+package com.tickets.ravetix.util;
+
+import com.tickets.ravetix.dto.SliceResponse;
+import com.tickets.ravetix.entity.BaseEntity;
+import com.tickets.ravetix.exception.ValidationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Paginación por cursor sobre la clave {@code (fecha_creacion, id)}, de la más reciente a la más antigua.
+ * <p>
+ * El cursor codifica la clave del último elemento servido, así que cada página se resuelve con
+ * un rango sobre el índice y cuesta lo mismo sea cual sea su posición. Para el cliente es un
+ * valor opaco; un cursor vacío pide la primera página.
+ * </p>
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Orden del recorrido; {@code id} desempata elementos creados en el mismo instante.
+     */
+    public static final Sort SORT = Sort.by(Sort.Order.desc("fechaCreacion"), Sort.Order.desc("id"));
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Convierte un cursor en la posición desde la que continuar.
+     *
+     * @param cursor Cursor recibido; vacío o {@code null} para la primera página.
+     * @return Posición de inicio del recorrido.
+     * @throws ValidationException si el cursor no es válido.
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("fechaCreacion", LocalDateTime.parse(raw.substring(0, separator)));
+            keys.put("id", UUID.fromString(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Cursor inválido", "El cursor de paginación no es válido: " + cursor);
+        }
+    }
+
+    /**
+     * Codifica la clave de un elemento como cursor.
+     */
+    public static String encode(BaseEntity entity) {
+        String raw = entity.getFechaCreacion() + SEPARATOR + entity.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Límite de filas para un tamaño de página solicitado, acotado a {@link #MAX_SIZE}.
+     */
+    public static Limit limit(int size) {
+        return Limit.of(clamp(size));
+    }
+
+    /**
+     * Construye la respuesta de una ventana de resultados, con el cursor de su último elemento.
+     */
+    public static <E extends BaseEntity, D> SliceResponse<D> toSlice(Window<E> window, int size,
+                                                                     Function<? super E, D> mapper) {
+        List<E> content = window.getContent();
+        boolean hasNext = window.hasNext() && !content.isEmpty();
+        String nextCursor = hasNext ? encode(content.get(content.size() - 1)) : null;
+        return new SliceResponse<>(content.stream().<D>map(mapper).toList(), clamp(size), hasNext, nextCursor);
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
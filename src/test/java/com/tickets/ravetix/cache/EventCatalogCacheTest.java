@@ -0,0 +1,121 @@
+package com.tickets.ravetix.cache;
+
+import com.tickets.ravetix.cache.EventCatalogCache.ListingKey;
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCatalogCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EventCatalogCache(meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getListingShouldLoadOnceAndRecordHitsAndMisses() {
+        AtomicInteger loads = new AtomicInteger();
+        ListingKey key = ListingKey.of("all", PageRequest.of(0, 10));
+
+        cache.getListing(key, () -> { loads.incrementAndGet(); return page(UUID.randomUUID()); });
+        cache.getListing(key, () -> { loads.incrementAndGet(); return page(UUID.randomUUID()); });
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "events.listings").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "events.listings").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void ticketChangeShouldEvictOnlyListingsContainingTheEvent() {
+        UUID changed = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        ListingKey withChanged = ListingKey.of("search", PageRequest.of(0, 10), "rave");
+        ListingKey withoutChanged = ListingKey.of("search", PageRequest.of(0, 10), "jazz");
+
+        cache.getListing(withChanged, () -> { loads.incrementAndGet(); return page(changed); });
+        cache.getListing(withoutChanged, () -> { loads.incrementAndGet(); return page(other); });
+        cache.evict(new CatalogChangedEvent(changed, CatalogChangeType.TICKETS_CHANGED));
+        cache.getListing(withChanged, () -> { loads.incrementAndGet(); return page(changed); });
+        cache.getListing(withoutChanged, () -> { loads.incrementAndGet(); return page(other); });
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void statusChangeShouldEvictAllListings() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        ListingKey key = ListingKey.of("all", PageRequest.of(0, 10));
+
+        cache.getListing(key, () -> { loads.incrementAndGet(); return page(UUID.randomUUID()); });
+        cache.evict(new CatalogChangedEvent(id, CatalogChangeType.EVENT_STATUS_CHANGED));
+        cache.getListing(key, () -> { loads.incrementAndGet(); return page(UUID.randomUUID()); });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictingAnEventShouldUnlinkItsListingsFromOtherEvents() {
+        UUID changed = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        ListingKey key = ListingKey.of("search", PageRequest.of(0, 10), "rave");
+
+        cache.getListing(key, () -> new PageImpl<>(List.of(dto(changed), dto(other)), PageRequest.of(0, 10), 2));
+        assertEquals(2, cache.listingLinkCount());
+
+        cache.evict(new CatalogChangedEvent(changed, CatalogChangeType.TICKETS_CHANGED));
+
+        assertEquals(0, cache.listingLinkCount());
+    }
+
+    @Test
+    void readsShouldReturnCopiesThatDoNotAlterTheCache() {
+        UUID id = UUID.randomUUID();
+        ListingKey key = ListingKey.of("all", PageRequest.of(0, 10));
+        EventResponseDTO loaded = dto(id);
+        loaded.addZona(ZoneResponseDTO.builder().nombre("General").beneficios(new ArrayList<>(List.of("Barra"))).build());
+
+        cache.getListing(key, () -> new PageImpl<>(List.of(loaded), PageRequest.of(0, 10), 1));
+        loaded.setNombre("Cambiado por quien cargó");
+        EventResponseDTO first = cache.getListing(key, () -> page(id)).getContent().get(0);
+        first.setNombre("Cambiado");
+        first.getZonas().get(0).getBeneficios().add("Parking");
+        first.getZonas().add(ZoneResponseDTO.builder().nombre("VIP").build());
+
+        EventResponseDTO second = cache.getListing(key, () -> page(id)).getContent().get(0);
+        assertNotSame(first, second);
+        assertEquals("Evento " + id, second.getNombre());
+        assertEquals(1, second.getZonas().size());
+        assertEquals(List.of("Barra"), second.getZonas().get(0).getBeneficios());
+    }
+
+    private EventResponseDTO dto(UUID id) {
+        return EventResponseDTO.builder().id(id.toString()).nombre("Evento " + id).build();
+    }
+
+    private Page<EventResponseDTO> page(UUID id) {
+        return new PageImpl<>(List.of(dto(id)), PageRequest.of(0, 10), 1);
+    }
+}
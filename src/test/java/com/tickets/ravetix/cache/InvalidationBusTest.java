@@ -0,0 +1,87 @@
+package com.tickets.ravetix.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationBusTest {
+
+    private InMemoryInvalidationBus nodeA;
+    private InMemoryInvalidationBus nodeB;
+    private List<InvalidationMessage> receivedByA;
+    private List<InvalidationMessage> receivedByB;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryInvalidationBus.Hub hub = new InMemoryInvalidationBus.Hub();
+        nodeA = new InMemoryInvalidationBus(hub, "a");
+        nodeB = new InMemoryInvalidationBus(hub, "b");
+        receivedByA = new ArrayList<>();
+        receivedByB = new ArrayList<>();
+        nodeA.subscribe("events", recorder(receivedByA));
+        nodeB.subscribe("events", recorder(receivedByB));
+    }
+
+    @Test
+    void flushShouldDeliverCoalescedBatchOnlyToOtherNodes() {
+        InvalidationMessage message = new InvalidationMessage("events", "1", "TICKETS_CHANGED");
+        nodeA.publish(message);
+        nodeA.publish(message);
+        nodeA.publish(new InvalidationMessage("events", "2", "EVENT_UPDATED"));
+
+        nodeA.flush();
+
+        assertTrue(receivedByA.isEmpty());
+        assertEquals(2, receivedByB.size());
+        assertTrue(receivedByB.contains(message));
+    }
+
+    @Test
+    void flushShouldIgnoreOtherRegionsAndEmptyQueues() {
+        nodeA.publish(new InvalidationMessage("users", "x", "UPDATED"));
+        nodeA.flush();
+        nodeA.flush();
+
+        assertTrue(receivedByB.isEmpty());
+    }
+
+    @Test
+    void codecShouldSplitBatchesAboveThePayloadLimit() throws Exception {
+        InvalidationCodec codec = new InvalidationCodec(new ObjectMapper(), 400);
+        List<InvalidationMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            messages.add(new InvalidationMessage("events", "event-" + i, "ZONES_CHANGED"));
+        }
+
+        List<String> payloads = codec.encode(new InvalidationBatch("a", messages));
+
+        assertTrue(payloads.size() > 1);
+        List<InvalidationMessage> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= 400);
+            InvalidationBatch batch = codec.decode(payload);
+            assertEquals("a", batch.origin());
+            decoded.addAll(batch.messages());
+        }
+        assertEquals(messages, decoded);
+    }
+
+    private static InvalidationListener recorder(List<InvalidationMessage> sink) {
+        return new InvalidationListener() {
+            @Override
+            public void onInvalidation(InvalidationMessage message) {
+                sink.add(message);
+            }
+
+            @Override
+            public void onReset() {
+                sink.clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.tickets.ravetix.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.ravetix.domain.CatalogChangedEvent;
+import com.tickets.ravetix.dto.ResourceVersion;
+import com.tickets.ravetix.dto.event.EventResponseDTO;
+import com.tickets.ravetix.enums.CatalogChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedEventCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private RenderedEventCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RenderedEventCache(objectMapper, new SimpleMeterRegistry(),
+                new InMemoryInvalidationBus(new InMemoryInvalidationBus.Hub(), "test"),
+                DataSize.ofMegabytes(1), DataSize.ofBytes(64), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void getShouldSerializeOncePerVersion() throws Exception {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        ResourceVersion v1 = new ResourceVersion("v1", LocalDateTime.now());
+        ResourceVersion v2 = new ResourceVersion("v2", LocalDateTime.now());
+
+        RenderedJson first = cache.get(id, v1, () -> { loads.incrementAndGet(); return dto(id, "Original"); });
+        RenderedJson second = cache.get(id, v1, () -> { loads.incrementAndGet(); return dto(id, "Original"); });
+        RenderedJson third = cache.get(id, v2, () -> { loads.incrementAndGet(); return dto(id, "Renamed"); });
+
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals("Renamed", objectMapper.readTree(third.json()).get("nombre").asText());
+    }
+
+    @Test
+    void acceptsGzipShouldTolerateMalformedQualityValues() {
+        assertTrue(RenderedJson.acceptsGzip("deflate, gzip;q=0.8"));
+        assertFalse(RenderedJson.acceptsGzip("gzip;q=0"));
+        assertFalse(RenderedJson.acceptsGzip("gzip;q=abc"));
+        assertFalse(RenderedJson.acceptsGzip("gzip;q="));
+        assertFalse(RenderedJson.acceptsGzip(null));
+    }
+
+    @Test
+    void gzipVariantShouldHaveItsOwnEtag() {
+        ResourceVersion version = new ResourceVersion("v1", null);
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest("GET", "/api/events/1");
+        gzipRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        assertEquals("v1-gzip", RenderedJson.variant(version, "gzip, deflate").etag());
+        assertSame(version, RenderedJson.variant(version, null));
+        assertFalse(new ServletWebRequest(gzipRequest).checkNotModified(
+                RenderedJson.variant(version, gzipRequest.getHeader(HttpHeaders.ACCEPT_ENCODING)).etag()));
+    }
+
+    @Test
+    void remoteInvalidationShouldReleaseEntry() {
+        UUID id = UUID.randomUUID();
+        cache.get(id, new ResourceVersion("v1", null), () -> dto(id, "Evento"));
+
+        cache.onInvalidation(new InvalidationMessage(CatalogInvalidationRelay.REGION, id.toString(),
+                CatalogChangeType.EVENT_UPDATED.name()));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void catalogChangeShouldReleaseEntry() {
+        UUID id = UUID.randomUUID();
+        cache.get(id, new ResourceVersion("v1", null), () -> dto(id, "Evento"));
+
+        cache.onCatalogChanged(new CatalogChangedEvent(id, CatalogChangeType.TICKETS_CHANGED));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void toResponseShouldServeGzipOnlyWhenAccepted() throws Exception {
+        UUID id = UUID.randomUUID();
+        RenderedJson rendered = cache.get(id, new ResourceVersion("v1", null), () -> dto(id, "Festival ".repeat(20)));
+        assertNotNull(rendered.gzip());
+
+        ResponseEntity<byte[]> plain = rendered.toResponse(request(null));
+        ResponseEntity<byte[]> refused = rendered.toResponse(request("gzip;q=0, identity"));
+        ResponseEntity<byte[]> compressed = rendered.toResponse(request("br, gzip"));
+
+        assertArrayEquals(rendered.json(), plain.getBody());
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+            assertArrayEquals(rendered.json(), in.readAllBytes());
+        }
+    }
+
+    private static ServletWebRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/1");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private static EventResponseDTO dto(UUID id, String nombre) {
+        return EventResponseDTO.builder().id(id.toString()).nombre(nombre).build();
+    }
+}
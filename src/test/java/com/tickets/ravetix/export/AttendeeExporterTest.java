@@ -0,0 +1,78 @@
+package com.tickets.ravetix.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttendeeExporterTest {
+
+    private ResultSet row;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn("7f1c1b8e-0000-4000-8000-000000000001");
+        when(row.getString(2)).thenReturn("PAGADO");
+        when(row.getString(3)).thenReturn("Campo, sector A");
+        when(row.getString(4)).thenReturn("NORMAL");
+        when(row.getBigDecimal(5)).thenReturn(new BigDecimal("80.00"));
+        when(row.getObject(6, LocalDateTime.class)).thenReturn(LocalDateTime.of(2030, 6, 1, 20, 0));
+        when(row.getString(7)).thenReturn("7f1c1b8e-0000-4000-8000-000000000002");
+        when(row.getString(8)).thenReturn("Ana \"la\" Pérez");
+        when(row.getString(9)).thenReturn("ana@example.com");
+        when(row.getString(10)).thenReturn("+51987654321");
+    }
+
+    @Test
+    void csvShouldWriteHeaderAndEscapedRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AttendeeExporter.CsvRows rows = new AttendeeExporter.CsvRows(out);
+
+        rows.begin();
+        rows.processRow(row);
+        rows.end();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(String.join(",", AttendeeExporter.COLUMNS), lines[0]);
+        assertEquals("7f1c1b8e-0000-4000-8000-000000000001,PAGADO,\"Campo, sector A\",NORMAL,80.00,"
+                + "2030-06-01T20:00,7f1c1b8e-0000-4000-8000-000000000002,\"Ana \"\"la\"\" Pérez\","
+                + "ana@example.com,'+51987654321", lines[1]);
+        assertEquals(1, rows.count);
+    }
+
+    @Test
+    void ndjsonShouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AttendeeExporter.NdjsonRows rows = new AttendeeExporter.NdjsonRows(out, new ObjectMapper());
+
+        rows.begin();
+        rows.processRow(row);
+        rows.processRow(row);
+        rows.end();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        var json = new ObjectMapper().readTree(lines[1]);
+        assertEquals("Campo, sector A", json.get("zona").asText());
+        assertEquals(80.0, json.get("precio").asDouble());
+        assertEquals("+51987654321", json.get("telefono").asText());
+    }
+
+    @Test
+    void csvFieldShouldNeutralizeFormulas() {
+        assertEquals("'=SUM(A1)", AttendeeExporter.csvField("=SUM(A1)"));
+        assertEquals("\"'=1,2\"", AttendeeExporter.csvField("=1,2"));
+        assertEquals("", AttendeeExporter.csvField(null));
+        assertEquals("Lima", AttendeeExporter.csvField("Lima"));
+    }
+}
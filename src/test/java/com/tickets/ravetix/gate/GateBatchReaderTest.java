@@ -0,0 +1,61 @@
+package com.tickets.ravetix.gate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.ravetix.dto.gate.GateScanBatchItemDTO;
+import com.tickets.ravetix.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GateBatchReaderTest {
+
+    private static final String BATCH = "{\"dispositivo\":\"puerta-1\",\"escaneos\":["
+            + "{\"codigo\":\"a\",\"escaneadoEn\":\"2030-06-01T20:00:00\"},{\"codigo\":\"b\"}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldReadPlainAndGzipBatches() throws Exception {
+        GateBatchReader reader = new GateBatchReader(objectMapper, 100, DataSize.ofMegabytes(1));
+
+        List<GateScanBatchItemDTO> plain = reader.read(stream(BATCH.getBytes(StandardCharsets.UTF_8)), null);
+        List<GateScanBatchItemDTO> gzip = reader.read(stream(gzip(BATCH)), "gzip");
+
+        assertEquals(2, plain.size());
+        assertEquals(LocalDateTime.of(2030, 6, 1, 20, 0), plain.get(0).getEscaneadoEn());
+        assertEquals("b", gzip.get(1).getCodigo());
+    }
+
+    @Test
+    void shouldRejectOversizedMalformedAndEmptyBatches() throws Exception {
+        GateBatchReader small = new GateBatchReader(objectMapper, 1, DataSize.ofBytes(40));
+        GateBatchReader reader = new GateBatchReader(objectMapper, 1, DataSize.ofMegabytes(1));
+
+        assertThrows(ValidationException.class, () -> small.read(stream(gzip(BATCH)), "gzip"));
+        assertThrows(ValidationException.class, () -> reader.read(stream(BATCH.getBytes(StandardCharsets.UTF_8)), null));
+        assertThrows(ValidationException.class, () -> reader.read(stream("{\"escaneos\":[]}".getBytes(StandardCharsets.UTF_8)), null));
+        assertThrows(ValidationException.class, () -> reader.read(stream("no-gzip".getBytes(StandardCharsets.UTF_8)), "gzip"));
+        assertThrows(ValidationException.class, () -> reader.read(stream(new byte[0]), "br"));
+    }
+
+    private static ByteArrayInputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,230 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.dto.gate.GateScanBatchItemDTO;
+import com.tickets.ravetix.dto.gate.GateScanBatchResponseDTO;
+import com.tickets.ravetix.dto.gate.GateScanConflictDTO;
+import com.tickets.ravetix.dto.gate.GateScanResponseDTO;
+import com.tickets.ravetix.enums.ScanResult;
+import com.tickets.ravetix.enums.TicketState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GateScanRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2030-06-01T20:00:00Z");
+
+    private final UUID eventId = UUID.randomUUID();
+    private TicketCredentials credentials;
+    private GateScanWriter writer;
+    private JdbcTemplate jdbcTemplate;
+    private GateScanRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        credentials = new TicketCredentials("secreto", Duration.ofHours(6), Duration.ofHours(6));
+        writer = mock(GateScanWriter.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        registry = new GateScanRegistry(credentials, writer, mock(TicketIndexStore.class), jdbcTemplate,
+                Clock.fixed(NOW, ZoneOffset.UTC), new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void credentialShouldRoundTripAndRejectTampering() {
+        TicketCredential credential = credential(eventId, NOW.getEpochSecond() - 60, NOW.getEpochSecond() + 60);
+        String codigo = credentials.sign(credential);
+
+        assertEquals(130, codigo.length());
+        assertEquals(credential, credentials.verify(codigo));
+        char last = codigo.charAt(10);
+        assertNull(credentials.verify(codigo.substring(0, 10) + (last == 'A' ? 'B' : 'A') + codigo.substring(11)));
+        assertNull(credentials.verify("QR-" + UUID.randomUUID()));
+        assertNull(new TicketCredentials("otro", Duration.ZERO, Duration.ZERO).verify(codigo));
+    }
+
+    @Test
+    void firstScanShouldAdmitAndLaterScansShouldBeDuplicates() {
+        TicketCredential credential = credential(eventId, NOW.getEpochSecond() - 60, NOW.getEpochSecond() + 60);
+        String codigo = credentials.sign(credential);
+
+        GateScanResponseDTO first = registry.scan(eventId, codigo);
+        GateScanResponseDTO second = registry.scan(eventId, codigo);
+
+        assertEquals(ScanResult.ADMITIDO, first.getResultado());
+        assertEquals(credential.zonaId(), first.getZonaId());
+        assertEquals(ScanResult.YA_ESCANEADO, second.getResultado());
+        assertEquals(first.getPrimerEscaneo(), second.getPrimerEscaneo());
+
+        List<GateScanRegistry.Scan> batch = registry.drain(10);
+        assertEquals(1, batch.size());
+        assertEquals(credential.usuarioId(), batch.get(0).usuarioId());
+        assertEquals(0, registry.pendingCount());
+    }
+
+    @Test
+    void scanShouldRejectOtherEventsExpiredAndCancelledTickets() {
+        long now = NOW.getEpochSecond();
+        assertEquals(ScanResult.OTRO_EVENTO, registry.scan(eventId,
+                credentials.sign(credential(UUID.randomUUID(), now - 60, now + 60))).getResultado());
+        assertEquals(ScanResult.FUERA_DE_HORARIO, registry.scan(eventId,
+                credentials.sign(credential(eventId, now - 120, now - 60))).getResultado());
+        assertEquals(ScanResult.CODIGO_INVALIDO, registry.scan(eventId, "no-es-un-codigo").getResultado());
+
+        TicketCredential cancelled = credential(eventId, now - 60, now + 60);
+        registry.scan(eventId, credentials.sign(credential(eventId, now - 60, now + 60)));
+        registry.revoke(eventId, cancelled.ticketId());
+        assertEquals(ScanResult.ANULADO, registry.scan(eventId, credentials.sign(cancelled)).getResultado());
+    }
+
+    @Test
+    void requeueShouldKeepScansForTheNextFlush() {
+        long now = NOW.getEpochSecond();
+        registry.scan(eventId, credentials.sign(credential(eventId, now - 60, now + 60)));
+        registry.scan(eventId, credentials.sign(credential(eventId, now - 60, now + 60)));
+
+        List<GateScanRegistry.Scan> batch = registry.drain(1);
+        registry.requeue(batch);
+
+        assertEquals(2, registry.pendingCount());
+        assertEquals(2, registry.drain(10).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingestShouldWriteAdmittedScansAndReportConflictsByIndex() {
+        long now = NOW.getEpochSecond();
+        String first = credentials.sign(credential(eventId, now - 3600, now + 60));
+        String second = credentials.sign(credential(eventId, now - 3600, now + 60));
+        LocalDateTime at = LocalDateTime.ofInstant(NOW.minusSeconds(600), ZoneId.systemDefault());
+        List<GateScanBatchItemDTO> items = List.of(
+                new GateScanBatchItemDTO(first, at),
+                new GateScanBatchItemDTO(first, at.plusSeconds(5)),
+                new GateScanBatchItemDTO("basura", at),
+                new GateScanBatchItemDTO(second, at.plusSeconds(10)));
+
+        GateScanBatchResponseDTO response = registry.ingest(eventId, items);
+
+        assertEquals(4, response.getRecibidos());
+        assertEquals(2, response.getAdmitidos());
+        assertEquals(List.of(1, 2), response.getConflictos().stream().map(GateScanConflictDTO::getIndice).toList());
+        assertEquals(ScanResult.YA_ESCANEADO, response.getConflictos().get(0).getResultado());
+        assertEquals(at, response.getConflictos().get(0).getPrimerEscaneo());
+        ArgumentCaptor<List<GateScanRegistry.Scan>> written = ArgumentCaptor.forClass(List.class);
+        verify(writer).write(written.capture());
+        assertEquals(2, written.getValue().size());
+        assertEquals(NOW.minusSeconds(600), written.getValue().get(0).escaneadoEn());
+        assertEquals(0, registry.pendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resendingABatchShouldBeIdempotent() {
+        long now = NOW.getEpochSecond();
+        LocalDateTime at = LocalDateTime.ofInstant(NOW.minusSeconds(60), ZoneId.systemDefault());
+        List<GateScanBatchItemDTO> items = List.of(
+                new GateScanBatchItemDTO(credentials.sign(credential(eventId, now - 3600, now + 60)), at));
+        registry.ingest(eventId, items);
+
+        GateScanBatchResponseDTO replay = registry.ingest(eventId, items);
+
+        assertEquals(1, replay.getAdmitidos());
+        assertTrue(replay.getConflictos().isEmpty());
+        ArgumentCaptor<List<GateScanRegistry.Scan>> written = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(2)).write(written.capture());
+        assertTrue(written.getAllValues().get(1).isEmpty());
+    }
+
+    @Test
+    void ingestShouldQueueTheBatchWhenTheDatabaseFails() {
+        long now = NOW.getEpochSecond();
+        doThrow(new DataAccessResourceFailureException("down")).when(writer).write(anyList());
+
+        GateScanBatchResponseDTO response = registry.ingest(eventId, List.of(
+                new GateScanBatchItemDTO(credentials.sign(credential(eventId, now - 60, now + 60)), null)));
+
+        assertEquals(1, response.getAdmitidos());
+        assertEquals(1, registry.pendingCount());
+    }
+
+    @Test
+    void fullQueueShouldRefuseOnlineScansWithoutMarkingThem() {
+        long now = NOW.getEpochSecond();
+        registry.scan(eventId, credentials.sign(credential(eventId, now - 60, now + 60)));
+        registry.scan(eventId, credentials.sign(credential(eventId, now - 60, now + 60)));
+        String codigo = credentials.sign(credential(eventId, now - 60, now + 60));
+
+        assertEquals(ScanResult.NO_DISPONIBLE, registry.scan(eventId, codigo).getResultado());
+        assertEquals(2, registry.pendingCount());
+
+        registry.drain(10);
+        assertEquals(ScanResult.ADMITIDO, registry.scan(eventId, codigo).getResultado());
+    }
+
+    @Test
+    void failedBatchThatDoesNotFitShouldBeReportedAsUnavailable() {
+        long now = NOW.getEpochSecond();
+        doThrow(new DataAccessResourceFailureException("down")).when(writer).write(anyList());
+        String third = credentials.sign(credential(eventId, now - 60, now + 60));
+        List<GateScanBatchItemDTO> items = List.of(
+                new GateScanBatchItemDTO(credentials.sign(credential(eventId, now - 60, now + 60)), null),
+                new GateScanBatchItemDTO(credentials.sign(credential(eventId, now - 60, now + 60)), null),
+                new GateScanBatchItemDTO(third, null));
+
+        GateScanBatchResponseDTO response = registry.ingest(eventId, items);
+
+        assertEquals(2, response.getAdmitidos());
+        assertEquals(1, response.getConflictos().size());
+        assertEquals(2, response.getConflictos().get(0).getIndice());
+        assertEquals(ScanResult.NO_DISPONIBLE, response.getConflictos().get(0).getResultado());
+        assertEquals(2, registry.pendingCount());
+
+        registry.drain(10);
+        assertEquals(ScanResult.ADMITIDO, registry.scan(eventId, third).getResultado());
+    }
+
+    @Test
+    void resendingABatchAfterReloadingTheEventShouldBeIdempotent() throws Exception {
+        long now = NOW.getEpochSecond();
+        TicketCredential credential = credential(eventId, now - 3600, now + 60);
+        Instant scannedAt = NOW.minusSeconds(60);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject(1, UUID.class)).thenReturn(credential.ticketId());
+        when(row.getString(2)).thenReturn(TicketState.USADO.name());
+        when(row.getTimestamp(3)).thenReturn(Timestamp.from(scannedAt));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        GateScanBatchResponseDTO replay = registry.ingest(eventId, List.of(new GateScanBatchItemDTO(
+                credentials.sign(credential), LocalDateTime.ofInstant(scannedAt, ZoneId.systemDefault()))));
+
+        assertEquals(1, replay.getAdmitidos());
+        assertTrue(replay.getConflictos().isEmpty());
+    }
+
+    private static TicketCredential credential(UUID eventId, long desde, long hasta) {
+        return new TicketCredential(UUID.randomUUID(), eventId, UUID.randomUUID(), UUID.randomUUID(), desde, hasta);
+    }
+}
@@ -0,0 +1,120 @@
+package com.tickets.ravetix.gate;
+
+import com.tickets.ravetix.enums.TicketState;
+import com.tickets.ravetix.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TicketIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private final UUID eventId = UUID.randomUUID();
+    private final UUID zonaA = UUID.randomUUID();
+    private final UUID zonaB = UUID.randomUUID();
+
+    @Test
+    void writtenIndexShouldFindEveryTicketWithItsZoneAndState() throws Exception {
+        List<TicketIndex.Entry> entries = entries(1000);
+        Path path = dir.resolve(eventId + ".idx");
+
+        TicketIndex.write(path, eventId, entries, 1234L);
+        TicketIndex index = TicketIndex.open(path);
+
+        assertEquals(eventId, index.getEventoId());
+        assertEquals(1000, index.getTicketCount());
+        assertEquals(2, index.getZoneCount());
+        assertEquals(1234L, index.getGeneradoEn());
+        for (TicketIndex.Entry entry : entries) {
+            int slot = index.find(entry.ticketId().getMostSignificantBits(), entry.ticketId().getLeastSignificantBits());
+            assertTrue(slot >= 0);
+            assertEquals(entry.estado(), index.state(slot));
+            assertEquals(entry.zonaId(), index.zone(index.zoneIndex(slot)));
+        }
+        UUID missing = UUID.randomUUID();
+        assertEquals(-1, index.find(missing.getMostSignificantBits(), missing.getLeastSignificantBits()));
+        assertFalse(Files.exists(dir.resolve(eventId + ".idx.tmp")));
+    }
+
+    @Test
+    void setStateShouldRevokeTicketsOnTheFile() throws Exception {
+        List<TicketIndex.Entry> entries = entries(10);
+        Path path = dir.resolve(eventId + ".idx");
+        TicketIndex.write(path, eventId, entries, 0L);
+        UUID ticketId = entries.get(3).ticketId();
+
+        TicketIndex index = TicketIndex.open(path);
+        assertFalse(index.isRevoked(ticketId.getMostSignificantBits(), ticketId.getLeastSignificantBits()));
+        assertTrue(index.setState(ticketId, TicketState.CANCELADO));
+        assertFalse(index.setState(UUID.randomUUID(), TicketState.CANCELADO));
+
+        TicketIndex reopened = TicketIndex.open(path);
+        assertTrue(reopened.isRevoked(ticketId.getMostSignificantBits(), ticketId.getLeastSignificantBits()));
+    }
+
+    @Test
+    void storeShouldReplayTheDeltaLogOverARegeneratedIndex() throws Exception {
+        List<TicketIndex.Entry> entries = entries(10);
+        UUID ticketId = entries.get(5).ticketId();
+        TicketIndexStore store = store();
+        TicketIndex.write(store.indexPath(eventId), eventId, entries, 0L);
+
+        store.apply(eventId, ticketId, TicketState.CANCELADO);
+        TicketIndex.write(store.indexPath(eventId), eventId, entries, 1L);
+
+        TicketIndex index = store.find(eventId);
+        assertNotNull(index);
+        assertTrue(index.isRevoked(ticketId.getMostSignificantBits(), ticketId.getLeastSignificantBits()));
+        assertNull(store.find(UUID.randomUUID()));
+    }
+
+    @Test
+    void storeShouldOnlyLogChangesOfIndexedEventsAndDeleteThem() throws Exception {
+        TicketIndexStore store = store();
+        UUID other = UUID.randomUUID();
+        TicketIndex.write(store.indexPath(eventId), eventId, entries(10), 0L);
+
+        store.apply(eventId, UUID.randomUUID(), TicketState.CANCELADO);
+        store.apply(other, UUID.randomUUID(), TicketState.CANCELADO);
+
+        assertTrue(Files.exists(store.deltaPath(eventId)));
+        assertFalse(Files.exists(store.deltaPath(other)));
+        assertEquals(List.of(eventId), store.stored());
+
+        assertNotNull(store.find(eventId));
+        store.delete(eventId);
+
+        assertFalse(Files.exists(store.indexPath(eventId)));
+        assertFalse(Files.exists(store.deltaPath(eventId)));
+        assertTrue(store.stored().isEmpty());
+        assertNull(store.find(eventId));
+    }
+
+    private TicketIndexStore store() {
+        return new TicketIndexStore(dir, 100, mock(EventRepository.class), mock(DataSource.class),
+                mock(PlatformTransactionManager.class), Clock.systemUTC(), new SimpleMeterRegistry());
+    }
+
+    private List<TicketIndex.Entry> entries(int count) {
+        List<TicketIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(new TicketIndex.Entry(UUID.randomUUID(), i % 2 == 0 ? zonaA : zonaB,
+                    i % 3 == 0 ? TicketState.USADO : TicketState.PAGADO));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tickets.ravetix.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EventHistoryReplayJobTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EventHistoryReplayJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        job = new EventHistoryReplayJob(jdbcTemplate, mock(PlatformTransactionManager.class), Clock.systemUTC(),
+                meterRegistry, Duration.ofHours(24), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void replayShouldInsertMissingEntriesWhenItHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any())).thenReturn(true);
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(2);
+
+        job.replay();
+
+        assertEquals(2.0, meterRegistry.counter("history.writer.replayed").count());
+    }
+
+    @Test
+    void replayShouldSkipWhenAnotherNodeHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any())).thenReturn(false);
+
+        job.replay();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any(), any());
+        assertEquals(0.0, meterRegistry.counter("history.writer.replayed").count());
+    }
+}
@@ -0,0 +1,47 @@
+package com.tickets.ravetix.history;
+
+import com.tickets.ravetix.rating.EventRatingAggregator;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class EventHistoryUniquenessTest {
+
+    @Test
+    void shouldRebuildRatingsOfDeduplicatedEventsBeforeCreatingTheIndex() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        EventRatingAggregator ratingAggregator = mock(EventRatingAggregator.class);
+        UUID eventoId = UUID.randomUUID();
+        when(jdbcTemplate.queryForList(startsWith("DELETE"), eq(UUID.class))).thenReturn(List.of(eventoId, eventoId));
+
+        new EventHistoryUniqueness(jdbcTemplate, mock(PlatformTransactionManager.class), ratingAggregator);
+
+        InOrder order = inOrder(jdbcTemplate, ratingAggregator);
+        order.verify(jdbcTemplate).execute(startsWith("SELECT pg_advisory_xact_lock"));
+        order.verify(jdbcTemplate).queryForList(startsWith("DELETE"), eq(UUID.class));
+        order.verify(ratingAggregator, times(1)).rebuild(eventoId);
+        order.verify(jdbcTemplate).execute(startsWith("CREATE UNIQUE INDEX IF NOT EXISTS uk_event_histories_usuario_evento"));
+    }
+
+    @Test
+    void shouldOnlyCreateTheIndexWhenThereAreNoDuplicates() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        EventRatingAggregator ratingAggregator = mock(EventRatingAggregator.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class))).thenReturn(List.of());
+
+        new EventHistoryUniqueness(jdbcTemplate, mock(PlatformTransactionManager.class), ratingAggregator);
+
+        verify(ratingAggregator, never()).rebuild(any());
+        verify(jdbcTemplate).execute(startsWith("CREATE UNIQUE INDEX"));
+    }
+}
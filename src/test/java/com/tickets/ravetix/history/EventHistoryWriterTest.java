@@ -0,0 +1,77 @@
+package com.tickets.ravetix.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EventHistoryWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EventHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new EventHistoryWriter(jdbcTemplate, mock(PlatformTransactionManager.class), Clock.systemUTC(),
+                meterRegistry, 3, 2, Duration.ofMillis(1));
+    }
+
+    @Test
+    void fullQueueShouldDropEntriesAfterTheTimeout() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(writer.enqueue(UUID.randomUUID(), UUID.randomUUID(), Instant.now()));
+        }
+
+        assertFalse(writer.enqueue(UUID.randomUUID(), UUID.randomUUID(), Instant.now()));
+        assertEquals(1.0, meterRegistry.counter("history.writer.dropped").count());
+        assertEquals(3, writer.pendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushShouldWriteEverythingInBatches() {
+        for (int i = 0; i < 3; i++) {
+            writer.enqueue(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+        }
+
+        writer.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertEquals(0, writer.pendingCount());
+        assertEquals(3.0, meterRegistry.counter("history.writer.written").count());
+        assertEquals(3, meterRegistry.timer("history.writer.lag").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatchShouldBeRequeued() {
+        writer.enqueue(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[]{1});
+
+        writer.flush();
+        assertEquals(1, writer.pendingCount());
+        assertEquals(1.0, meterRegistry.counter("history.writer.failures").count());
+
+        writer.flush();
+        assertEquals(0, writer.pendingCount());
+        assertEquals(1.0, meterRegistry.counter("history.writer.written").count());
+    }
+}
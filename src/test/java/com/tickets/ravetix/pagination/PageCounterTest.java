@@ -0,0 +1,155 @@
+package com.tickets.ravetix.pagination;
+
+import com.tickets.ravetix.enums.CountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PageCounterTest {
+
+    private static final long CAP = 100;
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicInteger counts = new AtomicInteger();
+    private PageCounter pageCounter;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("no pg_class"));
+        pageCounter = new PageCounter(environment, jdbcTemplate, new SimpleMeterRegistry(),
+                CountStrategy.EXACT, CAP, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void lastPageShouldBeExactWithoutCounting() {
+        CountedPage<Integer> page = page(35, PageRequest.of(1, 20), CountStrategy.SKIPPED);
+
+        assertEquals(35, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void exactShouldCount() {
+        CountedPage<Integer> page = page(500, PageRequest.of(0, 20), CountStrategy.EXACT);
+
+        assertEquals(500, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void skippedShouldReportALowerBoundWithoutCounting() {
+        CountedPage<Integer> page = page(500, PageRequest.of(2, 20), CountStrategy.SKIPPED);
+
+        assertEquals(61, page.getTotalElements());
+        assertFalse(page.isTotalExact());
+        assertTrue(page.hasNext());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void cappedShouldStopAtTheCap() {
+        CountedPage<Integer> page = page(500, PageRequest.of(0, 20), CountStrategy.CAPPED);
+
+        assertEquals(CAP, page.getTotalElements());
+        assertFalse(page.isTotalExact());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void cappedShouldCountExactlyBelowTheCap() {
+        CountedPage<Integer> page = page(60, PageRequest.of(0, 20), CountStrategy.CAPPED);
+
+        assertEquals(60, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void estimatedShouldReuseTheCachedCount() {
+        page(500, PageRequest.of(0, 20), CountStrategy.ESTIMATED);
+        CountedPage<Integer> page = page(500, PageRequest.of(1, 20), CountStrategy.ESTIMATED);
+
+        assertEquals(500, page.getTotalElements());
+        assertFalse(page.isTotalExact());
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void estimatedTableShouldUsePlannerStatistics() {
+        JdbcTemplate postgres = mock(JdbcTemplate.class);
+        when(postgres.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(480L));
+        PageCounter counter = new PageCounter(environment, postgres, new SimpleMeterRegistry(),
+                CountStrategy.EXACT, CAP, Duration.ofMinutes(1), 100);
+
+        CountedPage<Integer> page = counter.pageTable("test", "events", PageRequest.of(0, 20),
+                CountStrategy.ESTIMATED, query(500), this::count500);
+
+        assertEquals(480, page.getTotalElements());
+        assertEquals(CountStrategy.ESTIMATED, page.getCountStrategy());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void endpointDefaultShouldApplyWhenNoStrategyIsRequested() {
+        environment.setProperty("app.pagination.count.endpoints.test", "CAPPED");
+
+        CountedPage<Integer> page = page(500, PageRequest.of(0, 20), null);
+
+        assertEquals(CountStrategy.CAPPED, page.getCountStrategy());
+        assertEquals(CountStrategy.EXACT, pageCounter.resolve("other", null));
+    }
+
+    @Test
+    void mapShouldKeepTheCountStrategy() {
+        CountedPage<String> page = page(500, PageRequest.of(0, 20), CountStrategy.SKIPPED).map(String::valueOf);
+
+        assertEquals(CountStrategy.SKIPPED, page.getCountStrategy());
+        assertFalse(page.isTotalExact());
+        assertEquals("0", page.getContent().get(0));
+    }
+
+    private CountedPage<Integer> page(int rows, Pageable pageable, CountStrategy strategy) {
+        return pageCounter.page("test", List.of(rows), pageable, strategy, query(rows), () -> {
+            counts.incrementAndGet();
+            return rows;
+        });
+    }
+
+    private long count500() {
+        counts.incrementAndGet();
+        return 500;
+    }
+
+    private static Function<Pageable, Slice<Integer>> query(int rows) {
+        return pageable -> {
+            int from = (int) Math.min(pageable.getOffset(), rows);
+            int to = Math.min(from + pageable.getPageSize(), rows);
+            List<Integer> content = IntStream.range(from, to).boxed().toList();
+            return new SliceImpl<>(content, pageable, to < rows);
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.tickets.ravetix.ratelimit;
+
+import com.tickets.ravetix.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new InMemoryRateLimitStore(1_000, Duration.ofMinutes(10), meterRegistry, clock::get);
+    }
+
+    @Test
+    void storeShouldAllowTheBurstThenReportTheWait() {
+        BucketPolicy policy = new BucketPolicy(3, 1);
+
+        assertEquals(0, store.tryConsume("k", policy));
+        assertEquals(0, store.tryConsume("k", policy));
+        assertEquals(0, store.tryConsume("k", policy));
+        assertEquals(SECOND, store.tryConsume("k", policy));
+        assertEquals(0, store.tryConsume("other", policy));
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, store.tryConsume("k", policy));
+        assertEquals(SECOND, store.tryConsume("k", policy));
+    }
+
+    @Test
+    void storeShouldRefillUpToTheCapacityOnly() {
+        BucketPolicy policy = new BucketPolicy(2, 2);
+        store.tryConsume("k", policy);
+        store.tryConsume("k", policy);
+
+        clock.addAndGet(60 * SECOND);
+
+        assertEquals(0, store.tryConsume("k", policy));
+        assertEquals(0, store.tryConsume("k", policy));
+        assertEquals(SECOND / 2, store.tryConsume("k", policy));
+    }
+
+    @Test
+    void limiterShouldUseTheConfiguredRuleAndCountRejections() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.ratelimit.rules.purchase.user.capacity", "1")
+                .withProperty("app.ratelimit.rules.purchase.user.refill-per-second", "0.5");
+        RateLimiter limiter = new RateLimiter(store, environment, meterRegistry, true);
+
+        assertEquals(0, limiter.check(RateLimiter.PURCHASE_USER, "u1"));
+        assertEquals(2 * SECOND, limiter.check(RateLimiter.PURCHASE_USER, "u1"));
+        assertEquals(0, limiter.check(RateLimiter.PURCHASE_USER, null));
+        assertEquals(1, meterRegistry.counter("ratelimit.rejected", "scope", RateLimiter.PURCHASE_USER).count());
+    }
+
+    @Test
+    void disabledLimiterShouldAllowEverything() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.ratelimit.rules.login.ip.capacity", "1");
+        RateLimiter limiter = new RateLimiter(store, environment, meterRegistry, false);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.check(RateLimiter.LOGIN_IP, "10.0.0.1"));
+        }
+    }
+
+    @Test
+    void requireEventShouldThrowWithTheRetryAfter() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.ratelimit.rules.purchase.event.capacity", "1")
+                .withProperty("app.ratelimit.rules.purchase.event.refill-per-second", "0.4");
+        RateLimiter limiter = new RateLimiter(store, environment, meterRegistry, true);
+        UUID eventId = UUID.randomUUID();
+
+        limiter.requireEvent(eventId);
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.requireEvent(eventId));
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, RateLimiter.retryAfterSeconds(1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.entity.SalesRollup;
+import com.tickets.ravetix.repository.SalesRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class SalesCompactionJobTest {
+
+    private static final Instant MINUTE = Instant.ofEpochSecond(1_000_020);
+
+    private final SalesTimeSeriesStore store = new SalesTimeSeriesStore();
+    private final SalesRollupRepository repository = mock(SalesRollupRepository.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void minuteShouldOnlyBeCompactedAfterTheGracePeriod() {
+        UUID eventId = UUID.randomUUID();
+        store.record(eventId, UUID.randomUUID(), 1, BigDecimal.TEN, MINUTE);
+
+        job(MINUTE.plusSeconds(70)).compact();
+        verify(repository, never()).saveAll(anyList());
+
+        store.record(eventId, UUID.randomUUID(), 1, BigDecimal.TEN, MINUTE);
+        job(MINUTE.plusSeconds(121)).compact();
+
+        ArgumentCaptor<List<SalesRollup>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+    }
+
+    private SalesCompactionJob job(Instant now) {
+        return new SalesCompactionJob(store, repository, Clock.fixed(now, ZoneOffset.UTC), Duration.ofSeconds(60));
+    }
+}
@@ -0,0 +1,86 @@
+package com.tickets.ravetix.sales;
+
+import com.tickets.ravetix.dto.sales.SalesPointDTO;
+import com.tickets.ravetix.enums.SalesResolution;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesTimeSeriesStoreTest {
+
+    private final SalesTimeSeriesStore store = new SalesTimeSeriesStore();
+
+    @Test
+    void snapshotShouldReturnSalesPerSecondBucket() {
+        UUID eventId = UUID.randomUUID();
+        UUID zoneId = UUID.randomUUID();
+        Instant now = Instant.ofEpochSecond(1_000_000);
+
+        store.record(eventId, zoneId, 1, new BigDecimal("10.50"), now.minusSeconds(1));
+        store.record(eventId, zoneId, 1, new BigDecimal("10.50"), now);
+        store.record(eventId, zoneId, 1, new BigDecimal("20.00"), now);
+
+        List<SalesPointDTO> points = store.snapshot(eventId, zoneId, SalesResolution.SECOND, 3, now);
+
+        assertEquals(3, points.size());
+        assertEquals(0, points.get(0).getEntradasVendidas());
+        assertEquals(1, points.get(1).getEntradasVendidas());
+        assertEquals(2, points.get(2).getEntradasVendidas());
+        assertEquals(new BigDecimal("30.50"), points.get(2).getIngresos());
+    }
+
+    @Test
+    void snapshotShouldSumAllZonesWhenZoneIsNull() {
+        UUID eventId = UUID.randomUUID();
+        Instant now = Instant.ofEpochSecond(1_000_000);
+
+        store.record(eventId, UUID.randomUUID(), 1, BigDecimal.TEN, now);
+        store.record(eventId, UUID.randomUUID(), 1, BigDecimal.TEN, now);
+
+        List<SalesPointDTO> points = store.snapshot(eventId, null, SalesResolution.MINUTE, 1, now);
+
+        assertEquals(2, points.get(0).getEntradasVendidas());
+        assertEquals(new BigDecimal("20.00"), points.get(0).getIngresos());
+    }
+
+    @Test
+    void snapshotShouldDropBucketsOutsideTheWindow() {
+        UUID eventId = UUID.randomUUID();
+        UUID zoneId = UUID.randomUUID();
+        Instant sale = Instant.ofEpochSecond(1_000_000);
+        Instant later = sale.plusSeconds(SalesResolution.SECOND.getSlots());
+
+        store.record(eventId, zoneId, 1, BigDecimal.ONE, sale);
+        store.record(eventId, zoneId, 1, BigDecimal.ONE, later);
+
+        List<SalesPointDTO> points = store.snapshot(eventId, zoneId, SalesResolution.SECOND,
+                SalesResolution.SECOND.getSlots(), later);
+
+        assertEquals(1, points.stream().mapToLong(SalesPointDTO::getEntradasVendidas).sum());
+    }
+
+    @Test
+    void recordShouldNotLoseSalesUnderConcurrency() throws InterruptedException {
+        UUID eventId = UUID.randomUUID();
+        UUID zoneId = UUID.randomUUID();
+        Instant now = Instant.ofEpochSecond(1_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8_000; i++) {
+            executor.execute(() -> store.record(eventId, zoneId, 1, BigDecimal.ONE, now));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<SalesPointDTO> points = store.snapshot(eventId, zoneId, SalesResolution.HOUR, 1, now);
+        assertEquals(8_000, points.get(0).getEntradasVendidas());
+    }
+}
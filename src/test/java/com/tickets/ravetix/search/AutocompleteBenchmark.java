@@ -0,0 +1,102 @@
+package com.tickets.ravetix.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Micro-benchmark del autocompletado sobre un catálogo sintético. No forma parte de la suite; se
+ * ejecuta a mano tras compilar los tests:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.tickets.ravetix.search.AutocompleteBenchmark [eventos]
+ * </pre>
+ * Mide la carga completa y la memoria que retiene el índice, la latencia media de sugerir para
+ * prefijos de distinta longitud y la de reindexar un evento o cambiar solo su popularidad. Los
+ * eventos se generan como en {@link EventSearchBenchmark}.
+ */
+public final class AutocompleteBenchmark {
+
+    private static final String[] PREFIXES = {"r", "ro", "con", "festival s", "lim", "av. sal"};
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+    private static final int UPDATES = 5_000;
+
+    private AutocompleteBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+        List<CatalogDocument> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            documents.add(EventSearchBenchmark.document(random, UUID.randomUUID(), i));
+        }
+
+        long before = usedMemory();
+        AutocompleteIndex index = new AutocompleteIndex(new SimpleMeterRegistry());
+        long start = System.nanoTime();
+        index.replaceAll(documents);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("carga de %d eventos   %8.1f ms, %d MB retenidos%n",
+                size, elapsed / 1e6, (usedMemory() - before) / (1024 * 1024));
+
+        for (String prefix : PREFIXES) {
+            long sink = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                sink += index.suggest(prefix, 10).size();
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += index.suggest(prefix, 10).size();
+            }
+            System.out.printf("%-22s %8.3f us/op (%d)%n", "\"" + prefix + "\"",
+                    (System.nanoTime() - start) / 1e3 / ITERATIONS, sink / (WARMUP + ITERATIONS));
+        }
+
+        measure("reindexar un evento", random, documents, false, index);
+        measure("cambiar popularidad", random, documents, true, index);
+    }
+
+    private static void measure(String name, Random random, List<CatalogDocument> documents, boolean popularity,
+                                AutocompleteIndex index) {
+        List<CatalogDocument> updates = new ArrayList<>(2 * UPDATES);
+        for (int i = 0; i < 2 * UPDATES; i++) {
+            CatalogDocument current = documents.get(random.nextInt(documents.size()));
+            updates.add(popularity ? withPopularity(current, random.nextInt(5_000))
+                    : EventSearchBenchmark.document(random, current.id(), i));
+        }
+        for (int i = 0; i < UPDATES; i++) {
+            apply(index, updates.get(i), popularity);
+        }
+        long start = System.nanoTime();
+        for (int i = UPDATES; i < 2 * UPDATES; i++) {
+            apply(index, updates.get(i), popularity);
+        }
+        System.out.printf("%-22s %8.3f ms/op%n", name, (System.nanoTime() - start) / 1e6 / UPDATES);
+    }
+
+    private static void apply(AutocompleteIndex index, CatalogDocument document, boolean popularity) {
+        if (popularity) {
+            index.updatePopularity(document);
+        } else {
+            index.upsert(document);
+        }
+    }
+
+    private static CatalogDocument withPopularity(CatalogDocument d, int entradasVendidas) {
+        return new CatalogDocument(d.id(), d.nombre(), d.descripcion(), d.estado(), d.inicio(), d.fin(), d.ciudad(),
+                d.direccion(), d.pais(), d.latitud(), d.longitud(), entradasVendidas, d.categoria(), d.zonas());
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
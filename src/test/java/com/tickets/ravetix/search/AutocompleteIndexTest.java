@@ -0,0 +1,92 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.enums.SuggestionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 20, 0);
+
+    private AutocompleteIndex index;
+    private final UUID rockLima = UUID.randomUUID();
+    private final UUID festival = UUID.randomUUID();
+    private final UUID rockola = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex(new SimpleMeterRegistry());
+        index.replaceAll(List.of(
+                doc(rockLima, "Rock en Lima", "Lima", "Av. Brasil 100", EstadoEvento.PROGRAMADO, 50),
+                doc(festival, "Festival de Rock Peruano", "Cusco", "Plaza de Armas", EstadoEvento.PROGRAMADO, 300),
+                doc(rockola, "Noche Rockola", "Lima", "Jirón Ucayali 200", EstadoEvento.CREADO, 10)));
+    }
+
+    @Test
+    void suggestShouldMatchFromAnyMeaningfulWordByPopularity() {
+        assertEquals(List.of("Festival de Rock Peruano", "Rock en Lima", "Noche Rockola"), texts("roc"));
+        assertEquals(List.of("Festival de Rock Peruano", "Rock en Lima"), texts("rock "));
+        assertEquals(List.of("Festival de Rock Peruano"), texts("rock pe"));
+    }
+
+    @Test
+    void suggestShouldIgnoreAccentsAndCase() {
+        assertEquals(List.of("Jirón Ucayali 200, Lima"), texts("JIRON"));
+        assertEquals(List.of(), texts("de"));
+        assertEquals(List.of(), texts("  "));
+    }
+
+    @Test
+    void citiesShouldAddUpThePopularityOfTheirEvents() {
+        List<AutocompleteIndex.Suggestion> suggestions = index.suggest("lim", 10);
+
+        assertEquals(SuggestionType.CIUDAD, suggestions.get(0).tipo());
+        assertEquals(60, suggestions.get(0).popularidad());
+        assertEquals("Rock en Lima", suggestions.get(1).texto());
+        assertEquals(rockLima, suggestions.get(1).eventoId());
+    }
+
+    @Test
+    void updatesShouldReorderAndRemoveSuggestions() {
+        index.updatePopularity(doc(rockola, "Noche Rockola", "Lima", "Jirón Ucayali 200", EstadoEvento.CREADO, 1000));
+        assertEquals("Noche Rockola", texts("roc").get(0));
+        assertEquals(1050, index.suggest("lima", 1).get(0).popularidad());
+
+        index.upsert(doc(rockLima, "Salsa en Lima", "Lima", "Av. Brasil 100", EstadoEvento.PROGRAMADO, 50));
+        assertEquals(List.of("Noche Rockola", "Festival de Rock Peruano"), texts("roc"));
+        assertEquals(List.of("Salsa en Lima"), texts("sals"));
+
+        index.upsert(doc(festival, "Festival de Rock Peruano", "Cusco", "Plaza de Armas", EstadoEvento.CANCELADO, 300));
+        index.remove(rockola);
+        assertEquals(List.of(), texts("roc"));
+        assertEquals(List.of(), texts("cus"));
+        assertEquals(List.of("Lima", "Salsa en Lima"), texts("lima"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void suggestShouldRespectTheLimit() {
+        assertEquals(1, index.suggest("roc", 1).size());
+        assertEquals(3, index.suggest("roc", 50).size());
+    }
+
+    private List<String> texts(String text) {
+        return index.suggest(text, AutocompleteIndex.MAX_SUGGESTIONS).stream()
+                .map(AutocompleteIndex.Suggestion::texto)
+                .toList();
+    }
+
+    private static CatalogDocument doc(UUID id, String nombre, String ciudad, String direccion, EstadoEvento estado,
+                                       int entradasVendidas) {
+        return new CatalogDocument(id, nombre, null, estado, BASE, BASE.plusHours(3), ciudad, direccion, "Perú",
+                null, null, entradasVendidas, null, List.of());
+    }
+}
@@ -0,0 +1,114 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscoveryIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 20, 0);
+
+    private DiscoveryIndex index;
+    private final UUID miraflores = UUID.randomUUID();
+    private final UUID barranco = UUID.randomUUID();
+    private final UUID callao = UUID.randomUUID();
+    private final UUID sinCoordenadas = UUID.randomUUID();
+    private final UUID cusco = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new DiscoveryIndex(new SimpleMeterRegistry());
+        index.replaceAll(List.of(
+                doc(miraflores, EstadoEvento.PROGRAMADO, BASE.plusDays(2), "Lima", -12.1211, -77.0297),
+                doc(barranco, EstadoEvento.PROGRAMADO, BASE, "Lima", -12.1500, -77.0220),
+                doc(callao, EstadoEvento.CREADO, BASE.plusDays(1), "Callao", -12.0566, -77.1181),
+                doc(sinCoordenadas, EstadoEvento.PROGRAMADO, BASE.plusDays(3), "lima", null, null),
+                doc(cusco, EstadoEvento.PROGRAMADO, BASE, "Cusco", -13.5320, -71.9675)));
+    }
+
+    @Test
+    void cityShouldMatchIgnoringCaseAndAccentsOrderedByStart() {
+        assertEquals(List.of(barranco, miraflores, sinCoordenadas), ids(city("LIMA", null, null)));
+        assertTrue(ids(city("Arequipa", null, null)).isEmpty());
+    }
+
+    @Test
+    void cityShouldFilterByStartWindowAndStatus() {
+        assertEquals(List.of(miraflores), ids(city("Lima", BASE.plusDays(1), BASE.plusDays(2))));
+        assertTrue(ids(new DiscoveryQuery("Lima", null, null, null, 10, EstadoEvento.CREADO, null, null)).isEmpty());
+    }
+
+    @Test
+    void radiusShouldReturnNearbyEventsOrderedByDistance() {
+        assertEquals(List.of(miraflores, barranco), ids(around(-12.1211, -77.0297, 5)));
+
+        assertEquals(List.of(miraflores, barranco, callao), ids(around(-12.1211, -77.0297, 15)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void radiusShouldCombineWithCity() {
+        DiscoveryQuery query = new DiscoveryQuery("Callao", null, -12.1211, -77.0297, 15, null, null, null);
+        assertEquals(List.of(callao), ids(query));
+    }
+
+    @Test
+    void smallRadiusShouldOnlyVisitTheCellsAroundThePoint() {
+        assertEquals(List.of(miraflores), ids(around(-12.1211, -77.0297, 1)));
+    }
+
+    @Test
+    void largeRadiusShouldStillFilterByDistance() {
+        assertEquals(List.of(cusco), ids(around(-13.0, -72.0, 100)));
+        assertEquals(3, index.search(around(-12.1, -77.0, DiscoveryIndex.MAX_RADIUS_KM), 0, 10).total());
+    }
+
+    @Test
+    void upsertAndRemoveShouldMoveEventsBetweenBuckets() {
+        index.upsert(doc(cusco, EstadoEvento.PROGRAMADO, BASE.plusDays(5), "Lima", -12.1300, -77.0300));
+        index.remove(barranco);
+
+        assertEquals(List.of(miraflores, cusco), ids(around(-12.1211, -77.0297, 5)));
+        assertEquals(List.of(miraflores, sinCoordenadas, cusco), ids(city("Lima", null, null)));
+        assertTrue(ids(city("Cusco", null, null)).isEmpty());
+    }
+
+    @Test
+    void pagingShouldReturnTheRequestedWindowAndTheTotal() {
+        DiscoveryIndex.Result page = index.search(city("Lima", null, null), 1, 1);
+
+        assertEquals(List.of(miraflores), page.ids());
+        assertEquals(3, page.total());
+    }
+
+    @Test
+    void distanceShouldUseTheHaversineFormula() {
+        assertEquals(111.2, DiscoveryIndex.distanceKm(0, 0, 1, 0), 0.1);
+        assertEquals(0, DiscoveryIndex.distanceKm(-12.1, -77.0, -12.1, -77.0), 1e-9);
+    }
+
+    private List<UUID> ids(DiscoveryQuery query) {
+        return index.search(query, 0, 10).ids();
+    }
+
+    private static DiscoveryQuery city(String ciudad, LocalDateTime desde, LocalDateTime hasta) {
+        return new DiscoveryQuery(ciudad, null, null, null, 10, null, desde, hasta);
+    }
+
+    private static DiscoveryQuery around(double latitud, double longitud, double radioKm) {
+        return new DiscoveryQuery(null, null, latitud, longitud, radioKm, null, null, null);
+    }
+
+    private static CatalogDocument doc(UUID id, EstadoEvento estado, LocalDateTime inicio, String ciudad,
+                                       Double latitud, Double longitud) {
+        return new CatalogDocument(id, "Evento", null, estado, inicio, inicio.plusHours(3), ciudad,
+                "Av. Principal 123", "Perú", latitud, longitud, 0, null, List.of());
+    }
+}
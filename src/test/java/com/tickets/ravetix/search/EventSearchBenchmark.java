@@ -0,0 +1,98 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Micro-benchmark del índice invertido de la búsqueda de eventos sobre un catálogo sintético. No
+ * forma parte de la suite; se ejecuta a mano tras compilar los tests:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.tickets.ravetix.search.EventSearchBenchmark [eventos]
+ * </pre>
+ * Mide la carga completa, la latencia media de varias búsquedas típicas y la de reindexar un
+ * evento suelto.
+ */
+public final class EventSearchBenchmark {
+
+    static final String[] WORDS = {
+            "concierto", "festival", "rock", "jazz", "salsa", "cumbia", "teatro", "danza", "opera", "sinfonica",
+            "noche", "gira", "acustico", "electronica", "urbano", "clasico", "tributo", "banda", "orquesta", "coro",
+            "verano", "invierno", "aniversario", "estreno", "gala", "encuentro", "feria", "show", "comedia", "circo",
+            "musica", "latino", "andino", "criollo", "tropical", "indie", "metal", "pop", "reggaeton", "boleros"};
+    static final String[] CITIES = {
+            "Lima", "Cusco", "Arequipa", "Trujillo", "Piura", "Bogotá", "Medellín", "Cali", "Quito", "Guayaquil",
+            "Santiago", "Valparaíso", "Buenos Aires", "Córdoba", "Rosario", "La Paz", "Montevideo", "Asunción"};
+
+    private static final String[] QUERIES = {"rock", "concierto lima", "festival de verano", "orq", "noche jazz cusco"};
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+    private static final int UPDATES = 2_000;
+
+    private EventSearchBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+        List<CatalogDocument> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            documents.add(document(random, UUID.randomUUID(), i));
+        }
+
+        EventSearchIndex index = new EventSearchIndex(new SimpleMeterRegistry());
+        long start = System.nanoTime();
+        index.replaceAll(documents);
+        System.out.printf("carga de %d eventos   %8.1f ms%n", size, (System.nanoTime() - start) / 1e6);
+
+        for (String text : QUERIES) {
+            EventSearchQuery query = EventSearchQuery.of(text);
+            long sink = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                sink += index.search(query, 0, 20).total();
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += index.search(query, 0, 20).total();
+            }
+            System.out.printf("%-22s %8.3f ms/op (%d)%n", "\"" + text + "\"",
+                    (System.nanoTime() - start) / 1e6 / ITERATIONS, sink / (WARMUP + ITERATIONS));
+        }
+
+        for (int i = 0; i < UPDATES; i++) {
+            index.upsert(document(random, documents.get(random.nextInt(size)).id(), i));
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            index.upsert(document(random, documents.get(random.nextInt(size)).id(), i));
+        }
+        System.out.printf("%-22s %8.3f ms/op%n", "reindexar un evento", (System.nanoTime() - start) / 1e6 / UPDATES);
+    }
+
+    static CatalogDocument document(Random random, UUID id, int sequence) {
+        String city = CITIES[random.nextInt(CITIES.length)];
+        String nombre = capitalize(word(random)) + " " + word(random) + " " + word(random) + " en " + city;
+        StringBuilder descripcion = new StringBuilder();
+        for (int w = 0; w < 12; w++) {
+            descripcion.append(word(random)).append(' ');
+        }
+        LocalDateTime inicio = LocalDateTime.of(2030, 1, 1, 20, 0).plusHours(sequence % 8_760);
+        return new CatalogDocument(id, nombre, descripcion.toString().trim(), EstadoEvento.PROGRAMADO,
+                inicio, inicio.plusHours(4), city, "Av. " + capitalize(word(random)) + " " + random.nextInt(2_000),
+                "Perú", null, null, random.nextInt(5_000), null, List.of());
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
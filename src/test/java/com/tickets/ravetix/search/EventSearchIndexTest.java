@@ -0,0 +1,102 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 20, 0);
+
+    private EventSearchIndex index;
+    private final UUID rock = UUID.randomUUID();
+    private final UUID jazz = UUID.randomUUID();
+    private final UUID teatro = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex(new SimpleMeterRegistry());
+        index.replaceAll(List.of(
+                doc(rock, "Concierto de Rock", "Bandas de rock en vivo", EstadoEvento.PROGRAMADO, BASE, "Lima"),
+                doc(jazz, "Noche de Jazz", "Un concierto íntimo con músicos invitados", EstadoEvento.PROGRAMADO,
+                        BASE.plusDays(7), "Cusco"),
+                doc(teatro, "Teatro en Bogotá", "Obra clásica", EstadoEvento.CREADO, BASE.plusDays(14), "Bogotá")));
+    }
+
+    @Test
+    void searchShouldIgnoreAccentsCaseAndPlurals() {
+        assertEquals(List.of(jazz), search("MUSICO"));
+        assertEquals(List.of(teatro), search("bogota"));
+        assertEquals(2, index.search(EventSearchQuery.of("conciertos"), 0, 10).total());
+    }
+
+    @Test
+    void matchesInTheNameShouldRankFirst() {
+        assertEquals(List.of(rock, jazz), search("concierto"));
+    }
+
+    @Test
+    void allTermsShouldMatch() {
+        assertEquals(List.of(rock), search("concierto rock"));
+        assertTrue(search("concierto teatro").isEmpty());
+    }
+
+    @Test
+    void lastWordShouldMatchAsPrefixWhileTyping() {
+        assertEquals(List.of(rock, jazz), search("concie"));
+        assertTrue(search("concie ").isEmpty());
+    }
+
+    @Test
+    void searchShouldFilterByStatusAndStartDate() {
+        assertEquals(List.of(rock), ids(new EventSearchQuery("concierto", null, null, BASE.plusDays(1))));
+        assertEquals(List.of(jazz), ids(new EventSearchQuery("concierto", null, BASE.plusDays(1), null)));
+        assertTrue(ids(new EventSearchQuery("concierto", EstadoEvento.CREADO, null, null)).isEmpty());
+    }
+
+    @Test
+    void upsertAndRemoveShouldUpdateTheIndex() {
+        index.upsert(doc(teatro, "Concierto sinfónico", "Orquesta", EstadoEvento.PROGRAMADO, BASE.plusDays(14), "Bogotá"));
+        index.remove(rock);
+
+        assertEquals(List.of(teatro, jazz), search("concierto"));
+        assertTrue(search("teatro").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void pagingShouldReturnTheRequestedWindowAndTheTotal() {
+        EventSearchIndex.Result page = index.search(EventSearchQuery.of("concierto"), 1, 1);
+
+        assertEquals(List.of(jazz), page.ids());
+        assertEquals(2, page.total());
+    }
+
+    @Test
+    void analyzerShouldDropStopwordsAndStem() {
+        assertEquals(List.of("conciert", "rock", "lima"), SpanishAnalyzer.terms("Conciertos de Rock en Lima"));
+        assertEquals("festival", SpanishAnalyzer.stem("festivales"));
+        assertEquals("luz", SpanishAnalyzer.stem("luces"));
+    }
+
+    private List<UUID> search(String text) {
+        return ids(EventSearchQuery.of(text));
+    }
+
+    private List<UUID> ids(EventSearchQuery query) {
+        return index.search(query, 0, 10).ids();
+    }
+
+    private static CatalogDocument doc(UUID id, String nombre, String descripcion, EstadoEvento estado,
+                                       LocalDateTime inicio, String ciudad) {
+        return new CatalogDocument(id, nombre, descripcion, estado, inicio, inicio.plusHours(3), ciudad, "Av. Principal 123", "Perú",
+                null, null, 0, null, List.of());
+    }
+}
@@ -0,0 +1,129 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.CategoriaEvento;
+import com.tickets.ravetix.enums.EstadoEvento;
+import com.tickets.ravetix.enums.TipoZona;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 20, 0);
+
+    private FacetIndex index;
+    private final UUID rock = UUID.randomUUID();
+    private final UUID festival = UUID.randomUUID();
+    private final UUID teatro = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex(new SimpleMeterRegistry(),
+                new BigDecimal[]{new BigDecimal("100"), new BigDecimal("50"), new BigDecimal("200")});
+        index.replaceAll(List.of(
+                doc(rock, EstadoEvento.PROGRAMADO, CategoriaEvento.CONCIERTO, BASE, "Lima",
+                        zona(TipoZona.NORMAL, "40"), zona(TipoZona.VIP, "150")),
+                doc(festival, EstadoEvento.PROGRAMADO, CategoriaEvento.FESTIVAL, BASE.plusDays(3), "Lima",
+                        zona(TipoZona.NORMAL, "80")),
+                doc(teatro, EstadoEvento.CREADO, CategoriaEvento.TEATRO, BASE.plusDays(1), "Bogotá",
+                        zona(TipoZona.BOX, "250"))));
+    }
+
+    @Test
+    void priceBandsShouldFollowTheSortedBounds() {
+        assertEquals(List.of("0-50", "50-100", "100-200", "200+"), index.priceBands());
+    }
+
+    @Test
+    void emptyQueryShouldReturnEverythingByStartWithCounts() {
+        FacetIndex.Result result = search(new FacetQuery(null, null, null, null, null));
+
+        assertEquals(List.of(rock, teatro, festival), result.ids());
+        assertEquals(3, result.total());
+        assertEquals(Map.of("PROGRAMADO", 2L, "CREADO", 1L), result.facetas().get(FacetIndex.ESTADO));
+        assertEquals(Map.of("lima", 2L, "bogota", 1L), result.facetas().get(FacetIndex.CIUDAD));
+        assertEquals(Map.of("0-50", 1L, "50-100", 1L, "100-200", 1L, "200+", 1L),
+                result.facetas().get(FacetIndex.PRECIO));
+    }
+
+    @Test
+    void filtersShouldUnionWithinAFacetAndIntersectAcrossFacets() {
+        assertEquals(List.of(rock, festival),
+                search(new FacetQuery(null, null, Set.of(TipoZona.NORMAL), Set.of("LIMA"), null)).ids());
+        assertEquals(List.of(rock, teatro),
+                search(new FacetQuery(null, Set.of(CategoriaEvento.CONCIERTO, CategoriaEvento.TEATRO), null, null, null)).ids());
+        assertTrue(search(new FacetQuery(Set.of(EstadoEvento.CREADO), null, null, Set.of("Lima"), null)).ids().isEmpty());
+    }
+
+    @Test
+    void countsShouldIgnoreTheFacetsOwnFilter() {
+        FacetIndex.Result result = search(new FacetQuery(null, Set.of(CategoriaEvento.FESTIVAL), null, null, null));
+
+        assertEquals(List.of(festival), result.ids());
+        assertEquals(Map.of("FESTIVAL", 1L, "CONCIERTO", 1L, "TEATRO", 1L), result.facetas().get(FacetIndex.CATEGORIA));
+        assertEquals(Map.of("NORMAL", 1L), result.facetas().get(FacetIndex.TIPO_ZONA));
+    }
+
+    @Test
+    void upsertAndRemoveShouldUpdateTheBitmaps() {
+        index.upsert(doc(teatro, EstadoEvento.PROGRAMADO, CategoriaEvento.TEATRO, BASE.plusDays(1), "Lima",
+                zona(TipoZona.VIP, "120")));
+        index.remove(rock);
+
+        FacetIndex.Result result = search(new FacetQuery(null, null, Set.of(TipoZona.VIP), null, Set.of("100-200")));
+        assertEquals(List.of(teatro), result.ids());
+        assertFalse(result.facetas().get(FacetIndex.TIPO_ZONA).containsKey("BOX"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void pagingShouldReturnTheRequestedWindowAndTheTotal() {
+        FacetIndex.Result page = index.search(new FacetQuery(null, null, null, null, null), 1, 1);
+
+        assertEquals(List.of(teatro), page.ids());
+        assertEquals(3, page.total());
+    }
+
+    @Test
+    void bitmapShouldSwitchContainersAndKeepItsContent() {
+        FacetBitmap bitmap = new FacetBitmap();
+        for (int doc = 0; doc < 10_000; doc += 2) {
+            bitmap.add(doc);
+        }
+        bitmap.add(70_000);
+        assertEquals(5_001, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_998) && bitmap.contains(70_000) && !bitmap.contains(9_999));
+
+        for (int doc = 0; doc < 8_000; doc += 2) {
+            bitmap.remove(doc);
+        }
+        long[] mask = new long[(70_001 + 63) / 64];
+        bitmap.orInto(mask);
+        assertEquals(1_001, bitmap.cardinality());
+        assertEquals(1_001, bitmap.countAnd(mask));
+        assertTrue(bitmap.contains(8_000) && !bitmap.contains(7_998));
+    }
+
+    private FacetIndex.Result search(FacetQuery query) {
+        return index.search(query, 0, 10);
+    }
+
+    private static CatalogDocument.Zona zona(TipoZona tipo, String precio) {
+        return new CatalogDocument.Zona(tipo, new BigDecimal(precio));
+    }
+
+    private static CatalogDocument doc(UUID id, EstadoEvento estado, CategoriaEvento categoria, LocalDateTime inicio,
+                                       String ciudad, CatalogDocument.Zona... zonas) {
+        return new CatalogDocument(id, "Evento", null, estado, inicio, inicio.plusHours(3), ciudad,
+                "Av. Principal 123", "Perú", null, null, 0, categoria, List.of(zonas));
+    }
+}
@@ -0,0 +1,101 @@
+package com.tickets.ravetix.search;
+
+import com.tickets.ravetix.enums.EstadoEvento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleIndexTest {
+
+    /** Viernes */
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 7, 0, 0);
+
+    private ScheduleIndex index;
+    private final UUID festival = UUID.randomUUID();
+    private final UUID concierto = UUID.randomUUID();
+    private final UUID teatro = UUID.randomUUID();
+    private final UUID pasado = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new ScheduleIndex(new SimpleMeterRegistry());
+        index.replaceAll(List.of(
+                doc(festival, EstadoEvento.EN_CURSO, BASE.minusDays(2), BASE.plusDays(2)),
+                doc(concierto, EstadoEvento.PROGRAMADO, BASE.plusDays(1).plusHours(21), BASE.plusDays(1).plusHours(23)),
+                doc(teatro, EstadoEvento.PROGRAMADO, BASE.plusDays(10), BASE.plusDays(10).plusHours(2)),
+                doc(pasado, EstadoEvento.FINALIZADO, BASE.minusDays(30), BASE.minusDays(29))));
+    }
+
+    @Test
+    void weekendShouldIncludeEventsThatStartedBefore() {
+        assertEquals(List.of(festival, concierto), ids(BASE.plusDays(1), BASE.plusDays(3)));
+    }
+
+    @Test
+    void windowBoundsShouldBeInclusive() {
+        assertEquals(List.of(festival), ids(BASE.plusDays(2), BASE.plusDays(2)));
+        assertEquals(List.of(teatro), ids(BASE.plusDays(5), BASE.plusDays(10)));
+        assertTrue(ids(BASE.minusDays(28), BASE.minusDays(3)).isEmpty());
+    }
+
+    @Test
+    void openWindowShouldReturnEventsNotFinishedYet() {
+        assertEquals(List.of(festival, concierto, teatro), ids(BASE, null));
+    }
+
+    @Test
+    void overlappingShouldFilterByStatus() {
+        ScheduleIndex.Result result = index.overlapping(BASE, null, EstadoEvento.PROGRAMADO, 0, 10);
+        assertEquals(List.of(concierto, teatro), result.ids());
+    }
+
+    @Test
+    void upsertAndRemoveShouldUpdateTheIntervals() {
+        index.upsert(doc(teatro, EstadoEvento.PROGRAMADO, BASE.plusDays(1), BASE.plusDays(1).plusHours(2)));
+        index.remove(festival);
+
+        assertEquals(List.of(teatro, concierto), ids(BASE.plusDays(1), BASE.plusDays(3)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void pagingShouldReturnTheRequestedWindowAndTheTotal() {
+        ScheduleIndex.Result page = index.overlapping(BASE, null, null, 1, 1);
+
+        assertEquals(List.of(concierto), page.ids());
+        assertEquals(3, page.total());
+    }
+
+    @Test
+    void manyIntervalsShouldMatchALinearScan() {
+        List<CatalogDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime inicio = BASE.plusHours((i * 37L) % 5_000);
+            documents.add(doc(UUID.randomUUID(), EstadoEvento.PROGRAMADO, inicio, inicio.plusHours(1 + (i * 13L) % 200)));
+        }
+        index.replaceAll(documents);
+        LocalDateTime desde = BASE.plusHours(2_000);
+        LocalDateTime hasta = BASE.plusHours(2_048);
+
+        long expected = documents.stream()
+                .filter(d -> !d.inicio().isAfter(hasta) && !d.fin().isBefore(desde))
+                .count();
+        assertEquals(expected, index.overlapping(desde, hasta, null, 0, 10).total());
+    }
+
+    private List<UUID> ids(LocalDateTime desde, LocalDateTime hasta) {
+        return index.overlapping(desde, hasta, null, 0, 10).ids();
+    }
+
+    private static CatalogDocument doc(UUID id, EstadoEvento estado, LocalDateTime inicio, LocalDateTime fin) {
+        return new CatalogDocument(id, "Evento", null, estado, inicio, fin, "Lima", "Av. Principal 123", "Perú",
+                null, null, 0, null, List.of());
+    }
+}
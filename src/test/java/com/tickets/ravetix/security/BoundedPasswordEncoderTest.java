@@ -0,0 +1,87 @@
+package com.tickets.ravetix.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void shouldDelegateHashing() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("Password1!");
+
+        assertTrue(encoder.matches("Password1!", hash));
+        assertFalse(encoder.matches("otra", hash));
+        assertEquals(3, meterRegistry.get("auth.hash").timer().count());
+    }
+
+    @Test
+    void shouldShedWhenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.matches("lento", "hash")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            clients.submit(() -> encoder.matches("lento", "hash"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            clients.submit(() -> encoder.matches("lento", "hash"));
+            while (meterRegistry.get("auth.hash.queue").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(LoginOverloadedException.class, () -> encoder.matches("lento", "hash"));
+            assertEquals(1, meterRegistry.get("auth.hash.rejected").counter().count());
+        } finally {
+            release.countDown();
+            clients.shutdown();
+        }
+    }
+
+    @Test
+    void shouldGiveUpAfterTheTimeout() {
+        PasswordEncoder stuck = mock(PasswordEncoder.class);
+        when(stuck.encode("x")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return "hash";
+        });
+        encoder = new BoundedPasswordEncoder(stuck, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(LoginOverloadedException.class, () -> encoder.encode("x"));
+    }
+
+    @Test
+    void upgradeShouldFollowTheConfiguredStrength() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(6), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Password1!")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Password1!")));
+    }
+}
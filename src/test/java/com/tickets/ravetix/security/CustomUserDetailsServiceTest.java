@@ -0,0 +1,122 @@
+package com.tickets.ravetix.security;
+
+import com.tickets.ravetix.cache.InvalidationBus;
+import com.tickets.ravetix.cache.InvalidationMessage;
+import com.tickets.ravetix.cache.UserInvalidationRelay;
+import com.tickets.ravetix.domain.UserCredentialsChangedEvent;
+import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private CustomUserDetailsService service;
+    private UserInvalidationRelay relay;
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        service = new CustomUserDetailsService(userRepository, eventPublisher, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5),
+                Set.of("Staff@mail.com"));
+        relay = new UserInvalidationRelay(invalidationBus, service);
+        user.setId(UUID.randomUUID());
+        user.setCorreo("ana@mail.com");
+        user.setPassword("hash");
+        when(userRepository.findByCorreo("ana@mail.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void shouldQueryTheDatabaseOncePerEmail() {
+        UserDetails first = service.loadUserByUsername("ana@mail.com");
+        UserDetails second = service.loadUserByUsername("ana@mail.com");
+
+        assertEquals("hash", second.getPassword());
+        assertEquals(user.getId(), ((AppUserDetails) first).getId());
+        verify(userRepository, times(1)).findByCorreo("ana@mail.com");
+    }
+
+    @Test
+    void onlyConfiguredStaffShouldGetTheStaffAuthority() {
+        User staff = new User();
+        staff.setId(UUID.randomUUID());
+        staff.setCorreo("staff@mail.com");
+        staff.setPassword("hash");
+        when(userRepository.findByCorreo("staff@mail.com")).thenReturn(Optional.of(staff));
+
+        assertEquals(Set.of(AppUserDetails.USER), AuthorityUtils.authorityListToSet(
+                service.loadUserByUsername("ana@mail.com").getAuthorities()));
+        assertEquals(Set.of(AppUserDetails.USER, AppUserDetails.STAFF), AuthorityUtils.authorityListToSet(
+                service.loadUserByUsername("staff@mail.com").getAuthorities()));
+    }
+
+    @Test
+    void erasingCredentialsShouldNotAffectTheCachedCopy() {
+        ((CredentialsContainer) service.loadUserByUsername("ana@mail.com")).eraseCredentials();
+
+        assertEquals("hash", service.loadUserByUsername("ana@mail.com").getPassword());
+    }
+
+    @Test
+    void unknownEmailsShouldNotBeCached() {
+        when(userRepository.findByCorreo("nuevo@mail.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nuevo@mail.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nuevo@mail.com"));
+
+        verify(userRepository, times(2)).findByCorreo("nuevo@mail.com");
+    }
+
+    @Test
+    void localChangesShouldEvictAndReachOtherNodes() {
+        service.loadUserByUsername("ana@mail.com");
+        user.setPassword("nuevo-hash");
+
+        relay.onCredentialsChanged(new UserCredentialsChangedEvent("ana@mail.com"));
+
+        assertEquals("nuevo-hash", service.loadUserByUsername("ana@mail.com").getPassword());
+        verify(invalidationBus).publish(
+                new InvalidationMessage(UserInvalidationRelay.REGION, "ana@mail.com", "CREDENTIALS_CHANGED"));
+    }
+
+    @Test
+    void updatePasswordShouldStoreTheNewHashAndInvalidate() {
+        UserDetails details = service.loadUserByUsername("ana@mail.com");
+
+        UserDetails updated = service.updatePassword(details, "hash-coste-12");
+
+        assertEquals("hash-coste-12", updated.getPassword());
+        assertEquals(user.getId(), ((AppUserDetails) updated).getId());
+        verify(userRepository).updatePasswordByCorreo("ana@mail.com", "hash-coste-12");
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent("ana@mail.com"));
+    }
+
+    @Test
+    void remoteInvalidationsShouldEvict() {
+        service.loadUserByUsername("ana@mail.com");
+
+        relay.onInvalidation(new InvalidationMessage(UserInvalidationRelay.REGION, "ana@mail.com", "CREDENTIALS_CHANGED"));
+        service.loadUserByUsername("ana@mail.com");
+        relay.onReset();
+        service.loadUserByUsername("ana@mail.com");
+
+        verify(userRepository, times(3)).findByCorreo("ana@mail.com");
+    }
+}
@@ -0,0 +1,121 @@
+package com.tickets.ravetix.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga de una ráfaga de logins frente a la latencia de las compras. No forma parte de
+ * la suite; se ejecuta a mano tras compilar los tests:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.tickets.ravetix.security.LoginFloodBenchmark
+ * </pre>
+ * Simula un pool de 200 hilos de Tomcat en el que la mitad de los hilos hace login sin parar y
+ * el resto atiende compras (un trabajo corto de CPU), y compara los percentiles de latencia de
+ * las compras con BCrypt en el hilo de la petición y con {@link BoundedPasswordEncoder}.
+ */
+public final class LoginFloodBenchmark {
+
+    private static final int REQUEST_THREADS = 200;
+    private static final Duration RUN = Duration.ofSeconds(20);
+
+    private LoginFloodBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+        String hash = bcrypt.encode("Password1!");
+
+        run("BCrypt en el hilo de la petición", bcrypt, hash);
+
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(bcrypt, threads, 64, Duration.ofSeconds(2),
+                new SimpleMeterRegistry());
+        try {
+            run("BoundedPasswordEncoder", bounded, hash);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    private static void run(String name, PasswordEncoder encoder, String hash) throws InterruptedException {
+        ExecutorService tomcat = Executors.newFixedThreadPool(REQUEST_THREADS);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong logins = new AtomicLong();
+        AtomicLong shed = new AtomicLong();
+        List<Long> purchases = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < REQUEST_THREADS / 2; i++) {
+            tomcat.execute(() -> {
+                while (running.get()) {
+                    try {
+                        encoder.matches("Password1!", hash);
+                        logins.incrementAndGet();
+                    } catch (LoginOverloadedException e) {
+                        shed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < REQUEST_THREADS / 2; i++) {
+            tomcat.execute(() -> {
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    purchase();
+                    purchases.add(System.nanoTime() - start);
+                    sleep();
+                }
+            });
+        }
+
+        Thread.sleep(RUN.toMillis());
+        running.set(false);
+        tomcat.shutdown();
+        tomcat.awaitTermination(30, TimeUnit.SECONDS);
+
+        List<Long> latencies = new ArrayList<>(purchases);
+        Collections.sort(latencies);
+        System.out.printf("%-34s compras=%d p50=%.2f ms p99=%.2f ms logins=%d rechazados=%d%n",
+                name, latencies.size(), percentile(latencies, 0.50), percentile(latencies, 0.99),
+                logins.get(), shed.get());
+    }
+
+    /**
+     * Unos cientos de microsegundos de CPU, como validar y serializar una compra.
+     */
+    private static void purchase() {
+        long acc = 0;
+        for (int i = 0; i < 200_000; i++) {
+            acc += Long.rotateLeft(acc ^ i, 7);
+        }
+        if (acc == 42) {
+            System.out.print("");
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.round(p * (sorted.size() - 1)))) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.tickets.ravetix.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.tickets.ravetix.security.AppUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        provider = new JwtTokenProvider("secreto", 60_000, cache, meterRegistry);
+    }
+
+    @Test
+    void shouldVerifyATokenOnlyOnce() {
+        String token = provider.generateToken("ana@example.com");
+
+        assertEquals("ana@example.com", provider.getUsernameFromToken(token));
+        assertEquals("ana@example.com", provider.getUsernameFromToken(token));
+
+        assertEquals(1, meterRegistry.get("auth.tokens.verify").timer().count());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldRememberRejectedTokens() {
+        String forged = JWT.create().withSubject("ana@example.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256("otro-secreto"));
+
+        assertThrows(JWTVerificationException.class, () -> provider.getUsernameFromToken(forged));
+        assertThrows(JWTVerificationException.class, () -> provider.getUsernameFromToken(forged));
+        assertThrows(JWTVerificationException.class, () -> provider.getUsernameFromToken("basura"));
+
+        assertEquals(2, meterRegistry.get("auth.tokens.verify").timer().count());
+        assertEquals(2, meterRegistry.get("auth.tokens.rejected").counter().count());
+    }
+
+    @Test
+    void shouldNotServeExpiredTokensFromTheCache() throws InterruptedException {
+        JwtTokenProvider shortLived = new JwtTokenProvider("secreto", 1_000, cache, meterRegistry);
+        String token = shortLived.generateToken("ana@example.com");
+        assertEquals("ana@example.com", shortLived.getUsernameFromToken(token));
+
+        Thread.sleep(1_100);
+
+        assertThrows(JWTVerificationException.class, () -> shortLived.getUsernameFromToken(token));
+    }
+
+    @Test
+    void tokenShouldCarryTheUserIdAndAuthorities() {
+        UUID id = UUID.randomUUID();
+        String token = provider.generateToken(new AppUserDetails(id, "ana@example.com", "hash",
+                AuthorityUtils.createAuthorityList("USER")));
+
+        DecodedJWT jwt = provider.verify(token);
+
+        assertEquals(id, JwtTokenProvider.userId(jwt));
+        assertEquals(AuthorityUtils.createAuthorityList("USER"), JwtTokenProvider.authorities(jwt));
+        assertNull(JwtTokenProvider.userId(provider.verify(provider.generateToken("ana@example.com"))));
+    }
+
+    @Test
+    void hashShouldNotExposeTheToken() {
+        String token = provider.generateToken("ana@example.com");
+
+        assertFalse(VerifiedTokenCache.hash(token).contains(token.substring(0, 10)));
+        assertEquals(VerifiedTokenCache.hash(token), VerifiedTokenCache.hash(token));
+    }
+}
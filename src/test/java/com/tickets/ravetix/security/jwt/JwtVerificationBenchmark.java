@@ -0,0 +1,54 @@
+package com.tickets.ravetix.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Micro-benchmark del coste de autenticar una petición a partir de su token. No forma parte de
+ * la suite; se ejecuta a mano tras compilar los tests:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.tickets.ravetix.security.jwt.JwtVerificationBenchmark
+ * </pre>
+ * Compara la verificación anterior (algoritmo y verificador nuevos por petición), el verificador
+ * reutilizado y la caché de tokens verificados.
+ */
+public final class JwtVerificationBenchmark {
+
+    private static final String SECRET = "secretoSeguro";
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private JwtVerificationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000,
+                new VerifiedTokenCache(meterRegistry, 10_000, Duration.ofMinutes(10), Duration.ofSeconds(30)),
+                meterRegistry);
+        String token = provider.generateToken("ana@example.com");
+        var reused = JWT.require(Algorithm.HMAC256(SECRET)).build();
+
+        run("sin reutilizar", token, t -> JWT.require(Algorithm.HMAC256(SECRET)).build().verify(t).getSubject());
+        run("verificador reutilizado", token, t -> reused.verify(t).getSubject());
+        run("con caché", token, provider::getUsernameFromToken);
+    }
+
+    private static void run(String name, String token, Function<String, String> verify) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += verify.apply(token).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += verify.apply(token).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-24s %8.1f ns/op (%d)%n", name, (double) elapsed / ITERATIONS, sink);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tickets.ravetix.security.jwt;
+
+import com.tickets.ravetix.cache.InvalidationBus;
+import com.tickets.ravetix.cache.InvalidationMessage;
+import com.tickets.ravetix.domain.UserAccessRevokedEvent;
+import com.tickets.ravetix.entity.TokenRevocation;
+import com.tickets.ravetix.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2030-06-01T20:00:00.500Z");
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final UUID userId = UUID.randomUUID();
+    private TokenRevocationList revocations;
+
+    @BeforeEach
+    void setUp() {
+        revocations = new TokenRevocationList(repository, invalidationBus, eventPublisher,
+                Clock.fixed(NOW, ZoneOffset.UTC), 86_400_000);
+    }
+
+    @Test
+    void revokeShouldPersistAndPublishTheRevocation() {
+        revocations.revoke(userId);
+
+        verify(repository).save(any(TokenRevocation.class));
+        verify(eventPublisher).publishEvent(new UserAccessRevokedEvent(userId, NOW));
+        assertFalse(revocations.isRevoked(userId, NOW.minusSeconds(60)), "applied only after commit");
+    }
+
+    @Test
+    void committedRevocationShouldRejectOlderTokensAndReachOtherNodes() {
+        revocations.onRevoked(new UserAccessRevokedEvent(userId, NOW));
+
+        assertTrue(revocations.isRevoked(userId, NOW.minusSeconds(60)));
+        assertTrue(revocations.isRevoked(userId, null));
+        assertFalse(revocations.isRevoked(userId, Instant.parse("2030-06-01T20:00:00Z")));
+        assertFalse(revocations.isRevoked(UUID.randomUUID(), NOW.minusSeconds(60)));
+        verify(invalidationBus).publish(new InvalidationMessage(
+                TokenRevocationList.REGION, userId.toString(), Long.toString(NOW.toEpochMilli())));
+    }
+
+    @Test
+    void remoteRevocationsShouldKeepTheLatestInstant() {
+        revocations.onInvalidation(new InvalidationMessage(
+                TokenRevocationList.REGION, userId.toString(), Long.toString(NOW.toEpochMilli())));
+        revocations.onInvalidation(new InvalidationMessage(
+                TokenRevocationList.REGION, userId.toString(), Long.toString(NOW.minusSeconds(3600).toEpochMilli())));
+
+        assertTrue(revocations.isRevoked(userId, NOW.minusSeconds(60)));
+    }
+
+    @Test
+    void reloadAndPurgeShouldOnlyKeepRevocationsThatCanAffectLiveTokens() {
+        when(repository.findByRevocadoEnAfter(NOW.minusSeconds(86_400)))
+                .thenReturn(List.of(new TokenRevocation(userId, NOW.minusSeconds(10))));
+
+        revocations.reload();
+        assertTrue(revocations.isRevoked(userId, NOW.minusSeconds(60)));
+
+        revocations.onInvalidation(new InvalidationMessage(TokenRevocationList.REGION,
+                userId.toString(), Long.toString(NOW.minusSeconds(90_000).toEpochMilli())));
+        revocations.purge();
+        verify(repository).deleteByRevocadoEnBefore(NOW.minusSeconds(86_400));
+        assertTrue(revocations.isRevoked(userId, NOW.minusSeconds(60)));
+    }
+}
@@ -2,13 +2,17 @@
 package com.tickets.ravetix.service;
 
 import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.dto.eventhistory.EventRatingResponseDTO;
 import com.tickets.ravetix.dto.mapper.EventHistoryMapper;
 import com.tickets.ravetix.entity.Event;
 import com.tickets.ravetix.entity.EventHistory;
+import com.tickets.ravetix.entity.EventRating;
 import com.tickets.ravetix.entity.User;
 import com.tickets.ravetix.exception.ResourceNotFoundException;
 import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.rating.EventRatingAggregator;
 import com.tickets.ravetix.repository.EventHistoryRepository;
+import com.tickets.ravetix.repository.EventRatingRepository;
 import com.tickets.ravetix.repository.EventRepository;
 import com.tickets.ravetix.repository.UserRepository;
 import com.tickets.ravetix.service.impl.EventHistoryServiceImpl;
@@ -33,6 +37,10 @@ class EventHistoryServiceTest {
     private EventRepository eventRepository;
     @Mock
     private EventHistoryMapper eventHistoryMapper;
+    @Mock
+    private EventRatingRepository eventRatingRepository;
+    @Mock
+    private EventRatingAggregator eventRatingAggregator;
 
     @InjectMocks
     private EventHistoryServiceImpl eventHistoryService;
@@ -197,6 +205,67 @@ class EventHistoryServiceTest {
 
         assertNotNull(result);
         verify(eventHistoryRepository).save(eventHistory);
+        verify(eventRatingAggregator).apply(eventId, null, 5);
+    }
+
+    @Test
+    void rateEvent_shouldApplyDifferenceWithPreviousRating() {
+        UUID userId = UUID.randomUUID();
+        UUID eventId = UUID.randomUUID();
+        EventHistory eventHistory = new EventHistory();
+        eventHistory.setCalificacion(2);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(new Event()));
+        when(eventHistoryRepository.findByUsuarioIdAndEventoId(userId, eventId)).thenReturn(Optional.of(eventHistory));
+        when(eventHistoryRepository.save(eventHistory)).thenReturn(eventHistory);
+
+        eventHistoryService.rateEvent(eventId, userId, 4, null);
+
+        InOrder inOrder = inOrder(eventHistoryRepository, eventRatingAggregator);
+        inOrder.verify(eventHistoryRepository).flush();
+        inOrder.verify(eventRatingAggregator).apply(eventId, 2, 4);
+    }
+
+    @Test
+    void getEventRatings_shouldReturnAverageAndDistribution() {
+        UUID eventId = UUID.randomUUID();
+        EventRating rating = new EventRating();
+        rating.setEventoId(eventId);
+        rating.setTotalCalificaciones(3);
+        rating.setSumaCalificaciones(11);
+        rating.setEstrellas3(1);
+        rating.setEstrellas4(1);
+        rating.setEstrellas5(1);
+        when(eventRatingRepository.findByEventoId(eventId)).thenReturn(Optional.of(rating));
+
+        EventRatingResponseDTO result = eventHistoryService.getEventRatings(eventId);
+
+        assertEquals(3, result.getTotalCalificaciones());
+        assertEquals(3.67, result.getPromedio());
+        assertEquals(List.of(0L, 0L, 1L, 1L, 1L), new ArrayList<>(result.getDistribucion().values()));
+        verify(eventRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getEventRatings_shouldReturnEmptySummary_whenNeverRated() {
+        UUID eventId = UUID.randomUUID();
+        when(eventRatingRepository.findByEventoId(eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+
+        EventRatingResponseDTO result = eventHistoryService.getEventRatings(eventId);
+
+        assertEquals(0, result.getTotalCalificaciones());
+        assertNull(result.getPromedio());
+    }
+
+    @Test
+    void getEventRatings_shouldThrow_whenEventNotFound() {
+        UUID eventId = UUID.randomUUID();
+        when(eventRatingRepository.findByEventoId(eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> eventHistoryService.getEventRatings(eventId));
     }
 
     @Test
@@ -9,11 +9,16 @@ import com.tickets.ravetix.entity.Event;
 import com.tickets.ravetix.enums.EstadoEvento;
 import com.tickets.ravetix.exception.event.EventException;
 import com.tickets.ravetix.exception.ResourceNotFoundException;
+import com.tickets.ravetix.dto.ResourceVersion;
 import com.tickets.ravetix.repository.EventRepository;
+import com.tickets.ravetix.repository.TicketRepository;
+import com.tickets.ravetix.repository.VersionStamp;
+import com.tickets.ravetix.repository.ZoneRepository;
 import com.tickets.ravetix.service.impl.EventServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -27,8 +32,14 @@ class EventServiceImplTest {
     @Mock
     private EventRepository eventRepository;
     @Mock
+    private ZoneRepository zoneRepository;
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
     private EventMapper eventMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -164,4 +175,49 @@ class EventServiceImplTest {
 
         assertThrows(EventException.class, () -> eventService.changeStatus(id, EstadoEvento.CREADO));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVersion_shouldThrow_whenNotFound() {
+        UUID id = UUID.randomUUID();
+        when(eventRepository.findVersionStampById(id)).thenReturn(stamp(0, 0, null));
+
+        assertThrows(ResourceNotFoundException.class, () -> eventService.getVersion(id));
+        verifyNoInteractions(zoneRepository, ticketRepository);
+    }
+
+    @Test
+    void getVersion_shouldChange_whenZonesOrTicketsChange() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime updated = LocalDateTime.now();
+        when(eventRepository.findVersionStampById(id)).thenReturn(stamp(1, 3, updated.minusDays(1)));
+        when(zoneRepository.findVersionStampByEventoId(id)).thenReturn(stamp(2, 1, updated));
+        when(ticketRepository.findVersionStampByEventoId(id)).thenReturn(stamp(5, 0, updated.minusHours(1)));
+
+        ResourceVersion before = eventService.getVersion(id);
+        when(ticketRepository.findVersionStampByEventoId(id)).thenReturn(stamp(6, 0, updated.minusHours(1)));
+        ResourceVersion after = eventService.getVersion(id);
+
+        assertEquals(updated, before.lastModified());
+        assertNotEquals(before.etag(), after.etag());
+        verify(eventRepository, never()).findById(id);
+    }
+
+    private static VersionStamp stamp(long count, long version, LocalDateTime updatedAt) {
+        return new VersionStamp() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
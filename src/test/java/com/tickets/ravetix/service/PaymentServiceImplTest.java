@@ -1,5 +1,6 @@
 package com.tickets.ravetix.service;
 
+import com.tickets.ravetix.domain.TicketSoldEvent;
 import com.tickets.ravetix.dto.mapper.PaymentMapper;
 import com.tickets.ravetix.dto.payment.PaymentRequestDTO;
 import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
@@ -12,11 +13,11 @@ import com.tickets.ravetix.exception.ValidationException;
 import com.tickets.ravetix.repository.PaymentRepository;
 import com.tickets.ravetix.repository.TicketRepository;
 import com.tickets.ravetix.repository.UserRepository;
-import com.tickets.ravetix.repository.EventHistoryRepository;
 import com.tickets.ravetix.service.impl.PaymentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -38,7 +39,7 @@ class PaymentServiceImplTest {
     @Mock
     private PaymentMapper paymentMapper;
     @Mock
-    private EventHistoryRepository eventHistoryRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PaymentServiceImpl paymentService;
@@ -80,6 +81,7 @@ class PaymentServiceImplTest {
         savedPayment.setId(paymentId);
         savedPayment.setEstado(EstadoPago.PENDIENTE);
         savedPayment.setTicket(ticket);
+        savedPayment.setUsuario(user);
 
         PaymentResponseDTO responseDTO = new PaymentResponseDTO();
 
@@ -272,6 +274,9 @@ class PaymentServiceImplTest {
         zone.setEvento(event);
         ticket.setZona(zone);
         payment.setTicket(ticket);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        payment.setUsuario(user);
 
         PaymentResponseDTO dto = new PaymentResponseDTO();
 
@@ -289,6 +294,9 @@ class PaymentServiceImplTest {
         verify(ticketRepository).save(ticket);
         verify(paymentRepository).save(payment);
         verify(paymentMapper).toDto(payment);
+        ArgumentCaptor<TicketSoldEvent> sold = ArgumentCaptor.forClass(TicketSoldEvent.class);
+        verify(eventPublisher).publishEvent(sold.capture());
+        assertEquals(user.getId(), sold.getValue().usuarioId());
     }
 
     @Test
@@ -311,6 +319,9 @@ class PaymentServiceImplTest {
 
         Ticket ticket = new Ticket();
         ticket.setEstado(TicketState.PAGADO);
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        ticket.setEvento(event);
         payment.setTicket(ticket);
 
         PaymentResponseDTO dto = new PaymentResponseDTO();
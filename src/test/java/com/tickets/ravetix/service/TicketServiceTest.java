@@ -1,12 +1,16 @@
 package com.tickets.ravetix.service;
 
+import com.tickets.ravetix.domain.CatalogChangedEvent;
 import com.tickets.ravetix.dto.mapper.TicketMapper;
+import com.tickets.ravetix.dto.ticket.TicketCredentialDTO;
 import com.tickets.ravetix.dto.ticket.TicketRequestDTO;
 import com.tickets.ravetix.dto.ticket.TicketResponseDTO;
 import com.tickets.ravetix.entity.*;
 import com.tickets.ravetix.enums.TicketState;
+import com.tickets.ravetix.exception.AccessDeniedException;
 import com.tickets.ravetix.exception.NotFoundException;
 import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.gate.TicketCredentials;
 import com.tickets.ravetix.repository.EventRepository;
 import com.tickets.ravetix.repository.TicketRepository;
 import com.tickets.ravetix.repository.UserRepository;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -41,6 +46,10 @@ class TicketServiceTest {
     @Mock
     private TicketMapper ticketMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TicketCredentials ticketCredentials;
     @InjectMocks
     private TicketServiceImpl ticketService;
 
@@ -301,11 +310,15 @@ class TicketServiceTest {
         UUID ticketId = UUID.randomUUID();
         Ticket ticket = new Ticket();
         ticket.setEstado(TicketState.PENDIENTE_PAGO);
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        ticket.setEvento(event);
 
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
         when(ticketRepository.save(ticket)).thenReturn(ticket);
 
         assertDoesNotThrow(() -> ticketService.cancelTicket(ticketId, "Motivo"));
+        verify(eventPublisher).publishEvent(any(CatalogChangedEvent.class));
         assertEquals(TicketState.CANCELADO, ticket.getEstado());
         assertEquals("Motivo", ticket.getMotivoCancelacion());
         verify(ticketRepository).findById(ticketId);
@@ -344,4 +357,43 @@ class TicketServiceTest {
         assertThrows(NotFoundException.class, () -> ticketService.cancelTicket(ticketId, "Motivo"));
         verify(ticketRepository).findById(ticketId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTicketCredentialShouldIssueToTheOwner() {
+        UUID ticketId = UUID.randomUUID();
+        Ticket ticket = paidTicket(ticketId);
+        TicketCredentialDTO credential = new TicketCredentialDTO();
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketCredentials.issue(ticket)).thenReturn(credential);
+
+        assertSame(credential, ticketService.getTicketCredential(ticketId, ticket.getUsuario().getId()));
+    }
+
+    @Test
+    void getTicketCredentialShouldDenyOtherUsers() {
+        UUID ticketId = UUID.randomUUID();
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(paidTicket(ticketId)));
+
+        assertThrows(AccessDeniedException.class, () -> ticketService.getTicketCredential(ticketId, UUID.randomUUID()));
+        assertThrows(AccessDeniedException.class, () -> ticketService.getTicketCredential(ticketId, null));
+        verifyNoInteractions(ticketCredentials);
+    }
+
+    @Test
+    void getTicketCredentialShouldThrowWhenTicketNotFound() {
+        UUID ticketId = UUID.randomUUID();
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> ticketService.getTicketCredential(ticketId, UUID.randomUUID()));
+    }
+
+    private Ticket paidTicket(UUID ticketId) {
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+        Ticket ticket = new Ticket();
+        ticket.setId(ticketId);
+        ticket.setUsuario(owner);
+        ticket.setEstado(TicketState.PAGADO);
+        return ticket;
+    }
+}
@@ -0,0 +1,149 @@
+package com.tickets.ravetix.service;
+
+import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.dto.mapper.EventHistoryMapper;
+import com.tickets.ravetix.dto.mapper.PaymentMapper;
+import com.tickets.ravetix.dto.mapper.TicketMapper;
+import com.tickets.ravetix.dto.mapper.UserMapper;
+import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
+import com.tickets.ravetix.dto.user.UserResponseDTO;
+import com.tickets.ravetix.entity.EventHistory;
+import com.tickets.ravetix.entity.Payment;
+import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.enums.UserExpansion;
+import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.exception.ValidationException;
+import com.tickets.ravetix.exception.user.UserException;
+import com.tickets.ravetix.repository.EventHistoryRepository;
+import com.tickets.ravetix.repository.PaymentRepository;
+import com.tickets.ravetix.repository.TicketRepository;
+import com.tickets.ravetix.repository.UserRepository;
+import com.tickets.ravetix.service.impl.UserCompositeLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserCompositeLoaderTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final EventHistoryRepository eventHistoryRepository = mock(EventHistoryRepository.class);
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final PaymentMapper paymentMapper = mock(PaymentMapper.class);
+    private final EventHistoryMapper eventHistoryMapper = mock(EventHistoryMapper.class);
+    private final UUID userId = UUID.randomUUID();
+    private final UserResponseDTO profile = new UserResponseDTO();
+
+    private UserCompositeLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new UserCompositeLoader(userRepository, ticketRepository, paymentRepository, eventHistoryRepository,
+                userMapper, mock(TicketMapper.class), paymentMapper, eventHistoryMapper,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 2, 4, 50, Duration.ofSeconds(5));
+        User user = new User();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userMapper.toProfileDto(user)).thenReturn(profile);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    void shouldLoadOnlyTheRequestedResources() {
+        Payment payment = new Payment();
+        EventHistory history = new EventHistory();
+        List<PaymentResponseDTO> pagos = List.of(new PaymentResponseDTO());
+        EventHistoryResponseDTO historial = new EventHistoryResponseDTO();
+        when(paymentRepository.findSliceByUsuarioId(eq(userId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(payment)));
+        when(paymentMapper.toDtoList(List.of(payment))).thenReturn(pagos);
+        when(eventHistoryRepository.findSliceByUsuarioId(eq(userId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(history)));
+        when(eventHistoryMapper.toDto(history)).thenReturn(historial);
+
+        UserResponseDTO user = loader.load(userId, EnumSet.of(UserExpansion.PAGOS, UserExpansion.HISTORIAL), 10);
+
+        assertSame(profile, user);
+        assertEquals(pagos, user.getPagos());
+        assertEquals(List.of(historial), user.getHistorialEventos());
+        assertTrue(user.getTickets().isEmpty());
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void shouldCapTheEmbeddedPageSize() {
+        when(paymentRepository.findSliceByUsuarioId(eq(userId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        loader.load(userId, EnumSet.of(UserExpansion.PAGOS), 1_000);
+
+        verify(paymentRepository).findSliceByUsuarioId(eq(userId), argThat((Pageable page) ->
+                page.getPageNumber() == 0 && page.getPageSize() == 50 && page.getSort().isSorted()));
+    }
+
+    @Test
+    void emptyExpansionShouldOnlyLoadTheProfile() {
+        assertSame(profile, loader.load(userId, EnumSet.noneOf(UserExpansion.class), 10));
+
+        verifyNoInteractions(ticketRepository, paymentRepository, eventHistoryRepository);
+    }
+
+    @Test
+    void missingUserShouldBeNotFound() {
+        UUID missing = UUID.randomUUID();
+        when(userRepository.findById(missing)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> loader.load(missing, EnumSet.noneOf(UserExpansion.class), 10));
+    }
+
+    @Test
+    void saturatedPoolShouldRejectInsteadOfRunningOnTheRequestThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UserCompositeLoader saturated = new UserCompositeLoader(userRepository, ticketRepository, paymentRepository,
+                eventHistoryRepository, userMapper, mock(TicketMapper.class), paymentMapper, eventHistoryMapper,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 1, 1, 50, Duration.ofSeconds(5));
+        when(userRepository.findById(userId)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(new User());
+        });
+        try {
+            UserException e = assertThrows(UserException.class,
+                    () -> saturated.load(userId, EnumSet.allOf(UserExpansion.class), 10));
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+            verifyNoInteractions(paymentRepository, eventHistoryRepository);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void expandParameterShouldBeParsedCaseInsensitively() {
+        assertEquals(EnumSet.allOf(UserExpansion.class), UserExpansion.parse(null));
+        assertEquals(EnumSet.noneOf(UserExpansion.class), UserExpansion.parse("none"));
+        assertEquals(EnumSet.of(UserExpansion.PAGOS, UserExpansion.TICKETS), UserExpansion.parse("Pagos, tickets"));
+        assertThrows(ValidationException.class, () -> UserExpansion.parse("amigos"));
+    }
+}
@@ -1,29 +1,35 @@
 package com.tickets.ravetix.service;
 
-import com.tickets.ravetix.dto.eventhistory.EventHistoryResponseDTO;
+import com.tickets.ravetix.domain.UserCredentialsChangedEvent;
 import com.tickets.ravetix.dto.mapper.UserMapper;
-import com.tickets.ravetix.dto.payment.PaymentResponseDTO;
 import com.tickets.ravetix.dto.user.UserCreateDTO;
 import com.tickets.ravetix.dto.user.UserResponseDTO;
 import com.tickets.ravetix.dto.user.UserUpdateDTO;
 import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.enums.UserExpansion;
 import com.tickets.ravetix.exception.NotFoundException;
+import com.tickets.ravetix.rating.EventRatingAggregator;
 import com.tickets.ravetix.repository.UserRepository;
+import com.tickets.ravetix.security.jwt.TokenRevocationList;
+import com.tickets.ravetix.service.impl.UserCompositeLoader;
 import com.tickets.ravetix.service.impl.UserServiceImpl;
-import com.tickets.ravetix.service.interfac.EventHistoryService;
-import com.tickets.ravetix.service.interfac.PaymentService;
+import com.tickets.ravetix.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,9 +42,13 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
     @Mock
-    private PaymentService paymentService;
+    private UserCompositeLoader compositeLoader;
     @Mock
-    private EventHistoryService eventHistoryService;
+    private TokenRevocationList tokenRevocations;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EventRatingAggregator ratingAggregator;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -95,37 +105,37 @@ class UserServiceTest {
     }
 
     @Test
-    void getUserByIdShouldReturnUserWithPaymentsAndHistory() {
+    void getUserByIdShouldExpandAllResourcesByDefault() {
         UUID id = UUID.randomUUID();
-        User user = new User();
         UserResponseDTO userDTO = new UserResponseDTO();
-        List<PaymentResponseDTO> payments = List.of(new PaymentResponseDTO());
-        List<EventHistoryResponseDTO> history = List.of(new EventHistoryResponseDTO());
 
-        when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        when(userMapper.toDto(user)).thenReturn(userDTO);
-        when(paymentService.getPaymentsByUserId(id, Pageable.unpaged()))
-                .thenReturn(new PageImpl<>(payments));
-        when(eventHistoryService.getEventHistoryByUserId(id, Pageable.unpaged()))
-                .thenReturn(new PageImpl<>(history));
+        when(compositeLoader.load(id, EnumSet.allOf(UserExpansion.class), KeysetCursor.DEFAULT_SIZE))
+                .thenReturn(userDTO);
 
         UserResponseDTO result = userService.getUserById(id);
 
-        assertNotNull(result);
-        assertEquals(payments, result.getPagos());
-        assertEquals(history, result.getHistorialEventos());
-        verify(userRepository).findById(id);
-        verify(paymentService).getPaymentsByUserId(id, Pageable.unpaged());
-        verify(eventHistoryService).getEventHistoryByUserId(id, Pageable.unpaged());
+        assertSame(userDTO, result);
+        verifyNoInteractions(userRepository, userMapper);
     }
 
     @Test
-    void getUserByIdShouldThrowWhenUserNotFound() {
+    void getUserByIdShouldPassTheRequestedExpansions() {
         UUID id = UUID.randomUUID();
-        when(userRepository.findById(id)).thenReturn(Optional.empty());
+        UserResponseDTO userDTO = new UserResponseDTO();
+        Set<UserExpansion> expand = EnumSet.of(UserExpansion.PAGOS);
+
+        when(compositeLoader.load(id, expand, 5)).thenReturn(userDTO);
+
+        assertSame(userDTO, userService.getUserById(id, expand, 5));
+    }
+
+    @Test
+    void getUserByIdShouldPropagateNotFound() {
+        UUID id = UUID.randomUUID();
+        when(compositeLoader.load(id, EnumSet.allOf(UserExpansion.class), KeysetCursor.DEFAULT_SIZE))
+                .thenThrow(new NotFoundException("User not found with id: " + id));
 
         assertThrows(NotFoundException.class, () -> userService.getUserById(id));
-        verify(userRepository).findById(id);
     }
 
     @Test
@@ -174,6 +184,8 @@ class UserServiceTest {
         verify(userMapper).updateEntity(dto, user);
         verify(userRepository).save(user);
         verify(userMapper).toDto(updatedUser);
+        verify(tokenRevocations).revoke(id);
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent("old@mail.com"));
     }
 
     @Test
@@ -219,21 +231,27 @@ class UserServiceTest {
     @Test
     void deleteUserShouldDeleteWhenUserExists() {
         UUID id = UUID.randomUUID();
-        when(userRepository.existsById(id)).thenReturn(true);
+        when(userRepository.findCorreoById(id)).thenReturn(Optional.of("ana@mail.com"));
         doNothing().when(userRepository).deleteById(id);
 
         assertDoesNotThrow(() -> userService.deleteUser(id));
-        verify(userRepository).existsById(id);
-        verify(userRepository).deleteById(id);
+        verify(userRepository).findCorreoById(id);
+        InOrder inOrder = inOrder(ratingAggregator, userRepository);
+        inOrder.verify(ratingAggregator).retractUser(id);
+        inOrder.verify(userRepository).deleteById(id);
+        verify(tokenRevocations).revoke(id);
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent("ana@mail.com"));
     }
 
     @Test
     void deleteUserShouldThrowWhenUserNotFound() {
         UUID id = UUID.randomUUID();
-        when(userRepository.existsById(id)).thenReturn(false);
+        when(userRepository.findCorreoById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> userService.deleteUser(id));
-        verify(userRepository).existsById(id);
+        verify(userRepository).findCorreoById(id);
+        verify(userRepository, never()).deleteById(id);
+        verifyNoInteractions(tokenRevocations, ratingAggregator);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.tickets.ravetix.service;
 
+import com.tickets.ravetix.domain.CatalogChangedEvent;
 import com.tickets.ravetix.dto.mapper.ZoneMapper;
 import com.tickets.ravetix.dto.zone.ZoneCreateDTO;
 import com.tickets.ravetix.dto.zone.ZoneResponseDTO;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +37,8 @@ class ZoneServiceTest {
     @Mock
     private ZoneMapper zoneMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private ZoneServiceImpl zoneService;
 
@@ -173,6 +177,9 @@ class ZoneServiceTest {
         Zone zone = new Zone();
         zone.setId(id);
         zone.setTickets(Collections.emptyList());
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        zone.setEvento(event);
 
         when(zoneRepository.findByIdWithTickets(id)).thenReturn(Optional.of(zone));
         doNothing().when(zoneRepository).delete(zone);
@@ -180,6 +187,7 @@ class ZoneServiceTest {
         assertDoesNotThrow(() -> zoneService.delete(id));
         verify(zoneRepository).findByIdWithTickets(id);
         verify(zoneRepository).delete(zone);
+        verify(eventPublisher).publishEvent(any(CatalogChangedEvent.class));
     }
 
     @Test
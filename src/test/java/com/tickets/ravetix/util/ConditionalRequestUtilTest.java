@@ -0,0 +1,63 @@
+package com.tickets.ravetix.util;
+
+import com.tickets.ravetix.dto.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestUtilTest {
+
+    private final ResourceVersion version =
+            new ResourceVersion("abc123", LocalDateTime.of(2025, 1, 10, 12, 0));
+
+    @Test
+    void shouldReturnBodyWithValidatorsWhenClientHasNoCopy() {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        AtomicInteger loads = new AtomicInteger();
+
+        ResponseEntity<String> response = ConditionalRequestUtil.ifModified(
+                request(null, servletResponse), version, () -> { loads.incrementAndGet(); return "body"; });
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody());
+        assertEquals(1, loads.get());
+        assertEquals("\"abc123\"", servletResponse.getHeader(HttpHeaders.ETAG));
+        assertNotNull(servletResponse.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingWhenEtagMatches() {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<String> response = ConditionalRequestUtil.ifModified(
+                request("\"abc123\"", servletResponse), version, () -> fail("body must not be loaded"));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void shouldReturnBodyWhenEtagIsStale() {
+        ResponseEntity<String> response = ConditionalRequestUtil.ifModified(
+                request("\"old\"", new MockHttpServletResponse()), version, () -> "body");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/1");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,64 @@
+package com.tickets.ravetix.util;
+
+import com.tickets.ravetix.dto.SliceResponse;
+import com.tickets.ravetix.entity.User;
+import com.tickets.ravetix.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void emptyCursorShouldStartFromTheBeginning() {
+        assertTrue(KeysetCursor.decode(null).isInitial());
+        assertTrue(KeysetCursor.decode("").isInitial());
+    }
+
+    @Test
+    void cursorShouldRoundTripTheKeysetOfTheLastElement() {
+        User last = user(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000));
+
+        KeysetScrollPosition position = KeysetCursor.decode(KeysetCursor.encode(last));
+
+        assertEquals(last.getFechaCreacion(), position.getKeys().get("fechaCreacion"));
+        assertEquals(last.getId(), position.getKeys().get("id"));
+        assertEquals(ScrollPosition.Direction.FORWARD, position.getDirection());
+    }
+
+    @Test
+    void invalidCursorShouldBeRejected() {
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void toSliceShouldExposeNextCursorOnlyWhenThereAreMoreResults() {
+        User first = user(LocalDateTime.now());
+        User second = user(LocalDateTime.now().minusMinutes(1));
+
+        SliceResponse<String> more = KeysetCursor.toSlice(
+                Window.from(List.of(first, second), i -> ScrollPosition.keyset(), true), 2, u -> u.getId().toString());
+        SliceResponse<String> last = KeysetCursor.toSlice(
+                Window.from(List.of(first), i -> ScrollPosition.keyset(), false), 2, u -> u.getId().toString());
+
+        assertTrue(more.isHasNext());
+        assertEquals(KeysetCursor.encode(second), more.getNextCursor());
+        assertEquals(List.of(first.getId().toString(), second.getId().toString()), more.getContent());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+
+    private static User user(LocalDateTime fechaCreacion) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setFechaCreacion(fechaCreacion);
+        return user;
+    }
+}